@@ -30,16 +30,22 @@ import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerific
 import org.wso2.carbon.extension.identity.verification.provider.exception.IdVProviderMgtException;
 import org.wso2.carbon.extension.identity.verification.provider.model.IdVConfigProperty;
 import org.wso2.carbon.extension.identity.verification.provider.model.IdVProvider;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.user.api.UserStoreException;
 import org.wso2.carbon.user.api.UserStoreManager;
 import org.wso2.carbon.user.core.UniqueIDUserStoreManager;
+import org.wso2.carbon.user.core.model.UniqueIDUserClaimSearchEntry;
 import org.wso2.carbon.user.core.service.RealmService;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_GETTING_USER_STORE;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.IDV_USER_CLAIM_VALUES_THREAD_LOCAL;
 import static org.wso2.carbon.user.core.constants.UserCoreErrorConstants.ErrorMessages.ERROR_CODE_NON_EXISTING_USER;
 
 /**
@@ -84,17 +90,155 @@ public abstract class AbstractIdentityVerifier implements IdentityVerifier {
             throws IdentityVerificationServerException {
 
         List<IdVClaim> idVClaimList = identityVerifierData.getIdVClaims();
+        Set<String> claimUris = new LinkedHashSet<>();
+        for (IdVClaim idVClaim : idVClaimList) {
+            claimUris.add(idVClaim.getClaimUri());
+        }
+        Map<String, String> claimValues = getUserClaimValues(userId, claimUris, tenantId);
         Map<String, String> idVPClaimWithValueMap = new HashMap<>();
-        UniqueIDUserStoreManager uniqueIDUserStoreManager;
+        for (String claimUri : claimUris) {
+            idVPClaimWithValueMap.put(claimUri, claimValues.get(claimUri));
+        }
+        return idVPClaimWithValueMap;
+    }
+
+    /**
+     * Get the values of the given claims of the user. The claims are fetched from the user store in a single call.
+     * During an identity verification, the values are remembered, so that the claims already fetched for the user
+     * are not fetched again.
+     *
+     * @param userId    User Id.
+     * @param claimUris Claim URIs.
+     * @param tenantId  Tenant Id.
+     * @return Map of claim URIs with values. Claims without a value are not included.
+     * @throws IdentityVerificationServerException Error while retrieving the claim values.
+     */
+    public Map<String, String> getUserClaimValues(String userId, Collection<String> claimUris, int tenantId)
+            throws IdentityVerificationServerException {
+
+        Map<String, String> claimValueMemo = getClaimValueMemo(userId, tenantId);
+        if (claimValueMemo == null) {
+            return fetchUserClaimValues(userId, new LinkedHashSet<>(claimUris), tenantId);
+        }
+        Set<String> claimUrisToFetch = new LinkedHashSet<>();
+        for (String claimUri : claimUris) {
+            if (!claimValueMemo.containsKey(claimUri)) {
+                claimUrisToFetch.add(claimUri);
+            }
+        }
+        if (!claimUrisToFetch.isEmpty()) {
+            Map<String, String> fetchedClaimValues = fetchUserClaimValues(userId, claimUrisToFetch, tenantId);
+            for (String claimUri : claimUrisToFetch) {
+                // Claims without a value are remembered as well, to avoid fetching them again.
+                claimValueMemo.put(claimUri, fetchedClaimValues.get(claimUri));
+            }
+        }
+        Map<String, String> claimValues = new HashMap<>();
+        for (String claimUri : claimUris) {
+            String claimValue = claimValueMemo.get(claimUri);
+            if (claimValue != null) {
+                claimValues.put(claimUri, claimValue);
+            }
+        }
+        return claimValues;
+    }
+
+    /**
+     * Start remembering the claim values fetched for users on the current thread, unless already started.
+     *
+     * @return True if started by this call, in which case the caller should clear it.
+     */
+    static boolean startClaimValueMemo() {
+
+        Map<String, Object> threadLocalProperties = IdentityUtil.threadLocalProperties.get();
+        if (threadLocalProperties.get(IDV_USER_CLAIM_VALUES_THREAD_LOCAL) instanceof Map) {
+            return false;
+        }
+        threadLocalProperties.put(IDV_USER_CLAIM_VALUES_THREAD_LOCAL, new HashMap<String, Map<String, String>>());
+        return true;
+    }
+
+    /**
+     * Stop remembering the claim values fetched for users on the current thread.
+     */
+    static void clearClaimValueMemo() {
+
+        IdentityUtil.threadLocalProperties.get().remove(IDV_USER_CLAIM_VALUES_THREAD_LOCAL);
+    }
+
+    /**
+     * Remember the claim values of the user on the current thread, if remembering has been started.
+     *
+     * @param userId      User Id.
+     * @param claimValues Claim values by claim URI. Claims without a value are mapped to null.
+     * @param tenantId    Tenant Id.
+     */
+    static void addToClaimValueMemo(String userId, Map<String, String> claimValues, int tenantId) {
+
+        Map<String, String> claimValueMemo = getClaimValueMemo(userId, tenantId);
+        if (claimValueMemo != null) {
+            claimValueMemo.putAll(claimValues);
+        }
+    }
+
+    /**
+     * Get the values of the given claims of multiple users with a single user store call.
+     *
+     * @param userIds   User Ids.
+     * @param claimUris Claim URIs.
+     * @param tenantId  Tenant Id.
+     * @return Claim values by user id. Claims without a value are mapped to null. Users not returned by the user
+     * store are not included.
+     * @throws IdentityVerificationServerException Error while retrieving the claim values.
+     */
+    static Map<String, Map<String, String>> getUsersClaimValues(List<String> userIds, List<String> claimUris,
+                                                                int tenantId)
+            throws IdentityVerificationServerException {
+
         try {
-            uniqueIDUserStoreManager = getUniqueIdEnabledUserStoreManager(tenantId);
-            for (IdVClaim idVClaim : idVClaimList) {
-                String claimUri = idVClaim.getClaimUri();
-                String claimValue = uniqueIDUserStoreManager.getUserClaimValueWithID(userId, claimUri, null);
-                idVPClaimWithValueMap.put(idVClaim.getClaimUri(), claimValue);
+            List<UniqueIDUserClaimSearchEntry> userClaimSearchEntries = getUniqueIdEnabledUserStoreManager(tenantId)
+                    .getUsersClaimValuesWithID(userIds, claimUris, null);
+            Map<String, Map<String, String>> usersClaimValues = new HashMap<>();
+            if (userClaimSearchEntries == null) {
+                return usersClaimValues;
+            }
+            for (UniqueIDUserClaimSearchEntry userClaimSearchEntry : userClaimSearchEntries) {
+                if (userClaimSearchEntry.getUser() == null) {
+                    continue;
+                }
+                Map<String, String> fetchedClaimValues = userClaimSearchEntry.getClaims();
+                Map<String, String> claimValues = new HashMap<>();
+                for (String claimUri : claimUris) {
+                    claimValues.put(claimUri, fetchedClaimValues == null ? null : fetchedClaimValues.get(claimUri));
+                }
+                usersClaimValues.put(userClaimSearchEntry.getUser().getUserID(), claimValues);
             }
-            return idVPClaimWithValueMap;
+            return usersClaimValues;
+        } catch (UserStoreException e) {
+            throw IdentityVerificationExceptionMgt.handleServerException(
+                    IdentityVerificationConstants.ErrorMessage.ERROR_RETRIEVING_USERS_CLAIM_VALUES, e);
+        }
+    }
 
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> getClaimValueMemo(String userId, int tenantId) {
+
+        Object claimValueMemo = IdentityUtil.threadLocalProperties.get().get(IDV_USER_CLAIM_VALUES_THREAD_LOCAL);
+        if (!(claimValueMemo instanceof Map)) {
+            return null;
+        }
+        return ((Map<String, Map<String, String>>) claimValueMemo)
+                .computeIfAbsent(tenantId + ":" + userId, key -> new HashMap<>());
+    }
+
+    private Map<String, String> fetchUserClaimValues(String userId, Set<String> claimUris, int tenantId)
+            throws IdentityVerificationServerException {
+
+        try {
+            UniqueIDUserStoreManager uniqueIDUserStoreManager = getUniqueIdEnabledUserStoreManager(tenantId);
+            Map<String, String> claimValues =
+                    uniqueIDUserStoreManager.getUserClaimValuesWithID(userId, claimUris.toArray(new String[0]), null);
+            return claimValues == null ? new HashMap<>() : claimValues;
         } catch (UserStoreException e) {
             if (StringUtils.isNotBlank(e.getMessage()) &&
                     e.getMessage().contains(ERROR_CODE_NON_EXISTING_USER.getCode())) {
@@ -137,6 +281,21 @@ public abstract class AbstractIdentityVerifier implements IdentityVerifier {
         return IdentityVerificationManagerImpl.getInstance().addIdVClaims(userId, idVClaims, tenantId);
     }
 
+    /**
+     * Store Identity Verification Claims, replacing the existing claims of the same claim URI and IdVProvider.
+     * This is intended for re-verification flows.
+     *
+     * @param userId    User Id.
+     * @param idVClaims List of IdVClaim.
+     * @param tenantId  Tenant Id.
+     * @return Stored IdVClaims.
+     */
+    public List<IdVClaim> storeOrUpdateIdVClaims(String userId, List<IdVClaim> idVClaims, int tenantId)
+            throws IdentityVerificationException {
+
+        return IdentityVerificationManagerImpl.getInstance().addOrUpdateIdVClaims(userId, idVClaims, tenantId);
+    }
+
     /**
      * Update Identity Verification Claim.
      *
@@ -165,7 +324,7 @@ public abstract class AbstractIdentityVerifier implements IdentityVerifier {
         return IdentityVerificationManagerImpl.getInstance().updateIdVClaims(userId, idVClaims, tenantId);
     }
 
-    private UniqueIDUserStoreManager getUniqueIdEnabledUserStoreManager(int tenantId)
+    private static UniqueIDUserStoreManager getUniqueIdEnabledUserStoreManager(int tenantId)
             throws IdentityVerificationServerException, UserStoreException {
 
         RealmService realmService = IdentityVerificationDataHolder.getInstance().getRealmService();
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.extension.identity.verification.mgt;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationServerException;
+import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConfigUtil;
+import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationExceptionMgt;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.BULK_VERIFICATION_JOB_RETENTION_TIME;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.BULK_VERIFICATION_MAX_CONCURRENT_JOBS;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.BULK_VERIFICATION_QUEUE_CAPACITY;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.DEFAULT_BULK_VERIFICATION_JOB_RETENTION_TIME;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.DEFAULT_BULK_VERIFICATION_MAX_CONCURRENT_JOBS;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.DEFAULT_BULK_VERIFICATION_QUEUE_CAPACITY;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_BULK_VERIFICATION_REJECTED;
+
+/**
+ * Bounded executor running the bulk identity verification jobs, and the registry of those jobs.
+ * <p>
+ * At most the configured number of jobs run at a time, and the jobs waiting for a thread are limited by the queue
+ * capacity. A job submitted while the queue is full is rejected. The jobs are kept by their job id until the
+ * configured retention time has elapsed since they completed, so that their progress and failures can be looked up
+ * and they can be resumed. The running jobs are cancelled when the executor is destroyed.
+ */
+public class IdVBulkVerificationExecutor {
+
+    private static final Log log = LogFactory.getLog(IdVBulkVerificationExecutor.class);
+    private static final String THREAD_NAME_PREFIX = "IdV-Bulk-Verification-";
+    // Keep alive time of idle threads in seconds.
+    private static final long THREAD_KEEP_ALIVE_TIME = 60;
+
+    private static volatile IdVBulkVerificationExecutor instance = createExecutor(
+            DEFAULT_BULK_VERIFICATION_MAX_CONCURRENT_JOBS, DEFAULT_BULK_VERIFICATION_QUEUE_CAPACITY,
+            DEFAULT_BULK_VERIFICATION_JOB_RETENTION_TIME);
+
+    private final Executor executor;
+    private final long jobRetentionTime;
+    private final Map<String, IdVBulkVerificationTask> tasks = new ConcurrentHashMap<>();
+
+    IdVBulkVerificationExecutor(Executor executor, long jobRetentionTime) {
+
+        this.executor = executor;
+        this.jobRetentionTime = jobRetentionTime;
+    }
+
+    public static IdVBulkVerificationExecutor getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Create the executor from the configurations in identity.xml.
+     */
+    public static synchronized void initialize() {
+
+        IdVBulkVerificationExecutor bulkVerificationExecutor = createExecutor(
+                Math.max(1, IdentityVerificationConfigUtil.getIntProperty(BULK_VERIFICATION_MAX_CONCURRENT_JOBS,
+                        DEFAULT_BULK_VERIFICATION_MAX_CONCURRENT_JOBS)),
+                Math.max(1, IdentityVerificationConfigUtil.getIntProperty(BULK_VERIFICATION_QUEUE_CAPACITY,
+                        DEFAULT_BULK_VERIFICATION_QUEUE_CAPACITY)),
+                Math.max(0, IdentityVerificationConfigUtil.getIntProperty(BULK_VERIFICATION_JOB_RETENTION_TIME,
+                        DEFAULT_BULK_VERIFICATION_JOB_RETENTION_TIME)));
+        IdVBulkVerificationExecutor previousExecutor = instance;
+        instance = bulkVerificationExecutor;
+        previousExecutor.shutdown();
+    }
+
+    /**
+     * Cancel the running jobs and stop accepting new jobs. The verifications already submitted by the jobs are
+     * completed.
+     */
+    public static synchronized void destroy() {
+
+        IdVBulkVerificationExecutor bulkVerificationExecutor = instance;
+        instance = createExecutor(DEFAULT_BULK_VERIFICATION_MAX_CONCURRENT_JOBS,
+                DEFAULT_BULK_VERIFICATION_QUEUE_CAPACITY, DEFAULT_BULK_VERIFICATION_JOB_RETENTION_TIME);
+        bulkVerificationExecutor.shutdown();
+    }
+
+    /**
+     * Submit a bulk identity verification task and register its job.
+     *
+     * @param task Bulk identity verification task.
+     * @return Job of the task.
+     * @throws IdentityVerificationServerException If the maximum number of pending jobs is reached.
+     */
+    IdVBulkVerificationJob submit(IdVBulkVerificationTask task) throws IdentityVerificationServerException {
+
+        removeExpiredTasks();
+        IdVBulkVerificationJob job = task.getJob();
+        tasks.put(job.getJobId(), task);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            tasks.remove(job.getJobId());
+            if (log.isDebugEnabled()) {
+                log.debug("Bulk identity verification executor is saturated. Rejecting the job: " + job.getJobId());
+            }
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_BULK_VERIFICATION_REJECTED, e);
+        }
+        return job;
+    }
+
+    /**
+     * Get a bulk identity verification job.
+     *
+     * @param jobId    Job id.
+     * @param tenantId Tenant id.
+     * @return Job, or null if the job is not found in the tenant or its retention time has elapsed.
+     */
+    public IdVBulkVerificationJob getJob(String jobId, int tenantId) {
+
+        IdVBulkVerificationTask task = getTask(jobId, tenantId);
+        return task == null ? null : task.getJob();
+    }
+
+    IdVBulkVerificationTask getTask(String jobId, int tenantId) {
+
+        if (jobId == null) {
+            return null;
+        }
+        removeExpiredTasks();
+        IdVBulkVerificationTask task = tasks.get(jobId);
+        if (task == null || task.getJob().getTenantId() != tenantId) {
+            return null;
+        }
+        return task;
+    }
+
+    private void removeExpiredTasks() {
+
+        long expiryTime = System.currentTimeMillis() - jobRetentionTime;
+        tasks.values().removeIf(task -> task.getJob().isDone() && task.getJob().getEndTime() < expiryTime);
+    }
+
+    private void shutdown() {
+
+        for (IdVBulkVerificationTask task : tasks.values()) {
+            if (!task.getJob().isDone()) {
+                task.getJob().cancel();
+                log.warn("Bulk identity verification job: " + task.getJob().getJobId() + " is cancelled as the " +
+                        "identity verification service is stopped.");
+            }
+        }
+        tasks.clear();
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    private static IdVBulkVerificationExecutor createExecutor(int maxConcurrentJobs, int queueCapacity,
+                                                              long jobRetentionTime) {
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs,
+                THREAD_KEEP_ALIVE_TIME, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCount.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        return new IdVBulkVerificationExecutor(threadPoolExecutor, jobRetentionTime);
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.extension.identity.verification.mgt;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Represents a bulk identity verification job, verifying a list of users against one identity verification
+ * provider. Holds the progress of the job, which is updated while the job runs.
+ */
+public class IdVBulkVerificationJob {
+
+    private final String jobId;
+    private final String idVProviderId;
+    private final int tenantId;
+    private final int userCount;
+    private final AtomicInteger succeededCount = new AtomicInteger();
+    private final AtomicInteger skippedCount = new AtomicInteger();
+    private final AtomicInteger failedCount = new AtomicInteger();
+    private final Map<String, String> failures = new ConcurrentHashMap<>();
+    private final CompletableFuture<IdVBulkVerificationJob> completion = new CompletableFuture<>();
+    private final long startTime = System.currentTimeMillis();
+    private volatile long endTime;
+    private volatile boolean cancelled;
+
+    IdVBulkVerificationJob(String jobId, String idVProviderId, int userCount, int tenantId) {
+
+        this.jobId = jobId;
+        this.idVProviderId = idVProviderId;
+        this.userCount = userCount;
+        this.tenantId = tenantId;
+    }
+
+    public String getJobId() {
+
+        return jobId;
+    }
+
+    public String getIdVProviderId() {
+
+        return idVProviderId;
+    }
+
+    public int getTenantId() {
+
+        return tenantId;
+    }
+
+    /**
+     * Get the number of users given to the job.
+     *
+     * @return Number of users.
+     */
+    public int getUserCount() {
+
+        return userCount;
+    }
+
+    /**
+     * Get the number of users processed so far, including the skipped and failed users.
+     *
+     * @return Number of processed users.
+     */
+    public int getProcessedCount() {
+
+        return succeededCount.get() + skippedCount.get() + failedCount.get();
+    }
+
+    public int getSucceededCount() {
+
+        return succeededCount.get();
+    }
+
+    /**
+     * Get the number of users skipped as they already have identity verification claims of the provider.
+     *
+     * @return Number of skipped users.
+     */
+    public int getSkippedCount() {
+
+        return skippedCount.get();
+    }
+
+    public int getFailedCount() {
+
+        return failedCount.get();
+    }
+
+    /**
+     * Get the users whose verification failed.
+     *
+     * @return Error messages by user id.
+     */
+    public Map<String, String> getFailures() {
+
+        return Collections.unmodifiableMap(failures);
+    }
+
+    /**
+     * Get the number of users processed per second since the job started.
+     *
+     * @return Throughput of the job.
+     */
+    public double getThroughput() {
+
+        long elapsedTime = (isDone() ? endTime : System.currentTimeMillis()) - startTime;
+        return elapsedTime <= 0 ? 0 : getProcessedCount() * 1000.0 / elapsedTime;
+    }
+
+    public boolean isDone() {
+
+        return completion.isDone();
+    }
+
+    public boolean isCancelled() {
+
+        return cancelled;
+    }
+
+    /**
+     * Stop submitting the verifications of the remaining users. Verifications already submitted are completed.
+     */
+    public void cancel() {
+
+        cancelled = true;
+    }
+
+    /**
+     * Get the stage completed with this job once all the submitted verifications are completed.
+     *
+     * @return Completion stage of the job.
+     */
+    public CompletionStage<IdVBulkVerificationJob> getCompletionStage() {
+
+        return completion;
+    }
+
+    void recordSuccess() {
+
+        succeededCount.incrementAndGet();
+    }
+
+    void recordSkipped(int count) {
+
+        skippedCount.addAndGet(count);
+    }
+
+    void recordFailure(String userId, String errorMessage) {
+
+        failures.put(userId, errorMessage == null ? "" : errorMessage);
+        failedCount.incrementAndGet();
+    }
+
+    long getEndTime() {
+
+        return endTime;
+    }
+
+    void complete() {
+
+        endTime = System.currentTimeMillis();
+        completion.complete(this);
+    }
+}
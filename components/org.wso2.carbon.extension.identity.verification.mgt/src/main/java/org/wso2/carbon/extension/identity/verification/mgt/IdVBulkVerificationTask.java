@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.extension.identity.verification.mgt;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationException;
+import org.wso2.carbon.extension.identity.verification.mgt.model.IdVClaim;
+import org.wso2.carbon.extension.identity.verification.mgt.model.IdVProperty;
+import org.wso2.carbon.extension.identity.verification.mgt.model.IdentityVerifierData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs a bulk identity verification job. The users are processed in batches, pipelining the stages of the
+ * verification: while the verifications of a batch are running, the claim values of the next batch are fetched
+ * from the user store with a single call. The verifications run on the {@link IdentityVerificationExecutor}, at most
+ * the configured number at a time, and each verification stores the identity verification claims of its user.
+ * <p>
+ * When resuming a job, the users whose identity verification claims of the provider are already verified for all the
+ * claim URIs of the job are skipped, so that a job interrupted by a server restart can be started again with the
+ * same users.
+ */
+class IdVBulkVerificationTask implements Runnable {
+
+    private static final Log log = LogFactory.getLog(IdVBulkVerificationTask.class);
+    // Wait time in milliseconds before checking the circuit of the provider again.
+    private static final long CIRCUIT_OPEN_WAIT_TIME = 1000;
+
+    private final IdVBulkVerificationJob job;
+    private final List<String> userIds;
+    private final IdentityVerifierData identityVerifierData;
+    private final boolean resume;
+    private final int batchSize;
+    private final int parallelism;
+    private final Semaphore parallelismPermits;
+    private final IdentityVerificationExecutor verificationExecutor;
+    private final String username;
+
+    IdVBulkVerificationTask(IdVBulkVerificationJob job, List<String> userIds,
+                            IdentityVerifierData identityVerifierData, boolean resume, int batchSize,
+                            int parallelism, IdentityVerificationExecutor verificationExecutor, String username) {
+
+        this.job = job;
+        this.userIds = userIds;
+        this.identityVerifierData = identityVerifierData;
+        this.resume = resume;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.parallelismPermits = new Semaphore(parallelism);
+        this.verificationExecutor = verificationExecutor;
+        this.username = username;
+    }
+
+    IdVBulkVerificationJob getJob() {
+
+        return job;
+    }
+
+    List<String> getUserIds() {
+
+        return userIds;
+    }
+
+    IdentityVerifierData getIdentityVerifierData() {
+
+        return identityVerifierData;
+    }
+
+    @Override
+    public void run() {
+
+        int tenantId = job.getTenantId();
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+            carbonContext.setTenantId(tenantId, true);
+            if (username != null) {
+                carbonContext.setUsername(username);
+            }
+            List<String> claimUris = getClaimUris();
+            for (int fromIndex = 0; fromIndex < userIds.size() && !job.isCancelled(); fromIndex += batchSize) {
+                List<String> batch = userIds.subList(fromIndex, Math.min(fromIndex + batchSize, userIds.size()));
+                processBatch(batch, claimUris);
+                if (log.isDebugEnabled()) {
+                    log.debug("Bulk identity verification job: " + job.getJobId() + " submitted " +
+                            Math.min(fromIndex + batchSize, userIds.size()) + " of " + userIds.size() + " users.");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.cancel();
+        } catch (RuntimeException e) {
+            log.error("Error while running the bulk identity verification job: " + job.getJobId(), e);
+            job.cancel();
+        } finally {
+            // Wait for the verifications already submitted.
+            parallelismPermits.acquireUninterruptibly(parallelism);
+            parallelismPermits.release(parallelism);
+            PrivilegedCarbonContext.endTenantFlow();
+            job.complete();
+            log.info(String.format("Bulk identity verification job: %s of the identity verification provider: %s " +
+                            "%s. Succeeded: %d, skipped: %d, failed: %d of %d users at %.2f users per second.",
+                    job.getJobId(), job.getIdVProviderId(), job.isCancelled() ? "cancelled" : "completed",
+                    job.getSucceededCount(), job.getSkippedCount(), job.getFailedCount(), job.getUserCount(),
+                    job.getThroughput()));
+        }
+    }
+
+    private void processBatch(List<String> batch, List<String> claimUris) throws InterruptedException {
+
+        int tenantId = job.getTenantId();
+        List<String> usersToVerify = new ArrayList<>(batch);
+        if (resume) {
+            try {
+                Map<String, List<IdVClaim>> idVClaimsOfUsers = IdentityVerificationManagerImpl.getInstance()
+                        .getIdVClaimsOfUsers(new HashSet<>(batch), job.getIdVProviderId(), tenantId);
+                usersToVerify.removeIf(userId -> isVerified(idVClaimsOfUsers.get(userId), claimUris));
+                job.recordSkipped(batch.size() - usersToVerify.size());
+            } catch (IdentityVerificationException e) {
+                for (String userId : batch) {
+                    job.recordFailure(userId, e.getMessage());
+                }
+                return;
+            }
+        }
+        Map<String, Map<String, String>> usersClaimValues = Collections.emptyMap();
+        if (!usersToVerify.isEmpty() && !claimUris.isEmpty()) {
+            try {
+                usersClaimValues = AbstractIdentityVerifier.getUsersClaimValues(usersToVerify, claimUris, tenantId);
+            } catch (IdentityVerificationException e) {
+                // The verifiers fetch the claim values of each user instead.
+                log.warn("Error while fetching the claim values of a batch of users of the bulk identity " +
+                        "verification job: " + job.getJobId(), e);
+            }
+        }
+        for (String userId : usersToVerify) {
+            waitWhileCircuitOpen();
+            if (job.isCancelled()) {
+                return;
+            }
+            parallelismPermits.acquire();
+            submitVerification(userId, usersClaimValues.get(userId), tenantId);
+        }
+    }
+
+    /**
+     * Check whether the identity verification claims of a user, verified by the provider of the job, cover all the
+     * claim URIs of the job. A user whose claims were not verified, or were added for other claim URIs, is verified
+     * again when resuming the job.
+     *
+     * @param idVClaims Identity verification claims of the user of the provider.
+     * @param claimUris Claim URIs of the job.
+     * @return True if the user has verified identity verification claims for all the claim URIs of the job.
+     */
+    private boolean isVerified(List<IdVClaim> idVClaims, List<String> claimUris) {
+
+        if (idVClaims == null || idVClaims.isEmpty()) {
+            return false;
+        }
+        Set<String> verifiedClaimUris = new HashSet<>();
+        for (IdVClaim idVClaim : idVClaims) {
+            if (idVClaim.isVerified()) {
+                verifiedClaimUris.add(idVClaim.getClaimUri());
+            }
+        }
+        // A job without claim URIs is resumed for the users without any verified claim of the provider.
+        return claimUris.isEmpty() ? !verifiedClaimUris.isEmpty() : verifiedClaimUris.containsAll(claimUris);
+    }
+
+    /**
+     * Wait while the circuit of the provider is open, instead of failing the verifications of the remaining users.
+     */
+    private void waitWhileCircuitOpen() throws InterruptedException {
+
+        while (!job.isCancelled() && IdVProviderIsolation.getInstance().getCircuitState(job.getIdVProviderId()) ==
+                IdVProviderIsolation.CircuitState.OPEN) {
+            Thread.sleep(CIRCUIT_OPEN_WAIT_TIME);
+        }
+    }
+
+    private void submitVerification(String userId, Map<String, String> claimValues, int tenantId) {
+
+        IdentityVerifierData userIdentityVerifierData = copyIdentityVerifierData();
+        try {
+            verificationExecutor.submit(() -> {
+                if (claimValues != null) {
+                    AbstractIdentityVerifier.addToClaimValueMemo(userId, claimValues, tenantId);
+                }
+                return IdentityVerificationManagerImpl.getInstance()
+                        .verifyIdentity(userId, userIdentityVerifierData, tenantId);
+            }, tenantId).whenComplete((verifiedIdentityVerifierData, e) -> {
+                try {
+                    if (e == null) {
+                        job.recordSuccess();
+                    } else {
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ?
+                                e.getCause() : e;
+                        job.recordFailure(userId, cause.getMessage());
+                        if (log.isDebugEnabled()) {
+                            log.debug("Identity verification of the user: " + userId + " failed in the bulk " +
+                                    "identity verification job: " + job.getJobId(), cause);
+                        }
+                    }
+                } finally {
+                    parallelismPermits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            parallelismPermits.release();
+            throw e;
+        }
+    }
+
+    private List<String> getClaimUris() {
+
+        Set<String> claimUris = new LinkedHashSet<>();
+        if (identityVerifierData.getIdVClaims() != null) {
+            for (IdVClaim idVClaim : identityVerifierData.getIdVClaims()) {
+                claimUris.add(idVClaim.getClaimUri());
+            }
+        }
+        return new ArrayList<>(claimUris);
+    }
+
+    /**
+     * Copy the identity verifier data of the job for a user, as the verifiers may modify it.
+     *
+     * @return Identity verifier data of a user.
+     */
+    private IdentityVerifierData copyIdentityVerifierData() {
+
+        IdentityVerifierData userIdentityVerifierData = new IdentityVerifierData();
+        userIdentityVerifierData.setIdVProviderId(identityVerifierData.getIdVProviderId());
+        if (identityVerifierData.getIdVClaims() != null) {
+            for (IdVClaim idVClaim : identityVerifierData.getIdVClaims()) {
+                IdVClaim userIdVClaim = new IdVClaim();
+                userIdVClaim.setClaimUri(idVClaim.getClaimUri());
+                userIdVClaim.setClaimValue(idVClaim.getClaimValue());
+                userIdentityVerifierData.addIdVClaimProperty(userIdVClaim);
+            }
+        }
+        if (identityVerifierData.getIdVProperties() != null) {
+            for (IdVProperty idVProperty : identityVerifierData.getIdVProperties()) {
+                IdVProperty userIdVProperty = new IdVProperty();
+                userIdVProperty.setName(idVProperty.getName());
+                userIdVProperty.setValue(idVProperty.getValue());
+                userIdentityVerifierData.addIdVProperty(userIdVProperty);
+            }
+        }
+        return userIdentityVerifierData;
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.extension.identity.verification.mgt;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationServerException;
+import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConfigUtil;
+import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationExceptionMgt;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.DEFAULT_IDV_PROVIDER_FAILURE_RATE_THRESHOLD;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.DEFAULT_IDV_PROVIDER_MAX_CONCURRENT_CALLS;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.DEFAULT_IDV_PROVIDER_MINIMUM_CALLS;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.DEFAULT_IDV_PROVIDER_OPEN_DURATION;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.DEFAULT_IDV_PROVIDER_SLIDING_WINDOW_SIZE;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_IDV_PROVIDER_BUSY;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_IDV_PROVIDER_UNAVAILABLE;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.IDV_PROVIDER_FAILURE_RATE_THRESHOLD;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.IDV_PROVIDER_ISOLATION_ENABLED;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.IDV_PROVIDER_MAX_CONCURRENT_CALLS;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.IDV_PROVIDER_MINIMUM_CALLS;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.IDV_PROVIDER_OPEN_DURATION;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.IDV_PROVIDER_SLIDING_WINDOW_SIZE;
+
+/**
+ * Isolates the calls made to each identity verification provider, so that a degraded provider does not hold the
+ * threads needed by the verifications of the other providers.
+ * <p>
+ * Each provider has a bulkhead limiting the number of concurrent verifications, and a circuit breaker which opens
+ * when the failure rate of the recent verifications exceeds the threshold. While the bulkhead is full or the circuit
+ * is open, the verifications of the provider fail immediately. After the open duration, a single trial verification
+ * is allowed, which closes the circuit if it succeeds. Client errors are not counted as failures. The outcome of a
+ * call is counted only if the circuit has not changed its state since the call was allowed, so that a call started
+ * before the circuit opened is not taken as the trial call.
+ * <p>
+ * The provider isolation is disabled by default.
+ */
+public class IdVProviderIsolation {
+
+    private static final Log log = LogFactory.getLog(IdVProviderIsolation.class);
+
+    private static volatile IdVProviderIsolation instance = new IdVProviderIsolation(false, 1, 1, 1, 1, 0);
+
+    private final boolean enabled;
+    private final int maxConcurrentCalls;
+    private final int failureRateThreshold;
+    private final int slidingWindowSize;
+    private final int minimumCalls;
+    private final long openDuration;
+    private final Map<String, ProviderState> providerStates = new ConcurrentHashMap<>();
+
+    IdVProviderIsolation(boolean enabled, int maxConcurrentCalls, int failureRateThreshold, int slidingWindowSize,
+                         int minimumCalls, long openDuration) {
+
+        this.enabled = enabled;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slidingWindowSize = slidingWindowSize;
+        this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+        this.openDuration = openDuration;
+    }
+
+    public static IdVProviderIsolation getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Create the provider isolation from the configurations in identity.xml.
+     */
+    public static synchronized void initialize() {
+
+        instance = new IdVProviderIsolation(
+                IdentityVerificationConfigUtil.getBooleanProperty(IDV_PROVIDER_ISOLATION_ENABLED, false),
+                Math.max(1, IdentityVerificationConfigUtil.getIntProperty(IDV_PROVIDER_MAX_CONCURRENT_CALLS,
+                        DEFAULT_IDV_PROVIDER_MAX_CONCURRENT_CALLS)),
+                Math.min(100, Math.max(1, IdentityVerificationConfigUtil.getIntProperty(
+                        IDV_PROVIDER_FAILURE_RATE_THRESHOLD, DEFAULT_IDV_PROVIDER_FAILURE_RATE_THRESHOLD))),
+                Math.max(1, IdentityVerificationConfigUtil.getIntProperty(IDV_PROVIDER_SLIDING_WINDOW_SIZE,
+                        DEFAULT_IDV_PROVIDER_SLIDING_WINDOW_SIZE)),
+                Math.max(1, IdentityVerificationConfigUtil.getIntProperty(IDV_PROVIDER_MINIMUM_CALLS,
+                        DEFAULT_IDV_PROVIDER_MINIMUM_CALLS)),
+                Math.max(0, IdentityVerificationConfigUtil.getIntProperty(IDV_PROVIDER_OPEN_DURATION,
+                        DEFAULT_IDV_PROVIDER_OPEN_DURATION)));
+    }
+
+    /**
+     * Disable the provider isolation.
+     */
+    public static synchronized void destroy() {
+
+        instance = new IdVProviderIsolation(false, 1, 1, 1, 1, 0);
+    }
+
+    /**
+     * Acquire a permit to call the identity verification provider. Each acquired permit must be released with
+     * {@link #release(String, long, boolean)} once the call completes.
+     *
+     * @param idVProviderId Identity verification provider id.
+     * @return Permit of the call, to be passed when releasing it.
+     * @throws IdentityVerificationServerException If the bulkhead of the provider is full or the circuit is open.
+     */
+    public long acquire(String idVProviderId) throws IdentityVerificationServerException {
+
+        if (!enabled) {
+            return 0;
+        }
+        ProviderState providerState = getProviderState(idVProviderId);
+        if (!providerState.permits.tryAcquire()) {
+            providerState.rejectedCount.incrementAndGet();
+            if (log.isDebugEnabled()) {
+                log.debug("Maximum number of concurrent calls reached for the identity verification provider: " +
+                        idVProviderId);
+            }
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_IDV_PROVIDER_BUSY, idVProviderId);
+        }
+        long permit = providerState.allowCall();
+        if (permit < 0) {
+            providerState.permits.release();
+            providerState.rejectedCount.incrementAndGet();
+            if (log.isDebugEnabled()) {
+                log.debug("Circuit is open for the identity verification provider: " + idVProviderId);
+            }
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_IDV_PROVIDER_UNAVAILABLE,
+                    idVProviderId);
+        }
+        return permit;
+    }
+
+    /**
+     * Release a permit acquired to call the identity verification provider and record the outcome of the call.
+     *
+     * @param idVProviderId Identity verification provider id.
+     * @param permit        Permit returned by {@link #acquire(String)} for the call.
+     * @param failed        Whether the call failed due to an error of the provider.
+     */
+    public void release(String idVProviderId, long permit, boolean failed) {
+
+        if (!enabled) {
+            return;
+        }
+        ProviderState providerState = getProviderState(idVProviderId);
+        providerState.recordOutcome(idVProviderId, permit, failed);
+        providerState.permits.release();
+    }
+
+    /**
+     * Get the circuit state of the identity verification provider.
+     *
+     * @param idVProviderId Identity verification provider id.
+     * @return Circuit state. {@link CircuitState#CLOSED} if the provider has not been called.
+     */
+    public CircuitState getCircuitState(String idVProviderId) {
+
+        ProviderState providerState = providerStates.get(idVProviderId);
+        return providerState == null ? CircuitState.CLOSED : providerState.getCircuitState();
+    }
+
+    /**
+     * Get the number of calls to the identity verification provider in progress.
+     *
+     * @param idVProviderId Identity verification provider id.
+     * @return Number of active calls.
+     */
+    public int getActiveCallCount(String idVProviderId) {
+
+        ProviderState providerState = providerStates.get(idVProviderId);
+        return providerState == null ? 0 : maxConcurrentCalls - providerState.permits.availablePermits();
+    }
+
+    /**
+     * Get the number of calls to the identity verification provider rejected by the bulkhead or the circuit breaker.
+     *
+     * @param idVProviderId Identity verification provider id.
+     * @return Number of rejected calls.
+     */
+    public long getRejectedCount(String idVProviderId) {
+
+        ProviderState providerState = providerStates.get(idVProviderId);
+        return providerState == null ? 0 : providerState.rejectedCount.get();
+    }
+
+    private ProviderState getProviderState(String idVProviderId) {
+
+        return providerStates.computeIfAbsent(idVProviderId, key -> new ProviderState());
+    }
+
+    /**
+     * States of the circuit breaker of an identity verification provider.
+     */
+    public enum CircuitState {
+
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final class ProviderState {
+
+        private final Semaphore permits = new Semaphore(maxConcurrentCalls);
+        private final AtomicLong rejectedCount = new AtomicLong();
+        // Outcomes of the recent calls, true if the call failed.
+        private final boolean[] outcomes = new boolean[slidingWindowSize];
+        private int nextOutcomeIndex;
+        private int callCount;
+        private int failureCount;
+        private CircuitState circuitState = CircuitState.CLOSED;
+        private long openedTime;
+        private boolean trialCallInProgress;
+        // Incremented whenever the circuit changes its state, and given to the allowed calls as their permit.
+        private long generation;
+
+        /**
+         * Allow a call to the provider if the circuit is closed, or if it is the trial call of a half open circuit.
+         *
+         * @return Generation of the circuit the call was allowed in. -1 if the call is not allowed.
+         */
+        synchronized long allowCall() {
+
+            if (circuitState == CircuitState.OPEN && System.currentTimeMillis() - openedTime >= openDuration) {
+                circuitState = CircuitState.HALF_OPEN;
+                generation++;
+                trialCallInProgress = false;
+            }
+            if (circuitState == CircuitState.HALF_OPEN) {
+                if (trialCallInProgress) {
+                    return -1;
+                }
+                trialCallInProgress = true;
+                return generation;
+            }
+            return circuitState == CircuitState.CLOSED ? generation : -1;
+        }
+
+        synchronized void recordOutcome(String idVProviderId, long callGeneration, boolean failed) {
+
+            if (callGeneration != generation) {
+                // Outcome of a call started before the circuit changed its state.
+                return;
+            }
+            if (circuitState == CircuitState.HALF_OPEN) {
+                // Only the trial call is allowed in a half open generation.
+                trialCallInProgress = false;
+                if (failed) {
+                    open(idVProviderId);
+                } else {
+                    circuitState = CircuitState.CLOSED;
+                    generation++;
+                    log.info("Circuit closed for the identity verification provider: " + idVProviderId);
+                }
+                return;
+            }
+            if (callCount == slidingWindowSize) {
+                if (outcomes[nextOutcomeIndex]) {
+                    failureCount--;
+                }
+            } else {
+                callCount++;
+            }
+            outcomes[nextOutcomeIndex] = failed;
+            if (failed) {
+                failureCount++;
+            }
+            nextOutcomeIndex = (nextOutcomeIndex + 1) % slidingWindowSize;
+            if (callCount >= minimumCalls && failureCount * 100 >= failureRateThreshold * callCount) {
+                open(idVProviderId);
+            }
+        }
+
+        synchronized CircuitState getCircuitState() {
+
+            // The circuit moves to half open with the next call, once the open duration has elapsed.
+            if (circuitState == CircuitState.OPEN && System.currentTimeMillis() - openedTime >= openDuration) {
+                return CircuitState.HALF_OPEN;
+            }
+            return circuitState;
+        }
+
+        private void open(String idVProviderId) {
+
+            circuitState = CircuitState.OPEN;
+            generation++;
+            openedTime = System.currentTimeMillis();
+            nextOutcomeIndex = 0;
+            callCount = 0;
+            failureCount = 0;
+            log.warn("Circuit opened for the identity verification provider: " + idVProviderId + " for " +
+                    openDuration + " ms due to the failure rate of the recent verifications.");
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.extension.identity.verification.mgt;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationException;
+import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConfigUtil;
+import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationExceptionMgt;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ASYNC_VERIFICATION_POOL_SIZE;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ASYNC_VERIFICATION_QUEUE_CAPACITY;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ASYNC_VERIFICATION_VIRTUAL_THREADS_ENABLED;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.DEFAULT_ASYNC_VERIFICATION_POOL_SIZE;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.DEFAULT_ASYNC_VERIFICATION_QUEUE_CAPACITY;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_ASYNC_VERIFICATION_REJECTED;
+
+/**
+ * Bounded executor running the asynchronous identity verifications.
+ * <p>
+ * At most the configured number of verifications run at a time, and the verifications waiting for a thread are
+ * limited by the queue capacity. A verification submitted while the queue is full fails instead of blocking the
+ * caller. The verifications run on virtual threads unless disabled, and in the tenant flow of the submitting thread.
+ */
+public class IdentityVerificationExecutor {
+
+    private static final Log log = LogFactory.getLog(IdentityVerificationExecutor.class);
+    private static final String THREAD_NAME_PREFIX = "IdV-Verifier-";
+    // Keep alive time of idle threads in seconds.
+    private static final long THREAD_KEEP_ALIVE_TIME = 60;
+
+    private static volatile IdentityVerificationExecutor instance = createExecutor(
+            DEFAULT_ASYNC_VERIFICATION_POOL_SIZE, DEFAULT_ASYNC_VERIFICATION_QUEUE_CAPACITY, true);
+
+    private final Executor executor;
+
+    IdentityVerificationExecutor(Executor executor) {
+
+        this.executor = executor;
+    }
+
+    public static IdentityVerificationExecutor getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Create the executor from the configurations in identity.xml.
+     */
+    public static synchronized void initialize() {
+
+        IdentityVerificationExecutor verificationExecutor = createExecutor(
+                Math.max(1, IdentityVerificationConfigUtil.getIntProperty(ASYNC_VERIFICATION_POOL_SIZE,
+                        DEFAULT_ASYNC_VERIFICATION_POOL_SIZE)),
+                Math.max(1, IdentityVerificationConfigUtil.getIntProperty(ASYNC_VERIFICATION_QUEUE_CAPACITY,
+                        DEFAULT_ASYNC_VERIFICATION_QUEUE_CAPACITY)),
+                IdentityVerificationConfigUtil.getBooleanProperty(ASYNC_VERIFICATION_VIRTUAL_THREADS_ENABLED, true));
+        IdentityVerificationExecutor previousExecutor = instance;
+        instance = verificationExecutor;
+        previousExecutor.shutdown();
+    }
+
+    /**
+     * Stop accepting verifications. The verifications already submitted are completed.
+     */
+    public static synchronized void destroy() {
+
+        IdentityVerificationExecutor verificationExecutor = instance;
+        instance = createExecutor(DEFAULT_ASYNC_VERIFICATION_POOL_SIZE, DEFAULT_ASYNC_VERIFICATION_QUEUE_CAPACITY,
+                true);
+        verificationExecutor.shutdown();
+    }
+
+    /**
+     * Run a verification task asynchronously in the tenant flow of the given tenant.
+     *
+     * @param task     Verification task.
+     * @param tenantId Tenant Id.
+     * @param <T>      Type of the result of the task.
+     * @return Future completed with the result of the task, or exceptionally with the error thrown by the task. If
+     * the executor is saturated, the future is completed exceptionally with an IdentityVerificationServerException.
+     */
+    public <T> CompletableFuture<T> submit(VerificationTask<T> task, int tenantId) {
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        String username = PrivilegedCarbonContext.getThreadLocalCarbonContext().getUsername();
+        try {
+            executor.execute(() -> run(task, tenantId, username, future));
+        } catch (RejectedExecutionException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Identity verification executor is saturated. Rejecting the verification of tenant: " +
+                        tenantId);
+            }
+            future.completeExceptionally(IdentityVerificationExceptionMgt.handleServerException(
+                    ERROR_ASYNC_VERIFICATION_REJECTED, e));
+        }
+        return future;
+    }
+
+    private <T> void run(VerificationTask<T> task, int tenantId, String username, CompletableFuture<T> future) {
+
+        boolean claimValueMemoStarted = false;
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+            carbonContext.setTenantId(tenantId, true);
+            if (username != null) {
+                carbonContext.setUsername(username);
+            }
+            claimValueMemoStarted = AbstractIdentityVerifier.startClaimValueMemo();
+            future.complete(task.run());
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        } finally {
+            if (claimValueMemoStarted) {
+                AbstractIdentityVerifier.clearClaimValueMemo();
+            }
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    private void shutdown() {
+
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    private static IdentityVerificationExecutor createExecutor(int poolSize, int queueCapacity,
+                                                               boolean virtualThreadsEnabled) {
+
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(poolSize, poolSize, THREAD_KEEP_ALIVE_TIME,
+                TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity), createThreadFactory(virtualThreadsEnabled));
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        return new IdentityVerificationExecutor(threadPoolExecutor);
+    }
+
+    private static ThreadFactory createThreadFactory(boolean virtualThreadsEnabled) {
+
+        if (virtualThreadsEnabled) {
+            return Thread.ofVirtual().name(THREAD_NAME_PREFIX, 0).factory();
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Verification task run by the executor.
+     *
+     * @param <T> Type of the result of the task.
+     */
+    @FunctionalInterface
+    public interface VerificationTask<T> {
+
+        /**
+         * Run the task.
+         *
+         * @return Result of the task.
+         * @throws IdentityVerificationException If an error occurs while running the task.
+         */
+        T run() throws IdentityVerificationException;
+    }
+}
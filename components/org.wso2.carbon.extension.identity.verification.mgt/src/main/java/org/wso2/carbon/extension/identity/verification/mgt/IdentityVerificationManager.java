@@ -23,6 +23,9 @@ import org.wso2.carbon.extension.identity.verification.mgt.model.IdVClaim;
 import org.wso2.carbon.extension.identity.verification.mgt.model.IdentityVerifierData;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
 
 /**
  * This interface of IdentityVerifierFactory to retrieve the required identity verifier.
@@ -41,6 +44,64 @@ public interface IdentityVerificationManager {
     IdentityVerifierData verifyIdentity(String userId, IdentityVerifierData identityVerifierData, int tenantId)
             throws IdentityVerificationException;
 
+    /**
+     * Process the identity verification asynchronously, so that the calling thread is not blocked while the
+     * identity verification provider responds.
+     *
+     * @param userId               User Id.
+     * @param identityVerifierData Identity verifier data.
+     * @param tenantId             Tenant Id.
+     * @return Stage completed with the IdentityVerifierData, or exceptionally with an IdentityVerificationException.
+     */
+    CompletionStage<IdentityVerifierData> verifyIdentityAsync(String userId, IdentityVerifierData identityVerifierData,
+                                                              int tenantId);
+
+    /**
+     * Start a job verifying the identities of multiple users against one identity verification provider. The job
+     * runs in the background, and its progress is available through the returned job, or by its job id through
+     * {@link #getBulkVerificationJob(String, int)}.
+     *
+     * @param userIds              User Ids.
+     * @param identityVerifierData Identity verifier data used for the verification of each user.
+     * @param resume               Whether to skip the users whose identity verification claims of the provider are
+     *                             already verified for all the claim URIs of the identity verifier data, to resume a
+     *                             job which did not complete. The jobs are kept in memory on the node which started
+     *                             them, so a job interrupted by a server restart is resumed by starting it again
+     *                             with the same users and this flag set.
+     * @param tenantId             Tenant Id.
+     * @return Bulk verification job.
+     * @throws IdentityVerificationException IdentityVerificationException.
+     */
+    IdVBulkVerificationJob startBulkVerification(List<String> userIds, IdentityVerifierData identityVerifierData,
+                                                 boolean resume, int tenantId)
+            throws IdentityVerificationException;
+
+    /**
+     * Get a bulk identity verification job started on this node.
+     *
+     * @param jobId    Job Id.
+     * @param tenantId Tenant Id.
+     * @return Bulk verification job, or null if the job is not found or it completed before the retention time.
+     */
+    IdVBulkVerificationJob getBulkVerificationJob(String jobId, int tenantId);
+
+    /**
+     * Start a new job verifying the users of a bulk identity verification job, skipping the users whose identity
+     * verification claims of the provider are already verified for all the claim URIs of the job. The given job is
+     * cancelled if it is still running, and this call waits until the verifications it already submitted complete.
+     * <p>
+     * The jobs are kept in memory, only on the node which started them and only until the configured retention time
+     * after they complete. A job which is not found, for instance after a server restart, can not be resumed with
+     * this method, and should be started again with
+     * {@link #startBulkVerification(List, IdentityVerifierData, boolean, int)} with resume enabled.
+     *
+     * @param jobId    Job Id of the job to be resumed.
+     * @param tenantId Tenant Id.
+     * @return New bulk verification job.
+     * @throws IdentityVerificationException IdentityVerificationException.
+     */
+    IdVBulkVerificationJob resumeBulkVerification(String jobId, int tenantId) throws IdentityVerificationException;
+
     /**
      * Get the IdVClaim.
      *
@@ -78,6 +139,62 @@ public interface IdentityVerificationManager {
     IdVClaim[] getIdVClaims(String userId, String idvProviderId, String claimUri, int tenantId)
             throws IdentityVerificationException;
 
+    /**
+     * Get a page of the IdVClaims of a user, ordered by the IdVClaim id.
+     *
+     * @param userId        User Id.
+     * @param idvProviderId IdVProvider Id.
+     * @param claimUri      Claim uri.
+     * @param after         Id of the last IdVClaim of the previous page. Null for the first page.
+     * @param limit         Maximum number of IdVClaims in the page.
+     * @param tenantId      Tenant Id.
+     * @return IdVClaims.
+     * @throws IdentityVerificationException IdentityVerificationException.
+     */
+    IdVClaim[] getIdVClaims(String userId, String idvProviderId, String claimUri, String after, int limit,
+                            int tenantId) throws IdentityVerificationException;
+
+    /**
+     * Get the IdVClaims of multiple users with a single lookup, e.g. to render a page of users. The users are not
+     * validated against the user store, so the user ids are expected to be obtained from the user store.
+     *
+     * @param userIds       User Ids.
+     * @param idvProviderId IdVProvider Id. IdVClaims of all the IdVProviders are returned if null.
+     * @param tenantId      Tenant Id.
+     * @return IdVClaims by user id. Each given user is included, with an empty list if the user has no IdVClaims.
+     * @throws IdentityVerificationException IdentityVerificationException.
+     */
+    Map<String, List<IdVClaim>> getIdVClaimsOfUsers(Set<String> userIds, String idvProviderId, int tenantId)
+            throws IdentityVerificationException;
+
+    /**
+     * Get the verification status of the given claims of a user with a single lookup. A claim is considered verified
+     * if it is verified by any of the matching IdVProviders.
+     *
+     * @param userId        User Id.
+     * @param claimUris     Claim uris.
+     * @param idvProviderId IdVProvider Id. Claims of all the IdVProviders are considered if null.
+     * @param tenantId      Tenant Id.
+     * @return Verification status by claim uri. Claim uris without IdVClaims are not included.
+     * @throws IdentityVerificationException IdentityVerificationException.
+     */
+    Map<String, Boolean> getIdVClaimStatuses(String userId, Set<String> claimUris, String idvProviderId,
+                                             int tenantId) throws IdentityVerificationException;
+
+    /**
+     * Get the IdVClaims of a user without their metadata. Use this when only the claim URIs and verification status
+     * of the claims are needed, as the metadata of the claims is not read.
+     *
+     * @param userId        User Id.
+     * @param idvProviderId IdVProvider Id.
+     * @param claimUri      Claim uri.
+     * @param tenantId      Tenant Id.
+     * @return IdVClaims without metadata.
+     * @throws IdentityVerificationException IdentityVerificationException.
+     */
+    IdVClaim[] getIdVClaimSummaries(String userId, String idvProviderId, String claimUri, int tenantId)
+            throws IdentityVerificationException;
+
     /**
      * Get the identity verification claims by specific metadata.
      *
@@ -91,6 +208,42 @@ public interface IdentityVerificationManager {
     IdVClaim[] getIdVClaimsByMetadata(String metadataKey, String metadataValue, String idvProviderId,
                                       int tenantId) throws IdentityVerificationException;
 
+    /**
+     * Get a page of the identity verification claims by specific metadata, ordered by the IdVClaim id.
+     *
+     * @param metadataKey   Key of required metadata.
+     * @param metadataValue Value of required metadata.
+     * @param idvProviderId IdVProvider Id.
+     * @param after         Id of the last IdVClaim of the previous page. Null for the first page.
+     * @param limit         Maximum number of IdVClaims in the page.
+     * @param tenantId      Tenant Id.
+     * @return Identity verification claims.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    IdVClaim[] getIdVClaimsByMetadata(String metadataKey, String metadataValue, String idvProviderId, String after,
+                                      int limit, int tenantId) throws IdentityVerificationException;
+
+    /**
+     * Re-encode the metadata of the identity verification claims of a tenant in the binary format, if binary
+     * encoding and indexed lookup of the metadata are enabled. Otherwise, metadata stored in the binary format is
+     * re-encoded back as JSON text.
+     *
+     * @param tenantId Tenant Id.
+     * @return Number of re-encoded identity verification claims.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    int reEncodeIdVClaimMetadata(int tenantId) throws IdentityVerificationException;
+
+    /**
+     * Backfill the metadata projection of the identity verification claims of a tenant, which is used to find
+     * claims by metadata, if indexed lookup of the metadata is enabled.
+     *
+     * @param tenantId Tenant Id.
+     * @return Number of backfilled identity verification claims.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    int backfillIdVClaimMetadata(int tenantId) throws IdentityVerificationException;
+
     /**
      * Add the IdVClaim.
      *
@@ -103,6 +256,18 @@ public interface IdentityVerificationManager {
     List<IdVClaim> addIdVClaims(String userId, List<IdVClaim> idvClaim, int tenantId)
             throws IdentityVerificationException;
 
+    /**
+     * Add user's IdVClaims or replace the existing IdVClaims of the same claim URI and IdVProvider.
+     *
+     * @param userId    User Id.
+     * @param idVClaims Identity Verification Claims.
+     * @param tenantId  Tenant Id.
+     * @return List of stored IdVClaims.
+     * @throws IdentityVerificationException IdentityVerificationException.
+     */
+    List<IdVClaim> addOrUpdateIdVClaims(String userId, List<IdVClaim> idVClaims, int tenantId)
+            throws IdentityVerificationException;
+
     /**
      * Update user's IdVClaims.
      *
@@ -145,4 +310,24 @@ public interface IdentityVerificationManager {
      */
     void deleteIDVClaims(String userId, String idvProviderId, String claimUri, int tenantId)
             throws IdentityVerificationException;
+
+    /**
+     * Delete the IdVClaims of a user for the given claim uris, of all the IDV providers.
+     *
+     * @param userId    User Id.
+     * @param claimUris Claim uris.
+     * @param tenantId  Tenant Id.
+     * @throws IdentityVerificationException IdentityVerificationException.
+     */
+    void deleteIDVClaims(String userId, Set<String> claimUris, int tenantId) throws IdentityVerificationException;
+
+    /**
+     * Get the claim uris which may have IdVClaims in a tenant. These are the claims mapped by the IDV
+     * providers and the claim uris of the stored IdVClaims.
+     *
+     * @param tenantId Tenant Id.
+     * @return Verification relevant claim uris.
+     * @throws IdentityVerificationException IdentityVerificationException.
+     */
+    Set<String> getVerificationRelevantClaimUris(int tenantId) throws IdentityVerificationException;
 }
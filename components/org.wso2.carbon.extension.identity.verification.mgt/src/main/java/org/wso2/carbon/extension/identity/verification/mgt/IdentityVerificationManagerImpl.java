@@ -20,31 +20,54 @@ package org.wso2.carbon.extension.identity.verification.mgt;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVExistingUserCache;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVExistingUserCacheEntry;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVExistingUserCacheKey;
 import org.wso2.carbon.extension.identity.verification.mgt.dao.IdentityVerificationClaimDAO;
 import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationClientException;
 import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationException;
 import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationServerException;
 import org.wso2.carbon.extension.identity.verification.mgt.internal.IdentityVerificationDataHolder;
+import org.wso2.carbon.extension.identity.verification.mgt.listeners.IdVClaimInvalidationQueue;
 import org.wso2.carbon.extension.identity.verification.mgt.model.IdVClaim;
 import org.wso2.carbon.extension.identity.verification.mgt.model.IdentityVerifierData;
 import org.wso2.carbon.extension.identity.verification.provider.exception.IdVProviderMgtException;
+import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConfigUtil;
 import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants;
 import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationExceptionMgt;
 import org.wso2.carbon.extension.identity.verification.provider.model.IdVProvider;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.user.api.UserStoreException;
 import org.wso2.carbon.user.api.UserStoreManager;
 import org.wso2.carbon.user.core.UniqueIDUserStoreManager;
 import org.wso2.carbon.user.core.service.RealmService;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.BULK_VERIFICATION_BATCH_SIZE;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.BULK_VERIFICATION_PARALLELISM;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.DEFAULT_BULK_VERIFICATION_BATCH_SIZE;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.DEFAULT_BULK_VERIFICATION_PARALLELISM;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_ASYNC_VERIFICATION_REJECTED;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_CODE_GET_DAO;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_GETTING_USER_STORE;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_INVALID_BULK_VERIFICATION_JOB_ID;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_INVALID_IDV_PROVIDER;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_INVALID_IDV_VERIFIER;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_INVALID_LIMIT;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_INVALID_PAGINATION_CURSOR;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_INVALID_USER_ID;
 import static org.wso2.carbon.user.core.constants.UserCoreErrorConstants.ErrorMessages.ERROR_CODE_NON_EXISTING_USER;
 
@@ -87,7 +110,121 @@ public class IdentityVerificationManagerImpl implements IdentityVerificationMana
             throws IdentityVerificationException {
 
         validateUserId(userId, tenantId);
+        IdentityVerifier identityVerifier = getIdentityVerifier(identityVerifierData.getIdVProviderId(), tenantId);
+        String idVProviderId = identityVerifierData.getIdVProviderId();
+        IdVProviderIsolation idVProviderIsolation = IdVProviderIsolation.getInstance();
+        long permit = idVProviderIsolation.acquire(idVProviderId);
+        boolean failed = true;
+        boolean claimValueMemoStarted = AbstractIdentityVerifier.startClaimValueMemo();
+        try {
+            IdentityVerifierData verifiedIdentityVerifierData =
+                    identityVerifier.verifyIdentity(userId, identityVerifierData, tenantId);
+            failed = false;
+            return verifiedIdentityVerifierData;
+        } catch (IdentityVerificationClientException e) {
+            failed = false;
+            throw e;
+        } finally {
+            if (claimValueMemoStarted) {
+                AbstractIdentityVerifier.clearClaimValueMemo();
+            }
+            idVProviderIsolation.release(idVProviderId, permit, failed);
+        }
+    }
+
+    @Override
+    public CompletionStage<IdentityVerifierData> verifyIdentityAsync(String userId,
+                                                                     IdentityVerifierData identityVerifierData,
+                                                                     int tenantId) {
+
+        String idVProviderId = identityVerifierData.getIdVProviderId();
+        IdVProviderIsolation idVProviderIsolation = IdVProviderIsolation.getInstance();
+        IdentityVerifier identityVerifier;
+        long permit;
+        try {
+            validateUserId(userId, tenantId);
+            identityVerifier = getIdentityVerifier(idVProviderId, tenantId);
+            permit = idVProviderIsolation.acquire(idVProviderId);
+        } catch (IdentityVerificationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletionStage<IdentityVerifierData> verification;
+        try {
+            verification = identityVerifier.verifyIdentityAsync(userId, identityVerifierData, tenantId);
+        } catch (RuntimeException e) {
+            idVProviderIsolation.release(idVProviderId, permit, true);
+            return CompletableFuture.failedFuture(e);
+        }
+        return verification.whenComplete((verifiedIdentityVerifierData, e) ->
+                idVProviderIsolation.release(idVProviderId, permit, isIdVProviderFailure(e)));
+    }
+
+    private boolean isIdVProviderFailure(Throwable e) {
+
+        if (e == null) {
+            return false;
+        }
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof IdentityVerificationClientException) {
+            return false;
+        }
+        // Verifications rejected by the executor have not reached the provider.
+        return !(cause instanceof IdentityVerificationServerException && ERROR_ASYNC_VERIFICATION_REJECTED.getCode()
+                .equals(((IdentityVerificationServerException) cause).getErrorCode()));
+    }
+
+    @Override
+    public IdVBulkVerificationJob startBulkVerification(List<String> userIds, IdentityVerifierData identityVerifierData,
+                                                        boolean resume, int tenantId)
+            throws IdentityVerificationException {
+
         String idVProviderId = identityVerifierData.getIdVProviderId();
+        // Fail before starting the job if the provider or its verifier is not available.
+        getIdentityVerifier(idVProviderId, tenantId);
+        List<String> distinctUserIds = userIds == null ? new ArrayList<>() :
+                new ArrayList<>(new LinkedHashSet<>(userIds));
+        IdVBulkVerificationJob job = new IdVBulkVerificationJob(UUID.randomUUID().toString(), idVProviderId,
+                distinctUserIds.size(), tenantId);
+        IdVBulkVerificationTask task = new IdVBulkVerificationTask(job, distinctUserIds, identityVerifierData,
+                resume, Math.max(1, IdentityVerificationConfigUtil.getIntProperty(BULK_VERIFICATION_BATCH_SIZE,
+                DEFAULT_BULK_VERIFICATION_BATCH_SIZE)),
+                Math.max(1, IdentityVerificationConfigUtil.getIntProperty(BULK_VERIFICATION_PARALLELISM,
+                        DEFAULT_BULK_VERIFICATION_PARALLELISM)),
+                IdentityVerificationExecutor.getInstance(),
+                PrivilegedCarbonContext.getThreadLocalCarbonContext().getUsername());
+        IdVBulkVerificationExecutor.getInstance().submit(task);
+        if (log.isDebugEnabled()) {
+            log.debug("Started the bulk identity verification job: " + job.getJobId() + " for " +
+                    distinctUserIds.size() + " users with the identity verification provider: " + idVProviderId);
+        }
+        return job;
+    }
+
+    @Override
+    public IdVBulkVerificationJob getBulkVerificationJob(String jobId, int tenantId) {
+
+        return IdVBulkVerificationExecutor.getInstance().getJob(jobId, tenantId);
+    }
+
+    @Override
+    public IdVBulkVerificationJob resumeBulkVerification(String jobId, int tenantId)
+            throws IdentityVerificationException {
+
+        IdVBulkVerificationTask task = IdVBulkVerificationExecutor.getInstance().getTask(jobId, tenantId);
+        if (task == null) {
+            throw IdentityVerificationExceptionMgt.handleClientException(ERROR_INVALID_BULK_VERIFICATION_JOB_ID,
+                    jobId);
+        }
+        task.getJob().cancel();
+        /* Wait for the verifications already submitted by the job, so that the claims they store are seen by the new
+           job and the same users are not verified twice. The job completes normally even when cancelled. */
+        task.getJob().getCompletionStage().toCompletableFuture().join();
+        return startBulkVerification(task.getUserIds(), task.getIdentityVerifierData(), true, tenantId);
+    }
+
+    private IdentityVerifier getIdentityVerifier(String idVProviderId, int tenantId)
+            throws IdentityVerificationException {
+
         if (StringUtils.isBlank(idVProviderId) || !isValidIdVProviderId(idVProviderId, tenantId)) {
             throw IdentityVerificationExceptionMgt.
                     handleClientException(ERROR_INVALID_IDV_PROVIDER, idVProviderId);
@@ -105,15 +242,24 @@ public class IdentityVerificationManagerImpl implements IdentityVerificationMana
             throw IdentityVerificationExceptionMgt.
                     handleClientException(ERROR_INVALID_IDV_VERIFIER, idVProviderId);
         }
-        return identityVerifier.verifyIdentity(userId, identityVerifierData, tenantId);
+        return identityVerifier;
     }
 
     @Override
     public IdVClaim getIdVClaim(String userId, String idvClaimId, int tenantId) throws IdentityVerificationException {
 
-        validateIdVClaimId(idvClaimId, tenantId);
+        if (StringUtils.isBlank(idvClaimId)) {
+            throw IdentityVerificationExceptionMgt.handleClientException(
+                    IdentityVerificationConstants.ErrorMessage.ERROR_INVALID_IDV_CLAIM_ID, idvClaimId);
+        }
+        IdVClaimInvalidationQueue.getInstance().flushPendingInvalidations(userId, tenantId);
+        // The claim is looked up first, so that the existence of the claim is checked only if it is not found.
+        IdVClaim idVClaim = getIdVClaimDAO().getIDVClaim(userId, idvClaimId, tenantId);
+        if (idVClaim == null) {
+            validateIdVClaimId(idvClaimId, tenantId);
+        }
         validateUserId(userId, tenantId);
-        return getIdVClaimDAO().getIDVClaim(userId, idvClaimId, tenantId);
+        return idVClaim;
     }
 
     @Override
@@ -126,6 +272,7 @@ public class IdentityVerificationManagerImpl implements IdentityVerificationMana
                 throw IdentityVerificationExceptionMgt.handleClientException(ERROR_INVALID_IDV_PROVIDER, idVProviderId);
             }
         }
+        IdVClaimInvalidationQueue.getInstance().flushPendingInvalidations(userId, tenantId);
         return getIdVClaimDAO().getIDVClaim(userId, idvClaimUri, idVProviderId, tenantId);
     }
 
@@ -139,9 +286,68 @@ public class IdentityVerificationManagerImpl implements IdentityVerificationMana
                 throw IdentityVerificationExceptionMgt.handleClientException(ERROR_INVALID_IDV_PROVIDER, idvProviderId);
             }
         }
+        IdVClaimInvalidationQueue.getInstance().flushPendingInvalidations(userId, tenantId);
         return getIdVClaimDAO().getIDVClaims(userId, idvProviderId, claimUri, tenantId);
     }
 
+    @Override
+    public IdVClaim[] getIdVClaims(String userId, String idvProviderId, String claimUri, String after, int limit,
+                                   int tenantId) throws IdentityVerificationException {
+
+        validateUserId(userId, tenantId);
+        if (StringUtils.isNotBlank(idvProviderId)) {
+            if (!isValidIdVProviderId(idvProviderId, tenantId)) {
+                throw IdentityVerificationExceptionMgt.handleClientException(ERROR_INVALID_IDV_PROVIDER, idvProviderId);
+            }
+        }
+        IdVClaimInvalidationQueue.getInstance().flushPendingInvalidations(userId, tenantId);
+        return getIdVClaimDAO().getIDVClaims(userId, idvProviderId, claimUri, tenantId, getAfterId(after),
+                validateLimit(limit));
+    }
+
+    @Override
+    public Map<String, List<IdVClaim>> getIdVClaimsOfUsers(Set<String> userIds, String idvProviderId, int tenantId)
+            throws IdentityVerificationException {
+
+        if (StringUtils.isNotBlank(idvProviderId)) {
+            if (!isValidIdVProviderId(idvProviderId, tenantId)) {
+                throw IdentityVerificationExceptionMgt.handleClientException(ERROR_INVALID_IDV_PROVIDER, idvProviderId);
+            }
+        }
+        for (String userId : userIds) {
+            IdVClaimInvalidationQueue.getInstance().flushPendingInvalidations(userId, tenantId);
+        }
+        return getIdVClaimDAO().getIdVClaimsOfUsers(userIds, idvProviderId, tenantId);
+    }
+
+    @Override
+    public Map<String, Boolean> getIdVClaimStatuses(String userId, Set<String> claimUris, String idvProviderId,
+                                                    int tenantId) throws IdentityVerificationException {
+
+        validateUserId(userId, tenantId);
+        if (StringUtils.isNotBlank(idvProviderId)) {
+            if (!isValidIdVProviderId(idvProviderId, tenantId)) {
+                throw IdentityVerificationExceptionMgt.handleClientException(ERROR_INVALID_IDV_PROVIDER, idvProviderId);
+            }
+        }
+        IdVClaimInvalidationQueue.getInstance().flushPendingInvalidations(userId, tenantId);
+        return getIdVClaimDAO().getIdVClaimStatuses(userId, claimUris, idvProviderId, tenantId);
+    }
+
+    @Override
+    public IdVClaim[] getIdVClaimSummaries(String userId, String idvProviderId, String claimUri, int tenantId)
+            throws IdentityVerificationException {
+
+        validateUserId(userId, tenantId);
+        if (StringUtils.isNotBlank(idvProviderId)) {
+            if (!isValidIdVProviderId(idvProviderId, tenantId)) {
+                throw IdentityVerificationExceptionMgt.handleClientException(ERROR_INVALID_IDV_PROVIDER, idvProviderId);
+            }
+        }
+        IdVClaimInvalidationQueue.getInstance().flushPendingInvalidations(userId, tenantId);
+        return getIdVClaimDAO().getIdVClaimSummaries(userId, idvProviderId, claimUri, tenantId);
+    }
+
     @Override
     public List<IdVClaim> addIdVClaims(String userId, List<IdVClaim> idVClaims, int tenantId)
             throws IdentityVerificationException {
@@ -155,10 +361,26 @@ public class IdentityVerificationManagerImpl implements IdentityVerificationMana
             validateIdVClaimInputs(idVClaim, tenantId);
             validateIdVClaimUniqueness(userId, idVClaim, tenantId);
         }
+        IdVClaimInvalidationQueue.getInstance().flushPendingInvalidations(userId, tenantId);
         getIdVClaimDAO().addIdVClaimList(idVClaims, tenantId);
         return idVClaims;
     }
 
+    @Override
+    public List<IdVClaim> addOrUpdateIdVClaims(String userId, List<IdVClaim> idVClaims, int tenantId)
+            throws IdentityVerificationException {
+
+        validateUserId(userId, tenantId);
+        for (IdVClaim idVClaim : idVClaims) {
+            // Set uuid for each identity verification claim. Existing claims retain their uuid.
+            idVClaim.setUuid(UUID.randomUUID().toString());
+            validateIdVClaimInputs(idVClaim, tenantId);
+        }
+        IdVClaimInvalidationQueue.getInstance().flushPendingInvalidations(userId, tenantId);
+        getIdVClaimDAO().addOrUpdateIdVClaims(userId, idVClaims, tenantId);
+        return idVClaims;
+    }
+
     @Override
     public List<IdVClaim> updateIdVClaims(String userId, List<IdVClaim> idVClaims, int tenantId)
             throws IdentityVerificationException {
@@ -166,9 +388,9 @@ public class IdentityVerificationManagerImpl implements IdentityVerificationMana
         validateUserId(userId, tenantId);
         for (IdVClaim idVClaim : idVClaims) {
             validateIdVClaimInputs(idVClaim, tenantId);
-            idVClaim.setUuid(getIdVClaimID(userId, idVClaim.getIdVPId(), idVClaim.getClaimUri(), tenantId));
-            getIdVClaimDAO().updateIdVClaim(idVClaim, tenantId);
         }
+        IdVClaimInvalidationQueue.getInstance().flushPendingInvalidations(userId, tenantId);
+        getIdVClaimDAO().updateIdVClaims(userId, idVClaims, tenantId);
         return idVClaims;
     }
 
@@ -179,6 +401,7 @@ public class IdentityVerificationManagerImpl implements IdentityVerificationMana
         String idvClaimId = idvClaim.getUuid();
         validateIdVClaimId(idvClaimId, tenantId);
         validateUserId(userId, tenantId);
+        IdVClaimInvalidationQueue.getInstance().flushPendingInvalidations(userId, tenantId);
         getIdVClaimDAO().updateIdVClaim(idvClaim, tenantId);
         return idvClaim;
     }
@@ -197,6 +420,29 @@ public class IdentityVerificationManagerImpl implements IdentityVerificationMana
         getIdVClaimDAO().deleteIdVClaims(userId, idvProviderId, claimUri, tenantId);
     }
 
+    @Override
+    public void deleteIDVClaims(String userId, Set<String> claimUris, int tenantId)
+            throws IdentityVerificationException {
+
+        getIdVClaimDAO().deleteIdVClaims(userId, claimUris, tenantId);
+    }
+
+    @Override
+    public Set<String> getVerificationRelevantClaimUris(int tenantId) throws IdentityVerificationException {
+
+        Set<String> claimUris;
+        try {
+            claimUris = new HashSet<>(IdentityVerificationDataHolder.getInstance().
+                    getIdVProviderManager().getMappedClaims(tenantId));
+        } catch (IdVProviderMgtException e) {
+            throw IdentityVerificationExceptionMgt.handleServerException(
+                    IdentityVerificationConstants.ErrorMessage.ERROR_RETRIEVING_IDV_CLAIM_MAPPINGS, e);
+        }
+        // Identity verification claims can be added for claims which are not mapped by any provider.
+        claimUris.addAll(getIdVClaimDAO().getIdVClaimUris(tenantId));
+        return claimUris;
+    }
+
     @Override
     public IdVClaim[] getIdVClaimsByMetadata(String metadataKey, String metadataValue, String idvProviderId,
                                              int tenantId) throws IdentityVerificationException {
@@ -205,7 +451,76 @@ public class IdentityVerificationManagerImpl implements IdentityVerificationMana
             throw IdentityVerificationExceptionMgt.handleClientException(
                     IdentityVerificationConstants.ErrorMessage.ERROR_EMPTY_CLAIM_METADATA);
         }
-        return getIdVClaimDAO().getIdVClaimsByMetadata(metadataKey, metadataValue, idvProviderId, tenantId);
+        IdVClaim[] idVClaims = getIdVClaimDAO().getIdVClaimsByMetadata(metadataKey, metadataValue, idvProviderId,
+                tenantId);
+        if (flushPendingInvalidations(idVClaims, tenantId)) {
+            idVClaims = getIdVClaimDAO().getIdVClaimsByMetadata(metadataKey, metadataValue, idvProviderId, tenantId);
+        }
+        return idVClaims;
+    }
+
+    @Override
+    public IdVClaim[] getIdVClaimsByMetadata(String metadataKey, String metadataValue, String idvProviderId,
+                                             String after, int limit, int tenantId)
+            throws IdentityVerificationException {
+
+        if (StringUtils.isBlank(metadataKey)) {
+            throw IdentityVerificationExceptionMgt.handleClientException(
+                    IdentityVerificationConstants.ErrorMessage.ERROR_EMPTY_CLAIM_METADATA);
+        }
+        int afterId = getAfterId(after);
+        int validatedLimit = validateLimit(limit);
+        IdVClaim[] idVClaims = getIdVClaimDAO().getIdVClaimsByMetadata(metadataKey, metadataValue, idvProviderId,
+                tenantId, afterId, validatedLimit);
+        if (flushPendingInvalidations(idVClaims, tenantId)) {
+            idVClaims = getIdVClaimDAO().getIdVClaimsByMetadata(metadataKey, metadataValue, idvProviderId, tenantId,
+                    afterId, validatedLimit);
+        }
+        return idVClaims;
+    }
+
+    @Override
+    public int reEncodeIdVClaimMetadata(int tenantId) throws IdentityVerificationException {
+
+        return getIdVClaimDAO().reEncodeIdVClaimMetadata(tenantId);
+    }
+
+    @Override
+    public int backfillIdVClaimMetadata(int tenantId) throws IdentityVerificationException {
+
+        return getIdVClaimDAO().backfillIdVClaimMetadata(tenantId);
+    }
+
+    private int validateLimit(int limit) throws IdentityVerificationClientException {
+
+        if (limit <= 0) {
+            throw IdentityVerificationExceptionMgt.handleClientException(ERROR_INVALID_LIMIT, String.valueOf(limit));
+        }
+        int maximumItemsPerPage = IdentityUtil.getMaximumItemPerPage();
+        if (limit > maximumItemsPerPage) {
+            if (log.isDebugEnabled()) {
+                log.debug("Given limit exceed the maximum limit. Therefore we get the maximum limit from " +
+                        "identity.xml. limit: " + maximumItemsPerPage);
+            }
+            limit = maximumItemsPerPage;
+        }
+        return limit;
+    }
+
+    private int getAfterId(String after) throws IdentityVerificationClientException {
+
+        if (StringUtils.isBlank(after)) {
+            return 0;
+        }
+        try {
+            int afterId = Integer.parseInt(after.trim());
+            if (afterId < 0) {
+                throw IdentityVerificationExceptionMgt.handleClientException(ERROR_INVALID_PAGINATION_CURSOR, after);
+            }
+            return afterId;
+        } catch (NumberFormatException e) {
+            throw IdentityVerificationExceptionMgt.handleClientException(ERROR_INVALID_PAGINATION_CURSOR, after, e);
+        }
     }
 
     private void validateIdVClaimId(String idvClaimId, int tenantId) throws IdentityVerificationException {
@@ -216,6 +531,26 @@ public class IdentityVerificationManagerImpl implements IdentityVerificationMana
         }
     }
 
+    /**
+     * Apply the pending claim deletions of the owners of the given identity verification claims.
+     *
+     * @return True if any of the owners had pending claim deletions, in which case the claims should be retrieved
+     * again.
+     */
+    private boolean flushPendingInvalidations(IdVClaim[] idVClaims, int tenantId)
+            throws IdentityVerificationException {
+
+        Set<String> userIds = new HashSet<>();
+        boolean flushed = false;
+        for (IdVClaim idVClaim : idVClaims) {
+            if (userIds.add(idVClaim.getUserId())) {
+                flushed |= IdVClaimInvalidationQueue.getInstance().flushPendingInvalidations(idVClaim.getUserId(),
+                        tenantId);
+            }
+        }
+        return flushed;
+    }
+
     private void validateUserId(String userId, int tenantId)
             throws IdentityVerificationServerException, IdentityVerificationClientException {
 
@@ -263,6 +598,18 @@ public class IdentityVerificationManagerImpl implements IdentityVerificationMana
 
     private boolean isValidUserId(String userId, int tenantId) throws IdentityVerificationServerException {
 
+        // Only the existing users are cached, as a user can be added at any time.
+        IdVExistingUserCache idVExistingUserCache = IdVExistingUserCache.getInstance();
+        IdVExistingUserCacheKey cacheKey = new IdVExistingUserCacheKey(userId);
+        boolean cacheHit = idVExistingUserCache.getValueFromCache(cacheKey, tenantId) != null;
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Existing user cache %s for the user id: %s. Hit ratio: %.2f (%d hits, %d " +
+                            "misses).", cacheHit ? "hit" : "miss", userId, idVExistingUserCache.getHitRatio(),
+                    idVExistingUserCache.getHitCount(), idVExistingUserCache.getMissCount()));
+        }
+        if (cacheHit) {
+            return true;
+        }
         UniqueIDUserStoreManager uniqueIDUserStoreManager;
         try {
             uniqueIDUserStoreManager =
@@ -272,6 +619,7 @@ public class IdentityVerificationManagerImpl implements IdentityVerificationMana
                 if (log.isDebugEnabled()) {
                     log.debug("User exists with the given user id: " + userId);
                 }
+                idVExistingUserCache.addToCache(cacheKey, new IdVExistingUserCacheEntry(userId), tenantId);
                 return true;
             }
         } catch (UserStoreException e) {
@@ -299,18 +647,6 @@ public class IdentityVerificationManagerImpl implements IdentityVerificationMana
         return getIdVClaimDAO().isIdVClaimExist(idVClaimId, tenantId);
     }
 
-    private String getIdVClaimID(String userId, String idvProviderId, String claimUri, int tenantId)
-            throws IdentityVerificationException {
-
-        IdVClaim idVClaim = getIdVClaimDAO().getIDVClaim(userId, claimUri, idvProviderId, tenantId);
-        if (idVClaim == null) {
-            throw IdentityVerificationExceptionMgt.handleClientException(
-                    IdentityVerificationConstants.ErrorMessage.ERROR_IDV_CLAIM_NOT_FOUND,
-                    String.format("user ID: %s, provider ID: %s, claim URI: %s", userId, idvProviderId, claimUri));
-        }
-        return idVClaim.getUuid();
-    }
-
     private UniqueIDUserStoreManager getUniqueIdEnabledUserStoreManager(RealmService realmService, String tenantDomain)
             throws IdentityVerificationServerException, UserStoreException {
 
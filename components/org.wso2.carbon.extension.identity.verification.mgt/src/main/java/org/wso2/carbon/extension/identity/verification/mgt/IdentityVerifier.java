@@ -20,6 +20,8 @@ package org.wso2.carbon.extension.identity.verification.mgt;
 import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationException;
 import org.wso2.carbon.extension.identity.verification.mgt.model.IdentityVerifierData;
 
+import java.util.concurrent.CompletionStage;
+
 /**
  * This interface contains the implementation of IdentityVerifier.
  */
@@ -37,4 +39,22 @@ public interface IdentityVerifier {
      */
     IdentityVerifierData verifyIdentity(String userId, IdentityVerifierData identityVerifierData, int tenantId)
             throws IdentityVerificationException;
+
+    /**
+     * Verify an identity asynchronously. By default, {@link #verifyIdentity} is run on the bounded
+     * {@link IdentityVerificationExecutor}. Verifiers calling the identity verification provider with a non-blocking
+     * client can override this to avoid holding a thread while the provider responds.
+     *
+     * @param userId               User Id.
+     * @param identityVerifierData Identity verification data.
+     * @param tenantId             Tenant Id.
+     * @return Stage completed with the IdentityVerifierData, or exceptionally with an IdentityVerificationException.
+     */
+    default CompletionStage<IdentityVerifierData> verifyIdentityAsync(String userId,
+                                                                      IdentityVerifierData identityVerifierData,
+                                                                      int tenantId) {
+
+        return IdentityVerificationExecutor.getInstance().submit(
+                () -> verifyIdentity(userId, identityVerifierData, tenantId), tenantId);
+    }
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.extension.identity.verification.mgt.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Represents the cache that holds the id of the identity verification claim of a user for a claim URI and an
+ * identity verification provider. The claim itself is resolved from {@link IdVClaimByIdCache}.
+ */
+public class IdVClaimByClaimUriCache extends BaseCache<IdVClaimCacheKey, IdVClaimIdCacheEntry> {
+
+    private static final String IDV_CLAIM_BY_CLAIM_URI_CACHE_NAME = "IdVClaimByClaimUriCache";
+    private static volatile IdVClaimByClaimUriCache instance;
+
+    private IdVClaimByClaimUriCache() {
+
+        super(IDV_CLAIM_BY_CLAIM_URI_CACHE_NAME);
+    }
+
+    public static IdVClaimByClaimUriCache getInstance() {
+
+        if (instance == null) {
+            synchronized (IdVClaimByClaimUriCache.class) {
+                if (instance == null) {
+                    instance = new IdVClaimByClaimUriCache();
+                }
+            }
+        }
+        return instance;
+    }
+}
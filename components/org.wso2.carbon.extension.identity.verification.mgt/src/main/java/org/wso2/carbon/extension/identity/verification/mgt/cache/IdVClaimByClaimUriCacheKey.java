@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.extension.identity.verification.mgt.cache;
+
+/**
+ * Cache key for {@link IdVClaimByClaimUriCache} by the user id, the identity verification provider id and the claim
+ * URI.
+ */
+public class IdVClaimByClaimUriCacheKey extends IdVClaimCacheKey {
+
+    // Provider ids and claim URIs can not contain whitespace, hence the key is not ambiguous.
+    private static final String KEY_SEPARATOR = " ";
+
+    public IdVClaimByClaimUriCacheKey(String userId, String claimUri, String idVProviderId) {
+
+        super(userId + KEY_SEPARATOR + idVProviderId + KEY_SEPARATOR + claimUri);
+    }
+}
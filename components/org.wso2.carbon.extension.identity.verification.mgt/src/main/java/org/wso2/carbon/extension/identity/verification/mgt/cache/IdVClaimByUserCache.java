@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.extension.identity.verification.mgt.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Represents the cache that holds all the identity verification claims of a user, so that the claims of the user
+ * filtered by the identity verification provider or the claim URI are served without a database lookup.
+ */
+public class IdVClaimByUserCache extends BaseCache<IdVClaimCacheKey, IdVClaimByUserCacheEntry> {
+
+    private static final String IDV_CLAIM_BY_USER_CACHE_NAME = "IdVClaimByUserCache";
+    private static volatile IdVClaimByUserCache instance;
+
+    private IdVClaimByUserCache() {
+
+        super(IDV_CLAIM_BY_USER_CACHE_NAME);
+    }
+
+    public static IdVClaimByUserCache getInstance() {
+
+        if (instance == null) {
+            synchronized (IdVClaimByUserCache.class) {
+                if (instance == null) {
+                    instance = new IdVClaimByUserCache();
+                }
+            }
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.extension.identity.verification.mgt.cache;
+
+import org.wso2.carbon.extension.identity.verification.mgt.model.IdVClaim;
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a cache entry for the identity verification claims of a user. The claims are kept in the same form as
+ * in {@link IdVClaimCacheEntry} and copies are returned on each access.
+ */
+public class IdVClaimByUserCacheEntry extends CacheEntry {
+
+    private final List<IdVClaim> idVClaims = new ArrayList<>();
+
+    public IdVClaimByUserCacheEntry(List<IdVClaim> idVClaims) {
+
+        for (IdVClaim idVClaim : idVClaims) {
+            this.idVClaims.add(IdVClaimCacheEntry.getCompactIdVClaim(idVClaim));
+        }
+    }
+
+    public List<IdVClaim> getIdVClaims() {
+
+        List<IdVClaim> idVClaimsCopy = new ArrayList<>(idVClaims.size());
+        for (IdVClaim idVClaim : idVClaims) {
+            idVClaimsCopy.add(IdVClaimCacheEntry.getCompactIdVClaim(idVClaim));
+        }
+        return idVClaimsCopy;
+    }
+}
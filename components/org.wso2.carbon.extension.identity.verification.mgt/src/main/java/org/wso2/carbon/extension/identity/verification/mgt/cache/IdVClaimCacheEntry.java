@@ -21,7 +21,8 @@ import org.wso2.carbon.extension.identity.verification.mgt.model.IdVClaim;
 import org.wso2.carbon.identity.core.cache.CacheEntry;
 
 /**
- * Represents a cache entry for {@link IdVClaim}.
+ * Represents a cache entry for {@link IdVClaim}. The claim is kept with its metadata in the encoded form and a copy
+ * is returned on each access, so that decoding or modifying the returned claim does not affect the cached entry.
  */
 public class IdVClaimCacheEntry extends CacheEntry {
 
@@ -29,16 +30,33 @@ public class IdVClaimCacheEntry extends CacheEntry {
 
     public IdVClaimCacheEntry(IdVClaim idVClaim) {
 
-        this.idVClaim = idVClaim;
+        this.idVClaim = getCompactIdVClaim(idVClaim);
     }
 
     public IdVClaim getIdVClaim() {
 
-        return idVClaim;
+        return getCompactIdVClaim(idVClaim);
     }
 
     public void setIdVClaim(IdVClaim idVClaim) {
 
-        this.idVClaim = idVClaim;
+        this.idVClaim = getCompactIdVClaim(idVClaim);
+    }
+
+    static IdVClaim getCompactIdVClaim(IdVClaim idVClaim) {
+
+        if (idVClaim == null) {
+            return null;
+        }
+        IdVClaim compactIdVClaim = new IdVClaim();
+        compactIdVClaim.setId(idVClaim.getId());
+        compactIdVClaim.setUuid(idVClaim.getUuid());
+        compactIdVClaim.setUserId(idVClaim.getUserId());
+        compactIdVClaim.setClaimUri(idVClaim.getClaimUri());
+        compactIdVClaim.setClaimValue(idVClaim.getClaimValue());
+        compactIdVClaim.setIsVerified(idVClaim.isVerified());
+        compactIdVClaim.setIdVPId(idVClaim.getIdVPId());
+        compactIdVClaim.setEncodedMetadata(idVClaim.getEncodedMetadata());
+        return compactIdVClaim;
     }
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.extension.identity.verification.mgt.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Represents the cache that holds the identity verification claims known not to exist, by the claim id or by the
+ * user, the identity verification provider and the claim URI. Entries are cleared when claims are added, and expire
+ * after a short timeout so that claims added by other means are not hidden for long.
+ */
+public class IdVClaimNotFoundCache extends BaseCache<IdVClaimCacheKey, IdVClaimNotFoundCacheEntry> {
+
+    private static final String IDV_CLAIM_NOT_FOUND_CACHE_NAME = "IdVClaimNotFoundCache";
+    // Timeout in seconds, unless overridden by the cache configuration.
+    private static final int IDV_CLAIM_NOT_FOUND_CACHE_TIMEOUT = 60;
+    private static volatile IdVClaimNotFoundCache instance;
+
+    private IdVClaimNotFoundCache() {
+
+        super(IDV_CLAIM_NOT_FOUND_CACHE_NAME, IDV_CLAIM_NOT_FOUND_CACHE_TIMEOUT);
+    }
+
+    public static IdVClaimNotFoundCache getInstance() {
+
+        if (instance == null) {
+            synchronized (IdVClaimNotFoundCache.class) {
+                if (instance == null) {
+                    instance = new IdVClaimNotFoundCache();
+                }
+            }
+        }
+        return instance;
+    }
+}
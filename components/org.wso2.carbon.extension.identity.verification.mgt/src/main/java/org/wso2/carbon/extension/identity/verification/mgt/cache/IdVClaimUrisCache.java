@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.extension.identity.verification.mgt.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Represents the cache that holds the claim URIs of the identity verification claims stored in a tenant.
+ */
+public class IdVClaimUrisCache extends BaseCache<IdVClaimCacheKey, IdVClaimUrisCacheEntry> {
+
+    private static final String IDV_CLAIM_URIS_CACHE_NAME = "IdVClaimUrisCache";
+    private static volatile IdVClaimUrisCache instance;
+
+    private IdVClaimUrisCache() {
+
+        super(IDV_CLAIM_URIS_CACHE_NAME);
+    }
+
+    public static IdVClaimUrisCache getInstance() {
+
+        if (instance == null) {
+            synchronized (IdVClaimUrisCache.class) {
+                if (instance == null) {
+                    instance = new IdVClaimUrisCache();
+                }
+            }
+        }
+        return instance;
+    }
+}
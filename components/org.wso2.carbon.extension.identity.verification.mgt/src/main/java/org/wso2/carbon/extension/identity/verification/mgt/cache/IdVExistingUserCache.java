@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.extension.identity.verification.mgt.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents the cache that holds the users known to exist in the user store, so that the user id given to the
+ * identity verification operations is not looked up in the user store on each call. Entries expire after a short
+ * timeout, as users can be deleted without notifying this component, and are cleared when a user is deleted.
+ */
+public class IdVExistingUserCache extends BaseCache<IdVClaimCacheKey, IdVExistingUserCacheEntry> {
+
+    private static final String IDV_EXISTING_USER_CACHE_NAME = "IdVExistingUserCache";
+    // Timeout in seconds, unless overridden by the cache configuration.
+    private static final int IDV_EXISTING_USER_CACHE_TIMEOUT = 60;
+    private static volatile IdVExistingUserCache instance;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    private IdVExistingUserCache() {
+
+        super(IDV_EXISTING_USER_CACHE_NAME, IDV_EXISTING_USER_CACHE_TIMEOUT);
+    }
+
+    public static IdVExistingUserCache getInstance() {
+
+        if (instance == null) {
+            synchronized (IdVExistingUserCache.class) {
+                if (instance == null) {
+                    instance = new IdVExistingUserCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    @Override
+    public IdVExistingUserCacheEntry getValueFromCache(IdVClaimCacheKey key, int tenantId) {
+
+        IdVExistingUserCacheEntry cacheEntry = super.getValueFromCache(key, tenantId);
+        if (cacheEntry != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+        return cacheEntry;
+    }
+
+    /**
+     * Get the number of lookups served from the cache.
+     *
+     * @return Number of cache hits.
+     */
+    public long getHitCount() {
+
+        return hitCount.get();
+    }
+
+    /**
+     * Get the number of lookups not served from the cache.
+     *
+     * @return Number of cache misses.
+     */
+    public long getMissCount() {
+
+        return missCount.get();
+    }
+
+    /**
+     * Get the ratio of the lookups served from the cache.
+     *
+     * @return Hit ratio between 0 and 1. 0 if there were no lookups.
+     */
+    public double getHitRatio() {
+
+        long hits = hitCount.get();
+        long lookups = hits + missCount.get();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
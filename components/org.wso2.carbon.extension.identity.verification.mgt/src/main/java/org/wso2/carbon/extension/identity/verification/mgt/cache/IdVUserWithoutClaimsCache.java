@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.extension.identity.verification.mgt.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Represents the cache that holds the users known to have no identity verification claims, so that user operations
+ * of those users do not need to look up identity verification claims.
+ */
+public class IdVUserWithoutClaimsCache extends BaseCache<IdVClaimCacheKey, IdVUserWithoutClaimsCacheEntry> {
+
+    private static final String IDV_USER_WITHOUT_CLAIMS_CACHE_NAME = "IdVUserWithoutClaimsCache";
+    private static volatile IdVUserWithoutClaimsCache instance;
+
+    private IdVUserWithoutClaimsCache() {
+
+        super(IDV_USER_WITHOUT_CLAIMS_CACHE_NAME);
+    }
+
+    public static IdVUserWithoutClaimsCache getInstance() {
+
+        if (instance == null) {
+            synchronized (IdVUserWithoutClaimsCache.class) {
+                if (instance == null) {
+                    instance = new IdVUserWithoutClaimsCache();
+                }
+            }
+        }
+        return instance;
+    }
+}
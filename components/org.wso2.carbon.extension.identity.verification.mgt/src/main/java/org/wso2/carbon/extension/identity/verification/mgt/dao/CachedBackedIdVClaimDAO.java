@@ -17,15 +17,39 @@
  */
 package org.wso2.carbon.extension.identity.verification.mgt.dao;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimByClaimUriCache;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimByClaimUriCacheKey;
 import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimByIdCache;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimByUserCache;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimByUserCacheEntry;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimByUserCacheKey;
 import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimByIdCacheKey;
 import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimCacheEntry;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimCacheKey;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimIdCacheEntry;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimNotFoundCache;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimNotFoundCacheEntry;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimUrisCache;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimUrisCacheEntry;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimUrisCacheKey;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVUserWithoutClaimsCache;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVUserWithoutClaimsCacheEntry;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVUserWithoutClaimsCacheKey;
 import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationException;
 import org.wso2.carbon.extension.identity.verification.mgt.model.IdVClaim;
+import org.wso2.carbon.extension.identity.verification.mgt.model.IdVClaimInvalidation;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This is a wrapper data access object to the default data access object to provide caching functionalities.
@@ -35,11 +59,31 @@ public class CachedBackedIdVClaimDAO implements IdentityVerificationClaimDAO {
     private static final Log log = LogFactory.getLog(CachedBackedIdVClaimDAO.class);
     private final IdentityVerificationClaimDAO identityVerificationClaimDAO;
     private final IdVClaimByIdCache idVClaimByIdCache;
+    private final IdVClaimByClaimUriCache idVClaimByClaimUriCache;
+    private final IdVClaimByUserCache idVClaimByUserCache;
+    private final IdVUserWithoutClaimsCache idVUserWithoutClaimsCache;
+    private final IdVClaimUrisCache idVClaimUrisCache;
+    private final IdVClaimNotFoundCache idVClaimNotFoundCache;
+    /*
+     * Incremented after identity verification claims are added, so that a user found to have no claims, a claim
+     * found not to exist, or the claim URIs of a tenant, are not cached if claims were added meanwhile.
+     */
+    private final AtomicLong idVClaimsAddedVersion = new AtomicLong();
+    /*
+     * Incremented after identity verification claims are changed, so that the claims of a user read before the
+     * change are not cached.
+     */
+    private final AtomicLong idVClaimsChangedVersion = new AtomicLong();
 
     public CachedBackedIdVClaimDAO(IdentityVerificationClaimDAO identityVerificationClaimDAO) {
 
         this.identityVerificationClaimDAO = identityVerificationClaimDAO;
         this.idVClaimByIdCache = IdVClaimByIdCache.getInstance();
+        this.idVClaimByClaimUriCache = IdVClaimByClaimUriCache.getInstance();
+        this.idVClaimByUserCache = IdVClaimByUserCache.getInstance();
+        this.idVUserWithoutClaimsCache = IdVUserWithoutClaimsCache.getInstance();
+        this.idVClaimUrisCache = IdVClaimUrisCache.getInstance();
+        this.idVClaimNotFoundCache = IdVClaimNotFoundCache.getInstance();
     }
 
     @Override
@@ -51,23 +95,82 @@ public class CachedBackedIdVClaimDAO implements IdentityVerificationClaimDAO {
     @Override
     public void addIdVClaimList(List<IdVClaim> idvClaimList, int tenantId) throws IdentityVerificationException {
 
-        identityVerificationClaimDAO.addIdVClaimList(idvClaimList, tenantId);
+        try {
+            identityVerificationClaimDAO.addIdVClaimList(idvClaimList, tenantId);
+        } finally {
+            Set<String> userIds = clearAddedIdVClaimsFromNegativeCaches(null, idvClaimList, tenantId);
+            deleteIdVClaimsOfUsersFromCache(userIds, tenantId);
+        }
         addIdVClaimsToCache(idvClaimList, tenantId);
     }
 
+    @Override
+    public List<String> addOrUpdateIdVClaims(String userId, List<IdVClaim> idVClaims, int tenantId)
+            throws IdentityVerificationException {
+
+        List<String> idVClaimIds;
+        try {
+            idVClaimIds = identityVerificationClaimDAO.addOrUpdateIdVClaims(userId, idVClaims, tenantId);
+        } finally {
+            clearAddedIdVClaimsFromNegativeCaches(userId, idVClaims, tenantId);
+            deleteIdVClaimsOfUsersFromCache(Collections.singleton(userId), tenantId);
+        }
+        for (String idVClaimId : idVClaimIds) {
+            deleteIdVPFromCacheById(idVClaimId, tenantId);
+        }
+        return idVClaimIds;
+    }
+
     @Override
     public void updateIdVClaim(IdVClaim idVClaim, int tenantId) throws IdentityVerificationException {
 
         deleteIdVPFromCache(idVClaim, tenantId);
-        identityVerificationClaimDAO.updateIdVClaim(idVClaim, tenantId);
+        try {
+            identityVerificationClaimDAO.updateIdVClaim(idVClaim, tenantId);
+        } finally {
+            deleteIdVClaimsOfUsersFromCache(Collections.singleton(idVClaim.getUserId()), tenantId);
+        }
+    }
+
+    @Override
+    public List<String> updateIdVClaims(String userId, List<IdVClaim> idVClaims, int tenantId)
+            throws IdentityVerificationException {
+
+        List<String> idVClaimIds;
+        try {
+            idVClaimIds = identityVerificationClaimDAO.updateIdVClaims(userId, idVClaims, tenantId);
+        } finally {
+            deleteIdVClaimsOfUsersFromCache(Collections.singleton(userId), tenantId);
+        }
+        for (String idVClaimId : idVClaimIds) {
+            deleteIdVPFromCacheById(idVClaimId, tenantId);
+        }
+        return idVClaimIds;
     }
 
     @Override
     public IdVClaim getIDVClaim(String userId, String idvClaimUri, String idVProviderId, int tenantId)
             throws IdentityVerificationException {
 
-        IdVClaim idVClaim = identityVerificationClaimDAO.getIDVClaim(userId, idvClaimUri, idVProviderId, tenantId);
+        IdVClaim idVClaim = getIdVClaimFromCacheByClaimUri(userId, idvClaimUri, idVProviderId, tenantId);
+        if (idVClaim != null) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Cache hit for IdVClaim of user: %s by claim uri: %s and IdVProvider: %s. " +
+                        "Tenant id: %d", userId, idvClaimUri, idVProviderId, tenantId));
+            }
+            return idVClaim;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Cache miss for IdVClaim of user: %s by claim uri: %s and IdVProvider: %s. " +
+                    "Tenant id: %d", userId, idvClaimUri, idVProviderId, tenantId));
+        }
+        long changedVersion = idVClaimsChangedVersion.get();
+        idVClaim = identityVerificationClaimDAO.getIDVClaim(userId, idvClaimUri, idVProviderId, tenantId);
         addIdVClaimToCache(idVClaim, tenantId);
+        // The claim may have been changed after the version was read, and the change may not be visible.
+        if (idVClaimsChangedVersion.get() != changedVersion) {
+            deleteIdVPFromCache(idVClaim, tenantId);
+        }
         return idVClaim;
     }
 
@@ -97,7 +200,45 @@ public class CachedBackedIdVClaimDAO implements IdentityVerificationClaimDAO {
     public IdVClaim[] getIDVClaims(String userId, String idvProviderId, String claimUri, int tenantId)
             throws IdentityVerificationException {
 
-        return identityVerificationClaimDAO.getIDVClaims(userId, idvProviderId, claimUri, tenantId);
+        List<IdVClaim> idVClaims = new ArrayList<>();
+        for (IdVClaim idVClaim : getIdVClaimsOfUser(userId, tenantId)) {
+            if (StringUtils.isNotBlank(idvProviderId) && !idvProviderId.equals(idVClaim.getIdVPId())) {
+                continue;
+            }
+            if (StringUtils.isNotBlank(claimUri) && !claimUri.equals(idVClaim.getClaimUri())) {
+                continue;
+            }
+            idVClaims.add(idVClaim);
+        }
+        return idVClaims.toArray(new IdVClaim[0]);
+    }
+
+    @Override
+    public IdVClaim[] getIDVClaims(String userId, String idvProviderId, String claimUri, int tenantId, int afterId,
+                                   int limit) throws IdentityVerificationException {
+
+        return identityVerificationClaimDAO.getIDVClaims(userId, idvProviderId, claimUri, tenantId, afterId, limit);
+    }
+
+    @Override
+    public Map<String, List<IdVClaim>> getIdVClaimsOfUsers(Set<String> userIds, String idvProviderId, int tenantId)
+            throws IdentityVerificationException {
+
+        return identityVerificationClaimDAO.getIdVClaimsOfUsers(userIds, idvProviderId, tenantId);
+    }
+
+    @Override
+    public Map<String, Boolean> getIdVClaimStatuses(String userId, Set<String> claimUris, String idvProviderId,
+                                                    int tenantId) throws IdentityVerificationException {
+
+        return identityVerificationClaimDAO.getIdVClaimStatuses(userId, claimUris, idvProviderId, tenantId);
+    }
+
+    @Override
+    public IdVClaim[] getIdVClaimSummaries(String userId, String idvProviderId, String claimUri, int tenantId)
+            throws IdentityVerificationException {
+
+        return identityVerificationClaimDAO.getIdVClaimSummaries(userId, idvProviderId, claimUri, tenantId);
     }
 
     @Override
@@ -107,17 +248,54 @@ public class CachedBackedIdVClaimDAO implements IdentityVerificationClaimDAO {
         return identityVerificationClaimDAO.getIdVClaimsByMetadata(metadataKey, metadataValue, idvProviderId, tenantId);
     }
 
+    @Override
+    public IdVClaim[] getIdVClaimsByMetadata(String metadataKey, String metadataValue, String idvProviderId,
+                                             int tenantId, int afterId, int limit)
+            throws IdentityVerificationException {
+
+        return identityVerificationClaimDAO.getIdVClaimsByMetadata(metadataKey, metadataValue, idvProviderId,
+                tenantId, afterId, limit);
+    }
+
+    @Override
+    public void scanIdVClaims(int tenantId, IdVClaimConsumer consumer) throws IdentityVerificationException {
+
+        identityVerificationClaimDAO.scanIdVClaims(tenantId, consumer);
+    }
+
+    @Override
+    public int reEncodeIdVClaimMetadata(int tenantId) throws IdentityVerificationException {
+
+        // Cached claims remain valid as both metadata formats are decoded to the same metadata.
+        return identityVerificationClaimDAO.reEncodeIdVClaimMetadata(tenantId);
+    }
+
+    @Override
+    public int backfillIdVClaimMetadata(int tenantId) throws IdentityVerificationException {
+
+        // The projection is not cached, hence cached claims remain valid.
+        return identityVerificationClaimDAO.backfillIdVClaimMetadata(tenantId);
+    }
+
     @Override
     public void deleteIdVClaim(String userId, String idVClaimId, int tenantId) throws IdentityVerificationException {
 
         deleteIdVPFromCacheById(idVClaimId, tenantId);
-        identityVerificationClaimDAO.deleteIdVClaim(userId, idVClaimId, tenantId);
+        try {
+            identityVerificationClaimDAO.deleteIdVClaim(userId, idVClaimId, tenantId);
+        } finally {
+            deleteIdVClaimsOfUsersFromCache(Collections.singleton(userId), tenantId);
+        }
     }
 
     @Override
     public void deleteIdVClaims(String userId, String idvProviderId, String claimUri, int tenantId)
             throws IdentityVerificationException {
 
+        if (isUserWithoutIdVClaims(userId, tenantId)) {
+            return;
+        }
+        long addedVersion = idVClaimsAddedVersion.get();
         IdVClaim[] idVClaims = identityVerificationClaimDAO.getIDVClaims(userId, idvProviderId, claimUri, tenantId);
         if (idVClaims == null) {
             return;
@@ -125,20 +303,296 @@ public class CachedBackedIdVClaimDAO implements IdentityVerificationClaimDAO {
         for (IdVClaim idVClaim : idVClaims) {
             deleteIdVPFromCache(idVClaim, tenantId);
         }
-        identityVerificationClaimDAO.deleteIdVClaims(userId, idvProviderId, claimUri, tenantId);
+        try {
+            identityVerificationClaimDAO.deleteIdVClaims(userId, idvProviderId, claimUri, tenantId);
+        } finally {
+            deleteIdVClaimsOfUsersFromCache(Collections.singleton(userId), tenantId);
+        }
+        if (StringUtils.isBlank(idvProviderId) && StringUtils.isBlank(claimUri)) {
+            addUserWithoutIdVClaimsToCache(userId, tenantId, addedVersion);
+        }
+    }
+
+    @Override
+    public List<String> deleteIdVClaims(String userId, Set<String> claimUris, int tenantId)
+            throws IdentityVerificationException {
+
+        if (isUserWithoutIdVClaims(userId, tenantId)) {
+            return new ArrayList<>();
+        }
+        // The deleted claim ids are resolved by the underlying DAO within the delete transaction.
+        List<String> idVClaimIds;
+        try {
+            idVClaimIds = identityVerificationClaimDAO.deleteIdVClaims(userId, claimUris, tenantId);
+        } finally {
+            deleteIdVClaimsOfUsersFromCache(Collections.singleton(userId), tenantId);
+        }
+        for (String idVClaimId : idVClaimIds) {
+            deleteIdVPFromCacheById(idVClaimId, tenantId);
+        }
+        return idVClaimIds;
+    }
+
+    @Override
+    public void addIdVClaimInvalidations(String userId, Set<String> claimUris, int tenantId)
+            throws IdentityVerificationException {
+
+        identityVerificationClaimDAO.addIdVClaimInvalidations(userId, claimUris, tenantId);
+    }
+
+    @Override
+    public List<IdVClaimInvalidation> getIdVClaimInvalidations(String userId, int tenantId)
+            throws IdentityVerificationException {
+
+        return identityVerificationClaimDAO.getIdVClaimInvalidations(userId, tenantId);
+    }
+
+    @Override
+    public List<IdVClaimInvalidation> leaseIdVClaimInvalidations(long leaseExpiry, int limit)
+            throws IdentityVerificationException {
+
+        return identityVerificationClaimDAO.leaseIdVClaimInvalidations(leaseExpiry, limit);
+    }
+
+    @Override
+    public List<String> applyIdVClaimInvalidations(String userId, List<IdVClaimInvalidation> invalidations,
+                                                   int tenantId) throws IdentityVerificationException {
+
+        List<String> idVClaimIds;
+        try {
+            idVClaimIds = identityVerificationClaimDAO.applyIdVClaimInvalidations(userId, invalidations, tenantId);
+        } finally {
+            deleteIdVClaimsOfUsersFromCache(Collections.singleton(userId), tenantId);
+        }
+        for (String idVClaimId : idVClaimIds) {
+            deleteIdVPFromCacheById(idVClaimId, tenantId);
+        }
+        return idVClaimIds;
+    }
+
+    @Override
+    public int getIdVClaimInvalidationCount() throws IdentityVerificationException {
+
+        return identityVerificationClaimDAO.getIdVClaimInvalidationCount();
+    }
+
+    @Override
+    public long getOldestIdVClaimInvalidationTime() throws IdentityVerificationException {
+
+        return identityVerificationClaimDAO.getOldestIdVClaimInvalidationTime();
     }
 
     @Override
     public boolean isIdVClaimDataExist(String userId, String idvId, String uri, int tenantId)
             throws IdentityVerificationException {
 
-        return identityVerificationClaimDAO.isIdVClaimDataExist(userId, idvId, uri, tenantId);
+        if (!isClaimUriCacheable(userId, uri, idvId)) {
+            return identityVerificationClaimDAO.isIdVClaimDataExist(userId, idvId, uri, tenantId);
+        }
+        if (getIdVClaimFromCacheByClaimUri(userId, uri, idvId, tenantId) != null) {
+            return true;
+        }
+        IdVClaimByUserCacheEntry idVClaimByUserCacheEntry =
+                idVClaimByUserCache.getValueFromCache(new IdVClaimByUserCacheKey(userId), tenantId);
+        if (idVClaimByUserCacheEntry != null) {
+            for (IdVClaim idVClaim : idVClaimByUserCacheEntry.getIdVClaims()) {
+                if (uri.equals(idVClaim.getClaimUri()) && idvId.equals(idVClaim.getIdVPId())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        IdVClaimByClaimUriCacheKey cacheKey = new IdVClaimByClaimUriCacheKey(userId, uri, idvId);
+        if (idVClaimNotFoundCache.getValueFromCache(cacheKey, tenantId) != null) {
+            return false;
+        }
+        long addedVersion = idVClaimsAddedVersion.get();
+        boolean isIdVClaimDataExist = identityVerificationClaimDAO.isIdVClaimDataExist(userId, idvId, uri, tenantId);
+        if (!isIdVClaimDataExist) {
+            addIdVClaimNotFoundToCache(cacheKey, tenantId, addedVersion);
+        }
+        return isIdVClaimDataExist;
     }
 
     @Override
     public boolean isIdVClaimExist(String claimId, int tenantId) throws IdentityVerificationException {
 
-        return identityVerificationClaimDAO.isIdVClaimExist(claimId, tenantId);
+        if (StringUtils.isBlank(claimId)) {
+            return identityVerificationClaimDAO.isIdVClaimExist(claimId, tenantId);
+        }
+        if (getIdVClaimFromCacheById(claimId, tenantId) != null) {
+            return true;
+        }
+        IdVClaimByIdCacheKey cacheKey = new IdVClaimByIdCacheKey(claimId);
+        if (idVClaimNotFoundCache.getValueFromCache(cacheKey, tenantId) != null) {
+            return false;
+        }
+        long addedVersion = idVClaimsAddedVersion.get();
+        boolean isIdVClaimExist = identityVerificationClaimDAO.isIdVClaimExist(claimId, tenantId);
+        if (!isIdVClaimExist) {
+            addIdVClaimNotFoundToCache(cacheKey, tenantId, addedVersion);
+        }
+        return isIdVClaimExist;
+    }
+
+    @Override
+    public boolean hasIdVClaims(String userId, int tenantId) throws IdentityVerificationException {
+
+        return !isUserWithoutIdVClaims(userId, tenantId);
+    }
+
+    @Override
+    public Set<String> getIdVClaimUris(int tenantId) throws IdentityVerificationException {
+
+        IdVClaimUrisCacheKey cacheKey = new IdVClaimUrisCacheKey();
+        IdVClaimUrisCacheEntry cacheEntry = idVClaimUrisCache.getValueFromCache(cacheKey, tenantId);
+        if (cacheEntry != null) {
+            return cacheEntry.getClaimUris();
+        }
+        long addedVersion = idVClaimsAddedVersion.get();
+        Set<String> claimUris = identityVerificationClaimDAO.getIdVClaimUris(tenantId);
+        idVClaimUrisCache.addToCache(cacheKey, new IdVClaimUrisCacheEntry(claimUris), tenantId);
+        if (idVClaimsAddedVersion.get() != addedVersion) {
+            idVClaimUrisCache.clearCacheEntry(cacheKey, tenantId);
+        }
+        return claimUris;
+    }
+
+    /**
+     * Check whether the user is known to have no identity verification claims. The user is looked up in the
+     * database on a cache miss and cached if no claims are found.
+     */
+    private boolean isUserWithoutIdVClaims(String userId, int tenantId) throws IdentityVerificationException {
+
+        IdVClaimByUserCacheEntry idVClaimByUserCacheEntry =
+                idVClaimByUserCache.getValueFromCache(new IdVClaimByUserCacheKey(userId), tenantId);
+        if (idVClaimByUserCacheEntry != null) {
+            return idVClaimByUserCacheEntry.getIdVClaims().isEmpty();
+        }
+        IdVUserWithoutClaimsCacheKey cacheKey = new IdVUserWithoutClaimsCacheKey(userId);
+        if (idVUserWithoutClaimsCache.getValueFromCache(cacheKey, tenantId) != null) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Cache hit for user without IdVClaims. User id: %s, Tenant id: %d",
+                        userId, tenantId));
+            }
+            return true;
+        }
+        long addedVersion = idVClaimsAddedVersion.get();
+        if (identityVerificationClaimDAO.hasIdVClaims(userId, tenantId)) {
+            return false;
+        }
+        addUserWithoutIdVClaimsToCache(userId, tenantId, addedVersion);
+        return true;
+    }
+
+    private void addUserWithoutIdVClaimsToCache(String userId, int tenantId, long addedVersion) {
+
+        IdVUserWithoutClaimsCacheKey cacheKey = new IdVUserWithoutClaimsCacheKey(userId);
+        idVUserWithoutClaimsCache.addToCache(cacheKey, new IdVUserWithoutClaimsCacheEntry(userId), tenantId);
+        /*
+         * Claims added after the version was read may not have been visible to the lookup. Those are either detected
+         * here or the entry is cleared by the add operation, as it clears the entries after updating the version.
+         */
+        if (idVClaimsAddedVersion.get() != addedVersion) {
+            idVUserWithoutClaimsCache.clearCacheEntry(cacheKey, tenantId);
+        }
+    }
+
+    private void addIdVClaimNotFoundToCache(IdVClaimCacheKey cacheKey, int tenantId, long addedVersion) {
+
+        idVClaimNotFoundCache.addToCache(cacheKey, new IdVClaimNotFoundCacheEntry(), tenantId);
+        if (idVClaimsAddedVersion.get() != addedVersion) {
+            idVClaimNotFoundCache.clearCacheEntry(cacheKey, tenantId);
+        }
+    }
+
+    /**
+     * Clear the cache entries which denote the absence of the added identity verification claims. The claim URIs of
+     * the tenant are cleared only if a claim URI is not already cached.
+     *
+     * @param userId    User id of the claims, or null to use the user id of each claim.
+     * @param idVClaims Added identity verification claims.
+     * @param tenantId  Tenant id.
+     * @return User ids of the added claims.
+     */
+    private Set<String> clearAddedIdVClaimsFromNegativeCaches(String userId, List<IdVClaim> idVClaims,
+                                                              int tenantId) {
+
+        idVClaimsAddedVersion.incrementAndGet();
+        Set<String> userIds = new HashSet<>();
+        for (IdVClaim idVClaim : idVClaims) {
+            String claimUserId = userId != null ? userId : idVClaim.getUserId();
+            userIds.add(claimUserId);
+            if (StringUtils.isNotBlank(idVClaim.getUuid())) {
+                idVClaimNotFoundCache.clearCacheEntry(new IdVClaimByIdCacheKey(idVClaim.getUuid()), tenantId);
+            }
+            if (isClaimUriCacheable(claimUserId, idVClaim.getClaimUri(), idVClaim.getIdVPId())) {
+                idVClaimNotFoundCache.clearCacheEntry(new IdVClaimByClaimUriCacheKey(claimUserId,
+                        idVClaim.getClaimUri(), idVClaim.getIdVPId()), tenantId);
+            }
+        }
+        for (String claimUserId : userIds) {
+            if (claimUserId != null) {
+                idVUserWithoutClaimsCache.clearCacheEntry(new IdVUserWithoutClaimsCacheKey(claimUserId), tenantId);
+            }
+        }
+        IdVClaimUrisCacheKey claimUrisCacheKey = new IdVClaimUrisCacheKey();
+        IdVClaimUrisCacheEntry claimUrisCacheEntry = idVClaimUrisCache.getValueFromCache(claimUrisCacheKey, tenantId);
+        if (claimUrisCacheEntry == null) {
+            return userIds;
+        }
+        for (IdVClaim idVClaim : idVClaims) {
+            if (!claimUrisCacheEntry.getClaimUris().contains(idVClaim.getClaimUri())) {
+                idVClaimUrisCache.clearCacheEntry(claimUrisCacheKey, tenantId);
+                break;
+            }
+        }
+        return userIds;
+    }
+
+    /**
+     * Get all the identity verification claims of a user. The claims are retrieved with the identity verification
+     * provider ids, so that they can be filtered in memory, and cached on a cache miss.
+     */
+    private List<IdVClaim> getIdVClaimsOfUser(String userId, int tenantId) throws IdentityVerificationException {
+
+        IdVClaimByUserCacheKey cacheKey = new IdVClaimByUserCacheKey(userId);
+        IdVClaimByUserCacheEntry cacheEntry = idVClaimByUserCache.getValueFromCache(cacheKey, tenantId);
+        if (cacheEntry != null) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Cache hit for IdVClaims by user. User id: %s, Tenant id: %d",
+                        userId, tenantId));
+            }
+            return cacheEntry.getIdVClaims();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Cache miss for IdVClaims by user. User id: %s, Tenant id: %d",
+                    userId, tenantId));
+        }
+        long changedVersion = idVClaimsChangedVersion.get();
+        List<IdVClaim> idVClaims = identityVerificationClaimDAO.getIdVClaimsOfUsers(Collections.singleton(userId),
+                null, tenantId).getOrDefault(userId, Collections.emptyList());
+        idVClaimByUserCache.addToCache(cacheKey, new IdVClaimByUserCacheEntry(idVClaims), tenantId);
+        // Claims changed after the version was read may not have been visible to the lookup.
+        if (idVClaimsChangedVersion.get() != changedVersion) {
+            idVClaimByUserCache.clearCacheEntry(cacheKey, tenantId);
+        }
+        return idVClaims;
+    }
+
+    /**
+     * Clear the cached identity verification claims of the users. This is done after the claims are changed in the
+     * database, so that a concurrent lookup which read the claims before the change does not cache them.
+     */
+    private void deleteIdVClaimsOfUsersFromCache(Collection<String> userIds, int tenantId) {
+
+        idVClaimsChangedVersion.incrementAndGet();
+        for (String userId : userIds) {
+            if (userId == null) {
+                continue;
+            }
+            idVClaimByUserCache.clearCacheEntry(new IdVClaimByUserCacheKey(userId), tenantId);
+        }
     }
 
     private IdVClaim getIdVClaimFromCacheById(String idvClaimId, int tenantId) {
@@ -156,6 +610,36 @@ public class CachedBackedIdVClaimDAO implements IdentityVerificationClaimDAO {
         return null;
     }
 
+    /**
+     * Get the identity verification claim of a user by the claim URI and the identity verification provider. The
+     * claim id is resolved from the by claim URI cache and the claim from the by id cache. The claim is verified
+     * against the lookup, so that a stale claim id is treated as a cache miss.
+     */
+    private IdVClaim getIdVClaimFromCacheByClaimUri(String userId, String claimUri, String idVProviderId,
+                                                    int tenantId) {
+
+        if (!isClaimUriCacheable(userId, claimUri, idVProviderId)) {
+            return null;
+        }
+        IdVClaimIdCacheEntry idVClaimIdCacheEntry = idVClaimByClaimUriCache.getValueFromCache(
+                new IdVClaimByClaimUriCacheKey(userId, claimUri, idVProviderId), tenantId);
+        if (idVClaimIdCacheEntry == null) {
+            return null;
+        }
+        IdVClaim idVClaim = getIdVClaimFromCacheById(idVClaimIdCacheEntry.getIdVClaimId(), tenantId);
+        if (idVClaim == null || !userId.equals(idVClaim.getUserId()) || !claimUri.equals(idVClaim.getClaimUri()) ||
+                !idVProviderId.equals(idVClaim.getIdVPId())) {
+            return null;
+        }
+        return idVClaim;
+    }
+
+    private static boolean isClaimUriCacheable(String userId, String claimUri, String idVProviderId) {
+
+        return StringUtils.isNotBlank(userId) && StringUtils.isNotBlank(claimUri) &&
+                StringUtils.isNotBlank(idVProviderId);
+    }
+
     private void addIdVClaimsToCache(List<IdVClaim> idvClaimList, int tenantId) {
 
         for (IdVClaim idVClaim : idvClaimList) {
@@ -175,6 +659,11 @@ public class CachedBackedIdVClaimDAO implements IdentityVerificationClaimDAO {
             log.debug(message);
         }
         idVClaimByIdCache.addToCache(idVClaimByIdCacheKey, idVClaimCacheEntry, tenantId);
+        if (isClaimUriCacheable(idVClaim.getUserId(), idVClaim.getClaimUri(), idVClaim.getIdVPId())) {
+            idVClaimByClaimUriCache.addToCache(new IdVClaimByClaimUriCacheKey(idVClaim.getUserId(),
+                    idVClaim.getClaimUri(), idVClaim.getIdVPId()), new IdVClaimIdCacheEntry(idVClaim.getUuid()),
+                    tenantId);
+        }
     }
 
     private void deleteIdVPFromCache(IdVClaim idVClaim, int tenantId) {
@@ -189,12 +678,18 @@ public class CachedBackedIdVClaimDAO implements IdentityVerificationClaimDAO {
         }
 
         idVClaimByIdCache.clearCacheEntry(idVClaimByIdCacheKey, tenantId);
+        if (isClaimUriCacheable(idVClaim.getUserId(), idVClaim.getClaimUri(), idVClaim.getIdVPId())) {
+            idVClaimByClaimUriCache.clearCacheEntry(new IdVClaimByClaimUriCacheKey(idVClaim.getUserId(),
+                    idVClaim.getClaimUri(), idVClaim.getIdVPId()), tenantId);
+        }
     }
 
     private void deleteIdVPFromCacheById(String idVClaimId, int tenantId) {
 
         IdVClaim idVClaim = getIdVClaimFromCacheById(idVClaimId, tenantId);
         if (idVClaim == null) {
+            // The claim may still be cached by other nodes.
+            idVClaimByIdCache.clearCacheEntry(new IdVClaimByIdCacheKey(idVClaimId), tenantId);
             return;
         }
         deleteIdVPFromCache(idVClaim, tenantId);
@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.extension.identity.verification.mgt.dao;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConfigUtil;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ID;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.METADATA_NATIVE_JSON_ENABLED;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.ADD_IDV_CLAIM_METADATA_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.ADD_IDV_CLAIM_METADATA_SQL_DB2;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.CLAIM_URI_FILTER;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.DELETE_IDV_CLAIMS_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.FETCH_NEXT_ROWS_CLAUSE;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_EXPIRED_IDV_CLAIM_INVALIDATIONS_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIMS_BY_INDEXED_METADATA_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIMS_BY_METADATA_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIMS_BY_METADATA_SQL_JSONB;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIMS_BY_METADATA_SQL_JSON_CONTAINS;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIMS_BY_METADATA_SQL_JSON_PATH;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIMS_BY_METADATA_SQL_POSTGRESQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIMS_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIM_SUMMARIES_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.IDVP_FILTER;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.KEYSET_PAGINATION_FILTER;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.LIMIT_CLAUSE;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.LOCK_IDV_CLAIM_METADATA_RANGE_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.LOCK_IDV_CLAIM_METADATA_RANGE_SQL_MSSQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.UPSERT_IDV_CLAIM_SQL_DB2;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.UPSERT_IDV_CLAIM_SQL_MERGE;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.UPSERT_IDV_CLAIM_SQL_MSSQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.UPSERT_IDV_CLAIM_SQL_MYSQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.UPSERT_IDV_CLAIM_SQL_ORACLE;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.UPSERT_IDV_CLAIM_SQL_POSTGRESQL;
+
+/**
+ * SQL dialect of the identity database for {@link IdentityVerificationClaimDAOImpl}. The database is detected once
+ * per datasource and every variant of the statements that depend on the database or on the optional filters is
+ * built when the dialect is created, so that requests only pick a ready-made statement.
+ */
+final class IdVClaimSQLDialect {
+
+    private static final Log log = LogFactory.getLog(IdVClaimSQLDialect.class);
+    private static final Pattern JSON_PATH_KEY_PATTERN = Pattern.compile("^[A-Za-z_][A-Za-z0-9_]*$");
+    private static final Map<DataSource, IdVClaimSQLDialect> DIALECTS = new ConcurrentHashMap<>();
+    private static final String IDV_CLAIM_TABLE = "IDV_CLAIM";
+    private static final String METADATA_COLUMN = "METADATA";
+    private static final String TYPE_NAME = "TYPE_NAME";
+
+    private static final int IDVP_FILTER_VARIANT = 1;
+    private static final int CLAIM_URI_FILTER_VARIANT = 2;
+    private static final int PAGINATION_VARIANT = 4;
+
+    /**
+     * Storage modes of the METADATA column of the IDV_CLAIM table.
+     * <p>
+     * Native JSON storage is enabled with the IdentityVerification.ClaimMetadata.EnableNativeJsonStorage
+     * configuration and requires the METADATA column to be migrated with the scripts in
+     * dbscripts/identity/identity-verification/native-json. On PostgreSQL the column is {@code METADATA JSONB} with a
+     * GIN index. On MySQL the column is {@code METADATA JSON} and frequently searched keys are indexed through
+     * generated columns on the same JSON path. If the column is not migrated, metadata is stored as binary data. The
+     * IDV_CLAIM_METADATA projection is not maintained in these modes.
+     */
+    enum MetadataStorageMode {
+        BLOB,
+        POSTGRESQL_JSONB,
+        MYSQL_JSON
+    }
+
+    private final MetadataStorageMode metadataStorageMode;
+    private final String upsertIdVClaimQuery;
+    private final boolean mergeUpsert;
+    private final String addIdVClaimMetadataQuery;
+    private final String lockIdVClaimMetadataRangeQuery;
+    private final String paginationClause;
+    private final String expiredIdVClaimInvalidationsQuery;
+    private final String[] getIdVClaimsQueries = new String[8];
+    private final String[] getIdVClaimSummariesQueries = new String[4];
+    private final String[] deleteIdVClaimsQueries = new String[4];
+    private final String[] getIdVClaimsByIndexedMetadataQueries = new String[2];
+    private final String[] getIdVClaimsByMetadataQueries = new String[2];
+
+    private IdVClaimSQLDialect(Connection connection) throws SQLException {
+
+        String databaseProductName = connection.getMetaData().getDatabaseProductName().toLowerCase();
+        metadataStorageMode = resolveMetadataStorageMode(connection, databaseProductName);
+
+        if (databaseProductName.contains("postgresql")) {
+            upsertIdVClaimQuery = UPSERT_IDV_CLAIM_SQL_POSTGRESQL;
+        } else if (databaseProductName.contains("mysql") || databaseProductName.contains("mariadb")) {
+            upsertIdVClaimQuery = UPSERT_IDV_CLAIM_SQL_MYSQL;
+        } else if (databaseProductName.contains("oracle")) {
+            upsertIdVClaimQuery = UPSERT_IDV_CLAIM_SQL_ORACLE;
+        } else if (databaseProductName.contains("microsoft")) {
+            upsertIdVClaimQuery = UPSERT_IDV_CLAIM_SQL_MSSQL;
+        } else if (databaseProductName.contains("db2")) {
+            upsertIdVClaimQuery = UPSERT_IDV_CLAIM_SQL_DB2;
+        } else {
+            upsertIdVClaimQuery = UPSERT_IDV_CLAIM_SQL_MERGE;
+        }
+        mergeUpsert = !databaseProductName.contains("postgresql") && !databaseProductName.contains("mysql") &&
+                !databaseProductName.contains("mariadb");
+        // DB2 does not allow untyped parameter markers in a select list.
+        addIdVClaimMetadataQuery = databaseProductName.contains("db2") ?
+                ADD_IDV_CLAIM_METADATA_SQL_DB2 : ADD_IDV_CLAIM_METADATA_SQL;
+        lockIdVClaimMetadataRangeQuery = databaseProductName.contains("microsoft") ?
+                LOCK_IDV_CLAIM_METADATA_RANGE_SQL_MSSQL : LOCK_IDV_CLAIM_METADATA_RANGE_SQL;
+        if (databaseProductName.contains("oracle") || databaseProductName.contains("microsoft")) {
+            paginationClause = FETCH_NEXT_ROWS_CLAUSE;
+        } else {
+            paginationClause = LIMIT_CLAUSE;
+        }
+        expiredIdVClaimInvalidationsQuery = GET_EXPIRED_IDV_CLAIM_INVALIDATIONS_SQL + paginationClause;
+
+        for (int variant = 0; variant < getIdVClaimSummariesQueries.length; variant++) {
+            String filter = getFilter(variant);
+            getIdVClaimsQueries[variant] = GET_IDV_CLAIMS_SQL + filter;
+            getIdVClaimsQueries[variant | PAGINATION_VARIANT] = GET_IDV_CLAIMS_SQL + filter +
+                    getKeysetPaginationClause(ID);
+            getIdVClaimSummariesQueries[variant] = GET_IDV_CLAIM_SUMMARIES_SQL + filter;
+            deleteIdVClaimsQueries[variant] = DELETE_IDV_CLAIMS_SQL + filter;
+        }
+        getIdVClaimsByIndexedMetadataQueries[0] = GET_IDV_CLAIMS_BY_INDEXED_METADATA_SQL;
+        getIdVClaimsByIndexedMetadataQueries[1] = GET_IDV_CLAIMS_BY_INDEXED_METADATA_SQL +
+                getKeysetPaginationClause("C." + ID);
+
+        String getIdVClaimsByMetadataQuery;
+        if (metadataStorageMode == MetadataStorageMode.POSTGRESQL_JSONB) {
+            getIdVClaimsByMetadataQuery = GET_IDV_CLAIMS_BY_METADATA_SQL_JSONB;
+        } else if (metadataStorageMode == MetadataStorageMode.MYSQL_JSON) {
+            getIdVClaimsByMetadataQuery = GET_IDV_CLAIMS_BY_METADATA_SQL_JSON_CONTAINS;
+        } else if (databaseProductName.equals("postgresql")) {
+            getIdVClaimsByMetadataQuery = GET_IDV_CLAIMS_BY_METADATA_SQL_POSTGRESQL;
+        } else {
+            getIdVClaimsByMetadataQuery = GET_IDV_CLAIMS_BY_METADATA_SQL;
+        }
+        getIdVClaimsByMetadataQueries[0] = getIdVClaimsByMetadataQuery;
+        getIdVClaimsByMetadataQueries[1] = getIdVClaimsByMetadataQuery + getKeysetPaginationClause(ID);
+    }
+
+    /**
+     * Get the dialect of the identity database. The dialect is created once per datasource, even if it is requested
+     * concurrently.
+     *
+     * @param connection Database connection.
+     * @return SQL dialect.
+     * @throws SQLException If an error occurs while reading the database metadata.
+     */
+    static IdVClaimSQLDialect getDialect(Connection connection) throws SQLException {
+
+        DataSource dataSource = IdentityDatabaseUtil.getDataSource();
+        if (dataSource == null) {
+            return new IdVClaimSQLDialect(connection);
+        }
+        try {
+            return DIALECTS.computeIfAbsent(dataSource, key -> {
+                try {
+                    return new IdVClaimSQLDialect(connection);
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (IllegalStateException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Check whether the metadata key can be inlined in a MySQL JSON path.
+     *
+     * @param metadataKey Metadata key.
+     * @return True if the key can be used as a JSON path.
+     */
+    static boolean isJsonPathKey(String metadataKey) {
+
+        return JSON_PATH_KEY_PATTERN.matcher(metadataKey).matches();
+    }
+
+    MetadataStorageMode getMetadataStorageMode() {
+
+        return metadataStorageMode;
+    }
+
+    String getUpsertIdVClaimQuery() {
+
+        return upsertIdVClaimQuery;
+    }
+
+    /**
+     * Check whether the upsert statement is a MERGE statement, which binds the claim key before the values.
+     *
+     * @return True if the upsert statement is a MERGE statement.
+     */
+    boolean isMergeUpsert() {
+
+        return mergeUpsert;
+    }
+
+    String getAddIdVClaimMetadataQuery() {
+
+        return addIdVClaimMetadataQuery;
+    }
+
+    String getLockIdVClaimMetadataRangeQuery() {
+
+        return lockIdVClaimMetadataRangeQuery;
+    }
+
+    String getIdVClaimsQuery(boolean filterByIdVProvider, boolean filterByClaimUri, boolean paginated) {
+
+        return getIdVClaimsQueries[getVariant(filterByIdVProvider, filterByClaimUri) |
+                (paginated ? PAGINATION_VARIANT : 0)];
+    }
+
+    String getIdVClaimSummariesQuery(boolean filterByIdVProvider, boolean filterByClaimUri) {
+
+        return getIdVClaimSummariesQueries[getVariant(filterByIdVProvider, filterByClaimUri)];
+    }
+
+    String getDeleteIdVClaimsQuery(boolean filterByIdVProvider, boolean filterByClaimUri) {
+
+        return deleteIdVClaimsQueries[getVariant(filterByIdVProvider, filterByClaimUri)];
+    }
+
+    String getExpiredIdVClaimInvalidationsQuery() {
+
+        return expiredIdVClaimInvalidationsQuery;
+    }
+
+    String getIdVClaimsByIndexedMetadataQuery(boolean paginated) {
+
+        return getIdVClaimsByIndexedMetadataQueries[paginated ? 1 : 0];
+    }
+
+    /**
+     * Get the statement to find claims by scanning the METADATA column.
+     *
+     * @param metadataKey Metadata key.
+     * @param paginated   Whether a page of claims is retrieved.
+     * @return Statement to find claims by metadata.
+     */
+    String getIdVClaimsByMetadataQuery(String metadataKey, boolean paginated) {
+
+        if (metadataStorageMode == MetadataStorageMode.MYSQL_JSON && isJsonPathKey(metadataKey)) {
+            // The path is inlined so that indexed generated columns defined on the same path are used.
+            String query = String.format(GET_IDV_CLAIMS_BY_METADATA_SQL_JSON_PATH, metadataKey);
+            return paginated ? query + getKeysetPaginationClause(ID) : query;
+        }
+        return getIdVClaimsByMetadataQueries[paginated ? 1 : 0];
+    }
+
+    private String getKeysetPaginationClause(String idColumn) {
+
+        return String.format(KEYSET_PAGINATION_FILTER, idColumn) + paginationClause;
+    }
+
+    private static int getVariant(boolean filterByIdVProvider, boolean filterByClaimUri) {
+
+        return (filterByIdVProvider ? IDVP_FILTER_VARIANT : 0) | (filterByClaimUri ? CLAIM_URI_FILTER_VARIANT : 0);
+    }
+
+    private static String getFilter(int variant) {
+
+        String filter = "";
+        if ((variant & IDVP_FILTER_VARIANT) != 0) {
+            filter = filter + IDVP_FILTER;
+        }
+        if ((variant & CLAIM_URI_FILTER_VARIANT) != 0) {
+            filter = filter + CLAIM_URI_FILTER;
+        }
+        return filter;
+    }
+
+    private static MetadataStorageMode resolveMetadataStorageMode(Connection connection, String databaseProductName)
+            throws SQLException {
+
+        if (!IdentityVerificationConfigUtil.getBooleanProperty(METADATA_NATIVE_JSON_ENABLED, false)) {
+            return MetadataStorageMode.BLOB;
+        }
+        MetadataStorageMode metadataStorageMode;
+        boolean migrated;
+        String columnType = getMetadataColumnType(connection);
+        if (databaseProductName.contains("postgresql")) {
+            metadataStorageMode = MetadataStorageMode.POSTGRESQL_JSONB;
+            migrated = "jsonb".equalsIgnoreCase(columnType);
+        } else if (databaseProductName.contains("mysql") || databaseProductName.contains("mariadb")) {
+            metadataStorageMode = MetadataStorageMode.MYSQL_JSON;
+            // MariaDB reports its JSON alias as LONGTEXT.
+            migrated = "json".equalsIgnoreCase(columnType) ||
+                    (databaseProductName.contains("mariadb") && "longtext".equalsIgnoreCase(columnType));
+        } else {
+            log.warn("Native JSON storage of IdV claim metadata is not supported for the database: " +
+                    databaseProductName + ". Metadata is stored as binary data.");
+            return MetadataStorageMode.BLOB;
+        }
+        if (!migrated) {
+            log.warn("Native JSON storage of IdV claim metadata is enabled, but the METADATA column of the IDV_CLAIM " +
+                    "table is of type: " + columnType + ". Migrate the column with the native-json scripts of the " +
+                    "identity verification dbscripts. Metadata is stored as binary data.");
+            return MetadataStorageMode.BLOB;
+        }
+        return metadataStorageMode;
+    }
+
+    /**
+     * Get the type of the METADATA column of the IDV_CLAIM table, as reported by the driver.
+     *
+     * @param connection Database connection.
+     * @return Type name of the column, or null if the column is not found.
+     * @throws SQLException If an error occurs while reading the database metadata.
+     */
+    private static String getMetadataColumnType(Connection connection) throws SQLException {
+
+        DatabaseMetaData metaData = connection.getMetaData();
+        // Unquoted identifiers are stored in lower case by PostgreSQL and in upper case by most other databases.
+        String[][] identifiers = {{IDV_CLAIM_TABLE, METADATA_COLUMN},
+                {IDV_CLAIM_TABLE.toLowerCase(), METADATA_COLUMN.toLowerCase()}};
+        for (String[] identifier : identifiers) {
+            try (ResultSet resultSet = metaData.getColumns(connection.getCatalog(), null, identifier[0],
+                    identifier[1])) {
+                if (resultSet.next()) {
+                    return resultSet.getString(TYPE_NAME);
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -20,8 +20,11 @@ package org.wso2.carbon.extension.identity.verification.mgt.dao;
 
 import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationException;
 import org.wso2.carbon.extension.identity.verification.mgt.model.IdVClaim;
+import org.wso2.carbon.extension.identity.verification.mgt.model.IdVClaimInvalidation;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * This interface of IdentityVerificationClaimDAO.
@@ -36,7 +39,8 @@ public interface IdentityVerificationClaimDAO {
     int getPriority();
 
     /**
-     * Add the identity verification claim.
+     * Add the identity verification claims. The claims are written as a single batch within one transaction, so
+     * either all claims are stored or none.
      *
      * @param idvClaimList IDV claim list.
      * @param tenantId     Tenant id.
@@ -44,6 +48,21 @@ public interface IdentityVerificationClaimDAO {
      */
     void addIdVClaimList(List<IdVClaim> idvClaimList, int tenantId) throws IdentityVerificationException;
 
+    /**
+     * Add or replace the identity verification claims of a user. Each claim is inserted, or its verification status
+     * and metadata are replaced if a claim already exists for the same claim URI and identity verification provider.
+     * The claims are stored as a single batch within one transaction and the effective claim ids are set to the
+     * given claims.
+     *
+     * @param userId    User id.
+     * @param idVClaims Identity verification claims.
+     * @param tenantId  Tenant id.
+     * @return Ids of the stored identity verification claims.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    List<String> addOrUpdateIdVClaims(String userId, List<IdVClaim> idVClaims, int tenantId)
+            throws IdentityVerificationException;
+
     /**
      * Update the identity verification claim by the user id.
      *
@@ -53,6 +72,20 @@ public interface IdentityVerificationClaimDAO {
      */
     void updateIdVClaim(IdVClaim idVClaim, int tenantId) throws IdentityVerificationException;
 
+    /**
+     * Update the identity verification claims of a user by the claim URI and the identity verification provider id
+     * of each claim. The claims are updated as a single batch within one transaction and the resolved claim ids are
+     * set to the given claims.
+     *
+     * @param userId    User id.
+     * @param idVClaims Identity verification claims.
+     * @param tenantId  Tenant id.
+     * @return Ids of the updated identity verification claims.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    List<String> updateIdVClaims(String userId, List<IdVClaim> idVClaims, int tenantId)
+            throws IdentityVerificationException;
+
     /**
      * Get the identity verification claim by userId and idVClaimId.
      *
@@ -90,6 +123,63 @@ public interface IdentityVerificationClaimDAO {
     IdVClaim[] getIDVClaims(String userId, String idvProviderId, String claimUri, int tenantId)
             throws IdentityVerificationException;
 
+    /**
+     * Get the identity verification claims of a user without their metadata. Only the id, UUID, user id, claim URI,
+     * identity verification provider id and verification status of the claims are read.
+     *
+     * @param userId        User id.
+     * @param idvProviderId Identity verification provider id.
+     * @param claimUri      Claim URI.
+     * @param tenantId      Tenant id.
+     * @return Identity verification claims without metadata.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    IdVClaim[] getIdVClaimSummaries(String userId, String idvProviderId, String claimUri, int tenantId)
+            throws IdentityVerificationException;
+
+    /**
+     * Get the identity verification claims of multiple users.
+     *
+     * @param userIds       User ids.
+     * @param idvProviderId Identity verification provider id. Claims of all the providers are returned if null.
+     * @param tenantId      Tenant id.
+     * @return Identity verification claims by user id. Each given user is included, with an empty list if the user
+     * has no identity verification claims.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    Map<String, List<IdVClaim>> getIdVClaimsOfUsers(Set<String> userIds, String idvProviderId, int tenantId)
+            throws IdentityVerificationException;
+
+    /**
+     * Get the verification status of the given claims of a user. A claim is considered verified if it is verified
+     * by any of the matching identity verification providers.
+     *
+     * @param userId        User id.
+     * @param claimUris     Claim URIs.
+     * @param idvProviderId Identity verification provider id. Claims of all the providers are considered if null.
+     * @param tenantId      Tenant id.
+     * @return Verification status by claim URI. Claim URIs without identity verification claims are not included.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    Map<String, Boolean> getIdVClaimStatuses(String userId, Set<String> claimUris, String idvProviderId,
+                                             int tenantId) throws IdentityVerificationException;
+
+    /**
+     * Get a page of the identity verification claims of a user. Claims are ordered by their id and the page
+     * contains the claims with ids greater than the given id.
+     *
+     * @param userId        User id.
+     * @param idvProviderId Identity verification provider id.
+     * @param claimUri      Claim URI.
+     * @param tenantId      Tenant id.
+     * @param afterId       Id of the last claim of the previous page. 0 for the first page.
+     * @param limit         Maximum number of claims in the page.
+     * @return Identity verification claims.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    IdVClaim[] getIDVClaims(String userId, String idvProviderId, String claimUri, int tenantId, int afterId,
+                            int limit) throws IdentityVerificationException;
+
     /**
      * Get the identity verification claims by specific metadata.
      *
@@ -103,6 +193,58 @@ public interface IdentityVerificationClaimDAO {
     IdVClaim[] getIdVClaimsByMetadata(String metadataKey, String metadataValue, String idvProviderId,
                                       int tenantId) throws IdentityVerificationException;
 
+    /**
+     * Get a page of the identity verification claims by specific metadata. Claims are ordered by their id and the
+     * page contains the claims with ids greater than the given id.
+     *
+     * @param metadataKey   Key of required metadata.
+     * @param metadataValue Value of required metadata.
+     * @param idvProviderId Identity verification provider id.
+     * @param tenantId      Tenant id.
+     * @param afterId       Id of the last claim of the previous page. 0 for the first page.
+     * @param limit         Maximum number of claims in the page.
+     * @return Identity verification claims.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    IdVClaim[] getIdVClaimsByMetadata(String metadataKey, String metadataValue, String idvProviderId,
+                                      int tenantId, int afterId, int limit) throws IdentityVerificationException;
+
+    /**
+     * Stream all the identity verification claims of a tenant to the given consumer in a single sequential pass.
+     * The claims are read through a forward-only cursor, so only the rows of the current fetch are held in memory.
+     *
+     * @param tenantId Tenant id.
+     * @param consumer Consumer of the identity verification claims.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    void scanIdVClaims(int tenantId, IdVClaimConsumer consumer) throws IdentityVerificationException;
+
+    /**
+     * Re-encode the metadata of the identity verification claims of a tenant, which is stored as JSON text, in the
+     * binary format. Claims are processed in batches, each committed separately, so that the re-encoding can run in
+     * the background while the claims are in use, and the metadata projection of each re-encoded claim is
+     * refreshed along with it. Metadata with entries which are not projected is kept as JSON text, so that it can
+     * still be scanned. Unless both binary encoding and indexed lookup are enabled, metadata stored in the binary
+     * format is re-encoded back as JSON text instead, so that it can be scanned again.
+     *
+     * @param tenantId Tenant id.
+     * @return Number of re-encoded identity verification claims.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    int reEncodeIdVClaimMetadata(int tenantId) throws IdentityVerificationException;
+
+    /**
+     * Build the IDV_CLAIM_METADATA projection of the identity verification claims of a tenant, which were stored
+     * before indexed lookup of the metadata was enabled. Claims are processed in batches, each committed separately,
+     * and the tenant is marked once all its claims are projected, after which the projection alone is used to find
+     * claims by metadata. Nothing is backfilled unless indexed lookup is enabled.
+     *
+     * @param tenantId Tenant id.
+     * @return Number of backfilled identity verification claims.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    int backfillIdVClaimMetadata(int tenantId) throws IdentityVerificationException;
+
     /**
      * Delete the identity verification claim.
      *
@@ -125,6 +267,88 @@ public interface IdentityVerificationClaimDAO {
     void deleteIdVClaims(String userId, String idvProviderId, String claimUri, int tenantId)
             throws IdentityVerificationException;
 
+    /**
+     * Delete the identity verification claims of a user for the given claim URIs, of all the identity verification
+     * providers. The claims are resolved and deleted within one transaction.
+     *
+     * @param userId    User id.
+     * @param claimUris Claim URIs.
+     * @param tenantId  Tenant id.
+     * @return Ids of the deleted identity verification claims.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    List<String> deleteIdVClaims(String userId, Set<String> claimUris, int tenantId)
+            throws IdentityVerificationException;
+
+    /**
+     * Store the pending deletion of the identity verification claims of a user in the IDV_CLAIM_INVALIDATION table,
+     * so that it is applied later even if the server stops. The deletions of all the claim URIs are stored within
+     * one transaction.
+     *
+     * @param userId    User id.
+     * @param claimUris Claim URIs of the identity verification claims to be deleted. All the identity verification
+     *                  claims of the user are deleted if null.
+     * @param tenantId  Tenant id.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    void addIdVClaimInvalidations(String userId, Set<String> claimUris, int tenantId)
+            throws IdentityVerificationException;
+
+    /**
+     * Get the pending identity verification claim deletions of a user, ordered by the id.
+     *
+     * @param userId   User id.
+     * @param tenantId Tenant id.
+     * @return Pending identity verification claim deletions.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    List<IdVClaimInvalidation> getIdVClaimInvalidations(String userId, int tenantId)
+            throws IdentityVerificationException;
+
+    /**
+     * Lease a batch of the pending identity verification claim deletions of all the tenants, of which the previous
+     * lease has expired. A deletion which is not applied before the lease expires is leased again, so that each
+     * deletion is applied at least once, by any node.
+     *
+     * @param leaseExpiry Time in milliseconds at which the lease expires.
+     * @param limit       Maximum number of deletions to lease.
+     * @return Leased identity verification claim deletions, ordered by the id.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    List<IdVClaimInvalidation> leaseIdVClaimInvalidations(long leaseExpiry, int limit)
+            throws IdentityVerificationException;
+
+    /**
+     * Apply the pending identity verification claim deletions of a user. The deletions are removed from the
+     * IDV_CLAIM_INVALIDATION table within the same transaction as the identity verification claims, and deletions
+     * which were already applied are skipped, so that a deletion is never applied after a later change to the
+     * identity verification claims of the user.
+     *
+     * @param userId        User id.
+     * @param invalidations Pending identity verification claim deletions of the user.
+     * @param tenantId      Tenant id.
+     * @return Ids of the deleted identity verification claims.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    List<String> applyIdVClaimInvalidations(String userId, List<IdVClaimInvalidation> invalidations, int tenantId)
+            throws IdentityVerificationException;
+
+    /**
+     * Get the number of pending identity verification claim deletions of all the tenants.
+     *
+     * @return Number of pending identity verification claim deletions.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    int getIdVClaimInvalidationCount() throws IdentityVerificationException;
+
+    /**
+     * Get the time at which the oldest pending identity verification claim deletion was stored.
+     *
+     * @return Time in milliseconds. 0 if there are no pending deletions.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    long getOldestIdVClaimInvalidationTime() throws IdentityVerificationException;
+
     /**
      * Check whether the identity verification claim exist.
      *
@@ -147,4 +371,23 @@ public interface IdentityVerificationClaimDAO {
      * @throws IdentityVerificationException Identity verification exception.
      */
     boolean isIdVClaimExist(String claimId, int tenantId) throws IdentityVerificationException;
+
+    /**
+     * Check whether the user has any identity verification claims.
+     *
+     * @param userId   User id.
+     * @param tenantId Tenant id.
+     * @return True if the user has identity verification claims.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    boolean hasIdVClaims(String userId, int tenantId) throws IdentityVerificationException;
+
+    /**
+     * Get the distinct claim URIs of the identity verification claims of a tenant.
+     *
+     * @param tenantId Tenant id.
+     * @return Claim URIs.
+     * @throws IdentityVerificationException Identity verification exception.
+     */
+    Set<String> getIdVClaimUris(int tenantId) throws IdentityVerificationException;
 }
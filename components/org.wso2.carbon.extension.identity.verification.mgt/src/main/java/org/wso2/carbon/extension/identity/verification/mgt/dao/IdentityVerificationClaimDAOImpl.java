@@ -18,49 +18,107 @@
 package org.wso2.carbon.extension.identity.verification.mgt.dao;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.json.JSONObject;
+import org.wso2.carbon.extension.identity.verification.mgt.dao.IdVClaimSQLDialect.MetadataStorageMode;
 import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationException;
 import org.wso2.carbon.extension.identity.verification.mgt.model.IdVClaim;
+import org.wso2.carbon.extension.identity.verification.mgt.model.IdVClaimInvalidation;
+import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConfigUtil;
 import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationExceptionMgt;
+import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationMetadataUtil;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 
 import java.nio.charset.StandardCharsets;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
+
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ATTEMPTS;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.CLAIM_SCAN_FETCH_SIZE;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.CLAIM_URI;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.CREATED_TIME;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.DEFAULT_CLAIM_SCAN_FETCH_SIZE;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_ADDING_IDV_CLAIM;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_ADDING_IDV_CLAIMS;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_ADDING_IDV_CLAIMS_BATCH;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_ADDING_IDV_CLAIM_INVALIDATIONS;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_APPLYING_IDV_CLAIM_INVALIDATIONS;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_BACKFILLING_IDV_CLAIM_METADATA;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_CHECKING_IDV_CLAIM_EXISTENCE;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_DELETING_IDV_CLAIM;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_IDV_CLAIM_NOT_FOUND;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_RETRIEVING_IDV_CLAIM;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_RETRIEVING_IDV_CLAIMS;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_RETRIEVING_IDV_CLAIMS_BY_METADATA;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_RETRIEVING_IDV_CLAIM_INVALIDATIONS;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_RE_ENCODING_IDV_CLAIM_METADATA;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_SCANNING_IDV_CLAIMS;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_STORING_IDV_CLAIMS;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_UPDATING_IDV_CLAIM;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_UPDATING_IDV_CLAIMS;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ID;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.IDVP_ID;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.IDV_CLAIM_UUID;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.IS_VERIFIED;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.LEASE_EXPIRY;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.MAX_INDEXED_METADATA_LENGTH;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.MAX_IN_CLAUSE_SIZE;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.METADATA;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.METADATA_BINARY_ENCODING_ENABLED;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.METADATA_INDEXED_LOOKUP_ENABLED;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.METADATA_LEGACY_LOOKUP_ENABLED;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.OLDEST_CREATED_TIME;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.PENDING_COUNT;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.ADD_IDV_CLAIM_INVALIDATION_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.ADD_IDV_CLAIM_METADATA_BY_CLAIM_ID_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.ADD_IDV_CLAIM_METADATA_STATUS_SQL;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.ADD_IDV_CLAIM_SQL;
-import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.CLAIM_URI_FILTER;
-import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.DELETE_IDV_CLAIMS_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.CLAIM_URI_IN_FILTER;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.DELETE_IDV_CLAIM_INVALIDATION_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.DELETE_IDV_CLAIM_METADATA_BY_CLAIM_ID_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.DELETE_IDV_CLAIM_METADATA_SQL;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.DELETE_IDV_CLAIM_SQL;
-import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIMS_BY_METADATA_SQL;
-import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIMS_BY_METADATA_SQL_POSTGRESQL;
-import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIMS_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.DELETE_IDV_CLAIMS_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIMS_OF_TENANT_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIMS_OF_USERS_SQL;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIM_BY_CLAIM_URI_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIM_INVALIDATIONS_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIM_INVALIDATION_COUNT_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIM_KEYS_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIM_METADATA_STATUS_SQL;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIM_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIM_STATUSES_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIM_URIS_OF_TENANT_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIM_UUIDS_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_MAX_IDV_CLAIM_ID_OF_TENANT_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_OLDEST_IDV_CLAIM_INVALIDATION_TIME_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.HAS_IDV_CLAIMS_SQL;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.IDVP_FILTER;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.IS_IDV_CLAIM_DATA_EXIST_SQL;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.IS_IDV_CLAIM_EXIST_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.LEASE_IDV_CLAIM_INVALIDATION_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.UPDATE_IDV_CLAIM_BY_CLAIM_URI_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.UPDATE_IDV_CLAIM_METADATA_BY_ID_SQL;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.UPDATE_IDV_CLAIM_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.USER_ID_IN_FILTER;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.TENANT_ID;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.USER_ID;
 
 /**
@@ -68,6 +126,10 @@ import static org.wso2.carbon.extension.identity.verification.mgt.utils.Identity
  */
 public class IdentityVerificationClaimDAOImpl implements IdentityVerificationClaimDAO {
 
+    private static final Log log = LogFactory.getLog(IdentityVerificationClaimDAOImpl.class);
+    // Tenants of which the metadata projection is known to be backfilled. The marker is never removed once set.
+    private final Set<Integer> backfilledTenants = ConcurrentHashMap.newKeySet();
+
     @Override
     public int getPriority() {
 
@@ -77,37 +139,106 @@ public class IdentityVerificationClaimDAOImpl implements IdentityVerificationCla
     @Override
     public void addIdVClaimList(List<IdVClaim> idvClaimList, int tenantId) throws IdentityVerificationException {
 
-        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
-            for (IdVClaim idVClaim : idvClaimList) {
-                try (PreparedStatement addIdVProviderStmt = connection.prepareStatement(ADD_IDV_CLAIM_SQL)) {
-                    addIdVProviderStmt.setString(1, idVClaim.getUuid());
-                    addIdVProviderStmt.setString(2, idVClaim.getUserId());
-                    addIdVProviderStmt.setString(3, idVClaim.getClaimUri());
-                    addIdVProviderStmt.setString(4, idVClaim.getIdVPId());
-                    addIdVProviderStmt.setInt(5, tenantId);
-                    addIdVProviderStmt.setString(6, idVClaim.isVerified() ? "1" : "0");
-                    addIdVProviderStmt.setBytes(7, getMetadata(idVClaim));
-                    addIdVProviderStmt.executeUpdate();
-                } catch (SQLException e1) {
-                    throw IdentityVerificationExceptionMgt.handleServerException(ERROR_ADDING_IDV_CLAIM, e1);
+        if (idvClaimList == null || idvClaimList.isEmpty()) {
+            return;
+        }
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            MetadataStorageMode metadataStorageMode = getMetadataStorageMode(connection);
+            try (PreparedStatement addIdVClaimStmt = connection.prepareStatement(ADD_IDV_CLAIM_SQL)) {
+                for (IdVClaim idVClaim : idvClaimList) {
+                    addIdVClaimStmt.setString(1, idVClaim.getUuid());
+                    addIdVClaimStmt.setString(2, idVClaim.getUserId());
+                    addIdVClaimStmt.setString(3, idVClaim.getClaimUri());
+                    addIdVClaimStmt.setString(4, idVClaim.getIdVPId());
+                    addIdVClaimStmt.setInt(5, tenantId);
+                    addIdVClaimStmt.setString(6, idVClaim.isVerified() ? "1" : "0");
+                    setMetadata(addIdVClaimStmt, 7, getEncodedMetadata(idVClaim, metadataStorageMode),
+                            metadataStorageMode);
+                    addIdVClaimStmt.addBatch();
                 }
+                try {
+                    addIdVClaimStmt.executeBatch();
+                } catch (BatchUpdateException e1) {
+                    IdentityDatabaseUtil.rollbackTransaction(connection);
+                    throw IdentityVerificationExceptionMgt.handleServerException(ERROR_ADDING_IDV_CLAIMS_BATCH,
+                            getFailedClaimUris(idvClaimList, e1.getUpdateCounts()), e1);
+                }
+                addIdVClaimMetadata(connection, idvClaimList, tenantId);
+                IdentityDatabaseUtil.commitTransaction(connection);
+            } catch (SQLException e1) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw IdentityVerificationExceptionMgt.handleServerException(ERROR_ADDING_IDV_CLAIM, e1);
             }
         } catch (SQLException e) {
             throw IdentityVerificationExceptionMgt.handleServerException(ERROR_ADDING_IDV_CLAIMS, e);
         }
     }
 
+    @Override
+    public List<String> addOrUpdateIdVClaims(String userId, List<IdVClaim> idVClaims, int tenantId)
+            throws IdentityVerificationException {
+
+        List<String> idVClaimIds = new ArrayList<>();
+        if (idVClaims == null || idVClaims.isEmpty()) {
+            return idVClaimIds;
+        }
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            IdVClaimSQLDialect dialect = IdVClaimSQLDialect.getDialect(connection);
+            boolean isMergeQuery = dialect.isMergeUpsert();
+            MetadataStorageMode metadataStorageMode = dialect.getMetadataStorageMode();
+            try {
+                try (PreparedStatement upsertIdVClaimStmt =
+                             connection.prepareStatement(dialect.getUpsertIdVClaimQuery())) {
+                    for (IdVClaim idVClaim : idVClaims) {
+                        if (isMergeQuery) {
+                            bindMergeUpsertIdVClaimStmt(upsertIdVClaimStmt, userId, idVClaim, tenantId,
+                                    metadataStorageMode);
+                        } else {
+                            bindInsertUpsertIdVClaimStmt(upsertIdVClaimStmt, userId, idVClaim, tenantId,
+                                    metadataStorageMode);
+                        }
+                        upsertIdVClaimStmt.addBatch();
+                    }
+                    upsertIdVClaimStmt.executeBatch();
+                }
+                // Existing rows keep their ids, hence resolve the effective ids within the same transaction.
+                Map<String, String> idVClaimIdMap = getIdVClaimIdMap(connection, userId, tenantId);
+                for (IdVClaim idVClaim : idVClaims) {
+                    String idVClaimId =
+                            idVClaimIdMap.get(getIdVClaimKey(idVClaim.getIdVPId(), idVClaim.getClaimUri()));
+                    idVClaim.setUuid(idVClaimId);
+                    idVClaimIds.add(idVClaimId);
+                }
+                /*
+                 * Any of the claims may have existed before the upsert, even with the same id, hence the projection
+                 * of every claim is replaced.
+                 */
+                refreshIdVClaimMetadata(connection, idVClaims, tenantId);
+                IdentityDatabaseUtil.commitTransaction(connection);
+            } catch (SQLException e1) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw IdentityVerificationExceptionMgt.handleServerException(ERROR_STORING_IDV_CLAIMS, userId, e1);
+            }
+        } catch (SQLException e) {
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_STORING_IDV_CLAIMS, userId, e);
+        }
+        return idVClaimIds;
+    }
+
     @Override
     public void updateIdVClaim(IdVClaim idVClaim, int tenantId) throws IdentityVerificationException {
 
         try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            MetadataStorageMode metadataStorageMode = getMetadataStorageMode(connection);
             try (PreparedStatement updateIdVProviderStmt = connection.prepareStatement(UPDATE_IDV_CLAIM_SQL)) {
                 updateIdVProviderStmt.setString(1, idVClaim.isVerified() ? "1" : "0");
-                updateIdVProviderStmt.setObject(2, getMetadata(idVClaim));
+                setMetadata(updateIdVProviderStmt, 2, getEncodedMetadata(idVClaim, metadataStorageMode),
+                        metadataStorageMode);
                 updateIdVProviderStmt.setString(3, idVClaim.getUserId());
                 updateIdVProviderStmt.setString(4, idVClaim.getUuid());
                 updateIdVProviderStmt.setInt(5, tenantId);
                 updateIdVProviderStmt.executeUpdate();
+                refreshIdVClaimMetadata(connection, Collections.singletonList(idVClaim), tenantId);
                 IdentityDatabaseUtil.commitTransaction(connection);
             } catch (SQLException e1) {
                 IdentityDatabaseUtil.rollbackTransaction(connection);
@@ -118,12 +249,63 @@ public class IdentityVerificationClaimDAOImpl implements IdentityVerificationCla
         }
     }
 
+    @Override
+    public List<String> updateIdVClaims(String userId, List<IdVClaim> idVClaims, int tenantId)
+            throws IdentityVerificationException {
+
+        List<String> idVClaimIds = new ArrayList<>();
+        if (idVClaims == null || idVClaims.isEmpty()) {
+            return idVClaimIds;
+        }
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            MetadataStorageMode metadataStorageMode = getMetadataStorageMode(connection);
+            try {
+                Map<String, String> idVClaimIdMap = getIdVClaimIdMap(connection, userId, tenantId);
+                for (IdVClaim idVClaim : idVClaims) {
+                    String idVClaimId =
+                            idVClaimIdMap.get(getIdVClaimKey(idVClaim.getIdVPId(), idVClaim.getClaimUri()));
+                    if (idVClaimId == null) {
+                        IdentityDatabaseUtil.rollbackTransaction(connection);
+                        throw IdentityVerificationExceptionMgt.handleClientException(ERROR_IDV_CLAIM_NOT_FOUND,
+                                String.format("user ID: %s, provider ID: %s, claim URI: %s", userId,
+                                        idVClaim.getIdVPId(), idVClaim.getClaimUri()));
+                    }
+                    idVClaim.setUuid(idVClaimId);
+                    idVClaimIds.add(idVClaimId);
+                }
+                try (PreparedStatement updateIdVClaimStmt =
+                             connection.prepareStatement(UPDATE_IDV_CLAIM_BY_CLAIM_URI_SQL)) {
+                    for (IdVClaim idVClaim : idVClaims) {
+                        updateIdVClaimStmt.setString(1, idVClaim.isVerified() ? "1" : "0");
+                        setMetadata(updateIdVClaimStmt, 2, getEncodedMetadata(idVClaim, metadataStorageMode),
+                                metadataStorageMode);
+                        updateIdVClaimStmt.setString(3, userId);
+                        updateIdVClaimStmt.setString(4, idVClaim.getIdVPId());
+                        updateIdVClaimStmt.setString(5, idVClaim.getClaimUri());
+                        updateIdVClaimStmt.setInt(6, tenantId);
+                        updateIdVClaimStmt.addBatch();
+                    }
+                    updateIdVClaimStmt.executeBatch();
+                }
+                refreshIdVClaimMetadata(connection, idVClaims, tenantId);
+                IdentityDatabaseUtil.commitTransaction(connection);
+            } catch (SQLException e1) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw IdentityVerificationExceptionMgt.handleServerException(ERROR_UPDATING_IDV_CLAIMS, userId, e1);
+            }
+        } catch (SQLException e) {
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_UPDATING_IDV_CLAIMS, userId, e);
+        }
+        return idVClaimIds;
+    }
+
     @Override
     public IdVClaim getIDVClaim(String userId, String idVClaimId, int tenantId) throws IdentityVerificationException {
 
         IdVClaim idVClaim = null;
         try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
              PreparedStatement getIdVProviderStmt = connection.prepareStatement(GET_IDV_CLAIM_SQL)) {
+            MetadataStorageMode metadataStorageMode = getMetadataStorageMode(connection);
             getIdVProviderStmt.setString(1, userId);
             getIdVProviderStmt.setString(2, idVClaimId);
             getIdVProviderStmt.setInt(3, tenantId);
@@ -136,7 +318,7 @@ public class IdentityVerificationClaimDAOImpl implements IdentityVerificationCla
                     idVClaim.setClaimUri(idVProviderResultSet.getString(CLAIM_URI));
                     idVClaim.setIdVPId(idVProviderResultSet.getString(IDVP_ID));
                     idVClaim.setIsVerified(idVProviderResultSet.getBoolean(IS_VERIFIED));
-                    idVClaim.setMetadata(getMetadataJsonObject(idVProviderResultSet.getBytes(METADATA)));
+                    idVClaim.setEncodedMetadata(getEncodedMetadata(idVProviderResultSet, metadataStorageMode));
                 }
             }
         } catch (SQLException e) {
@@ -152,6 +334,7 @@ public class IdentityVerificationClaimDAOImpl implements IdentityVerificationCla
         IdVClaim idVClaim = null;
         try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
              PreparedStatement getIdVProviderStmt = connection.prepareStatement(GET_IDV_CLAIM_BY_CLAIM_URI_SQL)) {
+            MetadataStorageMode metadataStorageMode = getMetadataStorageMode(connection);
             getIdVProviderStmt.setString(1, userId);
             getIdVProviderStmt.setString(2, idvClaimUri);
             getIdVProviderStmt.setString(3, idVProviderId);
@@ -165,7 +348,7 @@ public class IdentityVerificationClaimDAOImpl implements IdentityVerificationCla
                     idVClaim.setClaimUri(idVProviderResultSet.getString(CLAIM_URI));
                     idVClaim.setIdVPId(idVProviderResultSet.getString(IDVP_ID));
                     idVClaim.setIsVerified(idVProviderResultSet.getBoolean(IS_VERIFIED));
-                    idVClaim.setMetadata(getMetadataJsonObject(idVProviderResultSet.getBytes(METADATA)));
+                    idVClaim.setEncodedMetadata(getEncodedMetadata(idVProviderResultSet, metadataStorageMode));
                 }
             }
         } catch (SQLException e) {
@@ -178,36 +361,128 @@ public class IdentityVerificationClaimDAOImpl implements IdentityVerificationCla
     public IdVClaim[] getIDVClaims(String userId, String idvProviderId, String claimUri, int tenantId)
             throws IdentityVerificationException {
 
-        List<IdVClaim> idVClaims = new ArrayList<>();
-        String query = GET_IDV_CLAIMS_SQL;
-        int index = 2;
+        return retrieveIdVClaims(userId, idvProviderId, claimUri, tenantId, null, null);
+    }
+
+    @Override
+    public IdVClaim[] getIDVClaims(String userId, String idvProviderId, String claimUri, int tenantId, int afterId,
+                                   int limit) throws IdentityVerificationException {
+
+        return retrieveIdVClaims(userId, idvProviderId, claimUri, tenantId, afterId, limit);
+    }
+
+    @Override
+    public Map<String, List<IdVClaim>> getIdVClaimsOfUsers(Set<String> userIds, String idvProviderId, int tenantId)
+            throws IdentityVerificationException {
+
+        Map<String, List<IdVClaim>> idVClaimsOfUsers = new LinkedHashMap<>();
+        if (userIds == null || userIds.isEmpty()) {
+            return idVClaimsOfUsers;
+        }
+        for (String userId : userIds) {
+            idVClaimsOfUsers.put(userId, new ArrayList<>());
+        }
+        String query = GET_IDV_CLAIMS_OF_USERS_SQL;
+        if (StringUtils.isNotBlank(idvProviderId)) {
+            query = query + IDVP_FILTER;
+        }
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+            MetadataStorageMode metadataStorageMode = getMetadataStorageMode(connection);
+            for (List<String> userIdChunk : getInClauseChunks(new ArrayList<>(userIds))) {
+                String chunkQuery = query + String.format(USER_ID_IN_FILTER,
+                        getInClausePlaceholders(userIdChunk.size()));
+                try (PreparedStatement getIdVClaimsStmt = connection.prepareStatement(chunkQuery)) {
+                    int index = 1;
+                    getIdVClaimsStmt.setInt(index++, tenantId);
+                    if (StringUtils.isNotBlank(idvProviderId)) {
+                        getIdVClaimsStmt.setString(index++, idvProviderId);
+                    }
+                    for (String userId : userIdChunk) {
+                        getIdVClaimsStmt.setString(index++, userId);
+                    }
+                    try (ResultSet idVClaimsResultSet = getIdVClaimsStmt.executeQuery()) {
+                        while (idVClaimsResultSet.next()) {
+                            IdVClaim idVClaim = getIdVClaimFromResultSet(idVClaimsResultSet, metadataStorageMode);
+                            idVClaim.setIdVPId(idVClaimsResultSet.getString(IDVP_ID));
+                            idVClaimsOfUsers.computeIfAbsent(idVClaim.getUserId(), key -> new ArrayList<>())
+                                    .add(idVClaim);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_RETRIEVING_IDV_CLAIMS, e);
+        }
+        return idVClaimsOfUsers;
+    }
+
+    @Override
+    public Map<String, Boolean> getIdVClaimStatuses(String userId, Set<String> claimUris, String idvProviderId,
+                                                    int tenantId) throws IdentityVerificationException {
+
+        Map<String, Boolean> idVClaimStatuses = new HashMap<>();
+        if (claimUris == null || claimUris.isEmpty()) {
+            return idVClaimStatuses;
+        }
+        String query = GET_IDV_CLAIM_STATUSES_SQL;
         if (StringUtils.isNotBlank(idvProviderId)) {
             query = query + IDVP_FILTER;
-            index = index + 1;
         }
-        if (StringUtils.isNotBlank(claimUri)) {
-            query = query + CLAIM_URI_FILTER;
-            index = index + 1;
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+            for (List<String> claimUriChunk : getInClauseChunks(new ArrayList<>(claimUris))) {
+                String chunkQuery = query + String.format(CLAIM_URI_IN_FILTER,
+                        getInClausePlaceholders(claimUriChunk.size()));
+                try (PreparedStatement getIdVClaimStatusesStmt = connection.prepareStatement(chunkQuery)) {
+                    int index = 1;
+                    getIdVClaimStatusesStmt.setString(index++, userId);
+                    getIdVClaimStatusesStmt.setInt(index++, tenantId);
+                    if (StringUtils.isNotBlank(idvProviderId)) {
+                        getIdVClaimStatusesStmt.setString(index++, idvProviderId);
+                    }
+                    for (String claimUri : claimUriChunk) {
+                        getIdVClaimStatusesStmt.setString(index++, claimUri);
+                    }
+                    try (ResultSet idVClaimStatusesResultSet = getIdVClaimStatusesStmt.executeQuery()) {
+                        while (idVClaimStatusesResultSet.next()) {
+                            idVClaimStatuses.merge(idVClaimStatusesResultSet.getString(CLAIM_URI),
+                                    idVClaimStatusesResultSet.getBoolean(IS_VERIFIED), Boolean::logicalOr);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_RETRIEVING_IDV_CLAIMS, e);
         }
+        return idVClaimStatuses;
+    }
+
+    @Override
+    public IdVClaim[] getIdVClaimSummaries(String userId, String idvProviderId, String claimUri, int tenantId)
+            throws IdentityVerificationException {
+
+        List<IdVClaim> idVClaims = new ArrayList<>();
         try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
-             PreparedStatement getIdVProviderStmt = connection.prepareStatement(query)) {
-            getIdVProviderStmt.setString(1, userId);
-            getIdVProviderStmt.setInt(2, tenantId);
+             PreparedStatement getIdVClaimsStmt = connection.prepareStatement(IdVClaimSQLDialect.getDialect(connection)
+                     .getIdVClaimSummariesQuery(StringUtils.isNotBlank(idvProviderId),
+                             StringUtils.isNotBlank(claimUri)))) {
+            int index = 1;
+            getIdVClaimsStmt.setString(index++, userId);
+            getIdVClaimsStmt.setInt(index++, tenantId);
             if (StringUtils.isNotBlank(idvProviderId)) {
-                getIdVProviderStmt.setString(index, idvProviderId);
+                getIdVClaimsStmt.setString(index++, idvProviderId);
             }
             if (StringUtils.isNotBlank(claimUri)) {
-                getIdVProviderStmt.setString(index, claimUri);
+                getIdVClaimsStmt.setString(index, claimUri);
             }
-            try (ResultSet idVProviderResultSet = getIdVProviderStmt.executeQuery()) {
-                while (idVProviderResultSet.next()) {
+            try (ResultSet idVClaimsResultSet = getIdVClaimsStmt.executeQuery()) {
+                while (idVClaimsResultSet.next()) {
                     IdVClaim idVClaim = new IdVClaim();
-                    idVClaim.setId(idVProviderResultSet.getString(ID));
-                    idVClaim.setUuid(idVProviderResultSet.getString(IDV_CLAIM_UUID));
-                    idVClaim.setUserId(idVProviderResultSet.getString(USER_ID));
-                    idVClaim.setClaimUri(idVProviderResultSet.getString(CLAIM_URI));
-                    idVClaim.setIsVerified(idVProviderResultSet.getBoolean(IS_VERIFIED));
-                    idVClaim.setMetadata(getMetadataJsonObject(idVProviderResultSet.getBytes(METADATA)));
+                    idVClaim.setId(idVClaimsResultSet.getString(ID));
+                    idVClaim.setUuid(idVClaimsResultSet.getString(IDV_CLAIM_UUID));
+                    idVClaim.setUserId(idVClaimsResultSet.getString(USER_ID));
+                    idVClaim.setClaimUri(idVClaimsResultSet.getString(CLAIM_URI));
+                    idVClaim.setIdVPId(idVClaimsResultSet.getString(IDVP_ID));
+                    idVClaim.setIsVerified(idVClaimsResultSet.getBoolean(IS_VERIFIED));
                     idVClaims.add(idVClaim);
                 }
             }
@@ -221,33 +496,231 @@ public class IdentityVerificationClaimDAOImpl implements IdentityVerificationCla
     public IdVClaim[] getIdVClaimsByMetadata(String metadataKey, String metadataValue, String idvProviderId,
                                              int tenantId) throws IdentityVerificationException {
 
-        List<IdVClaim> idVClaims = new ArrayList<>();
-        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
-            String query = getMetadataQueryBasedOnDBType(connection.getMetaData().getDatabaseProductName().toLowerCase());
-            try (PreparedStatement getIdVProviderStmt = connection.prepareStatement(query)) {
-                // Construct the metadata search pattern using the metadataKey and metadataValue variables.
-                String metadataSearchPattern = "%\"" + metadataKey + "\":\"" + metadataValue + "\"%";
-                getIdVProviderStmt.setString(1, idvProviderId);
-                getIdVProviderStmt.setInt(2, tenantId);
-                getIdVProviderStmt.setString(3, metadataSearchPattern);
-                getIdVProviderStmt.execute();
-                try (ResultSet idVProviderResultSet = getIdVProviderStmt.executeQuery()) {
-                    while (idVProviderResultSet.next()) {
-                        IdVClaim idVClaim = new IdVClaim();
-                        idVClaim.setId(idVProviderResultSet.getString(ID));
-                        idVClaim.setUuid(idVProviderResultSet.getString(IDV_CLAIM_UUID));
-                        idVClaim.setUserId(idVProviderResultSet.getString(USER_ID));
-                        idVClaim.setClaimUri(idVProviderResultSet.getString(CLAIM_URI));
-                        idVClaim.setIsVerified(idVProviderResultSet.getBoolean(IS_VERIFIED));
-                        idVClaim.setMetadata(getMetadataJsonObject(idVProviderResultSet.getBytes(METADATA)));
-                        idVClaims.add(idVClaim);
+        return retrieveIdVClaimsByMetadata(metadataKey, metadataValue, idvProviderId, tenantId, null, null);
+    }
+
+    @Override
+    public IdVClaim[] getIdVClaimsByMetadata(String metadataKey, String metadataValue, String idvProviderId,
+                                             int tenantId, int afterId, int limit)
+            throws IdentityVerificationException {
+
+        return retrieveIdVClaimsByMetadata(metadataKey, metadataValue, idvProviderId, tenantId, afterId, limit);
+    }
+
+    @Override
+    public void scanIdVClaims(int tenantId, IdVClaimConsumer consumer) throws IdentityVerificationException {
+
+        int fetchSize = IdentityVerificationConfigUtil.getIntProperty(CLAIM_SCAN_FETCH_SIZE,
+                DEFAULT_CLAIM_SCAN_FETCH_SIZE);
+        if (fetchSize <= 0) {
+            fetchSize = DEFAULT_CLAIM_SCAN_FETCH_SIZE;
+        }
+        /* Auto commit is disabled since drivers such as PostgreSQL only honour the fetch size within a transaction.
+           MySQL honours it when useCursorFetch=true is set in the connection URL. */
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try (PreparedStatement scanIdVClaimsStmt = connection.prepareStatement(GET_IDV_CLAIMS_OF_TENANT_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                MetadataStorageMode metadataStorageMode = getMetadataStorageMode(connection);
+                scanIdVClaimsStmt.setFetchSize(fetchSize);
+                scanIdVClaimsStmt.setInt(1, tenantId);
+                try (ResultSet idVClaimsResultSet = scanIdVClaimsStmt.executeQuery()) {
+                    idVClaimsResultSet.setFetchSize(fetchSize);
+                    while (idVClaimsResultSet.next()) {
+                        IdVClaim idVClaim = getIdVClaimFromResultSet(idVClaimsResultSet, metadataStorageMode);
+                        idVClaim.setIdVPId(idVClaimsResultSet.getString(IDVP_ID));
+                        consumer.accept(idVClaim);
                     }
                 }
+                IdentityDatabaseUtil.commitTransaction(connection);
+            } catch (SQLException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw e;
             }
         } catch (SQLException e) {
-            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_RETRIEVING_IDV_CLAIMS_BY_METADATA, e);
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_SCANNING_IDV_CLAIMS,
+                    String.valueOf(tenantId), e);
         }
-        return idVClaims.toArray(new IdVClaim[0]);
+    }
+
+    @Override
+    public int reEncodeIdVClaimMetadata(int tenantId) throws IdentityVerificationException {
+
+        int batchSize = IdentityVerificationConfigUtil.getIntProperty(CLAIM_SCAN_FETCH_SIZE,
+                DEFAULT_CLAIM_SCAN_FETCH_SIZE);
+        if (batchSize <= 0) {
+            batchSize = DEFAULT_CLAIM_SCAN_FETCH_SIZE;
+        }
+        int reEncodedCount = 0;
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            MetadataStorageMode metadataStorageMode = getMetadataStorageMode(connection);
+            if (metadataStorageMode != MetadataStorageMode.BLOB) {
+                if (log.isDebugEnabled()) {
+                    log.debug("IdV claim metadata is stored as native JSON. Skipping re-encoding the metadata of " +
+                            "the tenant: " + tenantId);
+                }
+                return 0;
+            }
+            // Without binary encoding, metadata stored in the binary format is re-encoded back as JSON text.
+            boolean toBinary = isBinaryEncodingEnabled(metadataStorageMode);
+            String lockQuery = IdVClaimSQLDialect.getDialect(connection).getLockIdVClaimMetadataRangeQuery();
+            try (PreparedStatement getMaxIdStmt = connection.prepareStatement(GET_MAX_IDV_CLAIM_ID_OF_TENANT_SQL);
+                 PreparedStatement lockIdVClaimsStmt = connection.prepareStatement(lockQuery);
+                 PreparedStatement updateMetadataStmt =
+                         connection.prepareStatement(UPDATE_IDV_CLAIM_METADATA_BY_ID_SQL);
+                 PreparedStatement deleteIdVClaimMetadataStmt =
+                         connection.prepareStatement(DELETE_IDV_CLAIM_METADATA_BY_CLAIM_ID_SQL);
+                 PreparedStatement addIdVClaimMetadataStmt =
+                         connection.prepareStatement(ADD_IDV_CLAIM_METADATA_BY_CLAIM_ID_SQL)) {
+                int maxId;
+                getMaxIdStmt.setInt(1, tenantId);
+                try (ResultSet maxIdResultSet = getMaxIdStmt.executeQuery()) {
+                    maxId = maxIdResultSet.next() ? maxIdResultSet.getInt(ID) : 0;
+                }
+                /* Claims are re-encoded in ranges of ids, each within its own transaction. The rows of a range are
+                   locked while they are re-encoded, so that concurrent updates of the metadata are not lost. Binary
+                   metadata cannot be scanned, hence the projection of each re-encoded claim is refreshed in the
+                   same transaction. */
+                for (long fromId = 0; fromId < maxId; fromId += batchSize) {
+                    boolean hasUpdates = false;
+                    boolean hasMetadata = false;
+                    lockIdVClaimsStmt.setInt(1, tenantId);
+                    lockIdVClaimsStmt.setLong(2, fromId);
+                    lockIdVClaimsStmt.setLong(3, fromId + batchSize);
+                    try (ResultSet idVClaimsResultSet = lockIdVClaimsStmt.executeQuery()) {
+                        while (idVClaimsResultSet.next()) {
+                            byte[] metadata = idVClaimsResultSet.getBytes(METADATA);
+                            if (metadata == null ||
+                                    IdentityVerificationMetadataUtil.isBinaryMetadata(metadata) == toBinary) {
+                                continue;
+                            }
+                            if (!toBinary) {
+                                // The projection of the claim is left as is, as its metadata does not change.
+                                updateMetadataStmt.setBytes(1, IdentityVerificationMetadataUtil.toJsonMetadata(
+                                        metadata));
+                                updateMetadataStmt.setInt(2, idVClaimsResultSet.getInt(ID));
+                                updateMetadataStmt.addBatch();
+                                hasUpdates = true;
+                                reEncodedCount++;
+                                continue;
+                            }
+                            Map<String, Object> decodedMetadata =
+                                    IdentityVerificationMetadataUtil.decodeMetadata(metadata);
+                            if (!isFullyIndexable(decodedMetadata)) {
+                                continue;
+                            }
+                            int claimId = idVClaimsResultSet.getInt(ID);
+                            updateMetadataStmt.setBytes(1,
+                                    IdentityVerificationMetadataUtil.toBinaryMetadata(metadata));
+                            updateMetadataStmt.setInt(2, claimId);
+                            updateMetadataStmt.addBatch();
+                            hasMetadata |= addIdVClaimMetadataBatch(deleteIdVClaimMetadataStmt,
+                                    addIdVClaimMetadataStmt, claimId, idVClaimsResultSet.getString(IDVP_ID),
+                                    tenantId, getIndexableMetadata(decodedMetadata));
+                            hasUpdates = true;
+                            reEncodedCount++;
+                        }
+                    }
+                    if (hasUpdates) {
+                        updateMetadataStmt.executeBatch();
+                        deleteIdVClaimMetadataStmt.executeBatch();
+                    }
+                    if (hasMetadata) {
+                        addIdVClaimMetadataStmt.executeBatch();
+                    }
+                    IdentityDatabaseUtil.commitTransaction(connection);
+                }
+            } catch (SQLException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_RE_ENCODING_IDV_CLAIM_METADATA,
+                    String.valueOf(tenantId), e);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Re-encoded the metadata of " + reEncodedCount + " IdV claims of the tenant: " + tenantId);
+        }
+        return reEncodedCount;
+    }
+
+    @Override
+    public int backfillIdVClaimMetadata(int tenantId) throws IdentityVerificationException {
+
+        int batchSize = IdentityVerificationConfigUtil.getIntProperty(CLAIM_SCAN_FETCH_SIZE,
+                DEFAULT_CLAIM_SCAN_FETCH_SIZE);
+        if (batchSize <= 0) {
+            batchSize = DEFAULT_CLAIM_SCAN_FETCH_SIZE;
+        }
+        int backfilledCount = 0;
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            if (!isMetadataProjectionEnabled(getMetadataStorageMode(connection))) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Indexed lookup of IdV claim metadata is not enabled. Skipping the backfill of the " +
+                            "metadata projection of the tenant: " + tenantId);
+                }
+                return 0;
+            }
+            String lockQuery = IdVClaimSQLDialect.getDialect(connection).getLockIdVClaimMetadataRangeQuery();
+            try (PreparedStatement getMaxIdStmt = connection.prepareStatement(GET_MAX_IDV_CLAIM_ID_OF_TENANT_SQL);
+                 PreparedStatement lockIdVClaimsStmt = connection.prepareStatement(lockQuery);
+                 PreparedStatement deleteIdVClaimMetadataStmt =
+                         connection.prepareStatement(DELETE_IDV_CLAIM_METADATA_BY_CLAIM_ID_SQL);
+                 PreparedStatement addIdVClaimMetadataStmt =
+                         connection.prepareStatement(ADD_IDV_CLAIM_METADATA_BY_CLAIM_ID_SQL)) {
+                int maxId;
+                getMaxIdStmt.setInt(1, tenantId);
+                try (ResultSet maxIdResultSet = getMaxIdStmt.executeQuery()) {
+                    maxId = maxIdResultSet.next() ? maxIdResultSet.getInt(ID) : 0;
+                }
+                /* Claims added after the maximum id is read maintain their own projection. The projection of each
+                   range of ids is rebuilt while its rows are locked, so that concurrent updates are not lost. */
+                for (long fromId = 0; fromId < maxId; fromId += batchSize) {
+                    lockIdVClaimsStmt.setInt(1, tenantId);
+                    lockIdVClaimsStmt.setLong(2, fromId);
+                    lockIdVClaimsStmt.setLong(3, fromId + batchSize);
+                    boolean hasClaims = false;
+                    boolean hasMetadata = false;
+                    try (ResultSet idVClaimsResultSet = lockIdVClaimsStmt.executeQuery()) {
+                        while (idVClaimsResultSet.next()) {
+                            hasMetadata |= addIdVClaimMetadataBatch(deleteIdVClaimMetadataStmt,
+                                    addIdVClaimMetadataStmt, idVClaimsResultSet.getInt(ID),
+                                    idVClaimsResultSet.getString(IDVP_ID), tenantId, getIndexableMetadata(
+                                            IdentityVerificationMetadataUtil.decodeMetadata(
+                                                    idVClaimsResultSet.getBytes(METADATA))));
+                            hasClaims = true;
+                            backfilledCount++;
+                        }
+                    }
+                    if (hasClaims) {
+                        deleteIdVClaimMetadataStmt.executeBatch();
+                    }
+                    if (hasMetadata) {
+                        addIdVClaimMetadataStmt.executeBatch();
+                    }
+                    IdentityDatabaseUtil.commitTransaction(connection);
+                }
+                if (!isMetadataProjectionComplete(connection, tenantId)) {
+                    try (PreparedStatement addStatusStmt =
+                                 connection.prepareStatement(ADD_IDV_CLAIM_METADATA_STATUS_SQL)) {
+                        addStatusStmt.setInt(1, tenantId);
+                        addStatusStmt.executeUpdate();
+                    }
+                    IdentityDatabaseUtil.commitTransaction(connection);
+                    backfilledTenants.add(tenantId);
+                }
+            } catch (SQLException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_BACKFILLING_IDV_CLAIM_METADATA,
+                    String.valueOf(tenantId), e);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Backfilled the metadata projection of " + backfilledCount + " IdV claims of the tenant: " +
+                    tenantId);
+        }
+        return backfilledCount;
     }
 
     @Override
@@ -269,22 +742,15 @@ public class IdentityVerificationClaimDAOImpl implements IdentityVerificationCla
     public void deleteIdVClaims(String userId, String idvProviderId, String claimUri, int tenantId)
             throws IdentityVerificationException {
 
-        String query = DELETE_IDV_CLAIMS_SQL;
-        int index = 2;
-        if (StringUtils.isNotBlank(idvProviderId)) {
-            query = query + IDVP_FILTER;
-            index = index + 1;
-        }
-        if (StringUtils.isNotBlank(claimUri)) {
-            query = query + CLAIM_URI_FILTER;
-            index = index + 1;
-        }
         try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+            String query = IdVClaimSQLDialect.getDialect(connection).getDeleteIdVClaimsQuery(
+                    StringUtils.isNotBlank(idvProviderId), StringUtils.isNotBlank(claimUri));
             try (PreparedStatement deleteIdVProviderStmt = connection.prepareStatement(query)) {
-                deleteIdVProviderStmt.setString(1, userId);
-                deleteIdVProviderStmt.setInt(2, tenantId);
+                int index = 1;
+                deleteIdVProviderStmt.setString(index++, userId);
+                deleteIdVProviderStmt.setInt(index++, tenantId);
                 if (StringUtils.isNotBlank(idvProviderId)) {
-                    deleteIdVProviderStmt.setString(index, idvProviderId);
+                    deleteIdVProviderStmt.setString(index++, idvProviderId);
                 }
                 if (StringUtils.isNotBlank(claimUri)) {
                     deleteIdVProviderStmt.setString(index, claimUri);
@@ -296,6 +762,198 @@ public class IdentityVerificationClaimDAOImpl implements IdentityVerificationCla
         }
     }
 
+    @Override
+    public List<String> deleteIdVClaims(String userId, Set<String> claimUris, int tenantId)
+            throws IdentityVerificationException {
+
+        List<String> idVClaimIds = new ArrayList<>();
+        if (claimUris == null || claimUris.isEmpty()) {
+            return idVClaimIds;
+        }
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try {
+                deleteIdVClaims(connection, userId, claimUris, tenantId, idVClaimIds);
+                IdentityDatabaseUtil.commitTransaction(connection);
+            } catch (SQLException e1) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw IdentityVerificationExceptionMgt.handleServerException(ERROR_DELETING_IDV_CLAIM, e1);
+            }
+        } catch (SQLException e) {
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_DELETING_IDV_CLAIM, e);
+        }
+        return idVClaimIds;
+    }
+
+    @Override
+    public void addIdVClaimInvalidations(String userId, Set<String> claimUris, int tenantId)
+            throws IdentityVerificationException {
+
+        if (claimUris != null && claimUris.isEmpty()) {
+            return;
+        }
+        long createdTime = System.currentTimeMillis();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try (PreparedStatement addIdVClaimInvalidationStmt =
+                         connection.prepareStatement(ADD_IDV_CLAIM_INVALIDATION_SQL)) {
+                // A deletion without a claim URI deletes all the claims of the user.
+                for (String claimUri : claimUris == null ? Collections.<String>singleton(null) : claimUris) {
+                    addIdVClaimInvalidationStmt.setString(1, userId);
+                    addIdVClaimInvalidationStmt.setInt(2, tenantId);
+                    if (claimUri == null) {
+                        addIdVClaimInvalidationStmt.setNull(3, Types.VARCHAR);
+                    } else {
+                        addIdVClaimInvalidationStmt.setString(3, claimUri);
+                    }
+                    addIdVClaimInvalidationStmt.setLong(4, createdTime);
+                    addIdVClaimInvalidationStmt.addBatch();
+                }
+                addIdVClaimInvalidationStmt.executeBatch();
+                IdentityDatabaseUtil.commitTransaction(connection);
+            } catch (SQLException e1) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw IdentityVerificationExceptionMgt.handleServerException(ERROR_ADDING_IDV_CLAIM_INVALIDATIONS,
+                        userId, e1);
+            }
+        } catch (SQLException e) {
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_ADDING_IDV_CLAIM_INVALIDATIONS,
+                    userId, e);
+        }
+    }
+
+    @Override
+    public List<IdVClaimInvalidation> getIdVClaimInvalidations(String userId, int tenantId)
+            throws IdentityVerificationException {
+
+        List<IdVClaimInvalidation> invalidations = new ArrayList<>();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+             PreparedStatement getIdVClaimInvalidationsStmt =
+                     connection.prepareStatement(GET_IDV_CLAIM_INVALIDATIONS_SQL)) {
+            getIdVClaimInvalidationsStmt.setString(1, userId);
+            getIdVClaimInvalidationsStmt.setInt(2, tenantId);
+            try (ResultSet invalidationsResultSet = getIdVClaimInvalidationsStmt.executeQuery()) {
+                while (invalidationsResultSet.next()) {
+                    invalidations.add(getIdVClaimInvalidationFromResultSet(invalidationsResultSet));
+                }
+            }
+        } catch (SQLException e) {
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_RETRIEVING_IDV_CLAIM_INVALIDATIONS, e);
+        }
+        return invalidations;
+    }
+
+    @Override
+    public List<IdVClaimInvalidation> leaseIdVClaimInvalidations(long leaseExpiry, int limit)
+            throws IdentityVerificationException {
+
+        List<IdVClaimInvalidation> leasedInvalidations = new ArrayList<>();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            String query = IdVClaimSQLDialect.getDialect(connection).getExpiredIdVClaimInvalidationsQuery();
+            try (PreparedStatement getIdVClaimInvalidationsStmt = connection.prepareStatement(query);
+                 PreparedStatement leaseIdVClaimInvalidationStmt =
+                         connection.prepareStatement(LEASE_IDV_CLAIM_INVALIDATION_SQL)) {
+                List<IdVClaimInvalidation> invalidations = new ArrayList<>();
+                List<Long> previousLeaseExpiries = new ArrayList<>();
+                getIdVClaimInvalidationsStmt.setLong(1, System.currentTimeMillis());
+                getIdVClaimInvalidationsStmt.setInt(2, limit);
+                try (ResultSet invalidationsResultSet = getIdVClaimInvalidationsStmt.executeQuery()) {
+                    while (invalidationsResultSet.next()) {
+                        invalidations.add(getIdVClaimInvalidationFromResultSet(invalidationsResultSet));
+                        previousLeaseExpiries.add(invalidationsResultSet.getLong(LEASE_EXPIRY));
+                    }
+                }
+                // A deletion is leased only if no other node has leased it since it was read.
+                for (int i = 0; i < invalidations.size(); i++) {
+                    IdVClaimInvalidation invalidation = invalidations.get(i);
+                    leaseIdVClaimInvalidationStmt.setLong(1, leaseExpiry);
+                    leaseIdVClaimInvalidationStmt.setInt(2, invalidation.getId());
+                    leaseIdVClaimInvalidationStmt.setLong(3, previousLeaseExpiries.get(i));
+                    if (leaseIdVClaimInvalidationStmt.executeUpdate() == 1) {
+                        invalidation.setAttempts(invalidation.getAttempts() + 1);
+                        leasedInvalidations.add(invalidation);
+                    }
+                }
+                IdentityDatabaseUtil.commitTransaction(connection);
+            } catch (SQLException e1) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw IdentityVerificationExceptionMgt.handleServerException(
+                        ERROR_RETRIEVING_IDV_CLAIM_INVALIDATIONS, e1);
+            }
+        } catch (SQLException e) {
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_RETRIEVING_IDV_CLAIM_INVALIDATIONS, e);
+        }
+        return leasedInvalidations;
+    }
+
+    @Override
+    public List<String> applyIdVClaimInvalidations(String userId, List<IdVClaimInvalidation> invalidations,
+                                                   int tenantId) throws IdentityVerificationException {
+
+        List<String> idVClaimIds = new ArrayList<>();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try {
+                Set<String> claimUris = new HashSet<>();
+                boolean allClaims = false;
+                try (PreparedStatement deleteIdVClaimInvalidationStmt =
+                             connection.prepareStatement(DELETE_IDV_CLAIM_INVALIDATION_SQL)) {
+                    for (IdVClaimInvalidation invalidation : invalidations) {
+                        deleteIdVClaimInvalidationStmt.setInt(1, invalidation.getId());
+                        /* The row is locked until the claims are deleted, hence a deletion which is no longer
+                           stored has been applied by a committed transaction, possibly before newer claims were
+                           added, and must not be applied again. */
+                        if (deleteIdVClaimInvalidationStmt.executeUpdate() == 0) {
+                            continue;
+                        }
+                        if (invalidation.getClaimUri() == null) {
+                            allClaims = true;
+                        } else {
+                            claimUris.add(invalidation.getClaimUri());
+                        }
+                    }
+                }
+                if (allClaims) {
+                    deleteIdVClaims(connection, userId, tenantId, idVClaimIds);
+                } else if (!claimUris.isEmpty()) {
+                    deleteIdVClaims(connection, userId, claimUris, tenantId, idVClaimIds);
+                }
+                IdentityDatabaseUtil.commitTransaction(connection);
+            } catch (SQLException e1) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw IdentityVerificationExceptionMgt.handleServerException(ERROR_APPLYING_IDV_CLAIM_INVALIDATIONS,
+                        userId, e1);
+            }
+        } catch (SQLException e) {
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_APPLYING_IDV_CLAIM_INVALIDATIONS,
+                    userId, e);
+        }
+        return idVClaimIds;
+    }
+
+    @Override
+    public int getIdVClaimInvalidationCount() throws IdentityVerificationException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+             PreparedStatement getCountStmt = connection.prepareStatement(GET_IDV_CLAIM_INVALIDATION_COUNT_SQL);
+             ResultSet countResultSet = getCountStmt.executeQuery()) {
+            return countResultSet.next() ? countResultSet.getInt(PENDING_COUNT) : 0;
+        } catch (SQLException e) {
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_RETRIEVING_IDV_CLAIM_INVALIDATIONS, e);
+        }
+    }
+
+    @Override
+    public long getOldestIdVClaimInvalidationTime() throws IdentityVerificationException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+             PreparedStatement getOldestTimeStmt =
+                     connection.prepareStatement(GET_OLDEST_IDV_CLAIM_INVALIDATION_TIME_SQL);
+             ResultSet oldestTimeResultSet = getOldestTimeStmt.executeQuery()) {
+            // MIN of no rows is null, which is read as 0.
+            return oldestTimeResultSet.next() ? oldestTimeResultSet.getLong(OLDEST_CREATED_TIME) : 0;
+        } catch (SQLException e) {
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_RETRIEVING_IDV_CLAIM_INVALIDATIONS, e);
+        }
+    }
+
     @Override
     public boolean isIdVClaimDataExist(String userId, String idvId, String uri, int tenantId)
             throws IdentityVerificationException {
@@ -337,31 +995,629 @@ public class IdentityVerificationClaimDAOImpl implements IdentityVerificationCla
         return false;
     }
 
-    private String getMetadataQueryBasedOnDBType(String databaseProductName) {
-        
-        switch (databaseProductName) {
-            case "postgresql":
-                return GET_IDV_CLAIMS_BY_METADATA_SQL_POSTGRESQL;
+    @Override
+    public boolean hasIdVClaims(String userId, int tenantId) throws IdentityVerificationException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+             PreparedStatement hasIdVClaimsStmt = connection.prepareStatement(HAS_IDV_CLAIMS_SQL)) {
+            hasIdVClaimsStmt.setString(1, userId);
+            hasIdVClaimsStmt.setInt(2, tenantId);
+            hasIdVClaimsStmt.setMaxRows(1);
+            try (ResultSet idVClaimsResultSet = hasIdVClaimsStmt.executeQuery()) {
+                return idVClaimsResultSet.next();
+            }
+        } catch (SQLException e) {
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_CHECKING_IDV_CLAIM_EXISTENCE, e);
+        }
+    }
+
+    @Override
+    public Set<String> getIdVClaimUris(int tenantId) throws IdentityVerificationException {
+
+        Set<String> claimUris = new HashSet<>();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+             PreparedStatement getIdVClaimUrisStmt = connection.prepareStatement(GET_IDV_CLAIM_URIS_OF_TENANT_SQL)) {
+            getIdVClaimUrisStmt.setInt(1, tenantId);
+            try (ResultSet idVClaimUrisResultSet = getIdVClaimUrisStmt.executeQuery()) {
+                while (idVClaimUrisResultSet.next()) {
+                    claimUris.add(idVClaimUrisResultSet.getString(CLAIM_URI));
+                }
+            }
+        } catch (SQLException e) {
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_RETRIEVING_IDV_CLAIMS, e);
+        }
+        return claimUris;
+    }
+
+    /**
+     * Get the identity verification claims of a user. If a limit is given, a page of claims with ids greater than
+     * the given id is returned in the ascending order of the id.
+     */
+    private IdVClaim[] retrieveIdVClaims(String userId, String idvProviderId, String claimUri, int tenantId,
+                                         Integer afterId, Integer limit) throws IdentityVerificationException {
+
+        List<IdVClaim> idVClaims = new ArrayList<>();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+            IdVClaimSQLDialect dialect = IdVClaimSQLDialect.getDialect(connection);
+            String query = dialect.getIdVClaimsQuery(StringUtils.isNotBlank(idvProviderId),
+                    StringUtils.isNotBlank(claimUri), limit != null);
+            try (PreparedStatement getIdVProviderStmt = connection.prepareStatement(query)) {
+                MetadataStorageMode metadataStorageMode = dialect.getMetadataStorageMode();
+                int index = 1;
+                getIdVProviderStmt.setString(index++, userId);
+                getIdVProviderStmt.setInt(index++, tenantId);
+                if (StringUtils.isNotBlank(idvProviderId)) {
+                    getIdVProviderStmt.setString(index++, idvProviderId);
+                }
+                if (StringUtils.isNotBlank(claimUri)) {
+                    getIdVProviderStmt.setString(index++, claimUri);
+                }
+                if (limit != null) {
+                    getIdVProviderStmt.setInt(index++, afterId);
+                    getIdVProviderStmt.setInt(index, limit);
+                }
+                try (ResultSet idVProviderResultSet = getIdVProviderStmt.executeQuery()) {
+                    idVClaims.addAll(getIdVClaimsFromResultSet(idVProviderResultSet, metadataStorageMode));
+                }
+            }
+        } catch (SQLException e) {
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_RETRIEVING_IDV_CLAIMS, e);
+        }
+        return idVClaims.toArray(new IdVClaim[0]);
+    }
+
+    /**
+     * Get the identity verification claims by metadata. If a limit is given, a page of claims with ids greater than
+     * the given id is returned in the ascending order of the id.
+     */
+    private IdVClaim[] retrieveIdVClaimsByMetadata(String metadataKey, String metadataValue, String idvProviderId,
+                                                   int tenantId, Integer afterId, Integer limit)
+            throws IdentityVerificationException {
+
+        List<IdVClaim> idVClaims = new ArrayList<>();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+            IdVClaimSQLDialect dialect = IdVClaimSQLDialect.getDialect(connection);
+            MetadataStorageMode metadataStorageMode = dialect.getMetadataStorageMode();
+            if (isMetadataProjectionEnabled(metadataStorageMode) && isIndexableMetadata(metadataKey, metadataValue)) {
+                idVClaims.addAll(getIdVClaimsByIndexedMetadata(connection, dialect, metadataKey, metadataValue,
+                        idvProviderId, tenantId, afterId, limit));
+                if (isMetadataProjectionComplete(connection, tenantId) || !IdentityVerificationConfigUtil
+                        .getBooleanProperty(METADATA_LEGACY_LOOKUP_ENABLED, true)) {
+                    return idVClaims.toArray(new IdVClaim[0]);
+                }
+                /* Until the projection of the tenant is backfilled, claims stored before it was enabled can only be
+                   found by scanning the METADATA column. Both sources are merged in the order of the id, so that
+                   each page continues after the last id of the previous one. */
+                return mergeIdVClaims(idVClaims, getIdVClaimsByMetadataScan(connection, dialect, metadataKey,
+                        metadataValue, idvProviderId, tenantId, afterId, limit), limit);
+            }
+            // With native JSON storage the database evaluates the metadata condition itself.
+            idVClaims.addAll(getIdVClaimsByMetadataScan(connection, dialect, metadataKey, metadataValue,
+                    idvProviderId, tenantId, afterId, limit));
+            if (metadataStorageMode == MetadataStorageMode.BLOB && isIndexableMetadata(metadataKey, metadataValue)) {
+                /* Claims stored in the binary format while indexed lookup was enabled cannot be scanned, hence they
+                   are still found through the projection until they are re-encoded as JSON text. */
+                return mergeIdVClaims(getBinaryIdVClaimsByIndexedMetadata(connection, dialect, metadataKey,
+                        metadataValue, idvProviderId, tenantId, afterId, limit), idVClaims, limit);
+            }
+        } catch (SQLException e) {
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_RETRIEVING_IDV_CLAIMS_BY_METADATA, e);
+        }
+        return idVClaims.toArray(new IdVClaim[0]);
+    }
+
+    private List<IdVClaim> getIdVClaimsByIndexedMetadata(Connection connection, IdVClaimSQLDialect dialect,
+                                                         String metadataKey, String metadataValue,
+                                                         String idvProviderId, int tenantId, Integer afterId,
+                                                         Integer limit) throws SQLException {
+
+        String query = dialect.getIdVClaimsByIndexedMetadataQuery(limit != null);
+        try (PreparedStatement getIdVClaimsStmt = connection.prepareStatement(query)) {
+            getIdVClaimsStmt.setString(1, idvProviderId);
+            getIdVClaimsStmt.setInt(2, tenantId);
+            getIdVClaimsStmt.setString(3, metadataKey);
+            getIdVClaimsStmt.setString(4, metadataValue);
+            if (limit != null) {
+                getIdVClaimsStmt.setInt(5, afterId);
+                getIdVClaimsStmt.setInt(6, limit);
+            }
+            try (ResultSet idVClaimsResultSet = getIdVClaimsStmt.executeQuery()) {
+                return getIdVClaimsFromResultSet(idVClaimsResultSet, dialect.getMetadataStorageMode());
+            }
+        }
+    }
+
+    /**
+     * Get the claims stored in the binary format through the metadata projection, while the projection is no longer
+     * maintained. The projection of such a claim is still accurate, as any later update of the claim stores its
+     * metadata as JSON text. Projected claims which are stored as JSON text are skipped, as they are found by
+     * scanning the METADATA column, hence the projection is read page by page until a full page is found.
+     */
+    private List<IdVClaim> getBinaryIdVClaimsByIndexedMetadata(Connection connection, IdVClaimSQLDialect dialect,
+                                                               String metadataKey, String metadataValue,
+                                                               String idvProviderId, int tenantId, Integer afterId,
+                                                               Integer limit) throws SQLException {
+
+        List<IdVClaim> binaryIdVClaims = new ArrayList<>();
+        Integer fromId = afterId;
+        while (true) {
+            List<IdVClaim> idVClaims = getIdVClaimsByIndexedMetadata(connection, dialect, metadataKey,
+                    metadataValue, idvProviderId, tenantId, fromId, limit);
+            for (IdVClaim idVClaim : idVClaims) {
+                if (IdentityVerificationMetadataUtil.isBinaryMetadata(idVClaim.getEncodedMetadata())) {
+                    binaryIdVClaims.add(idVClaim);
+                }
+            }
+            if (limit == null || idVClaims.size() < limit || binaryIdVClaims.size() >= limit) {
+                return binaryIdVClaims;
+            }
+            fromId = Integer.parseInt(idVClaims.get(idVClaims.size() - 1).getId());
+        }
+    }
+
+    private List<IdVClaim> getIdVClaimsByMetadataScan(Connection connection, IdVClaimSQLDialect dialect,
+                                                      String metadataKey, String metadataValue,
+                                                      String idvProviderId, int tenantId, Integer afterId,
+                                                      Integer limit) throws SQLException {
+
+        MetadataStorageMode metadataStorageMode = dialect.getMetadataStorageMode();
+        String query = dialect.getIdVClaimsByMetadataQuery(metadataKey, limit != null);
+        try (PreparedStatement getIdVProviderStmt = connection.prepareStatement(query)) {
+            getIdVProviderStmt.setString(1, idvProviderId);
+            getIdVProviderStmt.setInt(2, tenantId);
+            getIdVProviderStmt.setString(3,
+                    getMetadataSearchParameter(metadataKey, metadataValue, metadataStorageMode));
+            if (limit != null) {
+                getIdVProviderStmt.setInt(4, afterId);
+                getIdVProviderStmt.setInt(5, limit);
+            }
+            try (ResultSet idVProviderResultSet = getIdVProviderStmt.executeQuery()) {
+                return getIdVClaimsFromResultSet(idVProviderResultSet, metadataStorageMode);
+            }
+        }
+    }
+
+    /**
+     * Merge the claims found through the metadata projection with the claims found by scanning the METADATA
+     * column. Claims found by both are included once and the result is ordered by the id.
+     */
+    private IdVClaim[] mergeIdVClaims(List<IdVClaim> indexedIdVClaims, List<IdVClaim> scannedIdVClaims,
+                                      Integer limit) {
+
+        TreeMap<Integer, IdVClaim> idVClaims = new TreeMap<>();
+        for (IdVClaim idVClaim : indexedIdVClaims) {
+            idVClaims.put(Integer.parseInt(idVClaim.getId()), idVClaim);
+        }
+        for (IdVClaim idVClaim : scannedIdVClaims) {
+            idVClaims.putIfAbsent(Integer.parseInt(idVClaim.getId()), idVClaim);
+        }
+        List<IdVClaim> mergedIdVClaims = new ArrayList<>(idVClaims.values());
+        if (limit != null && mergedIdVClaims.size() > limit) {
+            mergedIdVClaims = mergedIdVClaims.subList(0, limit);
+        }
+        return mergedIdVClaims.toArray(new IdVClaim[0]);
+    }
+
+    /**
+     * Delete the identity verification claims of a user for the given claim URIs, within the transaction of the
+     * connection, and collect the ids of the deleted claims.
+     */
+    private void deleteIdVClaims(Connection connection, String userId, Set<String> claimUris, int tenantId,
+                                 List<String> idVClaimIds) throws SQLException {
+
+        for (List<String> claimUriChunk : getInClauseChunks(new ArrayList<>(claimUris))) {
+            String claimUriFilter = String.format(CLAIM_URI_IN_FILTER, getInClausePlaceholders(claimUriChunk.size()));
+            int deletedCount = idVClaimIds.size();
+            try (PreparedStatement getIdVClaimIdsStmt =
+                         connection.prepareStatement(GET_IDV_CLAIM_UUIDS_SQL + claimUriFilter)) {
+                bindClaimUriFilter(getIdVClaimIdsStmt, userId, tenantId, claimUriChunk);
+                try (ResultSet idVClaimIdsResultSet = getIdVClaimIdsStmt.executeQuery()) {
+                    while (idVClaimIdsResultSet.next()) {
+                        idVClaimIds.add(idVClaimIdsResultSet.getString(IDV_CLAIM_UUID));
+                    }
+                }
+            }
+            // Most profile updates do not touch verified claims, hence skip the delete if nothing matched.
+            if (idVClaimIds.size() == deletedCount) {
+                continue;
+            }
+            try (PreparedStatement deleteIdVClaimsStmt =
+                         connection.prepareStatement(DELETE_IDV_CLAIMS_SQL + claimUriFilter)) {
+                bindClaimUriFilter(deleteIdVClaimsStmt, userId, tenantId, claimUriChunk);
+                deleteIdVClaimsStmt.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Delete all the identity verification claims of a user, within the transaction of the connection, and collect
+     * the ids of the deleted claims.
+     */
+    private void deleteIdVClaims(Connection connection, String userId, int tenantId, List<String> idVClaimIds)
+            throws SQLException {
+
+        try (PreparedStatement getIdVClaimIdsStmt = connection.prepareStatement(GET_IDV_CLAIM_UUIDS_SQL)) {
+            getIdVClaimIdsStmt.setString(1, userId);
+            getIdVClaimIdsStmt.setInt(2, tenantId);
+            try (ResultSet idVClaimIdsResultSet = getIdVClaimIdsStmt.executeQuery()) {
+                while (idVClaimIdsResultSet.next()) {
+                    idVClaimIds.add(idVClaimIdsResultSet.getString(IDV_CLAIM_UUID));
+                }
+            }
+        }
+        try (PreparedStatement deleteIdVClaimsStmt = connection.prepareStatement(DELETE_IDV_CLAIMS_SQL)) {
+            deleteIdVClaimsStmt.setString(1, userId);
+            deleteIdVClaimsStmt.setInt(2, tenantId);
+            deleteIdVClaimsStmt.executeUpdate();
+        }
+    }
+
+    private IdVClaimInvalidation getIdVClaimInvalidationFromResultSet(ResultSet invalidationsResultSet)
+            throws SQLException {
+
+        IdVClaimInvalidation invalidation = new IdVClaimInvalidation();
+        invalidation.setId(invalidationsResultSet.getInt(ID));
+        invalidation.setUserId(invalidationsResultSet.getString(USER_ID));
+        invalidation.setTenantId(invalidationsResultSet.getInt(TENANT_ID));
+        invalidation.setClaimUri(invalidationsResultSet.getString(CLAIM_URI));
+        invalidation.setAttempts(invalidationsResultSet.getInt(ATTEMPTS));
+        invalidation.setCreatedTime(invalidationsResultSet.getLong(CREATED_TIME));
+        return invalidation;
+    }
+
+    private static <T> List<List<T>> getInClauseChunks(List<T> values) {
+
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < values.size(); i += MAX_IN_CLAUSE_SIZE) {
+            chunks.add(values.subList(i, Math.min(i + MAX_IN_CLAUSE_SIZE, values.size())));
+        }
+        return chunks;
+    }
+
+    private static String getInClausePlaceholders(int count) {
+
+        return StringUtils.repeat("?", ",", count);
+    }
+
+    private void bindClaimUriFilter(PreparedStatement prepStmt, String userId, int tenantId, List<String> claimUris)
+            throws SQLException {
+
+        int index = 1;
+        prepStmt.setString(index++, userId);
+        prepStmt.setInt(index++, tenantId);
+        for (String claimUri : claimUris) {
+            prepStmt.setString(index++, claimUri);
+        }
+    }
+
+    private String getMetadataSearchParameter(String metadataKey, String metadataValue,
+                                              MetadataStorageMode metadataStorageMode) {
+
+        if (metadataStorageMode == MetadataStorageMode.POSTGRESQL_JSONB ||
+                (metadataStorageMode == MetadataStorageMode.MYSQL_JSON &&
+                        !IdVClaimSQLDialect.isJsonPathKey(metadataKey))) {
+            JSONObject metadataSearchObject = new JSONObject();
+            metadataSearchObject.put(metadataKey, metadataValue);
+            return metadataSearchObject.toString();
+        }
+        if (metadataStorageMode == MetadataStorageMode.MYSQL_JSON) {
+            return metadataValue;
+        }
+        // Construct the metadata search pattern using the metadataKey and metadataValue variables.
+        return "%\"" + metadataKey + "\":\"" + metadataValue + "\"%";
+    }
+
+    private MetadataStorageMode getMetadataStorageMode(Connection connection) throws SQLException {
+
+        return IdVClaimSQLDialect.getDialect(connection).getMetadataStorageMode();
+    }
+
+    /**
+     * Check whether the IDV_CLAIM_METADATA projection is maintained. The projection requires the
+     * IDV_CLAIM_METADATA and IDV_CLAIM_METADATA_STATUS tables, hence it is maintained only if indexed lookup is
+     * enabled, and only with binary storage of the metadata.
+     */
+    private boolean isMetadataProjectionEnabled(MetadataStorageMode metadataStorageMode) {
+
+        return metadataStorageMode == MetadataStorageMode.BLOB &&
+                IdentityVerificationConfigUtil.getBooleanProperty(METADATA_INDEXED_LOOKUP_ENABLED, false);
+    }
+
+    /**
+     * Check whether the projection of all the claims of the tenant has been backfilled, in which case the
+     * projection alone is sufficient to find claims by projected metadata.
+     */
+    private boolean isMetadataProjectionComplete(Connection connection, int tenantId) throws SQLException {
+
+        if (backfilledTenants.contains(tenantId)) {
+            return true;
+        }
+        try (PreparedStatement getStatusStmt = connection.prepareStatement(GET_IDV_CLAIM_METADATA_STATUS_SQL)) {
+            getStatusStmt.setInt(1, tenantId);
+            try (ResultSet statusResultSet = getStatusStmt.executeQuery()) {
+                if (statusResultSet.next()) {
+                    backfilledTenants.add(tenantId);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void setMetadata(PreparedStatement preparedStatement, int index, byte[] metadata,
+                             MetadataStorageMode metadataStorageMode) throws SQLException {
+
+        switch (metadataStorageMode) {
+            case POSTGRESQL_JSONB:
+                preparedStatement.setObject(index, new String(metadata, StandardCharsets.UTF_8), Types.OTHER);
+                break;
+            case MYSQL_JSON:
+                preparedStatement.setString(index, new String(metadata, StandardCharsets.UTF_8));
+                break;
             default:
-                return GET_IDV_CLAIMS_BY_METADATA_SQL;
+                preparedStatement.setBytes(index, metadata);
+        }
+    }
+
+    /**
+     * Get the metadata of the claim encoded in the format to be stored. Binary metadata cannot be scanned, hence
+     * metadata is stored in the binary format only if binary encoding is enabled along with the projection, and
+     * every entry of the metadata is projected. Otherwise it is stored as JSON text.
+     */
+    private byte[] getEncodedMetadata(IdVClaim idVClaim, MetadataStorageMode metadataStorageMode) {
+
+        if (isBinaryEncodingEnabled(metadataStorageMode) && isFullyIndexable(idVClaim.getMetadata())) {
+            return IdentityVerificationMetadataUtil.encodeBinaryMetadata(idVClaim.getMetadata());
+        }
+        return IdentityVerificationMetadataUtil.toJsonMetadata(idVClaim.getEncodedMetadata());
+    }
+
+    private boolean isBinaryEncodingEnabled(MetadataStorageMode metadataStorageMode) {
+
+        return isMetadataProjectionEnabled(metadataStorageMode) &&
+                IdentityVerificationConfigUtil.getBooleanProperty(METADATA_BINARY_ENCODING_ENABLED, false);
+    }
+
+    private byte[] getEncodedMetadata(ResultSet resultSet, MetadataStorageMode metadataStorageMode)
+            throws SQLException {
+
+        if (metadataStorageMode == MetadataStorageMode.BLOB) {
+            return resultSet.getBytes(METADATA);
+        }
+        String metadata = resultSet.getString(METADATA);
+        return metadata == null ? null : metadata.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Add the projection of the scalar metadata entries of the given claims to the IDV_CLAIM_METADATA table, which
+     * is used to look up claims by metadata without scanning the METADATA column. Projected rows are removed along
+     * with the claim through the foreign key cascade. Nothing is added unless the projection is enabled.
+     *
+     * @param connection Database connection.
+     * @param idVClaims  Identity verification claims.
+     * @param tenantId   Tenant id.
+     * @throws SQLException If an error occurs while adding the metadata.
+     */
+    private void addIdVClaimMetadata(Connection connection, List<IdVClaim> idVClaims, int tenantId)
+            throws SQLException {
+
+        if (!isMetadataProjectionEnabled(getMetadataStorageMode(connection))) {
+            return;
+        }
+        boolean hasMetadata = false;
+        try (PreparedStatement addIdVClaimMetadataStmt = connection.prepareStatement(
+                IdVClaimSQLDialect.getDialect(connection).getAddIdVClaimMetadataQuery())) {
+            for (IdVClaim idVClaim : idVClaims) {
+                for (Map.Entry<String, String> metadataEntry :
+                        getIndexableMetadata(idVClaim.getMetadata()).entrySet()) {
+                    addIdVClaimMetadataStmt.setString(1, metadataEntry.getKey());
+                    addIdVClaimMetadataStmt.setString(2, metadataEntry.getValue());
+                    addIdVClaimMetadataStmt.setString(3, idVClaim.getUuid());
+                    addIdVClaimMetadataStmt.setInt(4, tenantId);
+                    addIdVClaimMetadataStmt.addBatch();
+                    hasMetadata = true;
+                }
+            }
+            if (hasMetadata) {
+                addIdVClaimMetadataStmt.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Replace the projection of the metadata of existing claims, whose previous metadata may have been projected.
+     */
+    private void refreshIdVClaimMetadata(Connection connection, List<IdVClaim> idVClaims, int tenantId)
+            throws SQLException {
+
+        deleteIdVClaimMetadata(connection, idVClaims, tenantId);
+        addIdVClaimMetadata(connection, idVClaims, tenantId);
+    }
+
+    private void deleteIdVClaimMetadata(Connection connection, List<IdVClaim> idVClaims, int tenantId)
+            throws SQLException {
+
+        if (idVClaims.isEmpty() || !isMetadataProjectionEnabled(getMetadataStorageMode(connection))) {
+            return;
+        }
+        try (PreparedStatement deleteIdVClaimMetadataStmt =
+                     connection.prepareStatement(DELETE_IDV_CLAIM_METADATA_SQL)) {
+            for (IdVClaim idVClaim : idVClaims) {
+                deleteIdVClaimMetadataStmt.setString(1, idVClaim.getUuid());
+                deleteIdVClaimMetadataStmt.setInt(2, tenantId);
+                deleteIdVClaimMetadataStmt.addBatch();
+            }
+            deleteIdVClaimMetadataStmt.executeBatch();
+        }
+    }
+
+    /**
+     * Add the statements which replace the projection of the claim with the given id to the given batches.
+     *
+     * @return True if the claim has projected metadata.
+     */
+    private boolean addIdVClaimMetadataBatch(PreparedStatement deleteIdVClaimMetadataStmt,
+                                             PreparedStatement addIdVClaimMetadataStmt, int claimId,
+                                             String idVProviderId, int tenantId,
+                                             Map<String, String> indexableMetadata) throws SQLException {
+
+        deleteIdVClaimMetadataStmt.setInt(1, claimId);
+        deleteIdVClaimMetadataStmt.addBatch();
+        for (Map.Entry<String, String> metadataEntry : indexableMetadata.entrySet()) {
+            addIdVClaimMetadataStmt.setInt(1, claimId);
+            addIdVClaimMetadataStmt.setString(2, idVProviderId);
+            addIdVClaimMetadataStmt.setInt(3, tenantId);
+            addIdVClaimMetadataStmt.setString(4, metadataEntry.getKey());
+            addIdVClaimMetadataStmt.setString(5, metadataEntry.getValue());
+            addIdVClaimMetadataStmt.addBatch();
+        }
+        return !indexableMetadata.isEmpty();
+    }
+
+    /**
+     * Check whether every entry of the metadata is projected, in which case the metadata can be found without
+     * scanning the METADATA column.
+     */
+    private boolean isFullyIndexable(Map<String, Object> metadata) {
+
+        return metadata == null || getIndexableMetadata(metadata).size() == metadata.size();
+    }
+
+    /**
+     * Get the metadata entries which are projected to the IDV_CLAIM_METADATA table, i.e. the entries with scalar
+     * values of which both the key and the value fit in the projection.
+     */
+    private Map<String, String> getIndexableMetadata(Map<String, Object> metadata) {
+
+        Map<String, String> indexableMetadata = new LinkedHashMap<>();
+        if (metadata == null) {
+            return indexableMetadata;
+        }
+        for (Map.Entry<String, Object> metadataEntry : metadata.entrySet()) {
+            String metadataValue = getIndexableMetadataValue(metadataEntry.getValue());
+            if (isIndexableMetadata(metadataEntry.getKey(), metadataValue)) {
+                indexableMetadata.put(metadataEntry.getKey(), metadataValue);
+            }
         }
+        return indexableMetadata;
     }
 
-    private byte[] getMetadata(IdVClaim idVClaim) {
+    private String getIndexableMetadataValue(Object value) {
 
-        JSONObject metadataJsonObject = new JSONObject(idVClaim.getMetadata());
-        String metadataString = metadataJsonObject.toString();
-        return metadataString.getBytes(StandardCharsets.UTF_8);
+        if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return String.valueOf(value);
+        }
+        return null;
     }
 
-    private Map<String, Object> getMetadataJsonObject(byte[] metadata) {
+    private boolean isIndexableMetadata(String metadataKey, String metadataValue) {
+
+        return StringUtils.isNotEmpty(metadataKey) && metadataKey.length() <= MAX_INDEXED_METADATA_LENGTH &&
+                StringUtils.isNotEmpty(metadataValue) && metadataValue.length() <= MAX_INDEXED_METADATA_LENGTH;
+    }
 
-        Map<String, Object> metadataMap = new HashMap<>();
-        String metadataString = new String(metadata, StandardCharsets.UTF_8);
-        JSONObject metadataJSONObject = new JSONObject(metadataString);
-        for (String key : metadataJSONObject.keySet()) {
-            metadataMap.put(key, metadataJSONObject.get(key));
+    private List<IdVClaim> getIdVClaimsFromResultSet(ResultSet idVClaimsResultSet,
+                                                     MetadataStorageMode metadataStorageMode) throws SQLException {
+
+        List<IdVClaim> idVClaims = new ArrayList<>();
+        while (idVClaimsResultSet.next()) {
+            idVClaims.add(getIdVClaimFromResultSet(idVClaimsResultSet, metadataStorageMode));
+        }
+        return idVClaims;
+    }
+
+    private IdVClaim getIdVClaimFromResultSet(ResultSet idVClaimsResultSet, MetadataStorageMode metadataStorageMode)
+            throws SQLException {
+
+        IdVClaim idVClaim = new IdVClaim();
+        idVClaim.setId(idVClaimsResultSet.getString(ID));
+        idVClaim.setUuid(idVClaimsResultSet.getString(IDV_CLAIM_UUID));
+        idVClaim.setUserId(idVClaimsResultSet.getString(USER_ID));
+        idVClaim.setClaimUri(idVClaimsResultSet.getString(CLAIM_URI));
+        idVClaim.setIsVerified(idVClaimsResultSet.getBoolean(IS_VERIFIED));
+        idVClaim.setEncodedMetadata(getEncodedMetadata(idVClaimsResultSet, metadataStorageMode));
+        return idVClaim;
+    }
+
+    private void bindMergeUpsertIdVClaimStmt(PreparedStatement upsertIdVClaimStmt, String userId, IdVClaim idVClaim,
+                                             int tenantId, MetadataStorageMode metadataStorageMode)
+            throws SQLException {
+
+        byte[] metadata = getEncodedMetadata(idVClaim, metadataStorageMode);
+        String isVerified = idVClaim.isVerified() ? "1" : "0";
+        upsertIdVClaimStmt.setString(1, idVClaim.getClaimUri());
+        upsertIdVClaimStmt.setInt(2, tenantId);
+        upsertIdVClaimStmt.setString(3, userId);
+        upsertIdVClaimStmt.setString(4, idVClaim.getIdVPId());
+        upsertIdVClaimStmt.setString(5, isVerified);
+        setMetadata(upsertIdVClaimStmt, 6, metadata, metadataStorageMode);
+        upsertIdVClaimStmt.setString(7, idVClaim.getUuid());
+        upsertIdVClaimStmt.setString(8, userId);
+        upsertIdVClaimStmt.setString(9, idVClaim.getClaimUri());
+        upsertIdVClaimStmt.setString(10, idVClaim.getIdVPId());
+        upsertIdVClaimStmt.setInt(11, tenantId);
+        upsertIdVClaimStmt.setString(12, isVerified);
+        setMetadata(upsertIdVClaimStmt, 13, metadata, metadataStorageMode);
+    }
+
+    private void bindInsertUpsertIdVClaimStmt(PreparedStatement upsertIdVClaimStmt, String userId, IdVClaim idVClaim,
+                                              int tenantId, MetadataStorageMode metadataStorageMode)
+            throws SQLException {
+
+        upsertIdVClaimStmt.setString(1, idVClaim.getUuid());
+        upsertIdVClaimStmt.setString(2, userId);
+        upsertIdVClaimStmt.setString(3, idVClaim.getClaimUri());
+        upsertIdVClaimStmt.setString(4, idVClaim.getIdVPId());
+        upsertIdVClaimStmt.setInt(5, tenantId);
+        upsertIdVClaimStmt.setString(6, idVClaim.isVerified() ? "1" : "0");
+        setMetadata(upsertIdVClaimStmt, 7, getEncodedMetadata(idVClaim, metadataStorageMode), metadataStorageMode);
+    }
+
+    private Map<String, String> getIdVClaimIdMap(Connection connection, String userId, int tenantId)
+            throws SQLException {
+
+        Map<String, String> idVClaimIdMap = new HashMap<>();
+        try (PreparedStatement getIdVClaimKeysStmt = connection.prepareStatement(GET_IDV_CLAIM_KEYS_SQL)) {
+            getIdVClaimKeysStmt.setString(1, userId);
+            getIdVClaimKeysStmt.setInt(2, tenantId);
+            try (ResultSet idVClaimKeysResultSet = getIdVClaimKeysStmt.executeQuery()) {
+                while (idVClaimKeysResultSet.next()) {
+                    idVClaimIdMap.put(getIdVClaimKey(idVClaimKeysResultSet.getString(IDVP_ID),
+                            idVClaimKeysResultSet.getString(CLAIM_URI)),
+                            idVClaimKeysResultSet.getString(IDV_CLAIM_UUID));
+                }
+            }
+        }
+        return idVClaimIdMap;
+    }
+
+    private String getIdVClaimKey(String idVProviderId, String claimUri) {
+
+        return idVProviderId + ":" + claimUri;
+    }
+
+    /**
+     * Resolve the claim URIs of the rows that failed in a batch insert. Drivers either stop at the first failure,
+     * returning the update counts of the rows processed before it, or continue and mark each failed row with
+     * {@link Statement#EXECUTE_FAILED}.
+     *
+     * @param idvClaimList List of claims added to the batch.
+     * @param updateCounts Update counts returned by the driver.
+     * @return Comma separated claim URIs of the failed rows.
+     */
+    private String getFailedClaimUris(List<IdVClaim> idvClaimList, int[] updateCounts) {
+
+        List<String> failedClaimUris = new ArrayList<>();
+        if (updateCounts == null || updateCounts.length < idvClaimList.size()) {
+            int failedIndex = updateCounts == null ? 0 : updateCounts.length;
+            failedClaimUris.add(idvClaimList.get(failedIndex).getClaimUri());
+        } else {
+            for (int i = 0; i < updateCounts.length; i++) {
+                if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                    failedClaimUris.add(idvClaimList.get(i).getClaimUri());
+                }
+            }
         }
-        return metadataMap;
+        return StringUtils.join(failedClaimUris, ", ");
     }
 }
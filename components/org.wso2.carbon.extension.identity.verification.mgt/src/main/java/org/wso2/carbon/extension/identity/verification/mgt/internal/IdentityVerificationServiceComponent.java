@@ -26,12 +26,16 @@ import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
+import org.wso2.carbon.extension.identity.verification.mgt.IdVBulkVerificationExecutor;
+import org.wso2.carbon.extension.identity.verification.mgt.IdVProviderIsolation;
+import org.wso2.carbon.extension.identity.verification.mgt.IdentityVerificationExecutor;
 import org.wso2.carbon.extension.identity.verification.mgt.IdentityVerificationManager;
 import org.wso2.carbon.extension.identity.verification.mgt.IdentityVerificationManagerImpl;
 import org.wso2.carbon.extension.identity.verification.mgt.IdentityVerifierFactory;
 import org.wso2.carbon.extension.identity.verification.mgt.dao.CachedBackedIdVClaimDAO;
 import org.wso2.carbon.extension.identity.verification.mgt.dao.IdentityVerificationClaimDAO;
 import org.wso2.carbon.extension.identity.verification.mgt.dao.IdentityVerificationClaimDAOImpl;
+import org.wso2.carbon.extension.identity.verification.mgt.listeners.IdVClaimInvalidationQueue;
 import org.wso2.carbon.extension.identity.verification.mgt.listeners.IdVUserOperationEventListener;
 import org.wso2.carbon.extension.identity.verification.provider.IdVProviderManager;
 import org.wso2.carbon.identity.core.util.IdentityCoreInitializedEvent;
@@ -64,6 +68,10 @@ public class IdentityVerificationServiceComponent {
             ctxt.getBundleContext().registerService(IdentityVerificationManager.class.getName(),
                     identityVerificationService, null);
 
+            IdVClaimInvalidationQueue.initialize();
+            IdentityVerificationExecutor.initialize();
+            IdVBulkVerificationExecutor.initialize();
+            IdVProviderIsolation.initialize();
             IdVUserOperationEventListener idVUserOperationEventListener = new IdVUserOperationEventListener();
             ctxt.getBundleContext().registerService(UserOperationEventListener.class.getName(),
                     idVUserOperationEventListener, null);
@@ -79,6 +87,10 @@ public class IdentityVerificationServiceComponent {
     @Deactivate
     protected void deactivate(ComponentContext ctxt) {
 
+        IdVBulkVerificationExecutor.destroy();
+        IdentityVerificationExecutor.destroy();
+        IdVProviderIsolation.destroy();
+        IdVClaimInvalidationQueue.destroy();
         if (log.isDebugEnabled()) {
             log.debug("IdentityVerificationService bundle is deactivated ");
         }
@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.extension.identity.verification.mgt.listeners;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.extension.identity.verification.mgt.dao.IdentityVerificationClaimDAO;
+import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationException;
+import org.wso2.carbon.extension.identity.verification.mgt.internal.IdentityVerificationDataHolder;
+import org.wso2.carbon.extension.identity.verification.mgt.model.IdVClaimInvalidation;
+import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConfigUtil;
+import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationExceptionMgt;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.CLAIM_INVALIDATION_ASYNC_ENABLED;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.CLAIM_INVALIDATION_BATCH_SIZE;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.CLAIM_INVALIDATION_FLUSH_INTERVAL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.CLAIM_INVALIDATION_LEASE_DURATION;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.DEFAULT_CLAIM_INVALIDATION_BATCH_SIZE;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.DEFAULT_CLAIM_INVALIDATION_FLUSH_INTERVAL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.DEFAULT_CLAIM_INVALIDATION_LEASE_DURATION;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_CODE_GET_DAO;
+
+/**
+ * Outbox of the identity verification claim deletions triggered by user operations.
+ * <p>
+ * When enabled, the user operation listener stores the deletions in the IDV_CLAIM_INVALIDATION table instead of
+ * running them inside the user store write, and a background worker on every node applies them in batches. The
+ * worker leases the stored deletions for the configured duration, so that a deletion is applied by a single node at
+ * a time, and a stored deletion is removed only in the transaction which deletes the identity verification claims.
+ * A deletion which could not be applied stays in the table and is retried once its lease expires, and a deletion
+ * which can not be stored is run synchronously by the listener.
+ * <p>
+ * The pending deletions of a user are applied before the identity verification claims of that user are read, added
+ * or updated on any node, hence a claim is never served or kept after the user attribute it verifies has changed.
+ */
+public class IdVClaimInvalidationQueue {
+
+    private static final Log log = LogFactory.getLog(IdVClaimInvalidationQueue.class);
+
+    private static volatile IdVClaimInvalidationQueue instance = new IdVClaimInvalidationQueue(false, 1, 1, 1);
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushInterval;
+    private final long leaseDuration;
+    private final AtomicLong processedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private ScheduledExecutorService worker;
+
+    IdVClaimInvalidationQueue(boolean enabled, int batchSize, long flushInterval, long leaseDuration) {
+
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.leaseDuration = leaseDuration;
+    }
+
+    public static IdVClaimInvalidationQueue getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Create the queue from the configurations in identity.xml and start the worker if the asynchronous claim
+     * invalidation is enabled.
+     */
+    public static synchronized void initialize() {
+
+        IdVClaimInvalidationQueue invalidationQueue = new IdVClaimInvalidationQueue(
+                IdentityVerificationConfigUtil.getBooleanProperty(CLAIM_INVALIDATION_ASYNC_ENABLED, false),
+                Math.max(1, IdentityVerificationConfigUtil.getIntProperty(CLAIM_INVALIDATION_BATCH_SIZE,
+                        DEFAULT_CLAIM_INVALIDATION_BATCH_SIZE)),
+                Math.max(1, IdentityVerificationConfigUtil.getIntProperty(CLAIM_INVALIDATION_FLUSH_INTERVAL,
+                        DEFAULT_CLAIM_INVALIDATION_FLUSH_INTERVAL)),
+                Math.max(1, IdentityVerificationConfigUtil.getIntProperty(CLAIM_INVALIDATION_LEASE_DURATION,
+                        DEFAULT_CLAIM_INVALIDATION_LEASE_DURATION)));
+        invalidationQueue.start();
+        instance = invalidationQueue;
+    }
+
+    /**
+     * Stop the worker. The pending claim deletions stay in the database and are applied by the other nodes or after
+     * the next start.
+     */
+    public static synchronized void destroy() {
+
+        IdVClaimInvalidationQueue invalidationQueue = instance;
+        instance = new IdVClaimInvalidationQueue(false, 1, 1, 1);
+        invalidationQueue.stop();
+    }
+
+    /**
+     * Store the deletion of the identity verification claims of a user.
+     *
+     * @param userId    User id.
+     * @param claimUris Claim URIs of the identity verification claims to be deleted. All the identity verification
+     *                  claims of the user are deleted if null.
+     * @param tenantId  Tenant id.
+     * @return False if the asynchronous claim invalidation is disabled or the deletion could not be stored, in which
+     * case the caller should delete the claims synchronously.
+     */
+    public boolean enqueue(String userId, Set<String> claimUris, int tenantId) {
+
+        if (!enabled) {
+            return false;
+        }
+        try {
+            getIdVClaimDAO().addIdVClaimInvalidations(userId, claimUris, tenantId);
+        } catch (IdentityVerificationException e) {
+            rejectedCount.incrementAndGet();
+            log.warn("Error while storing the deletion of the identity verification claims of the user: " + userId
+                    + ". Deleting the claims synchronously.", e);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Apply the pending claim deletions of a user, so that a claim is not served after the user attribute it
+     * verifies has changed, and a deletion is not applied after a later change to the claims of the user.
+     *
+     * @param userId   User id.
+     * @param tenantId Tenant id.
+     * @return True if the user had pending claim deletions.
+     * @throws IdentityVerificationException If an error occurs while deleting the identity verification claims.
+     */
+    public boolean flushPendingInvalidations(String userId, int tenantId) throws IdentityVerificationException {
+
+        if (!enabled) {
+            return false;
+        }
+        IdentityVerificationClaimDAO idVClaimDAO = getIdVClaimDAO();
+        List<IdVClaimInvalidation> invalidations = idVClaimDAO.getIdVClaimInvalidations(userId, tenantId);
+        if (invalidations.isEmpty()) {
+            return false;
+        }
+        idVClaimDAO.applyIdVClaimInvalidations(userId, invalidations, tenantId);
+        processedCount.addAndGet(invalidations.size());
+        return true;
+    }
+
+    /**
+     * Get the number of claim deletions waiting in the database, across all the nodes.
+     *
+     * @return Queue depth.
+     * @throws IdentityVerificationException If an error occurs while counting the pending claim deletions.
+     */
+    public int getQueueDepth() throws IdentityVerificationException {
+
+        return getIdVClaimDAO().getIdVClaimInvalidationCount();
+    }
+
+    /**
+     * Get the time the oldest pending claim deletion has been waiting.
+     *
+     * @return Lag in milliseconds. 0 if there are no pending claim deletions.
+     * @throws IdentityVerificationException If an error occurs while retrieving the oldest pending claim deletion.
+     */
+    public long getLag() throws IdentityVerificationException {
+
+        long oldestCreatedTime = getIdVClaimDAO().getOldestIdVClaimInvalidationTime();
+        if (oldestCreatedTime == 0) {
+            return 0;
+        }
+        return System.currentTimeMillis() - oldestCreatedTime;
+    }
+
+    /**
+     * Get the number of claim deletions applied by this node.
+     *
+     * @return Number of applied claim deletions.
+     */
+    public long getProcessedCount() {
+
+        return processedCount.get();
+    }
+
+    /**
+     * Get the number of failed attempts to apply a claim deletion on this node. Failed deletions are retried.
+     *
+     * @return Number of failed claim deletions.
+     */
+    public long getFailedCount() {
+
+        return failedCount.get();
+    }
+
+    /**
+     * Get the number of claim deletions which were deleted synchronously as they could not be stored.
+     *
+     * @return Number of rejected claim deletions.
+     */
+    public long getRejectedCount() {
+
+        return rejectedCount.get();
+    }
+
+    /**
+     * Lease and apply the pending claim deletions, in batches of the configured size. Deletions which fail are
+     * retried once their lease expires.
+     */
+    void processPendingInvalidations() {
+
+        List<IdVClaimInvalidation> batch;
+        do {
+            IdentityVerificationClaimDAO idVClaimDAO;
+            try {
+                idVClaimDAO = getIdVClaimDAO();
+                batch = idVClaimDAO.leaseIdVClaimInvalidations(System.currentTimeMillis() + leaseDuration,
+                        batchSize);
+            } catch (IdentityVerificationException e) {
+                log.error("Error while retrieving the pending identity verification claim invalidations.", e);
+                return;
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Applying " + batch.size() + " identity verification claim invalidations. Lag: " +
+                        (System.currentTimeMillis() - batch.get(0).getCreatedTime()) + " ms.");
+            }
+            applyInvalidations(idVClaimDAO, batch);
+        } while (batch.size() == batchSize);
+    }
+
+    private void start() {
+
+        if (!enabled) {
+            return;
+        }
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "IdVClaimInvalidationWorker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.scheduleWithFixedDelay(() -> {
+            try {
+                processPendingInvalidations();
+            } catch (RuntimeException e) {
+                log.error("Error while applying the identity verification claim invalidations.", e);
+            }
+        }, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    private void stop() {
+
+        if (worker == null) {
+            return;
+        }
+        worker.shutdown();
+        try {
+            if (!worker.awaitTermination(flushInterval, TimeUnit.MILLISECONDS)) {
+                worker.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            worker.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void applyInvalidations(IdentityVerificationClaimDAO idVClaimDAO, List<IdVClaimInvalidation> batch) {
+
+        // Claim deletions of the same user are applied in a single transaction.
+        Map<String, List<IdVClaimInvalidation>> invalidationsOfUsers = new LinkedHashMap<>();
+        for (IdVClaimInvalidation invalidation : batch) {
+            invalidationsOfUsers.computeIfAbsent(invalidation.getTenantId() + ":" + invalidation.getUserId(),
+                    k -> new ArrayList<>()).add(invalidation);
+        }
+        for (List<IdVClaimInvalidation> invalidations : invalidationsOfUsers.values()) {
+            IdVClaimInvalidation invalidation = invalidations.get(0);
+            try {
+                PrivilegedCarbonContext.startTenantFlow();
+                PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(invalidation.getTenantId(), true);
+                idVClaimDAO.applyIdVClaimInvalidations(invalidation.getUserId(), invalidations,
+                        invalidation.getTenantId());
+                processedCount.addAndGet(invalidations.size());
+            } catch (IdentityVerificationException e) {
+                failedCount.addAndGet(invalidations.size());
+                log.error("Error while deleting the identity verification claims of the user: " +
+                        invalidation.getUserId() + " in tenant: " + invalidation.getTenantId() + ". Attempt: " +
+                        invalidation.getAttempts() + ". The deletion is retried after its lease expires.", e);
+            } finally {
+                PrivilegedCarbonContext.endTenantFlow();
+            }
+        }
+    }
+
+    private IdentityVerificationClaimDAO getIdVClaimDAO() throws IdentityVerificationException {
+
+        List<IdentityVerificationClaimDAO> idVClaimDAOs = IdentityVerificationDataHolder.getInstance()
+                .getIdVClaimDAOs();
+        if (idVClaimDAOs.isEmpty()) {
+            throw IdentityVerificationExceptionMgt.handleServerException(ERROR_CODE_GET_DAO);
+        }
+        return idVClaimDAOs.get(idVClaimDAOs.size() - 1);
+    }
+}
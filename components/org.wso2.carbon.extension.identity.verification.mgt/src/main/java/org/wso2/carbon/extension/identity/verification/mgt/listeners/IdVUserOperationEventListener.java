@@ -21,6 +21,8 @@ import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.extension.identity.verification.mgt.IdentityVerificationManagerImpl;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVExistingUserCache;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVExistingUserCacheKey;
 import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationException;
 import org.wso2.carbon.identity.core.AbstractIdentityUserOperationEventListener;
 import org.wso2.carbon.identity.core.util.IdentityCoreConstants;
@@ -30,7 +32,12 @@ import org.wso2.carbon.user.core.UserStoreException;
 import org.wso2.carbon.user.core.UserStoreManager;
 import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_DELETING_IDV_CLAIMS;
 import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.ErrorMessage.ERROR_DELETING_IDV_DATA;
@@ -59,6 +66,15 @@ public class IdVUserOperationEventListener extends AbstractIdentityUserOperation
     public boolean doPostSetUserClaimValue(String userName, UserStoreManager userStoreManager)
             throws UserStoreException {
 
+        if (!isEnable() || userStoreManager == null) {
+            return true;
+        }
+        String claimURI = (String) IdentityUtil.threadLocalProperties.get().get(IDV_CLAIM_URI_THREAD_LOCAL);
+        if (StringUtils.isBlank(claimURI) ||
+                getVerificationRelevantClaimUris(Collections.singleton(claimURI), userName).isEmpty()) {
+            IdentityUtil.threadLocalProperties.get().remove(IDV_CLAIM_URI_THREAD_LOCAL);
+            return true;
+        }
         String userID = ((AbstractUserStoreManager) userStoreManager).getUserIDFromUserName(userName);
         if (StringUtils.isBlank(userID)) {
             return true;
@@ -83,11 +99,12 @@ public class IdVUserOperationEventListener extends AbstractIdentityUserOperation
 
         try {
             String claimURI = (String) IdentityUtil.threadLocalProperties.get().get(IDV_CLAIM_URI_THREAD_LOCAL);
-            if (StringUtils.isBlank(claimURI)) {
+            if (StringUtils.isBlank(claimURI) ||
+                    getVerificationRelevantClaimUris(Collections.singleton(claimURI), userID).isEmpty()) {
                 return true;
             }
             int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
-            IdentityVerificationManagerImpl.getInstance().deleteIDVClaims(userID, null, claimURI, tenantId);
+            deleteIdVClaims(userID, Collections.singleton(claimURI), tenantId);
         } catch (IdentityVerificationException e) {
             throw new UserStoreException(String.format(ERROR_DELETING_IDV_DATA.getMessage(), userID),
                     ERROR_DELETING_IDV_DATA.getCode(), e);
@@ -101,6 +118,10 @@ public class IdVUserOperationEventListener extends AbstractIdentityUserOperation
     public boolean doPostSetUserClaimValues(String userName, Map<String, String> claims, String profileName,
                                             UserStoreManager userStoreManager) throws UserStoreException {
 
+        if (!isEnable() || userStoreManager == null || claims == null || TenantMgtUtil.isTenantCreation() ||
+                getVerificationRelevantClaimUris(claims.keySet(), userName).isEmpty()) {
+            return true;
+        }
         String userID = ((AbstractUserStoreManager) userStoreManager).getUserIDFromUserName(userName);
         if (StringUtils.isBlank(userID)) {
             return true;
@@ -122,11 +143,15 @@ public class IdVUserOperationEventListener extends AbstractIdentityUserOperation
         }
 
         try {
-            int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
-            IdentityVerificationManagerImpl identityVerificationManager = IdentityVerificationManagerImpl.getInstance();
-            for (Map.Entry<String, String> claim : claims.entrySet()) {
-                identityVerificationManager.deleteIDVClaims(userID, null, claim.getKey(), tenantId);
+            if (claims == null) {
+                return true;
+            }
+            Set<String> claimURIs = getVerificationRelevantClaimUris(claims.keySet(), userID);
+            if (claimURIs.isEmpty()) {
+                return true;
             }
+            int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
+            deleteIdVClaims(userID, claimURIs, tenantId);
         } catch (IdentityVerificationException e) {
             throw new UserStoreException(String.format(ERROR_DELETING_IDV_DATA.getMessage(), userID),
                     ERROR_DELETING_IDV_DATA.getCode(), e);
@@ -138,13 +163,16 @@ public class IdVUserOperationEventListener extends AbstractIdentityUserOperation
     public boolean doPostDeleteUserWithID(String userID, UserStoreManager userStoreManager)
             throws UserStoreException {
 
+        int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
+        // The user existence cache is cleared even if the listener is disabled, as the IdV manager populates it.
+        if (StringUtils.isNotBlank(userID)) {
+            IdVExistingUserCache.getInstance().clearCacheEntry(new IdVExistingUserCacheKey(userID), tenantId);
+        }
         if (!isEnable() || userStoreManager == null) {
             return true;
         }
         try {
-            int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
-            IdentityVerificationManagerImpl.getInstance().
-                    deleteIDVClaims(userID, null, null, tenantId);
+            deleteIdVClaims(userID, null, tenantId);
         } catch (IdentityVerificationException e) {
             throw new UserStoreException(String.format(ERROR_DELETING_IDV_CLAIMS.getMessage(), userID),
                     ERROR_DELETING_IDV_CLAIMS.getCode(), e);
@@ -155,6 +183,9 @@ public class IdVUserOperationEventListener extends AbstractIdentityUserOperation
     @Override
     public boolean doPostDeleteUser(String userName, UserStoreManager userStoreManager) throws UserStoreException {
 
+        if (!isEnable() || userStoreManager == null) {
+            return true;
+        }
         String userID = ((AbstractUserStoreManager) userStoreManager).getUserIDFromUserName(userName);
         if (StringUtils.isBlank(userID)) {
             return true;
@@ -186,11 +217,12 @@ public class IdVUserOperationEventListener extends AbstractIdentityUserOperation
             if (ArrayUtils.isEmpty(claims)) {
                 return true;
             }
-            int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
-            for (String claimURI : claims) {
-                IdentityVerificationManagerImpl.getInstance().
-                        deleteIDVClaims(userID, null, claimURI, tenantId);
+            Set<String> claimURIs = getVerificationRelevantClaimUris(Arrays.asList(claims), userID);
+            if (claimURIs.isEmpty()) {
+                return true;
             }
+            int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
+            deleteIdVClaims(userID, claimURIs, tenantId);
         } catch (IdentityVerificationException e) {
             throw new UserStoreException(String.format(ERROR_DELETING_IDV_DATA.getMessage(), userID),
                     ERROR_DELETING_IDV_DATA.getCode(), e);
@@ -211,6 +243,15 @@ public class IdVUserOperationEventListener extends AbstractIdentityUserOperation
     public boolean doPostDeleteUserClaimValues(String userName, UserStoreManager userStoreManager)
             throws UserStoreException {
 
+        if (!isEnable() || userStoreManager == null) {
+            return true;
+        }
+        String[] claims = (String[]) IdentityUtil.threadLocalProperties.get().get(IDV_CLAIM_URI_THREAD_LOCAL);
+        if (ArrayUtils.isEmpty(claims) ||
+                getVerificationRelevantClaimUris(Arrays.asList(claims), userName).isEmpty()) {
+            IdentityUtil.threadLocalProperties.get().remove(IDV_CLAIM_URI_THREAD_LOCAL);
+            return true;
+        }
         String userID = ((AbstractUserStoreManager) userStoreManager).getUserIDFromUserName(userName);
         if (StringUtils.isBlank(userID)) {
             return true;
@@ -240,11 +281,12 @@ public class IdVUserOperationEventListener extends AbstractIdentityUserOperation
         }
         try {
             String claimURI = (String) IdentityUtil.threadLocalProperties.get().get(IDV_CLAIM_URI_THREAD_LOCAL);
-            if (StringUtils.isBlank(claimURI)) {
+            if (StringUtils.isBlank(claimURI) ||
+                    getVerificationRelevantClaimUris(Collections.singleton(claimURI), userID).isEmpty()) {
                 return true;
             }
             int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
-            IdentityVerificationManagerImpl.getInstance().deleteIDVClaims(userID, null, claimURI, tenantId);
+            deleteIdVClaims(userID, Collections.singleton(claimURI), tenantId);
         } catch (IdentityVerificationException e) {
             throw new UserStoreException(String.format(ERROR_DELETING_IDV_DATA.getMessage(), userID),
                     ERROR_DELETING_IDV_DATA.getCode(), e);
@@ -265,6 +307,15 @@ public class IdVUserOperationEventListener extends AbstractIdentityUserOperation
     public boolean doPostDeleteUserClaimValue(String userName, UserStoreManager userStoreManager)
             throws UserStoreException {
 
+        if (!isEnable() || userStoreManager == null) {
+            return true;
+        }
+        String claimURI = (String) IdentityUtil.threadLocalProperties.get().get(IDV_CLAIM_URI_THREAD_LOCAL);
+        if (StringUtils.isBlank(claimURI) ||
+                getVerificationRelevantClaimUris(Collections.singleton(claimURI), userName).isEmpty()) {
+            IdentityUtil.threadLocalProperties.get().remove(IDV_CLAIM_URI_THREAD_LOCAL);
+            return true;
+        }
         String userID = ((AbstractUserStoreManager) userStoreManager).getUserIDFromUserName(userName);
         if (StringUtils.isBlank(userID)) {
             return true;
@@ -272,6 +323,56 @@ public class IdVUserOperationEventListener extends AbstractIdentityUserOperation
         return doPostDeleteUserClaimValueWithID(userID, userStoreManager);
     }
 
+    /**
+     * Get the given claim URIs which may have identity verification claims in the tenant. Other claim URIs are
+     * ignored by the listener, so that profile updates unrelated to identity verification skip the claim lookups.
+     *
+     * @param claimURIs Claim URIs.
+     * @param user      User id or user name, to include in the error.
+     * @return Verification relevant claim URIs.
+     * @throws UserStoreException If an error occurs while resolving the verification relevant claim URIs.
+     */
+    private Set<String> getVerificationRelevantClaimUris(Collection<String> claimURIs, String user)
+            throws UserStoreException {
+
+        if (claimURIs.isEmpty()) {
+            return Collections.emptySet();
+        }
+        try {
+            int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
+            Set<String> relevantClaimURIs = new HashSet<>(claimURIs);
+            relevantClaimURIs.retainAll(
+                    IdentityVerificationManagerImpl.getInstance().getVerificationRelevantClaimUris(tenantId));
+            return relevantClaimURIs;
+        } catch (IdentityVerificationException e) {
+            throw new UserStoreException(String.format(ERROR_DELETING_IDV_DATA.getMessage(), user),
+                    ERROR_DELETING_IDV_DATA.getCode(), e);
+        }
+    }
+
+    /**
+     * Delete the identity verification claims of a user. The deletion is enqueued to the claim invalidation queue if
+     * the asynchronous claim invalidation is enabled, and run synchronously otherwise.
+     *
+     * @param userID    User id.
+     * @param claimURIs Claim URIs of the identity verification claims to be deleted. All the identity verification
+     *                  claims of the user are deleted if null.
+     * @param tenantId  Tenant id.
+     * @throws IdentityVerificationException If an error occurs while deleting the identity verification claims.
+     */
+    private void deleteIdVClaims(String userID, Set<String> claimURIs, int tenantId)
+            throws IdentityVerificationException {
+
+        if (IdVClaimInvalidationQueue.getInstance().enqueue(userID, claimURIs, tenantId)) {
+            return;
+        }
+        if (claimURIs == null) {
+            IdentityVerificationManagerImpl.getInstance().deleteIDVClaims(userID, null, null, tenantId);
+        } else {
+            IdentityVerificationManagerImpl.getInstance().deleteIDVClaims(userID, claimURIs, tenantId);
+        }
+    }
+
     @Override
     public int getExecutionOrderId() {
 
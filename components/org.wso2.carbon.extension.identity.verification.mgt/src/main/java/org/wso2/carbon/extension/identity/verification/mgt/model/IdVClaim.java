@@ -17,6 +17,8 @@
  */
 package org.wso2.carbon.extension.identity.verification.mgt.model;
 
+import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationMetadataUtil;
+
 import java.util.Map;
 
 /**
@@ -32,6 +34,7 @@ public class IdVClaim {
     private boolean status;
     private String idVPId;
     private Map<String, Object> metadata;
+    private byte[] encodedMetadata;
 
     public String getId() {
 
@@ -103,13 +106,47 @@ public class IdVClaim {
         this.idVPId = idVPId;
     }
 
+    /**
+     * Get the metadata of the claim. Metadata set in the encoded form is decoded on the first call.
+     *
+     * @return Metadata.
+     */
     public Map<String, Object> getMetadata() {
 
+        if (metadata == null && encodedMetadata != null) {
+            metadata = IdentityVerificationMetadataUtil.decodeMetadata(encodedMetadata);
+        }
         return metadata;
     }
 
     public void setMetadata(Map<String, Object> metadata) {
 
         this.metadata = metadata;
+        this.encodedMetadata = null;
+    }
+
+    /**
+     * Get the metadata of the claim in the encoded form.
+     *
+     * @return Encoded metadata.
+     */
+    public byte[] getEncodedMetadata() {
+
+        if (encodedMetadata == null || metadata != null) {
+            // The decoded metadata may have been modified by the caller.
+            return IdentityVerificationMetadataUtil.encodeMetadata(metadata);
+        }
+        return encodedMetadata;
+    }
+
+    /**
+     * Set the metadata of the claim in the encoded form. The metadata is decoded only when it is accessed.
+     *
+     * @param encodedMetadata Encoded metadata.
+     */
+    public void setEncodedMetadata(byte[] encodedMetadata) {
+
+        this.encodedMetadata = encodedMetadata;
+        this.metadata = null;
     }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.extension.identity.verification.mgt.model;
+
+/**
+ * Pending deletion of the identity verification claims of a user, which is stored in the IDV_CLAIM_INVALIDATION
+ * table until it is applied.
+ */
+public class IdVClaimInvalidation {
+
+    private int id;
+    private String userId;
+    private String claimUri;
+    private int tenantId;
+    private int attempts;
+    private long createdTime;
+
+    public int getId() {
+
+        return id;
+    }
+
+    public void setId(int id) {
+
+        this.id = id;
+    }
+
+    public String getUserId() {
+
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+
+        this.userId = userId;
+    }
+
+    /**
+     * Get the claim URI of the identity verification claims to be deleted.
+     *
+     * @return Claim URI. Null if all the identity verification claims of the user are to be deleted.
+     */
+    public String getClaimUri() {
+
+        return claimUri;
+    }
+
+    public void setClaimUri(String claimUri) {
+
+        this.claimUri = claimUri;
+    }
+
+    public int getTenantId() {
+
+        return tenantId;
+    }
+
+    public void setTenantId(int tenantId) {
+
+        this.tenantId = tenantId;
+    }
+
+    /**
+     * Get the number of times the deletion has been leased to be applied.
+     *
+     * @return Number of attempts.
+     */
+    public int getAttempts() {
+
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+
+        this.attempts = attempts;
+    }
+
+    public long getCreatedTime() {
+
+        return createdTime;
+    }
+
+    public void setCreatedTime(long createdTime) {
+
+        this.createdTime = createdTime;
+    }
+}
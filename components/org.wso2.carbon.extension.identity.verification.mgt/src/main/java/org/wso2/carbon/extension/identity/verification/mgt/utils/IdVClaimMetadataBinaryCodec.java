@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.extension.identity.verification.mgt.utils;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary encoding of the metadata of identity verification claims.
+ * <p>
+ * The encoded metadata starts with a header byte holding the format version, followed by a dictionary of the
+ * distinct keys of the metadata and the metadata object itself. Keys of objects refer to their dictionary index, so
+ * a key repeated across nested objects is stored only once. Values are prefixed with a type byte, and numbers are
+ * stored as zigzag variable length integers or IEEE 754 doubles. The header byte is never a valid first byte of
+ * JSON text, which allows rows stored as JSON to be read alongside binary rows.
+ */
+final class IdVClaimMetadataBinaryCodec {
+
+    static final byte FORMAT_VERSION_1 = 0x01;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_TRUE = 1;
+    private static final byte TYPE_FALSE = 2;
+    private static final byte TYPE_INT = 3;
+    private static final byte TYPE_LONG = 4;
+    private static final byte TYPE_DOUBLE = 5;
+    private static final byte TYPE_STRING = 6;
+    private static final byte TYPE_OBJECT = 7;
+    private static final byte TYPE_ARRAY = 8;
+    private static final byte TYPE_BIG_INTEGER = 9;
+    private static final byte TYPE_BIG_DECIMAL = 10;
+
+    private IdVClaimMetadataBinaryCodec() {
+
+    }
+
+    /**
+     * Check whether the given encoded metadata is in the binary format.
+     *
+     * @param encodedMetadata Encoded metadata.
+     * @return True if the metadata is in the binary format.
+     */
+    static boolean isBinary(byte[] encodedMetadata) {
+
+        return encodedMetadata != null && encodedMetadata.length > 0 && encodedMetadata[0] == FORMAT_VERSION_1;
+    }
+
+    /**
+     * Encode the given metadata object in the binary format.
+     *
+     * @param metadata Metadata object.
+     * @return Encoded metadata.
+     */
+    static byte[] encode(JSONObject metadata) {
+
+        try {
+            Map<String, Integer> keyDictionary = new LinkedHashMap<>();
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            writeValue(new DataOutputStream(body), metadata, keyDictionary);
+
+            ByteArrayOutputStream encodedMetadata = new ByteArrayOutputStream(body.size() + 16);
+            DataOutputStream output = new DataOutputStream(encodedMetadata);
+            output.writeByte(FORMAT_VERSION_1);
+            writeVarInt(output, keyDictionary.size());
+            for (String key : keyDictionary.keySet()) {
+                writeString(output, key);
+            }
+            body.writeTo(output);
+            output.flush();
+            return encodedMetadata.toByteArray();
+        } catch (IOException e) {
+            // Not expected as the metadata is written to memory.
+            throw new IllegalStateException("Error while encoding the identity verification claim metadata.", e);
+        }
+    }
+
+    /**
+     * Decode the metadata object from the given binary encoded metadata.
+     *
+     * @param encodedMetadata Encoded metadata.
+     * @return Metadata object.
+     */
+    static JSONObject decode(byte[] encodedMetadata) {
+
+        if (!isBinary(encodedMetadata)) {
+            throw new IllegalArgumentException("Unsupported identity verification claim metadata format.");
+        }
+        try {
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(encodedMetadata));
+            input.readByte();
+            int dictionarySize = readVarInt(input);
+            List<String> keyDictionary = new ArrayList<>(dictionarySize);
+            for (int i = 0; i < dictionarySize; i++) {
+                keyDictionary.add(readString(input));
+            }
+            Object metadata = readValue(input, keyDictionary);
+            if (!(metadata instanceof JSONObject)) {
+                throw new IllegalArgumentException("Invalid identity verification claim metadata.");
+            }
+            return (JSONObject) metadata;
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid identity verification claim metadata.", e);
+        }
+    }
+
+    private static void writeValue(DataOutputStream output, Object value, Map<String, Integer> keyDictionary)
+            throws IOException {
+
+        if (value == null || JSONObject.NULL.equals(value)) {
+            output.writeByte(TYPE_NULL);
+        } else if (value instanceof Boolean) {
+            output.writeByte((Boolean) value ? TYPE_TRUE : TYPE_FALSE);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            output.writeByte(TYPE_INT);
+            writeVarLong(output, ((Number) value).intValue());
+        } else if (value instanceof Long) {
+            output.writeByte(TYPE_LONG);
+            writeVarLong(output, (Long) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            output.writeByte(TYPE_DOUBLE);
+            output.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof BigInteger) {
+            output.writeByte(TYPE_BIG_INTEGER);
+            writeString(output, value.toString());
+        } else if (value instanceof BigDecimal) {
+            output.writeByte(TYPE_BIG_DECIMAL);
+            writeString(output, value.toString());
+        } else if (value instanceof JSONObject) {
+            JSONObject jsonObject = (JSONObject) value;
+            output.writeByte(TYPE_OBJECT);
+            writeVarInt(output, jsonObject.keySet().size());
+            for (String key : jsonObject.keySet()) {
+                Integer keyIndex = keyDictionary.get(key);
+                if (keyIndex == null) {
+                    keyIndex = keyDictionary.size();
+                    keyDictionary.put(key, keyIndex);
+                }
+                writeVarInt(output, keyIndex);
+                writeValue(output, jsonObject.get(key), keyDictionary);
+            }
+        } else if (value instanceof JSONArray) {
+            JSONArray jsonArray = (JSONArray) value;
+            output.writeByte(TYPE_ARRAY);
+            writeVarInt(output, jsonArray.length());
+            for (int i = 0; i < jsonArray.length(); i++) {
+                writeValue(output, jsonArray.get(i), keyDictionary);
+            }
+        } else {
+            // Other values are written as strings, the same way they are written as JSON text.
+            output.writeByte(TYPE_STRING);
+            writeString(output, value.toString());
+        }
+    }
+
+    private static Object readValue(DataInputStream input, List<String> keyDictionary) throws IOException {
+
+        byte type = input.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return JSONObject.NULL;
+            case TYPE_TRUE:
+                return Boolean.TRUE;
+            case TYPE_FALSE:
+                return Boolean.FALSE;
+            case TYPE_INT:
+                return (int) readVarLong(input);
+            case TYPE_LONG:
+                return readVarLong(input);
+            case TYPE_DOUBLE:
+                return input.readDouble();
+            case TYPE_STRING:
+                return readString(input);
+            case TYPE_BIG_INTEGER:
+                return new BigInteger(readString(input));
+            case TYPE_BIG_DECIMAL:
+                return new BigDecimal(readString(input));
+            case TYPE_OBJECT:
+                int size = readVarInt(input);
+                JSONObject jsonObject = new JSONObject();
+                for (int i = 0; i < size; i++) {
+                    String key = keyDictionary.get(readVarInt(input));
+                    jsonObject.put(key, readValue(input, keyDictionary));
+                }
+                return jsonObject;
+            case TYPE_ARRAY:
+                int length = readVarInt(input);
+                JSONArray jsonArray = new JSONArray();
+                for (int i = 0; i < length; i++) {
+                    jsonArray.put(readValue(input, keyDictionary));
+                }
+                return jsonArray;
+            default:
+                throw new IllegalArgumentException("Unknown metadata value type: " + type);
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(output, bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+
+        byte[] bytes = new byte[readVarInt(input)];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            output.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        output.writeByte(remaining);
+    }
+
+    private static int readVarInt(InputStream input) throws IOException {
+
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = input.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IllegalArgumentException("Invalid length in identity verification claim metadata.");
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Invalid length in identity verification claim metadata.");
+    }
+
+    private static void writeVarLong(DataOutputStream output, long value) throws IOException {
+
+        long remaining = (value << 1) ^ (value >> 63);
+        while ((remaining & ~0x7FL) != 0) {
+            output.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        output.writeByte((int) remaining);
+    }
+
+    private static long readVarLong(InputStream input) throws IOException {
+
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = input.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (value >>> 1) ^ -(value & 1);
+            }
+        }
+        throw new IllegalArgumentException("Invalid number in identity verification claim metadata.");
+    }
+}
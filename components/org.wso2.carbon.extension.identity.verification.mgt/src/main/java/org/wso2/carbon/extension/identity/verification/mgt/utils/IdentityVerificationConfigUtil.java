@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.extension.identity.verification.mgt.utils;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+/**
+ * This class contains the utilities to read the identity verification configurations from identity.xml.
+ */
+public class IdentityVerificationConfigUtil {
+
+    private static final Log log = LogFactory.getLog(IdentityVerificationConfigUtil.class);
+
+    private IdentityVerificationConfigUtil() {
+
+    }
+
+    /**
+     * Get a boolean configuration.
+     *
+     * @param key          Configuration key.
+     * @param defaultValue Value to be returned if the configuration is not defined.
+     * @return Configured value or the default value.
+     */
+    public static boolean getBooleanProperty(String key, boolean defaultValue) {
+
+        String value = IdentityUtil.getProperty(key);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value.trim());
+    }
+
+    /**
+     * Get an integer configuration.
+     *
+     * @param key          Configuration key.
+     * @param defaultValue Value to be returned if the configuration is not defined or invalid.
+     * @return Configured value or the default value.
+     */
+    public static int getIntProperty(String key, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(key);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid value: " + value + " configured for: " + key + ". Using the default value: " +
+                    defaultValue);
+            return defaultValue;
+        }
+    }
+}
@@ -31,6 +31,80 @@ public class IdentityVerificationConstants {
     public static final String IDVP_ID = "IDVP_ID";
     public static final String IS_VERIFIED = "IS_VERIFIED";
     public static final String METADATA = "METADATA";
+    public static final String TENANT_ID = "TENANT_ID";
+    public static final String ATTEMPTS = "ATTEMPTS";
+    public static final String LEASE_EXPIRY = "LEASE_EXPIRY";
+    public static final String CREATED_TIME = "CREATED_TIME";
+    public static final String PENDING_COUNT = "PENDING_COUNT";
+    public static final String OLDEST_CREATED_TIME = "OLDEST_CREATED_TIME";
+    public static final int MAX_INDEXED_METADATA_LENGTH = 255;
+    // Oracle allows at most 1000 expressions in an IN list.
+    public static final int MAX_IN_CLAUSE_SIZE = 1000;
+    public static final String IDV_USER_CLAIM_VALUES_THREAD_LOCAL = "idvUserClaimValuesThreadLocal";
+
+    // Configurations in identity.xml.
+    public static final String METADATA_LEGACY_LOOKUP_ENABLED =
+            "IdentityVerification.ClaimMetadata.EnableLegacyLookup";
+    public static final String METADATA_NATIVE_JSON_ENABLED =
+            "IdentityVerification.ClaimMetadata.EnableNativeJsonStorage";
+    public static final String METADATA_BINARY_ENCODING_ENABLED =
+            "IdentityVerification.ClaimMetadata.EnableBinaryEncoding";
+    public static final String METADATA_INDEXED_LOOKUP_ENABLED =
+            "IdentityVerification.ClaimMetadata.EnableIndexedLookup";
+
+    public static final String CLAIM_SCAN_FETCH_SIZE = "IdentityVerification.ClaimScan.FetchSize";
+    public static final int DEFAULT_CLAIM_SCAN_FETCH_SIZE = 500;
+
+    // Pending claim deletions are persisted in the IDV_CLAIM_INVALIDATION table.
+    public static final String CLAIM_INVALIDATION_ASYNC_ENABLED = "IdentityVerification.ClaimInvalidation.EnableAsync";
+    public static final String CLAIM_INVALIDATION_BATCH_SIZE = "IdentityVerification.ClaimInvalidation.BatchSize";
+    public static final String CLAIM_INVALIDATION_FLUSH_INTERVAL =
+            "IdentityVerification.ClaimInvalidation.FlushInterval";
+    public static final String CLAIM_INVALIDATION_LEASE_DURATION =
+            "IdentityVerification.ClaimInvalidation.LeaseDuration";
+    public static final int DEFAULT_CLAIM_INVALIDATION_BATCH_SIZE = 100;
+    // Flush interval and lease duration in milliseconds.
+    public static final int DEFAULT_CLAIM_INVALIDATION_FLUSH_INTERVAL = 1000;
+    public static final int DEFAULT_CLAIM_INVALIDATION_LEASE_DURATION = 60000;
+
+    public static final String ASYNC_VERIFICATION_POOL_SIZE = "IdentityVerification.AsyncVerification.PoolSize";
+    public static final String ASYNC_VERIFICATION_QUEUE_CAPACITY =
+            "IdentityVerification.AsyncVerification.QueueCapacity";
+    public static final String ASYNC_VERIFICATION_VIRTUAL_THREADS_ENABLED =
+            "IdentityVerification.AsyncVerification.EnableVirtualThreads";
+    public static final int DEFAULT_ASYNC_VERIFICATION_POOL_SIZE = 50;
+    public static final int DEFAULT_ASYNC_VERIFICATION_QUEUE_CAPACITY = 500;
+
+    public static final String IDV_PROVIDER_ISOLATION_ENABLED = "IdentityVerification.ProviderIsolation.Enable";
+    public static final String IDV_PROVIDER_MAX_CONCURRENT_CALLS =
+            "IdentityVerification.ProviderIsolation.MaxConcurrentCalls";
+    public static final String IDV_PROVIDER_FAILURE_RATE_THRESHOLD =
+            "IdentityVerification.ProviderIsolation.FailureRateThreshold";
+    public static final String IDV_PROVIDER_SLIDING_WINDOW_SIZE =
+            "IdentityVerification.ProviderIsolation.SlidingWindowSize";
+    public static final String IDV_PROVIDER_MINIMUM_CALLS = "IdentityVerification.ProviderIsolation.MinimumCalls";
+    public static final String IDV_PROVIDER_OPEN_DURATION = "IdentityVerification.ProviderIsolation.OpenDuration";
+    public static final int DEFAULT_IDV_PROVIDER_MAX_CONCURRENT_CALLS = 20;
+    // Failure rate threshold as a percentage.
+    public static final int DEFAULT_IDV_PROVIDER_FAILURE_RATE_THRESHOLD = 50;
+    public static final int DEFAULT_IDV_PROVIDER_SLIDING_WINDOW_SIZE = 20;
+    public static final int DEFAULT_IDV_PROVIDER_MINIMUM_CALLS = 10;
+    // Open duration in milliseconds.
+    public static final int DEFAULT_IDV_PROVIDER_OPEN_DURATION = 30000;
+
+    public static final String BULK_VERIFICATION_BATCH_SIZE = "IdentityVerification.BulkVerification.BatchSize";
+    public static final String BULK_VERIFICATION_PARALLELISM = "IdentityVerification.BulkVerification.Parallelism";
+    public static final int DEFAULT_BULK_VERIFICATION_BATCH_SIZE = 100;
+    public static final int DEFAULT_BULK_VERIFICATION_PARALLELISM = 10;
+    public static final String BULK_VERIFICATION_MAX_CONCURRENT_JOBS =
+            "IdentityVerification.BulkVerification.MaxConcurrentJobs";
+    public static final String BULK_VERIFICATION_QUEUE_CAPACITY = "IdentityVerification.BulkVerification.QueueCapacity";
+    public static final String BULK_VERIFICATION_JOB_RETENTION_TIME =
+            "IdentityVerification.BulkVerification.JobRetentionTime";
+    public static final int DEFAULT_BULK_VERIFICATION_MAX_CONCURRENT_JOBS = 2;
+    public static final int DEFAULT_BULK_VERIFICATION_QUEUE_CAPACITY = 10;
+    // Time in milliseconds a completed bulk verification job is kept for lookups.
+    public static final int DEFAULT_BULK_VERIFICATION_JOB_RETENTION_TIME = 3600000;
 
     private IdentityVerificationConstants() {
 
@@ -45,6 +119,40 @@ public class IdentityVerificationConstants {
                 "INSERT INTO IDV_CLAIM (UUID, USER_ID, CLAIM_URI, IDVP_ID, TENANT_ID, IS_VERIFIED, METADATA) " +
                         "VALUES (?,?,?,?,?,?,?)";
 
+        public static final String UPSERT_IDV_CLAIM_SQL_MERGE =
+                "MERGE INTO IDV_CLAIM T USING (SELECT 1 AS DUMMY) S ON (T.CLAIM_URI=? AND T.TENANT_ID=? AND " +
+                        "T.USER_ID=? AND T.IDVP_ID=?) WHEN MATCHED THEN UPDATE SET IS_VERIFIED=?, METADATA=? " +
+                        "WHEN NOT MATCHED THEN INSERT (UUID, USER_ID, CLAIM_URI, IDVP_ID, TENANT_ID, IS_VERIFIED, " +
+                        "METADATA) VALUES (?,?,?,?,?,?,?)";
+
+        public static final String UPSERT_IDV_CLAIM_SQL_ORACLE =
+                "MERGE INTO IDV_CLAIM T USING (SELECT 1 AS DUMMY FROM DUAL) S ON (T.CLAIM_URI=? AND " +
+                        "T.TENANT_ID=? AND T.USER_ID=? AND T.IDVP_ID=?) WHEN MATCHED THEN UPDATE SET " +
+                        "IS_VERIFIED=?, METADATA=? WHEN NOT MATCHED THEN INSERT (UUID, USER_ID, CLAIM_URI, IDVP_ID, " +
+                        "TENANT_ID, IS_VERIFIED, METADATA) VALUES (?,?,?,?,?,?,?)";
+
+        public static final String UPSERT_IDV_CLAIM_SQL_DB2 =
+                "MERGE INTO IDV_CLAIM T USING (SELECT 1 AS DUMMY FROM SYSIBM.SYSDUMMY1) S ON (T.CLAIM_URI=? AND " +
+                        "T.TENANT_ID=? AND T.USER_ID=? AND T.IDVP_ID=?) WHEN MATCHED THEN UPDATE SET " +
+                        "IS_VERIFIED=?, METADATA=? WHEN NOT MATCHED THEN INSERT (UUID, USER_ID, CLAIM_URI, IDVP_ID, " +
+                        "TENANT_ID, IS_VERIFIED, METADATA) VALUES (?,?,?,?,?,?,?)";
+
+        public static final String UPSERT_IDV_CLAIM_SQL_MSSQL =
+                "MERGE INTO IDV_CLAIM WITH (HOLDLOCK) AS T USING (SELECT 1 AS DUMMY) AS S ON (T.CLAIM_URI=? AND " +
+                        "T.TENANT_ID=? AND T.USER_ID=? AND T.IDVP_ID=?) WHEN MATCHED THEN UPDATE SET " +
+                        "IS_VERIFIED=?, METADATA=? WHEN NOT MATCHED THEN INSERT (UUID, USER_ID, CLAIM_URI, IDVP_ID, " +
+                        "TENANT_ID, IS_VERIFIED, METADATA) VALUES (?,?,?,?,?,?,?);";
+
+        public static final String UPSERT_IDV_CLAIM_SQL_POSTGRESQL =
+                "INSERT INTO IDV_CLAIM (UUID, USER_ID, CLAIM_URI, IDVP_ID, TENANT_ID, IS_VERIFIED, METADATA) " +
+                        "VALUES (?,?,?,?,?,?,?) ON CONFLICT (CLAIM_URI, TENANT_ID, USER_ID, IDVP_ID) DO UPDATE SET " +
+                        "IS_VERIFIED=EXCLUDED.IS_VERIFIED, METADATA=EXCLUDED.METADATA";
+
+        public static final String UPSERT_IDV_CLAIM_SQL_MYSQL =
+                "INSERT INTO IDV_CLAIM (UUID, USER_ID, CLAIM_URI, IDVP_ID, TENANT_ID, IS_VERIFIED, METADATA) " +
+                        "VALUES (?,?,?,?,?,?,?) ON DUPLICATE KEY UPDATE IS_VERIFIED=VALUES(IS_VERIFIED), " +
+                        "METADATA=VALUES(METADATA)";
+
         public static final String GET_IDV_CLAIM_SQL =
                 "SELECT ID, UUID, USER_ID, CLAIM_URI, TENANT_ID, IDVP_ID, IS_VERIFIED, METADATA FROM IDV_CLAIM " +
                         "WHERE USER_ID=? AND UUID=? AND TENANT_ID=?";
@@ -57,31 +165,148 @@ public class IdentityVerificationConstants {
                 "SELECT ID, UUID, USER_ID, CLAIM_URI, IS_VERIFIED, METADATA FROM IDV_CLAIM WHERE " +
                         "USER_ID=? AND TENANT_ID=?";
 
+        public static final String GET_IDV_CLAIM_SUMMARIES_SQL =
+                "SELECT ID, UUID, USER_ID, CLAIM_URI, IDVP_ID, IS_VERIFIED FROM IDV_CLAIM WHERE " +
+                        "USER_ID=? AND TENANT_ID=?";
+
+        public static final String GET_IDV_CLAIM_STATUSES_SQL =
+                "SELECT CLAIM_URI, IS_VERIFIED FROM IDV_CLAIM WHERE USER_ID=? AND TENANT_ID=?";
+
+        public static final String GET_IDV_CLAIMS_OF_USERS_SQL =
+                "SELECT ID, UUID, USER_ID, CLAIM_URI, IDVP_ID, IS_VERIFIED, METADATA FROM IDV_CLAIM WHERE TENANT_ID=?";
+
+        public static final String GET_IDV_CLAIM_URIS_OF_TENANT_SQL =
+                "SELECT DISTINCT CLAIM_URI FROM IDV_CLAIM WHERE TENANT_ID=?";
+
+        public static final String GET_IDV_CLAIMS_OF_TENANT_SQL =
+                "SELECT ID, UUID, USER_ID, CLAIM_URI, IDVP_ID, IS_VERIFIED, METADATA FROM IDV_CLAIM " +
+                        "WHERE TENANT_ID=? ORDER BY ID";
+
         public static final String GET_IDV_CLAIMS_BY_METADATA_SQL =
                 "SELECT ID, UUID, USER_ID, CLAIM_URI, IS_VERIFIED, METADATA FROM IDV_CLAIM " +
                         "WHERE IDVP_ID=? AND TENANT_ID=? AND METADATA LIKE ?";
 
         public static final String GET_IDV_CLAIMS_BY_METADATA_SQL_POSTGRESQL =
                 "SELECT ID, UUID, USER_ID, CLAIM_URI, IS_VERIFIED, METADATA " +
-                        "FROM IDV_CLAIM WHERE IDVP_ID = ? AND TENANT_ID = ? AND convert_from(METADATA, 'UTF8') LIKE ?";
+                        "FROM IDV_CLAIM WHERE IDVP_ID = ? AND TENANT_ID = ? AND CASE " +
+                        "WHEN octet_length(METADATA) = 0 THEN NULL WHEN get_byte(METADATA, 0) = 1 THEN NULL " +
+                        "ELSE convert_from(METADATA, 'UTF8') END LIKE ?";
+
+        public static final String GET_IDV_CLAIMS_BY_METADATA_SQL_JSONB =
+                "SELECT ID, UUID, USER_ID, CLAIM_URI, IS_VERIFIED, METADATA FROM IDV_CLAIM " +
+                        "WHERE IDVP_ID=? AND TENANT_ID=? AND METADATA @> CAST(? AS JSONB)";
+
+        public static final String GET_IDV_CLAIMS_BY_METADATA_SQL_JSON_PATH =
+                "SELECT ID, UUID, USER_ID, CLAIM_URI, IS_VERIFIED, METADATA FROM IDV_CLAIM " +
+                        "WHERE IDVP_ID=? AND TENANT_ID=? AND JSON_UNQUOTE(JSON_EXTRACT(METADATA, '$.%s'))=?";
+
+        public static final String GET_IDV_CLAIMS_BY_METADATA_SQL_JSON_CONTAINS =
+                "SELECT ID, UUID, USER_ID, CLAIM_URI, IS_VERIFIED, METADATA FROM IDV_CLAIM " +
+                        "WHERE IDVP_ID=? AND TENANT_ID=? AND JSON_CONTAINS(METADATA, ?)";
+
+        public static final String GET_IDV_CLAIMS_BY_INDEXED_METADATA_SQL =
+                "SELECT C.ID, C.UUID, C.USER_ID, C.CLAIM_URI, C.IS_VERIFIED, C.METADATA FROM IDV_CLAIM C " +
+                        "INNER JOIN IDV_CLAIM_METADATA M ON C.ID=M.CLAIM_ID WHERE M.IDVP_ID=? AND M.TENANT_ID=? " +
+                        "AND M.METADATA_KEY=? AND M.METADATA_VALUE=?";
+
+        public static final String ADD_IDV_CLAIM_METADATA_SQL =
+                "INSERT INTO IDV_CLAIM_METADATA (CLAIM_ID, IDVP_ID, TENANT_ID, METADATA_KEY, METADATA_VALUE) " +
+                        "SELECT ID, IDVP_ID, TENANT_ID, ?, ? FROM IDV_CLAIM WHERE UUID=? AND TENANT_ID=?";
+
+        public static final String ADD_IDV_CLAIM_METADATA_SQL_DB2 =
+                "INSERT INTO IDV_CLAIM_METADATA (CLAIM_ID, IDVP_ID, TENANT_ID, METADATA_KEY, METADATA_VALUE) " +
+                        "SELECT ID, IDVP_ID, TENANT_ID, CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)) " +
+                        "FROM IDV_CLAIM WHERE UUID=? AND TENANT_ID=?";
+
+        public static final String ADD_IDV_CLAIM_METADATA_BY_CLAIM_ID_SQL =
+                "INSERT INTO IDV_CLAIM_METADATA (CLAIM_ID, IDVP_ID, TENANT_ID, METADATA_KEY, METADATA_VALUE) " +
+                        "VALUES (?,?,?,?,?)";
+
+        public static final String DELETE_IDV_CLAIM_METADATA_BY_CLAIM_ID_SQL =
+                "DELETE FROM IDV_CLAIM_METADATA WHERE CLAIM_ID=?";
+
+        public static final String GET_IDV_CLAIM_METADATA_STATUS_SQL =
+                "SELECT TENANT_ID FROM IDV_CLAIM_METADATA_STATUS WHERE TENANT_ID=?";
+
+        public static final String ADD_IDV_CLAIM_METADATA_STATUS_SQL =
+                "INSERT INTO IDV_CLAIM_METADATA_STATUS (TENANT_ID) VALUES (?)";
+
+        public static final String DELETE_IDV_CLAIM_METADATA_SQL =
+                "DELETE FROM IDV_CLAIM_METADATA WHERE CLAIM_ID IN (SELECT ID FROM IDV_CLAIM WHERE UUID=? AND " +
+                        "TENANT_ID=?)";
+
+        public static final String GET_MAX_IDV_CLAIM_ID_OF_TENANT_SQL =
+                "SELECT MAX(ID) AS ID FROM IDV_CLAIM WHERE TENANT_ID=?";
+
+        public static final String LOCK_IDV_CLAIM_METADATA_RANGE_SQL =
+                "SELECT ID, IDVP_ID, METADATA FROM IDV_CLAIM WHERE TENANT_ID=? AND ID>? AND ID<=? FOR UPDATE";
+
+        public static final String LOCK_IDV_CLAIM_METADATA_RANGE_SQL_MSSQL =
+                "SELECT ID, IDVP_ID, METADATA FROM IDV_CLAIM WITH (UPDLOCK, ROWLOCK) WHERE TENANT_ID=? AND ID>? " +
+                        "AND ID<=?";
+
+        public static final String UPDATE_IDV_CLAIM_METADATA_BY_ID_SQL =
+                "UPDATE IDV_CLAIM SET METADATA=? WHERE ID=?";
 
         public static final String UPDATE_IDV_CLAIM_SQL =
                 "UPDATE IDV_CLAIM SET IS_VERIFIED=?, METADATA=? WHERE USER_ID=? AND UUID=? AND TENANT_ID=?";
 
+        public static final String UPDATE_IDV_CLAIM_BY_CLAIM_URI_SQL =
+                "UPDATE IDV_CLAIM SET IS_VERIFIED=?, METADATA=? WHERE USER_ID=? AND IDVP_ID=? AND CLAIM_URI=? AND " +
+                        "TENANT_ID=?";
+
+        public static final String GET_IDV_CLAIM_KEYS_SQL =
+                "SELECT UUID, IDVP_ID, CLAIM_URI FROM IDV_CLAIM WHERE USER_ID=? AND TENANT_ID=?";
+
         public static final String DELETE_IDV_CLAIM_SQL =
                 "DELETE FROM IDV_CLAIM WHERE USER_ID=? AND UUID=? AND TENANT_ID=?";
 
         public static final String DELETE_IDV_CLAIMS_SQL =
                 "DELETE FROM IDV_CLAIM WHERE USER_ID=? AND TENANT_ID=?";
 
+        public static final String GET_IDV_CLAIM_UUIDS_SQL =
+                "SELECT UUID FROM IDV_CLAIM WHERE USER_ID=? AND TENANT_ID=?";
+
         public static final String IS_IDV_CLAIM_DATA_EXIST_SQL =
                 "SELECT ID FROM IDV_CLAIM WHERE USER_ID=? AND IDVP_ID=? AND CLAIM_URI=? AND TENANT_ID=?";
 
         public static final String IS_IDV_CLAIM_EXIST_SQL =
                 "SELECT ID FROM IDV_CLAIM WHERE UUID=? AND TENANT_ID=?";
 
+        public static final String HAS_IDV_CLAIMS_SQL =
+                "SELECT ID FROM IDV_CLAIM WHERE USER_ID=? AND TENANT_ID=?";
+
+        public static final String ADD_IDV_CLAIM_INVALIDATION_SQL =
+                "INSERT INTO IDV_CLAIM_INVALIDATION (USER_ID, TENANT_ID, CLAIM_URI, ATTEMPTS, LEASE_EXPIRY, " +
+                        "CREATED_TIME) VALUES (?, ?, ?, 0, 0, ?)";
+
+        public static final String GET_IDV_CLAIM_INVALIDATIONS_SQL =
+                "SELECT ID, USER_ID, TENANT_ID, CLAIM_URI, ATTEMPTS, CREATED_TIME FROM IDV_CLAIM_INVALIDATION " +
+                        "WHERE USER_ID=? AND TENANT_ID=? ORDER BY ID ASC";
+
+        public static final String GET_EXPIRED_IDV_CLAIM_INVALIDATIONS_SQL =
+                "SELECT ID, USER_ID, TENANT_ID, CLAIM_URI, ATTEMPTS, LEASE_EXPIRY, CREATED_TIME " +
+                        "FROM IDV_CLAIM_INVALIDATION WHERE LEASE_EXPIRY<? ORDER BY ID ASC";
+
+        public static final String LEASE_IDV_CLAIM_INVALIDATION_SQL =
+                "UPDATE IDV_CLAIM_INVALIDATION SET ATTEMPTS=ATTEMPTS+1, LEASE_EXPIRY=? WHERE ID=? AND LEASE_EXPIRY=?";
+
+        public static final String DELETE_IDV_CLAIM_INVALIDATION_SQL =
+                "DELETE FROM IDV_CLAIM_INVALIDATION WHERE ID=?";
+
+        public static final String GET_IDV_CLAIM_INVALIDATION_COUNT_SQL =
+                "SELECT COUNT(ID) AS PENDING_COUNT FROM IDV_CLAIM_INVALIDATION";
+
+        public static final String GET_OLDEST_IDV_CLAIM_INVALIDATION_TIME_SQL =
+                "SELECT MIN(CREATED_TIME) AS OLDEST_CREATED_TIME FROM IDV_CLAIM_INVALIDATION";
+
         public static final String IDVP_FILTER = " AND IDVP_ID=?";
         public static final String CLAIM_URI_FILTER = " AND CLAIM_URI=?";
+        public static final String CLAIM_URI_IN_FILTER = " AND CLAIM_URI IN (%s)";
+        public static final String USER_ID_IN_FILTER = " AND USER_ID IN (%s)";
+        public static final String KEYSET_PAGINATION_FILTER = " AND %1$s>? ORDER BY %1$s ASC";
+        public static final String LIMIT_CLAUSE = " LIMIT ?";
+        public static final String FETCH_NEXT_ROWS_CLAUSE = " OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY";
     }
 
     /**
@@ -101,6 +326,10 @@ public class IdentityVerificationConstants {
         ERROR_INVALID_IDV_VERIFIER("10006", "Identity Verifier: %s is not registered."),
         ERROR_IDV_CLAIM_NOT_FOUND("10007", 
             "Identity Verification Claim data not found for %s."),
+        ERROR_INVALID_LIMIT("10008", "Invalid limit: %s. Limit should be a positive value."),
+        ERROR_INVALID_PAGINATION_CURSOR("10009", "Invalid pagination cursor: %s."),
+        ERROR_INVALID_BULK_VERIFICATION_JOB_ID("10010", "Bulk identity verification job cannot be found with the " +
+                "job id: %s."),
 
         // Server Errors.
         ERROR_CHECKING_IDV_CLAIM_EXISTENCE("15000",
@@ -128,7 +357,33 @@ public class IdentityVerificationConstants {
         ERROR_DELETING_IDV_CLAIMS("15016",
                 "Error deleting IDV claims of the user %s."),
         ERROR_DELETING_IDV_DATA("15017",
-                "Error deleting IDV data of a claim of the user %s.");
+                "Error deleting IDV data of a claim of the user %s."),
+        ERROR_ADDING_IDV_CLAIMS_BATCH("15018",
+                "Error adding the Identity Verification Claims. Failed claim URIs: %s."),
+        ERROR_STORING_IDV_CLAIMS("15019",
+                "Error while storing IDV data of claims of the user %s."),
+        ERROR_SCANNING_IDV_CLAIMS("15020",
+                "Error while scanning the Identity Verification Claims of the tenant %s."),
+        ERROR_RE_ENCODING_IDV_CLAIM_METADATA("15021",
+                "Error while re-encoding the metadata of the Identity Verification Claims of the tenant %s."),
+        ERROR_ASYNC_VERIFICATION_REJECTED("15022",
+                "Identity verification is rejected as the maximum number of pending verifications is reached."),
+        ERROR_IDV_PROVIDER_UNAVAILABLE("15023",
+                "Identity verification provider: %s is temporarily unavailable due to recent failures."),
+        ERROR_IDV_PROVIDER_BUSY("15024",
+                "Maximum number of concurrent verifications reached for the identity verification provider: %s."),
+        ERROR_BACKFILLING_IDV_CLAIM_METADATA("15025",
+                "Error while backfilling the metadata projection of the Identity Verification Claims of the " +
+                        "tenant %s."),
+        ERROR_RETRIEVING_USERS_CLAIM_VALUES("15026", "Error while retrieving the claim values of the users."),
+        ERROR_BULK_VERIFICATION_REJECTED("15027",
+                "Bulk identity verification job is rejected as the maximum number of pending jobs is reached."),
+        ERROR_ADDING_IDV_CLAIM_INVALIDATIONS("15028",
+                "Error while adding the pending deletions of the IDV claims of the user %s."),
+        ERROR_RETRIEVING_IDV_CLAIM_INVALIDATIONS("15029",
+                "Error while retrieving the pending deletions of the IDV claims."),
+        ERROR_APPLYING_IDV_CLAIM_INVALIDATIONS("15030",
+                "Error while applying the pending deletions of the IDV claims of the user %s.");
 
         private final String code;
         private final String message;
@@ -84,6 +84,20 @@ public class IdentityVerificationExceptionMgt {
         return new IdentityVerificationServerException(error.getCode(), message, e);
     }
 
+    /**
+     * Handle the server exceptions.
+     *
+     * @param error The ErrorMessage.
+     * @param data  The error message data.
+     * @return IdentityVerificationServerException.
+     */
+    public static IdentityVerificationServerException handleServerException(
+            IdentityVerificationConstants.ErrorMessage error, String data) {
+
+        String message = includeData(error, data);
+        return new IdentityVerificationServerException(error.getCode(), message);
+    }
+
     /**
      * Handle the server exceptions.
      *
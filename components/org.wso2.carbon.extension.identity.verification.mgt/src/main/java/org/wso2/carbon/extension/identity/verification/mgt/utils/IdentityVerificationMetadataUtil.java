@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.extension.identity.verification.mgt.utils;
+
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class contains the utilities to encode and decode the metadata of identity verification claims. Metadata is
+ * encoded either as UTF-8 JSON text or in the compact binary format of {@link IdVClaimMetadataBinaryCodec}, and both
+ * formats are decoded transparently.
+ */
+public class IdentityVerificationMetadataUtil {
+
+    private IdentityVerificationMetadataUtil() {
+
+    }
+
+    /**
+     * Encode the metadata of an identity verification claim.
+     *
+     * @param metadata Metadata.
+     * @return Encoded metadata.
+     */
+    public static byte[] encodeMetadata(Map<String, Object> metadata) {
+
+        JSONObject metadataJsonObject = new JSONObject(metadata);
+        String metadataString = metadataJsonObject.toString();
+        return metadataString.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Encode the metadata of an identity verification claim in the binary format.
+     *
+     * @param metadata Metadata.
+     * @return Encoded metadata.
+     */
+    public static byte[] encodeBinaryMetadata(Map<String, Object> metadata) {
+
+        return IdVClaimMetadataBinaryCodec.encode(new JSONObject(metadata));
+    }
+
+    /**
+     * Decode the encoded metadata of an identity verification claim.
+     *
+     * @param encodedMetadata Encoded metadata in either the JSON or the binary format.
+     * @return Metadata.
+     */
+    public static Map<String, Object> decodeMetadata(byte[] encodedMetadata) {
+
+        if (encodedMetadata == null) {
+            return null;
+        }
+        Map<String, Object> metadataMap = new HashMap<>();
+        JSONObject metadataJSONObject = getMetadataJsonObject(encodedMetadata);
+        for (String key : metadataJSONObject.keySet()) {
+            metadataMap.put(key, metadataJSONObject.get(key));
+        }
+        return metadataMap;
+    }
+
+    /**
+     * Check whether the encoded metadata is in the binary format.
+     *
+     * @param encodedMetadata Encoded metadata.
+     * @return True if the metadata is in the binary format.
+     */
+    public static boolean isBinaryMetadata(byte[] encodedMetadata) {
+
+        return IdVClaimMetadataBinaryCodec.isBinary(encodedMetadata);
+    }
+
+    /**
+     * Convert the encoded metadata to the JSON format.
+     *
+     * @param encodedMetadata Encoded metadata in either the JSON or the binary format.
+     * @return Metadata encoded in the JSON format.
+     */
+    public static byte[] toJsonMetadata(byte[] encodedMetadata) {
+
+        if (!isBinaryMetadata(encodedMetadata)) {
+            return encodedMetadata;
+        }
+        return IdVClaimMetadataBinaryCodec.decode(encodedMetadata).toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Convert the encoded metadata to the binary format.
+     *
+     * @param encodedMetadata Encoded metadata in either the JSON or the binary format.
+     * @return Metadata encoded in the binary format.
+     */
+    public static byte[] toBinaryMetadata(byte[] encodedMetadata) {
+
+        if (encodedMetadata == null || isBinaryMetadata(encodedMetadata)) {
+            return encodedMetadata;
+        }
+        return IdVClaimMetadataBinaryCodec.encode(getMetadataJsonObject(encodedMetadata));
+    }
+
+    private static JSONObject getMetadataJsonObject(byte[] encodedMetadata) {
+
+        if (isBinaryMetadata(encodedMetadata)) {
+            return IdVClaimMetadataBinaryCodec.decode(encodedMetadata);
+        }
+        return new JSONObject(new String(encodedMetadata, StandardCharsets.UTF_8));
+    }
+}
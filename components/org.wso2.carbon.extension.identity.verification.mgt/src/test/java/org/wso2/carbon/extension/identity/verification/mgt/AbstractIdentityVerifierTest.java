@@ -54,12 +54,17 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.wso2.carbon.base.MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
 import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.*;
 
 public class AbstractIdentityVerifierTest {
 
+    private static final String CLAIM_URI_WITHOUT_VALUE = "http://wso2.org/claims/nickname";
+
     AbstractIdentityVerifier abstractIdentityVerifier;
     @Mock
     IdentityVerificationDataHolder identityVerificationDataHolder;
@@ -138,13 +143,50 @@ public class AbstractIdentityVerifierTest {
     @Test
     public void testGetIdVPClaimWithValueMap() throws Exception {
 
-        when(mockUniqueIDUserStoreManager.getUserClaimValueWithID(anyString(), anyString(),
-                nullable(String.class))).thenReturn("test");
+        when(mockUniqueIDUserStoreManager.getUserClaimValuesWithID(anyString(), any(String[].class),
+                nullable(String.class))).thenReturn(Collections.singletonMap(IDV_CLAIM_URI, "test"));
         IdentityVerifierData identityVerifierData = getIdentityVerifierData();
+        IdVClaim claimWithoutValue = new IdVClaim();
+        claimWithoutValue.setClaimUri(CLAIM_URI_WITHOUT_VALUE);
+        identityVerifierData.addIdVClaimProperty(claimWithoutValue);
 
         Map<String, String> idVPClaimWithValueMap =
                 abstractIdentityVerifier.getIdVPClaimWithValueMap(USER_ID, identityVerifierData, TENANT_ID);
         Assert.assertEquals(idVPClaimWithValueMap.get(IDV_CLAIM_URI), "test");
+        Assert.assertTrue(idVPClaimWithValueMap.containsKey(CLAIM_URI_WITHOUT_VALUE));
+        Assert.assertNull(idVPClaimWithValueMap.get(CLAIM_URI_WITHOUT_VALUE));
+        // All the claims are fetched from the user store at once.
+        verify(mockUniqueIDUserStoreManager, times(1)).getUserClaimValuesWithID(anyString(),
+                any(String[].class), nullable(String.class));
+        verify(mockUniqueIDUserStoreManager, never()).getUserClaimValueWithID(anyString(), anyString(),
+                nullable(String.class));
+    }
+
+    @Test
+    public void testGetUserClaimValuesWithinVerification() throws Exception {
+
+        when(mockUniqueIDUserStoreManager.getUserClaimValuesWithID(anyString(), any(String[].class),
+                nullable(String.class))).thenReturn(Collections.singletonMap(IDV_CLAIM_URI, "test"));
+        Assert.assertTrue(AbstractIdentityVerifier.startClaimValueMemo());
+        try {
+            abstractIdentityVerifier.getIdVPClaimWithValueMap(USER_ID, getIdentityVerifierData(), TENANT_ID);
+            Map<String, String> claimValues = abstractIdentityVerifier.getUserClaimValues(USER_ID,
+                    Arrays.asList(IDV_CLAIM_URI, CLAIM_URI_WITHOUT_VALUE), TENANT_ID);
+            Assert.assertEquals(claimValues.get(IDV_CLAIM_URI), "test");
+            Assert.assertFalse(claimValues.containsKey(CLAIM_URI_WITHOUT_VALUE));
+
+            // Only the claim not fetched before is fetched again, and claims without values are remembered.
+            abstractIdentityVerifier.getUserClaimValues(USER_ID, Arrays.asList(IDV_CLAIM_URI,
+                    CLAIM_URI_WITHOUT_VALUE), TENANT_ID);
+            verify(mockUniqueIDUserStoreManager).getUserClaimValuesWithID(USER_ID, new String[]{IDV_CLAIM_URI},
+                    null);
+            verify(mockUniqueIDUserStoreManager).getUserClaimValuesWithID(USER_ID,
+                    new String[]{CLAIM_URI_WITHOUT_VALUE}, null);
+            verify(mockUniqueIDUserStoreManager, times(2)).getUserClaimValuesWithID(anyString(),
+                    any(String[].class), nullable(String.class));
+        } finally {
+            AbstractIdentityVerifier.clearClaimValueMemo();
+        }
     }
 
     @Test
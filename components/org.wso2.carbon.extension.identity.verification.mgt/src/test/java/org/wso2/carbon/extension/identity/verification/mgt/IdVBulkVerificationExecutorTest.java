@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.extension.identity.verification.mgt;
+
+import org.mockito.MockedStatic;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationServerException;
+import org.wso2.carbon.extension.identity.verification.mgt.model.IdentityVerifierData;
+import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants;
+
+import java.util.Collections;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.IDV_PROVIDER_ID;
+import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.TENANT_ID;
+
+public class IdVBulkVerificationExecutorTest {
+
+    private MockedStatic<PrivilegedCarbonContext> privilegedCarbonContextMockedStatic;
+
+    @BeforeMethod
+    public void setUp() {
+
+        privilegedCarbonContextMockedStatic = mockStatic(PrivilegedCarbonContext.class);
+        privilegedCarbonContextMockedStatic.when(PrivilegedCarbonContext::getThreadLocalCarbonContext)
+                .thenReturn(mock(PrivilegedCarbonContext.class));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        if (privilegedCarbonContextMockedStatic != null) {
+            privilegedCarbonContextMockedStatic.close();
+        }
+    }
+
+    @Test
+    public void testSubmit() throws Exception {
+
+        IdVBulkVerificationExecutor bulkVerificationExecutor = new IdVBulkVerificationExecutor(Runnable::run, 60000);
+        IdVBulkVerificationJob job = bulkVerificationExecutor.submit(createTask("job-1"));
+
+        Assert.assertTrue(job.isDone());
+        Assert.assertSame(bulkVerificationExecutor.getJob("job-1", TENANT_ID), job);
+        // Jobs of a tenant are not visible to the other tenants.
+        Assert.assertNull(bulkVerificationExecutor.getJob("job-1", TENANT_ID + 1));
+        Assert.assertNull(bulkVerificationExecutor.getJob("job-2", TENANT_ID));
+    }
+
+    @Test
+    public void testGetJobAfterRetentionTime() throws Exception {
+
+        IdVBulkVerificationExecutor bulkVerificationExecutor = new IdVBulkVerificationExecutor(Runnable::run, -1);
+        bulkVerificationExecutor.submit(createTask("job-1"));
+
+        Assert.assertNull(bulkVerificationExecutor.getJob("job-1", TENANT_ID));
+    }
+
+    @Test
+    public void testSubmitWhenSaturated() {
+
+        IdVBulkVerificationExecutor bulkVerificationExecutor = new IdVBulkVerificationExecutor(runnable -> {
+            throw new RejectedExecutionException();
+        }, 60000);
+
+        try {
+            bulkVerificationExecutor.submit(createTask("job-1"));
+            Assert.fail("Bulk verification job rejected by the executor should fail.");
+        } catch (IdentityVerificationServerException e) {
+            Assert.assertEquals(e.getErrorCode(),
+                    IdentityVerificationConstants.ErrorMessage.ERROR_BULK_VERIFICATION_REJECTED.getCode());
+        }
+        Assert.assertNull(bulkVerificationExecutor.getJob("job-1", TENANT_ID));
+    }
+
+    private IdVBulkVerificationTask createTask(String jobId) {
+
+        IdVBulkVerificationJob job = new IdVBulkVerificationJob(jobId, IDV_PROVIDER_ID, 0, TENANT_ID);
+        IdentityVerifierData identityVerifierData = new IdentityVerifierData();
+        identityVerifierData.setIdVProviderId(IDV_PROVIDER_ID);
+        return new IdVBulkVerificationTask(job, Collections.emptyList(), identityVerifierData, false, 10, 2,
+                new IdentityVerificationExecutor(Runnable::run), "admin");
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.extension.identity.verification.mgt;
+
+import org.mockito.MockedStatic;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationClientException;
+import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationServerException;
+import org.wso2.carbon.extension.identity.verification.mgt.internal.IdentityVerificationDataHolder;
+import org.wso2.carbon.extension.identity.verification.mgt.model.IdVClaim;
+import org.wso2.carbon.extension.identity.verification.mgt.model.IdentityVerifierData;
+import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants;
+import org.wso2.carbon.user.api.UserRealm;
+import org.wso2.carbon.user.core.UniqueIDUserStoreManager;
+import org.wso2.carbon.user.core.UserStoreException;
+import org.wso2.carbon.user.core.common.User;
+import org.wso2.carbon.user.core.model.UniqueIDUserClaimSearchEntry;
+import org.wso2.carbon.user.core.service.RealmService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.IDV_CLAIM_URI;
+import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.IDV_PROVIDER_ID;
+import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.TENANT_ID;
+import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.USER_ID;
+
+public class IdVBulkVerificationTaskTest {
+
+    private static final String USER_ID_2 = "a3e8bd2c-7f36-4b4a-8c4e-2f1a8d0b9c11";
+
+    private IdentityVerificationManagerImpl identityVerificationManager;
+    private UniqueIDUserStoreManager uniqueIDUserStoreManager;
+    private MockedStatic<IdentityVerificationManagerImpl> identityVerificationManagerMockedStatic;
+    private MockedStatic<IdentityVerificationDataHolder> identityVerificationDataHolderMockedStatic;
+    private MockedStatic<PrivilegedCarbonContext> privilegedCarbonContextMockedStatic;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        identityVerificationManager = mock(IdentityVerificationManagerImpl.class);
+        identityVerificationManagerMockedStatic = mockStatic(IdentityVerificationManagerImpl.class);
+        identityVerificationManagerMockedStatic.when(IdentityVerificationManagerImpl::getInstance)
+                .thenReturn(identityVerificationManager);
+        privilegedCarbonContextMockedStatic = mockStatic(PrivilegedCarbonContext.class);
+        privilegedCarbonContextMockedStatic.when(PrivilegedCarbonContext::getThreadLocalCarbonContext)
+                .thenReturn(mock(PrivilegedCarbonContext.class));
+
+        IdentityVerificationDataHolder identityVerificationDataHolder = mock(IdentityVerificationDataHolder.class);
+        identityVerificationDataHolderMockedStatic = mockStatic(IdentityVerificationDataHolder.class);
+        identityVerificationDataHolderMockedStatic.when(IdentityVerificationDataHolder::getInstance)
+                .thenReturn(identityVerificationDataHolder);
+        RealmService realmService = mock(RealmService.class);
+        UserRealm userRealm = mock(UserRealm.class);
+        uniqueIDUserStoreManager = mock(UniqueIDUserStoreManager.class);
+        when(identityVerificationDataHolder.getRealmService()).thenReturn(realmService);
+        when(realmService.getTenantUserRealm(anyInt())).thenReturn(userRealm);
+        when(userRealm.getUserStoreManager()).thenReturn(uniqueIDUserStoreManager);
+        List<UniqueIDUserClaimSearchEntry> userClaimSearchEntries = new ArrayList<>();
+        userClaimSearchEntries.add(getUserClaimSearchEntry(USER_ID));
+        userClaimSearchEntries.add(getUserClaimSearchEntry(USER_ID_2));
+        when(uniqueIDUserStoreManager.getUsersClaimValuesWithID(anyList(), anyList(), nullable(String.class)))
+                .thenReturn(userClaimSearchEntries);
+
+        when(identityVerificationManager.verifyIdentity(eq(USER_ID), any(IdentityVerifierData.class), anyInt()))
+                .thenReturn(new IdentityVerifierData());
+        when(identityVerificationManager.verifyIdentity(eq(USER_ID_2), any(IdentityVerifierData.class), anyInt()))
+                .thenThrow(new IdentityVerificationClientException("10004", "User cannot be found."));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        if (identityVerificationManagerMockedStatic != null) {
+            identityVerificationManagerMockedStatic.close();
+        }
+        if (identityVerificationDataHolderMockedStatic != null) {
+            identityVerificationDataHolderMockedStatic.close();
+        }
+        if (privilegedCarbonContextMockedStatic != null) {
+            privilegedCarbonContextMockedStatic.close();
+        }
+    }
+
+    @Test
+    public void testRun() throws Exception {
+
+        IdVBulkVerificationJob job = new IdVBulkVerificationJob("job-1", IDV_PROVIDER_ID, 2, TENANT_ID);
+        new IdVBulkVerificationTask(job, Arrays.asList(USER_ID, USER_ID_2), getIdentityVerifierData(), false,
+                10, 2, new IdentityVerificationExecutor(Runnable::run), "admin").run();
+
+        Assert.assertTrue(job.isDone());
+        Assert.assertEquals(job.getProcessedCount(), 2);
+        Assert.assertEquals(job.getSucceededCount(), 1);
+        Assert.assertEquals(job.getFailedCount(), 1);
+        Assert.assertEquals(job.getFailures().get(USER_ID_2), "User cannot be found.");
+        // The claim values of the batch are fetched with a single call.
+        verify(uniqueIDUserStoreManager, times(1)).getUsersClaimValuesWithID(
+                Arrays.asList(USER_ID, USER_ID_2), Collections.singletonList(IDV_CLAIM_URI), null);
+        verify(identityVerificationManager, never()).getIdVClaimsOfUsers(anySet(), anyString(), anyInt());
+    }
+
+    @Test
+    public void testRunWithResume() throws Exception {
+
+        // Only the users with verified claims for all the claim URIs of the job are skipped.
+        Map<String, List<IdVClaim>> idVClaimsOfUsers = new HashMap<>();
+        idVClaimsOfUsers.put(USER_ID, Arrays.asList(getIdVClaim(IDV_CLAIM_URI, true),
+                getIdVClaim("http://wso2.org/claims/givenname", false)));
+        idVClaimsOfUsers.put(USER_ID_2, Collections.singletonList(getIdVClaim(IDV_CLAIM_URI, false)));
+        when(identityVerificationManager.getIdVClaimsOfUsers(anySet(), eq(IDV_PROVIDER_ID), anyInt()))
+                .thenReturn(idVClaimsOfUsers);
+
+        IdVBulkVerificationJob job = new IdVBulkVerificationJob("job-2", IDV_PROVIDER_ID, 2, TENANT_ID);
+        new IdVBulkVerificationTask(job, Arrays.asList(USER_ID, USER_ID_2), getIdentityVerifierData(), true,
+                10, 2, new IdentityVerificationExecutor(Runnable::run), "admin").run();
+
+        Assert.assertEquals(job.getSkippedCount(), 1);
+        Assert.assertEquals(job.getFailedCount(), 1);
+        Assert.assertEquals(job.getProcessedCount(), 2);
+        verify(identityVerificationManager, never()).verifyIdentity(eq(USER_ID), any(IdentityVerifierData.class),
+                anyInt());
+        verify(identityVerificationManager, times(1)).verifyIdentity(eq(USER_ID_2), any(IdentityVerifierData.class),
+                anyInt());
+    }
+
+    @Test
+    public void testRunWithResumeOfClaimsOfOtherClaimUris() throws Exception {
+
+        Map<String, List<IdVClaim>> idVClaimsOfUsers = new HashMap<>();
+        idVClaimsOfUsers.put(USER_ID, Collections.singletonList(getIdVClaim("http://wso2.org/claims/givenname",
+                true)));
+        when(identityVerificationManager.getIdVClaimsOfUsers(anySet(), eq(IDV_PROVIDER_ID), anyInt()))
+                .thenReturn(idVClaimsOfUsers);
+
+        IdVBulkVerificationJob job = new IdVBulkVerificationJob("job-4", IDV_PROVIDER_ID, 1, TENANT_ID);
+        new IdVBulkVerificationTask(job, Collections.singletonList(USER_ID), getIdentityVerifierData(), true,
+                10, 2, new IdentityVerificationExecutor(Runnable::run), "admin").run();
+
+        Assert.assertEquals(job.getSkippedCount(), 0);
+        Assert.assertEquals(job.getSucceededCount(), 1);
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+
+        IdVBulkVerificationJob job = new IdVBulkVerificationJob("job-3", IDV_PROVIDER_ID, 2, TENANT_ID);
+        job.cancel();
+        new IdVBulkVerificationTask(job, Arrays.asList(USER_ID, USER_ID_2), getIdentityVerifierData(), false,
+                10, 2, new IdentityVerificationExecutor(Runnable::run), "admin").run();
+
+        Assert.assertTrue(job.isDone());
+        Assert.assertTrue(job.isCancelled());
+        Assert.assertEquals(job.getProcessedCount(), 0);
+    }
+
+    @Test
+    public void testGetUsersClaimValuesWithUserStoreError() throws Exception {
+
+        when(uniqueIDUserStoreManager.getUsersClaimValuesWithID(anyList(), anyList(), nullable(String.class)))
+                .thenThrow(new UserStoreException("User store is not available."));
+
+        try {
+            AbstractIdentityVerifier.getUsersClaimValues(Arrays.asList(USER_ID, USER_ID_2),
+                    Collections.singletonList(IDV_CLAIM_URI), TENANT_ID);
+            Assert.fail("Error while retrieving the claim values of the users should be thrown.");
+        } catch (IdentityVerificationServerException e) {
+            Assert.assertEquals(e.getErrorCode(),
+                    IdentityVerificationConstants.ErrorMessage.ERROR_RETRIEVING_USERS_CLAIM_VALUES.getCode());
+        }
+    }
+
+    private UniqueIDUserClaimSearchEntry getUserClaimSearchEntry(String userId) {
+
+        User user = mock(User.class);
+        when(user.getUserID()).thenReturn(userId);
+        UniqueIDUserClaimSearchEntry userClaimSearchEntry = mock(UniqueIDUserClaimSearchEntry.class);
+        when(userClaimSearchEntry.getUser()).thenReturn(user);
+        when(userClaimSearchEntry.getClaims()).thenReturn(Collections.singletonMap(IDV_CLAIM_URI, "1990-01-01"));
+        return userClaimSearchEntry;
+    }
+
+    private IdVClaim getIdVClaim(String claimUri, boolean verified) {
+
+        IdVClaim idVClaim = new IdVClaim();
+        idVClaim.setClaimUri(claimUri);
+        idVClaim.setIsVerified(verified);
+        return idVClaim;
+    }
+
+    private IdentityVerifierData getIdentityVerifierData() {
+
+        IdentityVerifierData identityVerifierData = new IdentityVerifierData();
+        identityVerifierData.setIdVProviderId(IDV_PROVIDER_ID);
+        IdVClaim idVClaim = new IdVClaim();
+        idVClaim.setClaimUri(IDV_CLAIM_URI);
+        identityVerifierData.addIdVClaimProperty(idVClaim);
+        return identityVerifierData;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.extension.identity.verification.mgt;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationServerException;
+import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants;
+
+import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.IDV_PROVIDER_ID;
+
+public class IdVProviderIsolationTest {
+
+    private static final String IDV_PROVIDER_ID_2 = "5d1b8a6e-3c2f-4e7a-9b0d-8f6c4a2e1b37";
+
+    @Test
+    public void testAcquireWhenBulkheadIsFull() throws Exception {
+
+        IdVProviderIsolation idVProviderIsolation = new IdVProviderIsolation(true, 2, 50, 10, 5, 30000);
+        long permit = idVProviderIsolation.acquire(IDV_PROVIDER_ID);
+        idVProviderIsolation.acquire(IDV_PROVIDER_ID);
+        Assert.assertEquals(idVProviderIsolation.getActiveCallCount(IDV_PROVIDER_ID), 2);
+
+        assertRejected(idVProviderIsolation, IDV_PROVIDER_ID,
+                IdentityVerificationConstants.ErrorMessage.ERROR_IDV_PROVIDER_BUSY);
+        Assert.assertEquals(idVProviderIsolation.getRejectedCount(IDV_PROVIDER_ID), 1);
+
+        // The bulkhead of a provider does not affect the other providers.
+        callProvider(idVProviderIsolation, IDV_PROVIDER_ID_2, false);
+
+        idVProviderIsolation.release(IDV_PROVIDER_ID, permit, false);
+        idVProviderIsolation.acquire(IDV_PROVIDER_ID);
+        Assert.assertEquals(idVProviderIsolation.getActiveCallCount(IDV_PROVIDER_ID), 2);
+    }
+
+    @Test
+    public void testCircuitOpensOnFailures() throws Exception {
+
+        IdVProviderIsolation idVProviderIsolation = new IdVProviderIsolation(true, 10, 50, 4, 4, 30000);
+        callProvider(idVProviderIsolation, IDV_PROVIDER_ID, false);
+        callProvider(idVProviderIsolation, IDV_PROVIDER_ID, true);
+        callProvider(idVProviderIsolation, IDV_PROVIDER_ID, false);
+        Assert.assertEquals(idVProviderIsolation.getCircuitState(IDV_PROVIDER_ID),
+                IdVProviderIsolation.CircuitState.CLOSED);
+
+        callProvider(idVProviderIsolation, IDV_PROVIDER_ID, true);
+        Assert.assertEquals(idVProviderIsolation.getCircuitState(IDV_PROVIDER_ID),
+                IdVProviderIsolation.CircuitState.OPEN);
+        assertRejected(idVProviderIsolation, IDV_PROVIDER_ID,
+                IdentityVerificationConstants.ErrorMessage.ERROR_IDV_PROVIDER_UNAVAILABLE);
+        Assert.assertEquals(idVProviderIsolation.getRejectedCount(IDV_PROVIDER_ID), 1);
+        Assert.assertEquals(idVProviderIsolation.getActiveCallCount(IDV_PROVIDER_ID), 0);
+        Assert.assertEquals(idVProviderIsolation.getCircuitState(IDV_PROVIDER_ID_2),
+                IdVProviderIsolation.CircuitState.CLOSED);
+    }
+
+    @Test
+    public void testCircuitClosesAfterSuccessfulTrialCall() throws Exception {
+
+        IdVProviderIsolation idVProviderIsolation = new IdVProviderIsolation(true, 10, 50, 2, 2, 0);
+        callProvider(idVProviderIsolation, IDV_PROVIDER_ID, true);
+        callProvider(idVProviderIsolation, IDV_PROVIDER_ID, true);
+        // The open duration has already elapsed.
+        Assert.assertEquals(idVProviderIsolation.getCircuitState(IDV_PROVIDER_ID),
+                IdVProviderIsolation.CircuitState.HALF_OPEN);
+
+        // Only a single trial call is allowed once the open duration has elapsed.
+        long permit = idVProviderIsolation.acquire(IDV_PROVIDER_ID);
+        assertRejected(idVProviderIsolation, IDV_PROVIDER_ID,
+                IdentityVerificationConstants.ErrorMessage.ERROR_IDV_PROVIDER_UNAVAILABLE);
+
+        idVProviderIsolation.release(IDV_PROVIDER_ID, permit, false);
+        Assert.assertEquals(idVProviderIsolation.getCircuitState(IDV_PROVIDER_ID),
+                IdVProviderIsolation.CircuitState.CLOSED);
+    }
+
+    @Test
+    public void testCallStartedBeforeCircuitOpenedIsNotTakenAsTrialCall() throws Exception {
+
+        IdVProviderIsolation idVProviderIsolation = new IdVProviderIsolation(true, 10, 50, 2, 2, 0);
+        long slowCallPermit = idVProviderIsolation.acquire(IDV_PROVIDER_ID);
+        callProvider(idVProviderIsolation, IDV_PROVIDER_ID, true);
+        callProvider(idVProviderIsolation, IDV_PROVIDER_ID, true);
+        long trialCallPermit = idVProviderIsolation.acquire(IDV_PROVIDER_ID);
+
+        // The slow call completing while the trial call is in progress neither closes the circuit nor allows
+        // another trial call.
+        idVProviderIsolation.release(IDV_PROVIDER_ID, slowCallPermit, false);
+        Assert.assertEquals(idVProviderIsolation.getCircuitState(IDV_PROVIDER_ID),
+                IdVProviderIsolation.CircuitState.HALF_OPEN);
+        assertRejected(idVProviderIsolation, IDV_PROVIDER_ID,
+                IdentityVerificationConstants.ErrorMessage.ERROR_IDV_PROVIDER_UNAVAILABLE);
+
+        idVProviderIsolation.release(IDV_PROVIDER_ID, trialCallPermit, false);
+        Assert.assertEquals(idVProviderIsolation.getCircuitState(IDV_PROVIDER_ID),
+                IdVProviderIsolation.CircuitState.CLOSED);
+        Assert.assertEquals(idVProviderIsolation.getActiveCallCount(IDV_PROVIDER_ID), 0);
+    }
+
+    @Test
+    public void testAcquireWhenDisabled() throws Exception {
+
+        IdVProviderIsolation idVProviderIsolation = new IdVProviderIsolation(false, 1, 50, 1, 1, 30000);
+        idVProviderIsolation.acquire(IDV_PROVIDER_ID);
+        idVProviderIsolation.acquire(IDV_PROVIDER_ID);
+        Assert.assertEquals(idVProviderIsolation.getActiveCallCount(IDV_PROVIDER_ID), 0);
+    }
+
+    private void callProvider(IdVProviderIsolation idVProviderIsolation, String idVProviderId, boolean failed)
+            throws Exception {
+
+        long permit = idVProviderIsolation.acquire(idVProviderId);
+        idVProviderIsolation.release(idVProviderId, permit, failed);
+    }
+
+    private void assertRejected(IdVProviderIsolation idVProviderIsolation, String idVProviderId,
+                                IdentityVerificationConstants.ErrorMessage errorMessage) {
+
+        try {
+            idVProviderIsolation.acquire(idVProviderId);
+            Assert.fail("Call to the identity verification provider should be rejected.");
+        } catch (IdentityVerificationServerException e) {
+            Assert.assertEquals(e.getErrorCode(), errorMessage.getCode());
+        }
+    }
+}
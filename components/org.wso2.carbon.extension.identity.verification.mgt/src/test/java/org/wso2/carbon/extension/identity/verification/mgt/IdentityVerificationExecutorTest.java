@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.extension.identity.verification.mgt;
+
+import org.mockito.MockedStatic;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationClientException;
+import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationServerException;
+import org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.TENANT_ID;
+
+public class IdentityVerificationExecutorTest {
+
+    private PrivilegedCarbonContext privilegedCarbonContext;
+    private MockedStatic<PrivilegedCarbonContext> privilegedCarbonContextMockedStatic;
+
+    @BeforeMethod
+    public void setUp() {
+
+        privilegedCarbonContext = mock(PrivilegedCarbonContext.class);
+        when(privilegedCarbonContext.getUsername()).thenReturn("admin");
+        privilegedCarbonContextMockedStatic = mockStatic(PrivilegedCarbonContext.class);
+        privilegedCarbonContextMockedStatic.when(PrivilegedCarbonContext::getThreadLocalCarbonContext)
+                .thenReturn(privilegedCarbonContext);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        if (privilegedCarbonContextMockedStatic != null) {
+            privilegedCarbonContextMockedStatic.close();
+        }
+    }
+
+    @Test
+    public void testSubmit() throws Exception {
+
+        IdentityVerificationExecutor verificationExecutor = new IdentityVerificationExecutor(Runnable::run);
+        CompletableFuture<String> future = verificationExecutor.submit(() -> "verified", TENANT_ID);
+
+        Assert.assertEquals(future.get(), "verified");
+        verify(privilegedCarbonContext).setTenantId(TENANT_ID, true);
+        verify(privilegedCarbonContext).setUsername("admin");
+        privilegedCarbonContextMockedStatic.verify(PrivilegedCarbonContext::startTenantFlow);
+        privilegedCarbonContextMockedStatic.verify(PrivilegedCarbonContext::endTenantFlow);
+    }
+
+    @Test
+    public void testSubmitWithFailingTask() throws Exception {
+
+        IdentityVerificationExecutor verificationExecutor = new IdentityVerificationExecutor(Runnable::run);
+        CompletableFuture<String> future = verificationExecutor.submit(() -> {
+            throw new IdentityVerificationClientException("10002", "Identity Verification Provider not found.");
+        }, TENANT_ID);
+
+        try {
+            future.get();
+            Assert.fail("Failed verification task should complete the future exceptionally.");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IdentityVerificationClientException);
+        }
+        privilegedCarbonContextMockedStatic.verify(PrivilegedCarbonContext::endTenantFlow);
+    }
+
+    @Test
+    public void testSubmitWhenSaturated() throws Exception {
+
+        IdentityVerificationExecutor verificationExecutor = new IdentityVerificationExecutor(runnable -> {
+            throw new RejectedExecutionException();
+        });
+        CompletableFuture<String> future = verificationExecutor.submit(() -> "verified", TENANT_ID);
+
+        try {
+            future.get();
+            Assert.fail("Verification rejected by the executor should complete the future exceptionally.");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IdentityVerificationServerException);
+            Assert.assertEquals(((IdentityVerificationServerException) e.getCause()).getErrorCode(),
+                    IdentityVerificationConstants.ErrorMessage.ERROR_ASYNC_VERIFICATION_REJECTED.getCode());
+        }
+    }
+}
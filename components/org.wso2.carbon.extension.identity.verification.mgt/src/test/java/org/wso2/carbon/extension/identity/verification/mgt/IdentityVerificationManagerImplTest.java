@@ -26,6 +26,7 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.wso2.carbon.base.MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
@@ -48,8 +49,12 @@ import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVExistingUserCache;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVExistingUserCacheEntry;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVExistingUserCacheKey;
 import org.wso2.carbon.extension.identity.verification.mgt.dao.IdentityVerificationClaimDAO;
 import org.wso2.carbon.extension.identity.verification.mgt.dao.IdentityVerificationClaimDAOImpl;
+import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationClientException;
 import org.wso2.carbon.extension.identity.verification.mgt.internal.IdentityVerificationDataHolder;
 import org.wso2.carbon.extension.identity.verification.mgt.model.IdVClaim;
 
@@ -65,9 +70,12 @@ import org.wso2.carbon.user.core.service.RealmService;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 public class IdentityVerificationManagerImplTest {
 
@@ -90,10 +98,13 @@ public class IdentityVerificationManagerImplTest {
     IdentityVerifier identityVerifier;
     @Mock
     IdVProvider idVProvider;
+    @Mock
+    IdVExistingUserCache idVExistingUserCache;
 
     private MockedStatic<PrivilegedCarbonContext> privilegedCarbonContextMockedStatic;
     private MockedStatic<IdentityTenantUtil> identityTenantUtilMockedStatic;
     private MockedStatic<IdentityVerificationDataHolder> identityVerificationDataHolderMockedStatic;
+    private MockedStatic<IdVExistingUserCache> idVExistingUserCacheMockedStatic;
 
     @BeforeMethod
     public void setUp() throws Exception {
@@ -104,6 +115,8 @@ public class IdentityVerificationManagerImplTest {
         privilegedCarbonContextMockedStatic = mockStatic(PrivilegedCarbonContext.class);
         identityTenantUtilMockedStatic = mockStatic(IdentityTenantUtil.class);
         identityVerificationDataHolderMockedStatic = mockStatic(IdentityVerificationDataHolder.class);
+        idVExistingUserCacheMockedStatic = mockStatic(IdVExistingUserCache.class);
+        idVExistingUserCacheMockedStatic.when(IdVExistingUserCache::getInstance).thenReturn(idVExistingUserCache);
         
         mockCarbonContextForTenant();
         mockIdentityTenantUtility();
@@ -129,6 +142,9 @@ public class IdentityVerificationManagerImplTest {
         if (identityVerificationDataHolderMockedStatic != null) {
             identityVerificationDataHolderMockedStatic.close();
         }
+        if (idVExistingUserCacheMockedStatic != null) {
+            idVExistingUserCacheMockedStatic.close();
+        }
     }
 
     private void setInternalState(Object target, String fieldName, Object value) throws Exception {
@@ -160,6 +176,42 @@ public class IdentityVerificationManagerImplTest {
         Assert.assertEquals(idVData.getIdVClaims().get(0).getClaimUri(), IDV_CLAIM_URI);
     }
 
+    @Test
+    public void testVerifyIdentityAsync() throws Exception {
+
+        IdentityVerifierData identityVerifierData = getIdentityVerifierData();
+        when(identityVerificationDataHolder.getIdVProviderManager()).thenReturn(mockIdVProviderManager);
+        when(mockIdVProviderManager.isIdVProviderExists(anyString(), anyInt())).thenReturn(true);
+        when(mockIdVProviderManager.getIdVProvider(anyString(), anyInt())).thenReturn(idVProvider);
+        when(idVProvider.getType()).thenReturn(ONFIDO);
+        when(identityVerificationDataHolder.
+                getIdentityVerifierFactory(anyString())).thenReturn(identityVerifierFactory);
+        when(identityVerifierFactory.getIdentityVerifier(anyString())).thenReturn(identityVerifier);
+        when(identityVerifier.verifyIdentityAsync(anyString(), any(IdentityVerifierData.class), anyInt())).
+                thenReturn(CompletableFuture.completedFuture(identityVerifierData));
+
+        IdentityVerifierData idVData = identityVerificationManager.verifyIdentityAsync(USER_ID,
+                identityVerifierData, TENANT_ID).toCompletableFuture().get();
+        Assert.assertEquals(idVData.getIdVProviderId(), IDV_PROVIDER_ID);
+        verify(identityVerifier, never()).verifyIdentity(anyString(), any(IdentityVerifierData.class), anyInt());
+    }
+
+    @Test
+    public void testVerifyIdentityAsyncWithInvalidIdVProvider() throws Exception {
+
+        when(identityVerificationDataHolder.getIdVProviderManager()).thenReturn(mockIdVProviderManager);
+        when(mockIdVProviderManager.isIdVProviderExists(anyString(), anyInt())).thenReturn(false);
+
+        CompletableFuture<IdentityVerifierData> future = identityVerificationManager.verifyIdentityAsync(USER_ID,
+                getIdentityVerifierData(), TENANT_ID).toCompletableFuture();
+        try {
+            future.get();
+            Assert.fail("Identity verification with an invalid IdV provider should fail.");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IdentityVerificationClientException);
+        }
+    }
+
     @Test
     public void testGetIdVClaim() throws Exception {
 
@@ -173,6 +225,29 @@ public class IdentityVerificationManagerImplTest {
         Assert.assertEquals(idVClaim.getClaimUri(), "http://wso2.org/claims/dob");
         Assert.assertEquals(idVClaim.getClaimValue(), "1990-01-01");
         Assert.assertNotNull(idVClaim.getId());
+        // The existence of the claim is not checked separately when the claim is found.
+        verify(identityVerificationClaimDAO, never()).isIdVClaimExist(anyString(), anyInt());
+    }
+
+    @Test(expectedExceptions = IdentityVerificationClientException.class)
+    public void testGetIdVClaimWithInvalidId() throws Exception {
+
+        when(identityVerificationClaimDAO.getIDVClaim(anyString(), anyString(), anyInt())).thenReturn(null);
+        when(identityVerificationClaimDAO.isIdVClaimExist(anyString(), anyInt())).thenReturn(false);
+        identityVerificationManager.getIdVClaim(USER_ID, IDV_CLAIM_UUID, TENANT_ID);
+    }
+
+    @Test
+    public void testGetIdVClaimWithCachedUser() throws Exception {
+
+        when(idVExistingUserCache.getValueFromCache(any(IdVExistingUserCacheKey.class), anyInt()))
+                .thenReturn(new IdVExistingUserCacheEntry(USER_ID));
+        when(identityVerificationClaimDAO.getIDVClaim(anyString(), anyString(), anyInt())).thenReturn(getIdVClaim());
+
+        IdVClaim idVClaim = identityVerificationManager.getIdVClaim(USER_ID, IDV_CLAIM_UUID, TENANT_ID);
+        Assert.assertEquals(idVClaim.getClaimUri(), IDV_CLAIM_URI);
+        verify(mockUniqueIDUserStoreManager, never()).isExistingUserWithID(anyString());
+        verify(idVExistingUserCache, never()).addToCache(any(), any(), anyInt());
     }
 
     @Test
@@ -218,11 +293,10 @@ public class IdentityVerificationManagerImplTest {
     public void testUpdateIdVClaims() throws Exception {
 
         when(identityVerificationClaimDAO.isIdVClaimExist(anyString(), anyInt())).thenReturn(true);
-        doNothing().when(identityVerificationClaimDAO).updateIdVClaim(any(IdVClaim.class), anyInt());
+        when(identityVerificationClaimDAO.updateIdVClaims(anyString(), anyList(), anyInt())).
+                thenReturn(Collections.singletonList(IDV_CLAIM_UUID));
         when(identityVerificationDataHolder.getIdVProviderManager()).thenReturn(mockIdVProviderManager);
         when(mockIdVProviderManager.isIdVProviderExists(anyString(), anyInt())).thenReturn(true);
-        when(identityVerificationClaimDAO.getIDVClaim(anyString(), anyString(), anyString(), anyInt())).
-                thenReturn(getIdVClaim());
 
         List<IdVClaim> idVClaims = new ArrayList<>();
         IdVClaim idVClaim = getIdVClaim();
@@ -231,6 +305,7 @@ public class IdentityVerificationManagerImplTest {
 
         List<IdVClaim> updatedIdVClaim = identityVerificationManager.updateIdVClaims(USER_ID, idVClaims, TENANT_ID);
         Assert.assertFalse(updatedIdVClaim.get(0).isVerified());
+        verify(identityVerificationClaimDAO).updateIdVClaims(USER_ID, idVClaims, TENANT_ID);
     }
 
     @Test
@@ -258,6 +333,21 @@ public class IdentityVerificationManagerImplTest {
         Assert.assertEquals(idVClaims[0].getClaimUri(), "http://wso2.org/claims/dob");
     }
 
+    @Test(expectedExceptions = IdentityVerificationClientException.class)
+    public void testGetIdVClaimsWithInvalidLimit() throws Exception {
+
+        when(identityVerificationDataHolder.getIdVProviderManager()).thenReturn(mockIdVProviderManager);
+        when(mockIdVProviderManager.isIdVProviderExists(anyString(), anyInt())).thenReturn(true);
+        identityVerificationManager.getIdVClaims(USER_ID, IDV_PROVIDER_ID, IDV_CLAIM_URI, null, 0, TENANT_ID);
+    }
+
+    @Test(expectedExceptions = IdentityVerificationClientException.class)
+    public void testGetIdVClaimsByMetadataWithInvalidCursor() throws Exception {
+
+        identityVerificationManager.getIdVClaimsByMetadata("trackingId", "123e4567", IDV_PROVIDER_ID,
+                "invalid", 10, TENANT_ID);
+    }
+
     private void mockIsExistingUserCheck() throws UserStoreException {
 
         when(identityVerificationDataHolder.getRealmService()).thenReturn(mockRealmService);
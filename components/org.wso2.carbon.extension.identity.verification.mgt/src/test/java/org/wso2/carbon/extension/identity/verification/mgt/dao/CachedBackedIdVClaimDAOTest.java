@@ -27,9 +27,21 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimByClaimUriCache;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimByClaimUriCacheKey;
 import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimByIdCache;
 import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimByIdCacheKey;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimByUserCache;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimByUserCacheEntry;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimByUserCacheKey;
 import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimCacheEntry;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimIdCacheEntry;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimNotFoundCache;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimNotFoundCacheEntry;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVClaimUrisCache;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVUserWithoutClaimsCache;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVUserWithoutClaimsCacheEntry;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVUserWithoutClaimsCacheKey;
 import org.wso2.carbon.extension.identity.verification.mgt.internal.IdentityVerificationDataHolder;
 import org.wso2.carbon.extension.identity.verification.mgt.model.IdVClaim;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
@@ -37,15 +49,21 @@ import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -76,6 +94,15 @@ public class CachedBackedIdVClaimDAOTest {
     private MockedStatic<PrivilegedCarbonContext> privilegedCarbonContextMockedStatic;
     private MockedStatic<IdentityDatabaseUtil> identityDatabaseUtilMockedStatic;
     private MockedStatic<IdVClaimByIdCache> idVClaimByIdCacheMockedStatic;
+    private IdVUserWithoutClaimsCache idVUserWithoutClaimsCache;
+    private MockedStatic<IdVUserWithoutClaimsCache> idVUserWithoutClaimsCacheMockedStatic;
+    private MockedStatic<IdVClaimUrisCache> idVClaimUrisCacheMockedStatic;
+    private IdVClaimByUserCache idVClaimByUserCache;
+    private MockedStatic<IdVClaimByUserCache> idVClaimByUserCacheMockedStatic;
+    private IdVClaimByClaimUriCache idVClaimByClaimUriCache;
+    private MockedStatic<IdVClaimByClaimUriCache> idVClaimByClaimUriCacheMockedStatic;
+    private IdVClaimNotFoundCache idVClaimNotFoundCache;
+    private MockedStatic<IdVClaimNotFoundCache> idVClaimNotFoundCacheMockedStatic;
 
     @BeforeClass
     public void init() throws Exception {
@@ -100,6 +127,22 @@ public class CachedBackedIdVClaimDAOTest {
         idVClaimByIdCacheMockedStatic = mockStatic(IdVClaimByIdCache.class);
         idVClaimByIdCache = mock(IdVClaimByIdCache.class);
         idVClaimByIdCacheMockedStatic.when(IdVClaimByIdCache::getInstance).thenReturn(idVClaimByIdCache);
+        idVUserWithoutClaimsCacheMockedStatic = mockStatic(IdVUserWithoutClaimsCache.class);
+        idVUserWithoutClaimsCache = mock(IdVUserWithoutClaimsCache.class);
+        idVUserWithoutClaimsCacheMockedStatic.when(IdVUserWithoutClaimsCache::getInstance)
+                .thenReturn(idVUserWithoutClaimsCache);
+        idVClaimUrisCacheMockedStatic = mockStatic(IdVClaimUrisCache.class);
+        idVClaimUrisCacheMockedStatic.when(IdVClaimUrisCache::getInstance).thenReturn(mock(IdVClaimUrisCache.class));
+        idVClaimByUserCacheMockedStatic = mockStatic(IdVClaimByUserCache.class);
+        idVClaimByUserCache = mock(IdVClaimByUserCache.class);
+        idVClaimByUserCacheMockedStatic.when(IdVClaimByUserCache::getInstance).thenReturn(idVClaimByUserCache);
+        idVClaimByClaimUriCacheMockedStatic = mockStatic(IdVClaimByClaimUriCache.class);
+        idVClaimByClaimUriCache = mock(IdVClaimByClaimUriCache.class);
+        idVClaimByClaimUriCacheMockedStatic.when(IdVClaimByClaimUriCache::getInstance)
+                .thenReturn(idVClaimByClaimUriCache);
+        idVClaimNotFoundCacheMockedStatic = mockStatic(IdVClaimNotFoundCache.class);
+        idVClaimNotFoundCache = mock(IdVClaimNotFoundCache.class);
+        idVClaimNotFoundCacheMockedStatic.when(IdVClaimNotFoundCache::getInstance).thenReturn(idVClaimNotFoundCache);
 
         cachedBackedIdVClaimDAO = new CachedBackedIdVClaimDAO(identityVerificationClaimDAO);
         IdentityVerificationDataHolder.getInstance().setIdVClaimDAOs(Collections.
@@ -127,6 +170,21 @@ public class CachedBackedIdVClaimDAOTest {
         if (idVClaimByIdCacheMockedStatic != null) {
             idVClaimByIdCacheMockedStatic.close();
         }
+        if (idVUserWithoutClaimsCacheMockedStatic != null) {
+            idVUserWithoutClaimsCacheMockedStatic.close();
+        }
+        if (idVClaimUrisCacheMockedStatic != null) {
+            idVClaimUrisCacheMockedStatic.close();
+        }
+        if (idVClaimByUserCacheMockedStatic != null) {
+            idVClaimByUserCacheMockedStatic.close();
+        }
+        if (idVClaimByClaimUriCacheMockedStatic != null) {
+            idVClaimByClaimUriCacheMockedStatic.close();
+        }
+        if (idVClaimNotFoundCacheMockedStatic != null) {
+            idVClaimNotFoundCacheMockedStatic.close();
+        }
     }
 
     @Test
@@ -295,6 +353,7 @@ public class CachedBackedIdVClaimDAOTest {
         // Configure the behavior of the mocked method
         when(identityVerificationClaimDAO.getIDVClaims(USER_ID, null, null, TENANT_ID)).
                 thenReturn(idVClaims);
+        when(identityVerificationClaimDAO.hasIdVClaims(USER_ID, TENANT_ID)).thenReturn(true);
 
         // Create an instance of CachedBackedIdVClaimDAO using the mocked IdentityVerificationClaimDAO
         CachedBackedIdVClaimDAO cachedBackedIdVClaimDAO = new CachedBackedIdVClaimDAO(identityVerificationClaimDAO);
@@ -316,6 +375,115 @@ public class CachedBackedIdVClaimDAOTest {
                 .deleteIdVClaims(USER_ID, null, null, TENANT_ID);
     }
 
+    @Test(priority = 8)
+    public void testDeleteIdVClaimsOfUserWithoutIdVClaims() throws Exception {
+
+        IdentityVerificationClaimDAO identityVerificationClaimDAO = mock(IdentityVerificationClaimDAO.class);
+        when(identityVerificationClaimDAO.hasIdVClaims(USER_ID, TENANT_ID)).thenReturn(false);
+        CachedBackedIdVClaimDAO cachedBackedIdVClaimDAO = new CachedBackedIdVClaimDAO(identityVerificationClaimDAO);
+
+        Set<String> claimUris = new HashSet<>(Collections.singletonList(IDV_CLAIM_URI));
+        Assert.assertTrue(cachedBackedIdVClaimDAO.deleteIdVClaims(USER_ID, claimUris, TENANT_ID).isEmpty());
+        verify(idVUserWithoutClaimsCache, times(1)).addToCache(any(IdVUserWithoutClaimsCacheKey.class),
+                any(IdVUserWithoutClaimsCacheEntry.class), anyInt());
+
+        // The user is served from the cache afterwards.
+        when(idVUserWithoutClaimsCache.getValueFromCache(any(IdVUserWithoutClaimsCacheKey.class), anyInt()))
+                .thenReturn(new IdVUserWithoutClaimsCacheEntry(USER_ID));
+        cachedBackedIdVClaimDAO.deleteIdVClaims(USER_ID, claimUris, TENANT_ID);
+        cachedBackedIdVClaimDAO.deleteIdVClaims(USER_ID, null, IDV_CLAIM_URI, TENANT_ID);
+        verify(identityVerificationClaimDAO, times(1)).hasIdVClaims(USER_ID, TENANT_ID);
+        verify(identityVerificationClaimDAO, never()).deleteIdVClaims(anyString(), any(Set.class), anyInt());
+
+        // Adding claims for the user clears the cache entry.
+        cachedBackedIdVClaimDAO.addIdVClaimList(getTestIdVClaims(), TENANT_ID);
+        verify(idVUserWithoutClaimsCache, times(1)).clearCacheEntry(any(IdVUserWithoutClaimsCacheKey.class),
+                anyInt());
+    }
+
+    @Test(priority = 8)
+    public void testGetIDVClaimsFromCache() throws Exception {
+
+        IdentityVerificationClaimDAO identityVerificationClaimDAO = mock(IdentityVerificationClaimDAO.class);
+        CachedBackedIdVClaimDAO cachedBackedIdVClaimDAO = new CachedBackedIdVClaimDAO(identityVerificationClaimDAO);
+        IdVClaim idVClaim = getIdVClaim2();
+        idVClaim.setUuid("ab6b3b3a-0f07-4a3b-9f4b-2ea7d24b6a41");
+        idVClaim.setClaimUri("http://wso2.org/claims/givenname");
+        when(idVClaimByUserCache.getValueFromCache(any(IdVClaimByUserCacheKey.class), anyInt()))
+                .thenReturn(new IdVClaimByUserCacheEntry(Arrays.asList(getIdVClaim(), idVClaim)));
+
+        IdVClaim[] idVClaims = cachedBackedIdVClaimDAO.getIDVClaims(USER_ID, IDV_PROVIDER_ID, null, TENANT_ID);
+        Assert.assertEquals(idVClaims.length, 2);
+        idVClaims = cachedBackedIdVClaimDAO.getIDVClaims(USER_ID, null, IDV_CLAIM_URI, TENANT_ID);
+        Assert.assertEquals(idVClaims.length, 1);
+        Assert.assertEquals(idVClaims[0].getUuid(), IDV_CLAIM_UUID);
+        Assert.assertTrue(cachedBackedIdVClaimDAO.hasIdVClaims(USER_ID, TENANT_ID));
+        verify(identityVerificationClaimDAO, never()).getIdVClaimsOfUsers(any(Set.class), any(), anyInt());
+        verify(identityVerificationClaimDAO, never()).hasIdVClaims(anyString(), anyInt());
+
+        // Changing the claims of the user clears the cache entry.
+        cachedBackedIdVClaimDAO.deleteIdVClaim(USER_ID, IDV_CLAIM_UUID, TENANT_ID);
+        verify(idVClaimByUserCache, times(1)).clearCacheEntry(any(IdVClaimByUserCacheKey.class), anyInt());
+    }
+
+    @Test(priority = 8)
+    public void testGetIDVClaimByClaimUriFromCache() throws Exception {
+
+        IdentityVerificationClaimDAO identityVerificationClaimDAO = mock(IdentityVerificationClaimDAO.class);
+        CachedBackedIdVClaimDAO cachedBackedIdVClaimDAO = new CachedBackedIdVClaimDAO(identityVerificationClaimDAO);
+        when(idVClaimByClaimUriCache.getValueFromCache(any(IdVClaimByClaimUriCacheKey.class), anyInt()))
+                .thenReturn(new IdVClaimIdCacheEntry(IDV_CLAIM_UUID));
+        when(idVClaimByIdCache.getValueFromCache(any(IdVClaimByIdCacheKey.class), anyInt()))
+                .thenReturn(new IdVClaimCacheEntry(getIdVClaim()));
+
+        IdVClaim idVClaim = cachedBackedIdVClaimDAO.getIDVClaim(USER_ID, IDV_CLAIM_URI, IDV_PROVIDER_ID, TENANT_ID);
+        Assert.assertEquals(idVClaim.getUuid(), IDV_CLAIM_UUID);
+        verify(identityVerificationClaimDAO, never()).getIDVClaim(anyString(), anyString(), anyString(), anyInt());
+
+        // A claim id which does not match the lookup is treated as a cache miss.
+        cachedBackedIdVClaimDAO.getIDVClaim(USER_ID, "http://wso2.org/claims/givenname", IDV_PROVIDER_ID,
+                TENANT_ID);
+        verify(identityVerificationClaimDAO, times(1)).getIDVClaim(USER_ID, "http://wso2.org/claims/givenname",
+                IDV_PROVIDER_ID, TENANT_ID);
+
+        // Updating the claim clears both cache entries.
+        cachedBackedIdVClaimDAO.updateIdVClaim(getIdVClaim2(), TENANT_ID);
+        verify(idVClaimByIdCache, times(1)).clearCacheEntry(any(IdVClaimByIdCacheKey.class), anyInt());
+        verify(idVClaimByClaimUriCache, times(1)).clearCacheEntry(any(IdVClaimByClaimUriCacheKey.class), anyInt());
+    }
+
+    @Test(priority = 8)
+    public void testIsIdVClaimExistFromCache() throws Exception {
+
+        IdentityVerificationClaimDAO identityVerificationClaimDAO = mock(IdentityVerificationClaimDAO.class);
+        CachedBackedIdVClaimDAO cachedBackedIdVClaimDAO = new CachedBackedIdVClaimDAO(identityVerificationClaimDAO);
+
+        // A claim which is not found is cached as not found.
+        Assert.assertFalse(cachedBackedIdVClaimDAO.isIdVClaimExist(IDV_CLAIM_UUID, TENANT_ID));
+        Assert.assertFalse(cachedBackedIdVClaimDAO.isIdVClaimDataExist(USER_ID, IDV_PROVIDER_ID, IDV_CLAIM_URI,
+                TENANT_ID));
+        verify(idVClaimNotFoundCache, times(2)).addToCache(any(), any(IdVClaimNotFoundCacheEntry.class), anyInt());
+
+        when(idVClaimNotFoundCache.getValueFromCache(any(), anyInt())).thenReturn(new IdVClaimNotFoundCacheEntry());
+        Assert.assertFalse(cachedBackedIdVClaimDAO.isIdVClaimExist(IDV_CLAIM_UUID, TENANT_ID));
+        Assert.assertFalse(cachedBackedIdVClaimDAO.isIdVClaimDataExist(USER_ID, IDV_PROVIDER_ID, IDV_CLAIM_URI,
+                TENANT_ID));
+        verify(identityVerificationClaimDAO, times(1)).isIdVClaimExist(IDV_CLAIM_UUID, TENANT_ID);
+        verify(identityVerificationClaimDAO, times(1)).isIdVClaimDataExist(USER_ID, IDV_PROVIDER_ID, IDV_CLAIM_URI,
+                TENANT_ID);
+
+        // Adding the claim clears the not found entries.
+        cachedBackedIdVClaimDAO.addIdVClaimList(getTestIdVClaims(), TENANT_ID);
+        verify(idVClaimNotFoundCache, times(1)).clearCacheEntry(any(IdVClaimByIdCacheKey.class), anyInt());
+        verify(idVClaimNotFoundCache, times(1)).clearCacheEntry(any(IdVClaimByClaimUriCacheKey.class), anyInt());
+
+        // A claim in the by id cache exists.
+        when(idVClaimByIdCache.getValueFromCache(any(IdVClaimByIdCacheKey.class), anyInt()))
+                .thenReturn(new IdVClaimCacheEntry(getIdVClaim()));
+        Assert.assertTrue(cachedBackedIdVClaimDAO.isIdVClaimExist(IDV_CLAIM_UUID, TENANT_ID));
+        verify(identityVerificationClaimDAO, times(1)).isIdVClaimExist(IDV_CLAIM_UUID, TENANT_ID);
+    }
+
     @Test
     public void testGetPriority() {
 
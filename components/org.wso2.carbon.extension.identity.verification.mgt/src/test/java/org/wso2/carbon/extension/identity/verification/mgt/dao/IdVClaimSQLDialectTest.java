@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.extension.identity.verification.mgt.dao;
+
+import org.mockito.MockedStatic;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.extension.identity.verification.mgt.dao.IdVClaimSQLDialect.MetadataStorageMode;
+import org.wso2.carbon.extension.identity.verification.mgt.model.IdVClaim;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.IDV_CLAIM_URI;
+import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.IDV_CLAIM_UUID;
+import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.IDV_PROVIDER_ID;
+import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.TENANT_ID;
+import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.USER_ID;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.METADATA;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.METADATA_NATIVE_JSON_ENABLED;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.ADD_IDV_CLAIM_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIMS_BY_METADATA_SQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIMS_BY_METADATA_SQL_JSONB;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIMS_BY_METADATA_SQL_JSON_CONTAINS;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIMS_BY_METADATA_SQL_POSTGRESQL;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.SQLQueries.GET_IDV_CLAIM_SQL;
+
+public class IdVClaimSQLDialectTest {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final String MYSQL = "MySQL";
+    private static final String TRACKING_ID = "trackingId";
+    private static final String TRACKING_ID_VALUE = "12sf5-bhd687-onhf7-8hjg-9hjg6";
+    private static final String METADATA_JSON = "{\"trackingId\":\"12sf5-bhd687-onhf7-8hjg-9hjg6\"}";
+
+    private MockedStatic<IdentityDatabaseUtil> identityDatabaseUtilMockedStatic;
+    private MockedStatic<IdentityUtil> identityUtilMockedStatic;
+    private Connection connection;
+    private PreparedStatement preparedStatement;
+    private ResultSet resultSet;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        identityDatabaseUtilMockedStatic = mockStatic(IdentityDatabaseUtil.class);
+        identityUtilMockedStatic = mockStatic(IdentityUtil.class);
+        connection = mock(Connection.class);
+        preparedStatement = mock(PreparedStatement.class);
+        resultSet = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        // Without a datasource the dialect is not cached, hence each test detects it from its own connection.
+        identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource).thenReturn(null);
+        identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                .thenReturn(connection);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        identityDatabaseUtilMockedStatic.close();
+        identityUtilMockedStatic.close();
+    }
+
+    @Test
+    public void testBlobIsTheDefaultMetadataStorageMode() throws Exception {
+
+        mockDatabase(POSTGRESQL, false);
+        IdVClaimSQLDialect dialect = IdVClaimSQLDialect.getDialect(connection);
+        Assert.assertEquals(dialect.getMetadataStorageMode(), MetadataStorageMode.BLOB);
+        Assert.assertEquals(dialect.getIdVClaimsByMetadataQuery(TRACKING_ID, false),
+                GET_IDV_CLAIMS_BY_METADATA_SQL_POSTGRESQL);
+
+        mockDatabase(MYSQL, false);
+        dialect = IdVClaimSQLDialect.getDialect(connection);
+        Assert.assertEquals(dialect.getMetadataStorageMode(), MetadataStorageMode.BLOB);
+        Assert.assertEquals(dialect.getIdVClaimsByMetadataQuery(TRACKING_ID, false), GET_IDV_CLAIMS_BY_METADATA_SQL);
+    }
+
+    @Test
+    public void testNativeJsonStorageOfUnsupportedDatabase() throws Exception {
+
+        mockDatabase("H2", true);
+        IdVClaimSQLDialect dialect = IdVClaimSQLDialect.getDialect(connection);
+        Assert.assertEquals(dialect.getMetadataStorageMode(), MetadataStorageMode.BLOB);
+        Assert.assertEquals(dialect.getIdVClaimsByMetadataQuery(TRACKING_ID, false), GET_IDV_CLAIMS_BY_METADATA_SQL);
+    }
+
+    @Test
+    public void testNativeJsonStorageOfUnmigratedColumn() throws Exception {
+
+        mockDatabase(POSTGRESQL, true, "bytea");
+        IdVClaimSQLDialect dialect = IdVClaimSQLDialect.getDialect(connection);
+        Assert.assertEquals(dialect.getMetadataStorageMode(), MetadataStorageMode.BLOB);
+        Assert.assertEquals(dialect.getIdVClaimsByMetadataQuery(TRACKING_ID, false),
+                GET_IDV_CLAIMS_BY_METADATA_SQL_POSTGRESQL);
+
+        mockDatabase(MYSQL, true, "BLOB");
+        dialect = IdVClaimSQLDialect.getDialect(connection);
+        Assert.assertEquals(dialect.getMetadataStorageMode(), MetadataStorageMode.BLOB);
+        Assert.assertEquals(dialect.getIdVClaimsByMetadataQuery(TRACKING_ID, false), GET_IDV_CLAIMS_BY_METADATA_SQL);
+
+        mockDatabase(MYSQL, true, null);
+        Assert.assertEquals(IdVClaimSQLDialect.getDialect(connection).getMetadataStorageMode(),
+                MetadataStorageMode.BLOB);
+    }
+
+    @Test
+    public void testPostgreSqlJsonbQueries() throws Exception {
+
+        mockDatabase(POSTGRESQL, true);
+        IdVClaimSQLDialect dialect = IdVClaimSQLDialect.getDialect(connection);
+        Assert.assertEquals(dialect.getMetadataStorageMode(), MetadataStorageMode.POSTGRESQL_JSONB);
+        Assert.assertEquals(dialect.getIdVClaimsByMetadataQuery(TRACKING_ID, false),
+                GET_IDV_CLAIMS_BY_METADATA_SQL_JSONB);
+        Assert.assertEquals(dialect.getIdVClaimsByMetadataQuery(TRACKING_ID, true),
+                GET_IDV_CLAIMS_BY_METADATA_SQL_JSONB + " AND ID>? ORDER BY ID ASC LIMIT ?");
+    }
+
+    @Test
+    public void testMySqlJsonQueries() throws Exception {
+
+        mockDatabase(MYSQL, true);
+        IdVClaimSQLDialect dialect = IdVClaimSQLDialect.getDialect(connection);
+        Assert.assertEquals(dialect.getMetadataStorageMode(), MetadataStorageMode.MYSQL_JSON);
+        Assert.assertEquals(dialect.getIdVClaimsByMetadataQuery(TRACKING_ID, false),
+                "SELECT ID, UUID, USER_ID, CLAIM_URI, IS_VERIFIED, METADATA FROM IDV_CLAIM WHERE IDVP_ID=? AND " +
+                        "TENANT_ID=? AND JSON_UNQUOTE(JSON_EXTRACT(METADATA, '$.trackingId'))=?");
+        // Keys which are not valid JSON path members are never inlined in the statement.
+        Assert.assertEquals(dialect.getIdVClaimsByMetadataQuery("tracking-id'))", false),
+                GET_IDV_CLAIMS_BY_METADATA_SQL_JSON_CONTAINS);
+        Assert.assertEquals(dialect.getIdVClaimsByMetadataQuery("tracking-id", true),
+                GET_IDV_CLAIMS_BY_METADATA_SQL_JSON_CONTAINS + " AND ID>? ORDER BY ID ASC LIMIT ?");
+    }
+
+    @Test
+    public void testPostgreSqlJsonbSearchParameters() throws Exception {
+
+        mockDatabase(POSTGRESQL, true);
+        new IdentityVerificationClaimDAOImpl().getIdVClaimsByMetadata(TRACKING_ID, TRACKING_ID_VALUE,
+                IDV_PROVIDER_ID, TENANT_ID, 10, 5);
+        verify(connection).prepareStatement(GET_IDV_CLAIMS_BY_METADATA_SQL_JSONB +
+                " AND ID>? ORDER BY ID ASC LIMIT ?");
+        verify(preparedStatement).setString(1, IDV_PROVIDER_ID);
+        verify(preparedStatement).setInt(2, TENANT_ID);
+        verify(preparedStatement).setString(3, METADATA_JSON);
+        verify(preparedStatement).setInt(4, 10);
+        verify(preparedStatement).setInt(5, 5);
+    }
+
+    @Test
+    public void testMySqlJsonSearchParameters() throws Exception {
+
+        mockDatabase(MYSQL, true);
+        IdentityVerificationClaimDAOImpl idVClaimDAO = new IdentityVerificationClaimDAOImpl();
+        idVClaimDAO.getIdVClaimsByMetadata(TRACKING_ID, TRACKING_ID_VALUE, IDV_PROVIDER_ID, TENANT_ID);
+        // The value is compared with the JSON_EXTRACT of the inlined path.
+        verify(preparedStatement).setString(3, TRACKING_ID_VALUE);
+
+        idVClaimDAO.getIdVClaimsByMetadata("tracking-id", TRACKING_ID_VALUE, IDV_PROVIDER_ID, TENANT_ID);
+        verify(connection).prepareStatement(GET_IDV_CLAIMS_BY_METADATA_SQL_JSON_CONTAINS);
+        verify(preparedStatement).setString(3, "{\"tracking-id\":\"12sf5-bhd687-onhf7-8hjg-9hjg6\"}");
+    }
+
+    @Test
+    public void testWriteMetadataWithNativeJsonStorage() throws Exception {
+
+        mockDatabase(POSTGRESQL, true);
+        IdentityVerificationClaimDAOImpl idVClaimDAO = new IdentityVerificationClaimDAOImpl();
+        idVClaimDAO.addIdVClaimList(Collections.singletonList(getIdVClaim()), TENANT_ID);
+        verify(connection).prepareStatement(ADD_IDV_CLAIM_SQL);
+        verify(preparedStatement).setObject(7, METADATA_JSON, Types.OTHER);
+        verify(preparedStatement, never()).setBytes(anyInt(), any());
+
+        PreparedStatement mySqlPreparedStatement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(mySqlPreparedStatement);
+        mockDatabase(MYSQL, true);
+        idVClaimDAO.addIdVClaimList(Collections.singletonList(getIdVClaim()), TENANT_ID);
+        verify(mySqlPreparedStatement).setString(7, METADATA_JSON);
+        verify(mySqlPreparedStatement, never()).setBytes(anyInt(), any());
+    }
+
+    @Test
+    public void testReadMetadataWithNativeJsonStorage() throws Exception {
+
+        mockDatabase(POSTGRESQL, true);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString(METADATA)).thenReturn(METADATA_JSON);
+        IdVClaim idVClaim = new IdentityVerificationClaimDAOImpl().getIDVClaim(USER_ID, IDV_CLAIM_UUID, TENANT_ID);
+        verify(connection).prepareStatement(GET_IDV_CLAIM_SQL);
+        verify(resultSet, never()).getBytes(METADATA);
+        Assert.assertEquals(idVClaim.getMetadata().get(TRACKING_ID), TRACKING_ID_VALUE);
+    }
+
+    private void mockDatabase(String databaseProductName, boolean nativeJsonEnabled) throws SQLException {
+
+        mockDatabase(databaseProductName, nativeJsonEnabled, POSTGRESQL.equals(databaseProductName) ? "jsonb" :
+                MYSQL.equals(databaseProductName) ? "JSON" : "BLOB");
+    }
+
+    private void mockDatabase(String databaseProductName, boolean nativeJsonEnabled, String metadataColumnType)
+            throws SQLException {
+
+        DatabaseMetaData databaseMetaData = mock(DatabaseMetaData.class);
+        when(databaseMetaData.getDatabaseProductName()).thenReturn(databaseProductName);
+        ResultSet columns = mock(ResultSet.class);
+        when(columns.next()).thenReturn(metadataColumnType != null);
+        when(columns.getString("TYPE_NAME")).thenReturn(metadataColumnType);
+        when(databaseMetaData.getColumns(any(), any(), any(), any())).thenReturn(columns);
+        when(connection.getMetaData()).thenReturn(databaseMetaData);
+        identityUtilMockedStatic.when(() -> IdentityUtil.getProperty(METADATA_NATIVE_JSON_ENABLED))
+                .thenReturn(nativeJsonEnabled ? "true" : null);
+    }
+
+    private IdVClaim getIdVClaim() {
+
+        IdVClaim idVClaim = new IdVClaim();
+        idVClaim.setUuid(IDV_CLAIM_UUID);
+        idVClaim.setUserId(USER_ID);
+        idVClaim.setClaimUri(IDV_CLAIM_URI);
+        idVClaim.setIdVPId(IDV_PROVIDER_ID);
+        idVClaim.setIsVerified(true);
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put(TRACKING_ID, TRACKING_ID_VALUE);
+        idVClaim.setMetadata(metadata);
+        return idVClaim;
+    }
+}
@@ -26,19 +26,26 @@ import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationServerException;
 import org.wso2.carbon.extension.identity.verification.mgt.internal.IdentityVerificationDataHolder;
 import org.wso2.carbon.extension.identity.verification.mgt.model.IdVClaim;
+import org.wso2.carbon.extension.identity.verification.mgt.model.IdVClaimInvalidation;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
 
 import java.nio.file.Paths;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
@@ -49,6 +56,8 @@ import static org.wso2.carbon.base.MultitenantConstants.SUPER_TENANT_DOMAIN_NAME
 import static org.wso2.carbon.base.MultitenantConstants.SUPER_TENANT_ID;
 import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.ONFIDO;
 import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.setUpCarbonHome;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.METADATA_BINARY_ENCODING_ENABLED;
+import static org.wso2.carbon.extension.identity.verification.mgt.utils.IdentityVerificationConstants.METADATA_INDEXED_LOOKUP_ENABLED;
 
 public class IdentityVerificationClaimDAOImplTest {
 
@@ -120,6 +129,47 @@ public class IdentityVerificationClaimDAOImplTest {
         }
     }
 
+    @Test(priority = 1)
+    public void testAddIdVClaimListWithMultipleClaims() throws Exception {
+
+        List<IdVClaim> idVClaimList = getTestIdVClaims();
+        IdVClaim secondClaim = getIdVClaim();
+        secondClaim.setUuid("a6b4b7f2-0c3b-4a6e-9a61-5ad1cbf8b7c2");
+        secondClaim.setClaimUri("http://wso2.org/claims/givenname");
+        idVClaimList.add(secondClaim);
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                    .thenReturn(dataSourceMap.get(DB_NAME));
+            identityVerificationClaimDAO.addIdVClaimList(idVClaimList, TENANT_ID);
+        }
+
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                    .thenReturn(dataSourceMap.get(DB_NAME));
+            IdVClaim[] retrievedIdVClaimList = identityVerificationClaimDAO.
+                    getIDVClaims(USER_ID, IDV_PROVIDER_ID, null, TENANT_ID);
+            Assert.assertEquals(retrievedIdVClaimList.length, idVClaimList.size());
+        }
+    }
+
+    @Test(priority = 1, expectedExceptions = IdentityVerificationServerException.class)
+    public void testAddIdVClaimListWithDuplicateClaims() throws Exception {
+
+        List<IdVClaim> idVClaimList = getTestIdVClaims();
+        idVClaimList.add(getIdVClaim());
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                    .thenReturn(dataSourceMap.get(DB_NAME));
+            identityVerificationClaimDAO.addIdVClaimList(idVClaimList, TENANT_ID);
+        }
+    }
+
     @Test(priority = 2)
     public void testUpdateIdVClaim() throws Exception {
 
@@ -152,6 +202,85 @@ public class IdentityVerificationClaimDAOImplTest {
         }
     }
 
+    @Test(priority = 2)
+    public void testUpdateIdVClaims() throws Exception {
+
+        List<IdVClaim> idVClaimList = getTestIdVClaims();
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                    .thenReturn(dataSourceMap.get(DB_NAME));
+            identityVerificationClaimDAO.addIdVClaimList(idVClaimList, TENANT_ID);
+        }
+
+        IdVClaim updatedClaim = getIdVClaim();
+        updatedClaim.setUuid(null);
+        updatedClaim.setIsVerified(false);
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                    .thenReturn(dataSourceMap.get(DB_NAME));
+            List<String> updatedClaimIds = identityVerificationClaimDAO.
+                    updateIdVClaims(USER_ID, Collections.singletonList(updatedClaim), TENANT_ID);
+            Assert.assertEquals(updatedClaimIds, Collections.singletonList(IDV_CLAIM_UUID));
+            Assert.assertEquals(updatedClaim.getUuid(), IDV_CLAIM_UUID);
+        }
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                    .thenReturn(dataSourceMap.get(DB_NAME));
+            IdVClaim identityVerificationClaim = identityVerificationClaimDAO.
+                    getIDVClaim(USER_ID, IDV_CLAIM_URI, IDV_PROVIDER_ID, TENANT_ID);
+            Assert.assertFalse(identityVerificationClaim.isVerified());
+        }
+    }
+
+    @Test(priority = 2)
+    public void testAddOrUpdateIdVClaims() throws Exception {
+
+        List<IdVClaim> idVClaimList = getTestIdVClaims();
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                    .thenReturn(dataSourceMap.get(DB_NAME));
+            identityVerificationClaimDAO.addIdVClaimList(idVClaimList, TENANT_ID);
+        }
+
+        IdVClaim existingClaim = getIdVClaim();
+        existingClaim.setUuid("0b5d6f0e-6a43-4d2e-8f7e-7d4cb0c2e1a9");
+        existingClaim.setIsVerified(false);
+        IdVClaim newClaim = getIdVClaim();
+        newClaim.setUuid("a6b4b7f2-0c3b-4a6e-9a61-5ad1cbf8b7c2");
+        newClaim.setClaimUri("http://wso2.org/claims/givenname");
+        List<IdVClaim> upsertClaimList = new ArrayList<>();
+        upsertClaimList.add(existingClaim);
+        upsertClaimList.add(newClaim);
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                    .thenReturn(dataSourceMap.get(DB_NAME));
+            identityVerificationClaimDAO.addOrUpdateIdVClaims(USER_ID, upsertClaimList, TENANT_ID);
+            Assert.assertEquals(existingClaim.getUuid(), IDV_CLAIM_UUID);
+        }
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                    .thenReturn(dataSourceMap.get(DB_NAME));
+            IdVClaim[] retrievedIdVClaimList = identityVerificationClaimDAO.
+                    getIDVClaims(USER_ID, IDV_PROVIDER_ID, null, TENANT_ID);
+            Assert.assertEquals(retrievedIdVClaimList.length, 2);
+            IdVClaim identityVerificationClaim = identityVerificationClaimDAO.
+                    getIDVClaim(USER_ID, IDV_CLAIM_URI, IDV_PROVIDER_ID, TENANT_ID);
+            Assert.assertFalse(identityVerificationClaim.isVerified());
+        }
+    }
+
     @Test(priority = 3)
     public void testGetIDVClaimWithUniqueValues() throws Exception {
 
@@ -197,6 +326,7 @@ public class IdentityVerificationClaimDAOImplTest {
             IdVClaim identityVerificationClaim = identityVerificationClaimDAO.
                     getIDVClaim(USER_ID, IDV_CLAIM_UUID, TENANT_ID);
             Assert.assertEquals(identityVerificationClaim.getClaimUri(), idVClaimList.get(0).getClaimUri());
+            Assert.assertEquals(identityVerificationClaim.getMetadata(), idVClaimList.get(0).getMetadata());
         }
     }
 
@@ -224,6 +354,292 @@ public class IdentityVerificationClaimDAOImplTest {
         }
     }
 
+    @Test(priority = 4)
+    public void testGetIdVClaimSummaries() throws Exception {
+
+        List<IdVClaim> idVClaimList = getTestIdVClaims();
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                    .thenReturn(dataSourceMap.get(DB_NAME));
+            identityVerificationClaimDAO.addIdVClaimList(idVClaimList, TENANT_ID);
+        }
+
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            IdVClaim[] idVClaimSummaries = identityVerificationClaimDAO.
+                    getIdVClaimSummaries(USER_ID, IDV_PROVIDER_ID, IDV_CLAIM_URI, TENANT_ID);
+            Assert.assertEquals(idVClaimSummaries.length, 1);
+            Assert.assertEquals(idVClaimSummaries[0].getClaimUri(), IDV_CLAIM_URI);
+            Assert.assertTrue(idVClaimSummaries[0].isVerified());
+            Assert.assertNull(idVClaimSummaries[0].getMetadata());
+        }
+    }
+
+    @Test(priority = 4)
+    public void testGetIdVClaimsOfUsers() throws Exception {
+
+        List<IdVClaim> idVClaimList = getTestIdVClaims();
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                    .thenReturn(dataSourceMap.get(DB_NAME));
+            identityVerificationClaimDAO.addIdVClaimList(idVClaimList, TENANT_ID);
+        }
+
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                    .thenReturn(dataSourceMap.get(DB_NAME));
+            Set<String> userIds = new HashSet<>();
+            userIds.add(USER_ID);
+            userIds.add("a1d3e5f7-0b2c-4d6e-8f01-23456789abcd");
+            Map<String, List<IdVClaim>> idVClaimsOfUsers = identityVerificationClaimDAO.
+                    getIdVClaimsOfUsers(userIds, IDV_PROVIDER_ID, TENANT_ID);
+            Assert.assertEquals(idVClaimsOfUsers.size(), 2);
+            Assert.assertEquals(idVClaimsOfUsers.get(USER_ID).size(), idVClaimList.size());
+            Assert.assertTrue(idVClaimsOfUsers.get("a1d3e5f7-0b2c-4d6e-8f01-23456789abcd").isEmpty());
+        }
+    }
+
+    @Test(priority = 4)
+    public void testGetIdVClaimStatuses() throws Exception {
+
+        List<IdVClaim> idVClaimList = getTestIdVClaims();
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                    .thenReturn(dataSourceMap.get(DB_NAME));
+            identityVerificationClaimDAO.addIdVClaimList(idVClaimList, TENANT_ID);
+        }
+
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            Set<String> claimUris = new HashSet<>();
+            claimUris.add(IDV_CLAIM_URI);
+            claimUris.add("http://wso2.org/claims/mobile");
+            Map<String, Boolean> idVClaimStatuses = identityVerificationClaimDAO.
+                    getIdVClaimStatuses(USER_ID, claimUris, null, TENANT_ID);
+            Assert.assertEquals(idVClaimStatuses.size(), 1);
+            Assert.assertTrue(idVClaimStatuses.get(IDV_CLAIM_URI));
+        }
+    }
+
+    @Test(priority = 4)
+    public void testGetIdVClaimsByMetadata() throws Exception {
+
+        List<IdVClaim> idVClaimList = getTestIdVClaims();
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                    .thenReturn(dataSourceMap.get(DB_NAME));
+            identityVerificationClaimDAO.addIdVClaimList(idVClaimList, TENANT_ID);
+        }
+
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                    .thenReturn(dataSourceMap.get(DB_NAME));
+            IdVClaim[] retrievedIdVClaimList = identityVerificationClaimDAO.getIdVClaimsByMetadata("trackingId",
+                    "12sf5-bhd687-onhf7-8hjg-9hjg6", IDV_PROVIDER_ID, TENANT_ID);
+            Assert.assertEquals(retrievedIdVClaimList.length, 1);
+            Assert.assertEquals(retrievedIdVClaimList[0].getUuid(), IDV_CLAIM_UUID);
+        }
+    }
+
+    @Test(priority = 4)
+    public void testGetIdVClaimsByMetadataBeforeBackfill() throws Exception {
+
+        IdVClaim secondClaim = getIdVClaim();
+        secondClaim.setUuid("a6b4b7f2-0c3b-4a6e-9a61-5ad1cbf8b7c2");
+        secondClaim.setClaimUri("http://wso2.org/claims/givenname");
+        identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                .thenAnswer(invocation -> getConnection(DB_NAME));
+        identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                .thenReturn(dataSourceMap.get(DB_NAME));
+        // The first claim is stored before indexed lookup is enabled, hence it is not projected.
+        identityVerificationClaimDAO.addIdVClaimList(getTestIdVClaims(), TENANT_ID);
+        try (MockedStatic<IdentityUtil> identityUtilMockedStatic = mockStatic(IdentityUtil.class)) {
+            identityUtilMockedStatic.when(() -> IdentityUtil.getProperty(METADATA_INDEXED_LOOKUP_ENABLED))
+                    .thenReturn("true");
+            identityVerificationClaimDAO.addIdVClaimList(Collections.singletonList(secondClaim), TENANT_ID);
+            Assert.assertEquals(getIdVClaimMetadataCount(), 2);
+
+            IdVClaim[] firstPage = identityVerificationClaimDAO.getIdVClaimsByMetadata("trackingId",
+                    "12sf5-bhd687-onhf7-8hjg-9hjg6", IDV_PROVIDER_ID, TENANT_ID, 0, 1);
+            Assert.assertEquals(firstPage.length, 1);
+            Assert.assertEquals(firstPage[0].getUuid(), IDV_CLAIM_UUID);
+            IdVClaim[] secondPage = identityVerificationClaimDAO.getIdVClaimsByMetadata("trackingId",
+                    "12sf5-bhd687-onhf7-8hjg-9hjg6", IDV_PROVIDER_ID, TENANT_ID,
+                    Integer.parseInt(firstPage[0].getId()), 1);
+            Assert.assertEquals(secondPage.length, 1);
+            Assert.assertEquals(secondPage[0].getUuid(), secondClaim.getUuid());
+            Assert.assertEquals(identityVerificationClaimDAO.getIdVClaimsByMetadata("trackingId",
+                    "12sf5-bhd687-onhf7-8hjg-9hjg6", IDV_PROVIDER_ID, TENANT_ID).length, 2);
+        }
+    }
+
+    @Test(priority = 4)
+    public void testAddOrUpdateIdVClaimsWithExistingClaimId() throws Exception {
+
+        identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                .thenAnswer(invocation -> getConnection(DB_NAME));
+        identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                .thenReturn(dataSourceMap.get(DB_NAME));
+        try (MockedStatic<IdentityUtil> identityUtilMockedStatic = mockStatic(IdentityUtil.class)) {
+            identityUtilMockedStatic.when(() -> IdentityUtil.getProperty(METADATA_INDEXED_LOOKUP_ENABLED))
+                    .thenReturn("true");
+            identityVerificationClaimDAO.addIdVClaimList(getTestIdVClaims(), TENANT_ID);
+            Assert.assertEquals(getIdVClaimMetadataCount(), 2);
+
+            // The claim is verified again with its existing id.
+            identityVerificationClaimDAO.addOrUpdateIdVClaims(USER_ID, getTestIdVClaims(), TENANT_ID);
+            Assert.assertEquals(getIdVClaimMetadataCount(), 2);
+            IdVClaim[] retrievedIdVClaimList = identityVerificationClaimDAO.getIdVClaimsByMetadata("trackingId",
+                    "12sf5-bhd687-onhf7-8hjg-9hjg6", IDV_PROVIDER_ID, TENANT_ID);
+            Assert.assertEquals(retrievedIdVClaimList.length, 1);
+        }
+    }
+
+    @Test(priority = 4)
+    public void testBackfillIdVClaimMetadata() throws Exception {
+
+        identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                .thenAnswer(invocation -> getConnection(DB_NAME));
+        identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                .thenReturn(dataSourceMap.get(DB_NAME));
+        identityVerificationClaimDAO.addIdVClaimList(getTestIdVClaims(), TENANT_ID);
+        Assert.assertEquals(getIdVClaimMetadataCount(), 0);
+        Assert.assertEquals(identityVerificationClaimDAO.backfillIdVClaimMetadata(TENANT_ID), 0);
+
+        try (MockedStatic<IdentityUtil> identityUtilMockedStatic = mockStatic(IdentityUtil.class)) {
+            identityUtilMockedStatic.when(() -> IdentityUtil.getProperty(METADATA_INDEXED_LOOKUP_ENABLED))
+                    .thenReturn("true");
+            Assert.assertEquals(identityVerificationClaimDAO.backfillIdVClaimMetadata(TENANT_ID), 1);
+            // Backfilling again replaces the projection of the claims.
+            Assert.assertEquals(identityVerificationClaimDAO.backfillIdVClaimMetadata(TENANT_ID), 1);
+            Assert.assertEquals(getIdVClaimMetadataCount(), 2);
+
+            IdVClaim[] retrievedIdVClaimList = identityVerificationClaimDAO.getIdVClaimsByMetadata("trackingId",
+                    "12sf5-bhd687-onhf7-8hjg-9hjg6", IDV_PROVIDER_ID, TENANT_ID);
+            Assert.assertEquals(retrievedIdVClaimList.length, 1);
+            Assert.assertEquals(retrievedIdVClaimList[0].getUuid(), IDV_CLAIM_UUID);
+        }
+    }
+
+    @Test(priority = 4)
+    public void testReEncodeIdVClaimMetadata() throws Exception {
+
+        IdVClaim nestedMetadataClaim = getIdVClaim();
+        nestedMetadataClaim.setUuid("a6b4b7f2-0c3b-4a6e-9a61-5ad1cbf8b7c2");
+        nestedMetadataClaim.setClaimUri("http://wso2.org/claims/givenname");
+        nestedMetadataClaim.getMetadata().put("document", Collections.singletonMap("type", "passport"));
+        List<IdVClaim> idVClaimList = getTestIdVClaims();
+        idVClaimList.add(nestedMetadataClaim);
+        identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                .thenAnswer(invocation -> getConnection(DB_NAME));
+        identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                .thenReturn(dataSourceMap.get(DB_NAME));
+        identityVerificationClaimDAO.addIdVClaimList(idVClaimList, TENANT_ID);
+
+        try (MockedStatic<IdentityUtil> identityUtilMockedStatic = mockStatic(IdentityUtil.class)) {
+            identityUtilMockedStatic.when(() -> IdentityUtil.getProperty(METADATA_BINARY_ENCODING_ENABLED))
+                    .thenReturn("true");
+            // Binary metadata cannot be scanned, hence without the projection only binary metadata is re-encoded.
+            Assert.assertEquals(identityVerificationClaimDAO.reEncodeIdVClaimMetadata(TENANT_ID), 0);
+
+            identityUtilMockedStatic.when(() -> IdentityUtil.getProperty(METADATA_INDEXED_LOOKUP_ENABLED))
+                    .thenReturn("true");
+            // Metadata with a nested value is kept as JSON.
+            Assert.assertEquals(identityVerificationClaimDAO.reEncodeIdVClaimMetadata(TENANT_ID), 1);
+            Assert.assertEquals(getIdVClaimMetadataCount(), 2);
+
+            IdVClaim[] retrievedIdVClaimList = identityVerificationClaimDAO.getIdVClaimsByMetadata("trackingId",
+                    "12sf5-bhd687-onhf7-8hjg-9hjg6", IDV_PROVIDER_ID, TENANT_ID);
+            Assert.assertEquals(retrievedIdVClaimList.length, 2);
+            Assert.assertEquals(retrievedIdVClaimList[0].getMetadata().get("trackingId"),
+                    "12sf5-bhd687-onhf7-8hjg-9hjg6");
+
+            // Binary metadata is still found after indexed lookup is disabled, and is re-encoded back as JSON.
+            identityUtilMockedStatic.when(() -> IdentityUtil.getProperty(METADATA_INDEXED_LOOKUP_ENABLED))
+                    .thenReturn(null);
+            Assert.assertEquals(identityVerificationClaimDAO.getIdVClaimsByMetadata("trackingId",
+                    "12sf5-bhd687-onhf7-8hjg-9hjg6", IDV_PROVIDER_ID, TENANT_ID).length, 2);
+            Assert.assertEquals(identityVerificationClaimDAO.getIdVClaimsByMetadata("trackingId",
+                    "12sf5-bhd687-onhf7-8hjg-9hjg6", IDV_PROVIDER_ID, TENANT_ID, 0, 1).length, 1);
+            Assert.assertEquals(identityVerificationClaimDAO.reEncodeIdVClaimMetadata(TENANT_ID), 1);
+            Assert.assertEquals(identityVerificationClaimDAO.reEncodeIdVClaimMetadata(TENANT_ID), 0);
+            retrievedIdVClaimList = identityVerificationClaimDAO.getIdVClaimsByMetadata("trackingId",
+                    "12sf5-bhd687-onhf7-8hjg-9hjg6", IDV_PROVIDER_ID, TENANT_ID);
+            Assert.assertEquals(retrievedIdVClaimList.length, 2);
+            Assert.assertEquals(retrievedIdVClaimList[0].getMetadata().get("trackingId"),
+                    "12sf5-bhd687-onhf7-8hjg-9hjg6");
+        }
+    }
+
+    @Test(priority = 4)
+    public void testGetIDVClaimsWithPagination() throws Exception {
+
+        List<IdVClaim> idVClaimList = getTestIdVClaims();
+        IdVClaim secondClaim = getIdVClaim();
+        secondClaim.setUuid("a6b4b7f2-0c3b-4a6e-9a61-5ad1cbf8b7c2");
+        secondClaim.setClaimUri("http://wso2.org/claims/givenname");
+        idVClaimList.add(secondClaim);
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                    .thenReturn(dataSourceMap.get(DB_NAME));
+            identityVerificationClaimDAO.addIdVClaimList(idVClaimList, TENANT_ID);
+        }
+
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                    .thenReturn(dataSourceMap.get(DB_NAME));
+            IdVClaim[] firstPage = identityVerificationClaimDAO.
+                    getIDVClaims(USER_ID, IDV_PROVIDER_ID, null, TENANT_ID, 0, 1);
+            Assert.assertEquals(firstPage.length, 1);
+            IdVClaim[] secondPage = identityVerificationClaimDAO.getIDVClaims(USER_ID, IDV_PROVIDER_ID, null,
+                    TENANT_ID, Integer.parseInt(firstPage[0].getId()), 1);
+            Assert.assertEquals(secondPage.length, 1);
+            Assert.assertNotEquals(secondPage[0].getUuid(), firstPage[0].getUuid());
+        }
+    }
+
+    @Test(priority = 4)
+    public void testScanIdVClaims() throws Exception {
+
+        List<IdVClaim> idVClaimList = getTestIdVClaims();
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                    .thenReturn(dataSourceMap.get(DB_NAME));
+            identityVerificationClaimDAO.addIdVClaimList(idVClaimList, TENANT_ID);
+        }
+
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                    .thenReturn(dataSourceMap.get(DB_NAME));
+            List<IdVClaim> scannedIdVClaims = new ArrayList<>();
+            identityVerificationClaimDAO.scanIdVClaims(TENANT_ID, scannedIdVClaims::add);
+            Assert.assertEquals(scannedIdVClaims.size(), idVClaimList.size());
+            Assert.assertEquals(scannedIdVClaims.get(0).getIdVPId(), IDV_PROVIDER_ID);
+        }
+    }
+
     @Test(priority = 5)
     public void testIsIdVClaimDataExist() throws Exception {
 
@@ -331,6 +747,95 @@ public class IdentityVerificationClaimDAOImplTest {
         }
     }
 
+    @Test(priority = 8)
+    public void testDeleteIdVClaimsByIdVProviderAndClaimUri() throws Exception {
+
+        IdVClaim secondClaim = getIdVClaim();
+        secondClaim.setUuid("a6b4b7f2-0c3b-4a6e-9a61-5ad1cbf8b7c2");
+        secondClaim.setClaimUri("http://wso2.org/claims/givenname");
+        List<IdVClaim> idVClaimList = getTestIdVClaims();
+        idVClaimList.add(secondClaim);
+        identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                .thenAnswer(invocation -> getConnection(DB_NAME));
+        identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                .thenReturn(dataSourceMap.get(DB_NAME));
+        identityVerificationClaimDAO.addIdVClaimList(idVClaimList, TENANT_ID);
+
+        identityVerificationClaimDAO.deleteIdVClaims(USER_ID, IDV_PROVIDER_ID, IDV_CLAIM_URI, TENANT_ID);
+        IdVClaim[] retrievedIdVClaimList = identityVerificationClaimDAO.
+                getIDVClaims(USER_ID, IDV_PROVIDER_ID, null, TENANT_ID);
+        Assert.assertEquals(retrievedIdVClaimList.length, 1);
+        Assert.assertEquals(retrievedIdVClaimList[0].getClaimUri(), secondClaim.getClaimUri());
+    }
+
+    @Test(priority = 8)
+    public void testDeleteIdVClaimsByClaimUris() throws Exception {
+
+        List<IdVClaim> idVClaimList = getTestIdVClaims();
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                    .thenReturn(dataSourceMap.get(DB_NAME));
+            identityVerificationClaimDAO.addIdVClaimList(idVClaimList, TENANT_ID);
+        }
+
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            Set<String> claimUris = new HashSet<>();
+            claimUris.add(IDV_CLAIM_URI);
+            claimUris.add("http://wso2.org/claims/mobile");
+            List<String> deletedIdVClaimIds = identityVerificationClaimDAO.
+                    deleteIdVClaims(USER_ID, claimUris, TENANT_ID);
+            Assert.assertEquals(deletedIdVClaimIds, Collections.singletonList(IDV_CLAIM_UUID));
+        }
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            IdVClaim[] retrievedIdVClaimList = identityVerificationClaimDAO.
+                    getIDVClaims(USER_ID, IDV_PROVIDER_ID, null, TENANT_ID);
+            Assert.assertEquals(retrievedIdVClaimList.length, 0);
+        }
+    }
+
+    @Test(priority = 8)
+    public void testApplyIdVClaimInvalidations() throws Exception {
+
+        identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                .thenAnswer(invocation -> getConnection(DB_NAME));
+        identityDatabaseUtilMockedStatic.when(IdentityDatabaseUtil::getDataSource)
+                .thenReturn(dataSourceMap.get(DB_NAME));
+        identityVerificationClaimDAO.addIdVClaimList(getTestIdVClaims(), TENANT_ID);
+        identityVerificationClaimDAO.addIdVClaimInvalidations(USER_ID, Collections.singleton(IDV_CLAIM_URI),
+                TENANT_ID);
+        Assert.assertEquals(identityVerificationClaimDAO.getIdVClaimInvalidationCount(), 1);
+        Assert.assertTrue(identityVerificationClaimDAO.getOldestIdVClaimInvalidationTime() > 0);
+        Assert.assertEquals(identityVerificationClaimDAO.getIdVClaimInvalidations(USER_ID, TENANT_ID).size(), 1);
+
+        // A leased deletion is not leased again until its lease expires.
+        List<IdVClaimInvalidation> invalidations = identityVerificationClaimDAO.leaseIdVClaimInvalidations(
+                System.currentTimeMillis() + 60000, 10);
+        Assert.assertEquals(invalidations.size(), 1);
+        Assert.assertEquals(invalidations.get(0).getClaimUri(), IDV_CLAIM_URI);
+        Assert.assertEquals(invalidations.get(0).getAttempts(), 1);
+        Assert.assertTrue(identityVerificationClaimDAO.leaseIdVClaimInvalidations(
+                System.currentTimeMillis() + 60000, 10).isEmpty());
+
+        List<String> deletedIdVClaimIds = identityVerificationClaimDAO.applyIdVClaimInvalidations(USER_ID,
+                invalidations, TENANT_ID);
+        Assert.assertEquals(deletedIdVClaimIds, Collections.singletonList(IDV_CLAIM_UUID));
+        Assert.assertEquals(identityVerificationClaimDAO.getIdVClaimInvalidationCount(), 0);
+        Assert.assertEquals(identityVerificationClaimDAO.getOldestIdVClaimInvalidationTime(), 0);
+
+        // An applied deletion does not delete a claim added afterwards.
+        identityVerificationClaimDAO.addIdVClaimList(getTestIdVClaims(), TENANT_ID);
+        Assert.assertTrue(identityVerificationClaimDAO.applyIdVClaimInvalidations(USER_ID, invalidations,
+                TENANT_ID).isEmpty());
+        Assert.assertEquals(identityVerificationClaimDAO.getIDVClaims(USER_ID, IDV_PROVIDER_ID, null,
+                TENANT_ID).length, 1);
+    }
+
     @Test
     public void testGetPriority() {
 
@@ -338,6 +843,16 @@ public class IdentityVerificationClaimDAOImplTest {
         Assert.assertEquals(priority, 1);
     }
 
+    private int getIdVClaimMetadataCount() throws SQLException {
+
+        try (Connection connection = getConnection(DB_NAME);
+             PreparedStatement countStmt = connection.prepareStatement("SELECT COUNT(*) FROM IDV_CLAIM_METADATA");
+             ResultSet countResultSet = countStmt.executeQuery()) {
+            countResultSet.next();
+            return countResultSet.getInt(1);
+        }
+    }
+
     private void mockCarbonContextForTenant(int tenantId, String tenantDomain) {
 
         PrivilegedCarbonContext privilegedCarbonContext = mock(PrivilegedCarbonContext.class);
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.extension.identity.verification.mgt.listeners;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.extension.identity.verification.mgt.dao.IdentityVerificationClaimDAO;
+import org.wso2.carbon.extension.identity.verification.mgt.exception.IdentityVerificationServerException;
+import org.wso2.carbon.extension.identity.verification.mgt.internal.IdentityVerificationDataHolder;
+import org.wso2.carbon.extension.identity.verification.mgt.model.IdVClaimInvalidation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.IDV_CLAIM_URI;
+import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.TENANT_ID;
+import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.USER_ID;
+
+public class IdVClaimInvalidationQueueTest {
+
+    private static final String USER_ID_2 = "a3e8bd2c-7f36-4b4a-8c4e-2f1a8d0b9c11";
+    private static final String CLAIM_URI_2 = "http://wso2.org/claims/givenname";
+
+    private IdentityVerificationClaimDAO identityVerificationClaimDAO;
+    private List<IdentityVerificationClaimDAO> idVClaimDAOs;
+    private MockedStatic<PrivilegedCarbonContext> privilegedCarbonContextMockedStatic;
+
+    @BeforeMethod
+    public void setUp() {
+
+        identityVerificationClaimDAO = mock(IdentityVerificationClaimDAO.class);
+        idVClaimDAOs = IdentityVerificationDataHolder.getInstance().getIdVClaimDAOs();
+        IdentityVerificationDataHolder.getInstance().setIdVClaimDAOs(
+                new ArrayList<>(Collections.singletonList(identityVerificationClaimDAO)));
+        privilegedCarbonContextMockedStatic = mockStatic(PrivilegedCarbonContext.class);
+        privilegedCarbonContextMockedStatic.when(PrivilegedCarbonContext::getThreadLocalCarbonContext)
+                .thenReturn(mock(PrivilegedCarbonContext.class));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        IdentityVerificationDataHolder.getInstance().setIdVClaimDAOs(idVClaimDAOs);
+        if (privilegedCarbonContextMockedStatic != null) {
+            privilegedCarbonContextMockedStatic.close();
+        }
+    }
+
+    @Test
+    public void testEnqueueWhenDisabled() throws Exception {
+
+        IdVClaimInvalidationQueue invalidationQueue = new IdVClaimInvalidationQueue(false, 10, 1000, 60000);
+        Assert.assertFalse(invalidationQueue.enqueue(USER_ID, Collections.singleton(IDV_CLAIM_URI), TENANT_ID));
+        verify(identityVerificationClaimDAO, never()).addIdVClaimInvalidations(anyString(), anySet(), anyInt());
+    }
+
+    @Test
+    public void testEnqueue() throws Exception {
+
+        IdVClaimInvalidationQueue invalidationQueue = new IdVClaimInvalidationQueue(true, 10, 1000, 60000);
+        Assert.assertTrue(invalidationQueue.enqueue(USER_ID, Collections.singleton(IDV_CLAIM_URI), TENANT_ID));
+        verify(identityVerificationClaimDAO, times(1)).addIdVClaimInvalidations(USER_ID,
+                Collections.singleton(IDV_CLAIM_URI), TENANT_ID);
+        Assert.assertEquals(invalidationQueue.getRejectedCount(), 0);
+    }
+
+    @Test
+    public void testEnqueueWhenStoringFails() throws Exception {
+
+        doThrow(new IdentityVerificationServerException("15028", "Error while storing IdV claim deletions."))
+                .when(identityVerificationClaimDAO).addIdVClaimInvalidations(anyString(), anySet(), anyInt());
+        IdVClaimInvalidationQueue invalidationQueue = new IdVClaimInvalidationQueue(true, 10, 1000, 60000);
+        Assert.assertFalse(invalidationQueue.enqueue(USER_ID, Collections.singleton(IDV_CLAIM_URI), TENANT_ID));
+        Assert.assertEquals(invalidationQueue.getRejectedCount(), 1);
+    }
+
+    @Test
+    public void testProcessPendingInvalidations() throws Exception {
+
+        IdVClaimInvalidation invalidation1 = getIdVClaimInvalidation(1, USER_ID, IDV_CLAIM_URI);
+        IdVClaimInvalidation invalidation2 = getIdVClaimInvalidation(2, USER_ID_2, null);
+        IdVClaimInvalidation invalidation3 = getIdVClaimInvalidation(3, USER_ID, CLAIM_URI_2);
+        when(identityVerificationClaimDAO.leaseIdVClaimInvalidations(anyLong(), eq(10)))
+                .thenReturn(Arrays.asList(invalidation1, invalidation2, invalidation3));
+        IdVClaimInvalidationQueue invalidationQueue = new IdVClaimInvalidationQueue(true, 10, 1000, 60000);
+
+        long startTime = System.currentTimeMillis();
+        invalidationQueue.processPendingInvalidations();
+
+        ArgumentCaptor<Long> leaseExpiryCaptor = ArgumentCaptor.forClass(Long.class);
+        verify(identityVerificationClaimDAO, times(1)).leaseIdVClaimInvalidations(leaseExpiryCaptor.capture(),
+                eq(10));
+        Assert.assertTrue(leaseExpiryCaptor.getValue() >= startTime + 60000);
+        verify(identityVerificationClaimDAO, times(1)).applyIdVClaimInvalidations(USER_ID,
+                Arrays.asList(invalidation1, invalidation3), TENANT_ID);
+        verify(identityVerificationClaimDAO, times(1)).applyIdVClaimInvalidations(USER_ID_2,
+                Collections.singletonList(invalidation2), TENANT_ID);
+        Assert.assertEquals(invalidationQueue.getProcessedCount(), 3);
+    }
+
+    @Test
+    public void testProcessFailedInvalidations() throws Exception {
+
+        IdVClaimInvalidation invalidation = getIdVClaimInvalidation(1, USER_ID, IDV_CLAIM_URI);
+        when(identityVerificationClaimDAO.leaseIdVClaimInvalidations(anyLong(), anyInt()))
+                .thenReturn(Collections.singletonList(invalidation));
+        doThrow(new IdentityVerificationServerException("15030", "Error while applying IdV claim deletions."))
+                .when(identityVerificationClaimDAO).applyIdVClaimInvalidations(anyString(), anyList(), anyInt());
+        IdVClaimInvalidationQueue invalidationQueue = new IdVClaimInvalidationQueue(true, 10, 1000, 60000);
+
+        invalidationQueue.processPendingInvalidations();
+
+        // The failed deletion stays stored and is retried once its lease expires.
+        Assert.assertEquals(invalidationQueue.getFailedCount(), 1);
+        Assert.assertEquals(invalidationQueue.getProcessedCount(), 0);
+    }
+
+    @Test
+    public void testFlushPendingInvalidations() throws Exception {
+
+        List<IdVClaimInvalidation> invalidations =
+                Collections.singletonList(getIdVClaimInvalidation(1, USER_ID, IDV_CLAIM_URI));
+        when(identityVerificationClaimDAO.getIdVClaimInvalidations(USER_ID, TENANT_ID)).thenReturn(invalidations);
+        when(identityVerificationClaimDAO.getIdVClaimInvalidations(USER_ID_2, TENANT_ID))
+                .thenReturn(Collections.emptyList());
+        IdVClaimInvalidationQueue invalidationQueue = new IdVClaimInvalidationQueue(true, 10, 1000, 60000);
+
+        Assert.assertTrue(invalidationQueue.flushPendingInvalidations(USER_ID, TENANT_ID));
+        Assert.assertFalse(invalidationQueue.flushPendingInvalidations(USER_ID_2, TENANT_ID));
+
+        verify(identityVerificationClaimDAO, times(1)).applyIdVClaimInvalidations(USER_ID, invalidations,
+                TENANT_ID);
+        verify(identityVerificationClaimDAO, never()).applyIdVClaimInvalidations(eq(USER_ID_2), anyList(),
+                anyInt());
+    }
+
+    @Test
+    public void testQueueDepthAndLag() throws Exception {
+
+        when(identityVerificationClaimDAO.getIdVClaimInvalidationCount()).thenReturn(2);
+        when(identityVerificationClaimDAO.getOldestIdVClaimInvalidationTime())
+                .thenReturn(System.currentTimeMillis() - 5000);
+        IdVClaimInvalidationQueue invalidationQueue = new IdVClaimInvalidationQueue(true, 10, 1000, 60000);
+
+        Assert.assertEquals(invalidationQueue.getQueueDepth(), 2);
+        Assert.assertTrue(invalidationQueue.getLag() >= 5000);
+
+        when(identityVerificationClaimDAO.getOldestIdVClaimInvalidationTime()).thenReturn(0L);
+        Assert.assertEquals(invalidationQueue.getLag(), 0);
+    }
+
+    private IdVClaimInvalidation getIdVClaimInvalidation(int id, String userId, String claimUri) {
+
+        IdVClaimInvalidation invalidation = new IdVClaimInvalidation();
+        invalidation.setId(id);
+        invalidation.setUserId(userId);
+        invalidation.setClaimUri(claimUri);
+        invalidation.setTenantId(TENANT_ID);
+        invalidation.setAttempts(1);
+        invalidation.setCreatedTime(System.currentTimeMillis());
+        return invalidation;
+    }
+}
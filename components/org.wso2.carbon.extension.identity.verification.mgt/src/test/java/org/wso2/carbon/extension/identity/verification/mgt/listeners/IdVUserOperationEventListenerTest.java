@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.extension.identity.verification.mgt.listeners;
+
+import org.mockito.MockedStatic;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.extension.identity.verification.mgt.IdentityVerificationManagerImpl;
+import org.wso2.carbon.extension.identity.verification.mgt.cache.IdVExistingUserCache;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.tenant.mgt.util.TenantMgtUtil;
+import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.IDV_CLAIM_URI;
+import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.TENANT_ID;
+import static org.wso2.carbon.extension.identity.verification.mgt.util.TestUtils.USER_ID;
+
+public class IdVUserOperationEventListenerTest {
+
+    private static final String USERNAME = "alex";
+    private static final String UNMAPPED_CLAIM_URI = "http://wso2.org/claims/givenname";
+
+    private IdVUserOperationEventListener idVUserOperationEventListener;
+    private IdentityVerificationManagerImpl identityVerificationManager;
+    private IdVClaimInvalidationQueue idVClaimInvalidationQueue;
+    private AbstractUserStoreManager userStoreManager;
+    private MockedStatic<IdentityVerificationManagerImpl> identityVerificationManagerMockedStatic;
+    private MockedStatic<IdVClaimInvalidationQueue> idVClaimInvalidationQueueMockedStatic;
+    private MockedStatic<IdVExistingUserCache> idVExistingUserCacheMockedStatic;
+    private MockedStatic<PrivilegedCarbonContext> privilegedCarbonContextMockedStatic;
+    private MockedStatic<IdentityUtil> identityUtilMockedStatic;
+    private MockedStatic<TenantMgtUtil> tenantMgtUtilMockedStatic;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        idVUserOperationEventListener = new IdVUserOperationEventListener();
+        userStoreManager = mock(AbstractUserStoreManager.class);
+        when(userStoreManager.getUserIDFromUserName(USERNAME)).thenReturn(USER_ID);
+
+        identityVerificationManager = mock(IdentityVerificationManagerImpl.class);
+        when(identityVerificationManager.getVerificationRelevantClaimUris(TENANT_ID))
+                .thenReturn(Collections.singleton(IDV_CLAIM_URI));
+        identityVerificationManagerMockedStatic = mockStatic(IdentityVerificationManagerImpl.class);
+        identityVerificationManagerMockedStatic.when(IdentityVerificationManagerImpl::getInstance)
+                .thenReturn(identityVerificationManager);
+
+        idVClaimInvalidationQueue = mock(IdVClaimInvalidationQueue.class);
+        idVClaimInvalidationQueueMockedStatic = mockStatic(IdVClaimInvalidationQueue.class);
+        idVClaimInvalidationQueueMockedStatic.when(IdVClaimInvalidationQueue::getInstance)
+                .thenReturn(idVClaimInvalidationQueue);
+
+        idVExistingUserCacheMockedStatic = mockStatic(IdVExistingUserCache.class);
+        idVExistingUserCacheMockedStatic.when(IdVExistingUserCache::getInstance)
+                .thenReturn(mock(IdVExistingUserCache.class));
+
+        PrivilegedCarbonContext privilegedCarbonContext = mock(PrivilegedCarbonContext.class);
+        when(privilegedCarbonContext.getTenantId()).thenReturn(TENANT_ID);
+        privilegedCarbonContextMockedStatic = mockStatic(PrivilegedCarbonContext.class);
+        privilegedCarbonContextMockedStatic.when(PrivilegedCarbonContext::getThreadLocalCarbonContext)
+                .thenReturn(privilegedCarbonContext);
+
+        // The listener is enabled when no event listener configuration is found.
+        identityUtilMockedStatic = mockStatic(IdentityUtil.class);
+        tenantMgtUtilMockedStatic = mockStatic(TenantMgtUtil.class);
+        tenantMgtUtilMockedStatic.when(TenantMgtUtil::isTenantCreation).thenReturn(false);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        identityVerificationManagerMockedStatic.close();
+        idVClaimInvalidationQueueMockedStatic.close();
+        idVExistingUserCacheMockedStatic.close();
+        privilegedCarbonContextMockedStatic.close();
+        identityUtilMockedStatic.close();
+        tenantMgtUtilMockedStatic.close();
+        IdentityUtil.threadLocalProperties.get().clear();
+    }
+
+    @Test
+    public void testSetUnmappedClaimValues() throws Exception {
+
+        Map<String, String> claims = new HashMap<>();
+        claims.put(UNMAPPED_CLAIM_URI, "Alex");
+
+        Assert.assertTrue(idVUserOperationEventListener.doPostSetUserClaimValues(USERNAME, claims, null,
+                userStoreManager));
+
+        verify(userStoreManager, never()).getUserIDFromUserName(anyString());
+        verify(idVClaimInvalidationQueue, never()).enqueue(anyString(), any(), anyInt());
+        verify(identityVerificationManager, never()).deleteIDVClaims(anyString(), anySet(), anyInt());
+    }
+
+    @Test
+    public void testSetMappedClaimValues() throws Exception {
+
+        Map<String, String> claims = new HashMap<>();
+        claims.put(IDV_CLAIM_URI, "1990-01-01");
+        claims.put(UNMAPPED_CLAIM_URI, "Alex");
+
+        Assert.assertTrue(idVUserOperationEventListener.doPostSetUserClaimValues(USERNAME, claims, null,
+                userStoreManager));
+
+        verify(userStoreManager, times(1)).getUserIDFromUserName(USERNAME);
+        verify(identityVerificationManager, times(1)).deleteIDVClaims(USER_ID, Collections.singleton(IDV_CLAIM_URI),
+                TENANT_ID);
+    }
+
+    @Test
+    public void testSetUnmappedClaimValue() throws Exception {
+
+        idVUserOperationEventListener.doPreSetUserClaimValue(USERNAME, UNMAPPED_CLAIM_URI, "Alex", null,
+                userStoreManager);
+        Assert.assertTrue(idVUserOperationEventListener.doPostSetUserClaimValue(USERNAME, userStoreManager));
+
+        verify(userStoreManager, never()).getUserIDFromUserName(anyString());
+        verify(identityVerificationManager, never()).deleteIDVClaims(anyString(), anySet(), anyInt());
+        Assert.assertTrue(IdentityUtil.threadLocalProperties.get().isEmpty());
+    }
+
+    @Test
+    public void testSetMappedClaimValue() throws Exception {
+
+        idVUserOperationEventListener.doPreSetUserClaimValue(USERNAME, IDV_CLAIM_URI, "1990-01-01", null,
+                userStoreManager);
+        Assert.assertTrue(idVUserOperationEventListener.doPostSetUserClaimValue(USERNAME, userStoreManager));
+
+        verify(identityVerificationManager, times(1)).deleteIDVClaims(USER_ID, Collections.singleton(IDV_CLAIM_URI),
+                TENANT_ID);
+        Assert.assertTrue(IdentityUtil.threadLocalProperties.get().isEmpty());
+    }
+
+    @Test
+    public void testDeleteMappedClaimValuesWithID() throws Exception {
+
+        String[] claims = {IDV_CLAIM_URI, UNMAPPED_CLAIM_URI};
+        idVUserOperationEventListener.doPreDeleteUserClaimValuesWithID(USER_ID, claims, null, userStoreManager);
+        Assert.assertTrue(idVUserOperationEventListener.doPostDeleteUserClaimValuesWithID(USER_ID,
+                userStoreManager));
+
+        verify(identityVerificationManager, times(1)).deleteIDVClaims(USER_ID, Collections.singleton(IDV_CLAIM_URI),
+                TENANT_ID);
+    }
+
+    @Test
+    public void testDeleteUnmappedClaimValue() throws Exception {
+
+        idVUserOperationEventListener.doPreDeleteUserClaimValue(USERNAME, UNMAPPED_CLAIM_URI, null,
+                userStoreManager);
+        Assert.assertTrue(idVUserOperationEventListener.doPostDeleteUserClaimValue(USERNAME, userStoreManager));
+
+        verify(userStoreManager, never()).getUserIDFromUserName(anyString());
+        verify(identityVerificationManager, never()).deleteIDVClaims(anyString(), anySet(), anyInt());
+    }
+
+    @Test
+    public void testSetMappedClaimValuesWithEnqueuedDeletion() throws Exception {
+
+        when(idVClaimInvalidationQueue.enqueue(USER_ID, Collections.singleton(IDV_CLAIM_URI), TENANT_ID))
+                .thenReturn(true);
+
+        Assert.assertTrue(idVUserOperationEventListener.doPostSetUserClaimValuesWithID(USER_ID,
+                Collections.singletonMap(IDV_CLAIM_URI, "1990-01-01"), null, userStoreManager));
+
+        verify(idVClaimInvalidationQueue, times(1)).enqueue(USER_ID, Collections.singleton(IDV_CLAIM_URI),
+                TENANT_ID);
+        verify(identityVerificationManager, never()).deleteIDVClaims(anyString(), anySet(), anyInt());
+    }
+
+    @Test
+    public void testSetMappedClaimValuesWhenEnqueueFails() throws Exception {
+
+        // The queue returns false when the deletion can not be stored, hence the claims are deleted synchronously.
+        when(idVClaimInvalidationQueue.enqueue(USER_ID, Collections.singleton(IDV_CLAIM_URI), TENANT_ID))
+                .thenReturn(false);
+
+        Assert.assertTrue(idVUserOperationEventListener.doPostSetUserClaimValuesWithID(USER_ID,
+                Collections.singletonMap(IDV_CLAIM_URI, "1990-01-01"), null, userStoreManager));
+
+        verify(idVClaimInvalidationQueue, times(1)).enqueue(USER_ID, Collections.singleton(IDV_CLAIM_URI),
+                TENANT_ID);
+        verify(identityVerificationManager, times(1)).deleteIDVClaims(USER_ID, Collections.singleton(IDV_CLAIM_URI),
+                TENANT_ID);
+    }
+
+    @Test
+    public void testDeleteUser() throws Exception {
+
+        Assert.assertTrue(idVUserOperationEventListener.doPostDeleteUserWithID(USER_ID, userStoreManager));
+
+        verify(idVClaimInvalidationQueue, times(1)).enqueue(USER_ID, null, TENANT_ID);
+        verify(identityVerificationManager, times(1)).deleteIDVClaims(USER_ID, null, null, TENANT_ID);
+    }
+}
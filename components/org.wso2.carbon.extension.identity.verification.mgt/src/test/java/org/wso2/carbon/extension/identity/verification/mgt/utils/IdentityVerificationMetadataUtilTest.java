@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.extension.identity.verification.mgt.utils;
+
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+public class IdentityVerificationMetadataUtilTest {
+
+    @Test
+    public void testBinaryMetadataRoundTrip() {
+
+        Map<String, Object> document = new HashMap<>();
+        document.put("type", "passport");
+        document.put("issuingCountry", "LKA");
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("source", "ONFIDO");
+        metadata.put("trackingId", "12sf5-bhd687-onhf7-8hjg-9hjg6");
+        metadata.put("attempts", 3);
+        metadata.put("createdAt", 1700000000000L);
+        metadata.put("score", 0.75);
+        metadata.put("verified", true);
+        metadata.put("document", document);
+
+        byte[] encodedMetadata = IdentityVerificationMetadataUtil.encodeBinaryMetadata(metadata);
+        Assert.assertTrue(IdentityVerificationMetadataUtil.isBinaryMetadata(encodedMetadata));
+
+        Map<String, Object> decodedMetadata = IdentityVerificationMetadataUtil.decodeMetadata(encodedMetadata);
+        Assert.assertEquals(decodedMetadata.get("source"), "ONFIDO");
+        Assert.assertEquals(decodedMetadata.get("trackingId"), "12sf5-bhd687-onhf7-8hjg-9hjg6");
+        Assert.assertEquals(decodedMetadata.get("attempts"), 3);
+        Assert.assertEquals(decodedMetadata.get("createdAt"), 1700000000000L);
+        Assert.assertEquals(decodedMetadata.get("score"), 0.75);
+        Assert.assertEquals(decodedMetadata.get("verified"), true);
+        Assert.assertEquals(((JSONObject) decodedMetadata.get("document")).get("type"), "passport");
+    }
+
+    @Test
+    public void testDecodeJsonMetadata() {
+
+        byte[] encodedMetadata = "{\"source\":\"ONFIDO\"}".getBytes(StandardCharsets.UTF_8);
+        Assert.assertFalse(IdentityVerificationMetadataUtil.isBinaryMetadata(encodedMetadata));
+        Assert.assertEquals(IdentityVerificationMetadataUtil.decodeMetadata(encodedMetadata).get("source"), "ONFIDO");
+
+        byte[] binaryMetadata = IdentityVerificationMetadataUtil.toBinaryMetadata(encodedMetadata);
+        Assert.assertTrue(IdentityVerificationMetadataUtil.isBinaryMetadata(binaryMetadata));
+        Assert.assertEquals(new String(IdentityVerificationMetadataUtil.toJsonMetadata(binaryMetadata),
+                StandardCharsets.UTF_8), "{\"source\":\"ONFIDO\"}");
+    }
+}
@@ -1291,6 +1291,40 @@ CREATE TABLE IDV_CLAIM (
   FOREIGN KEY (IDVP_ID) REFERENCES IDVP(UUID) ON DELETE CASCADE
 );
 
+CREATE TABLE IDV_CLAIM_METADATA (
+  ID INT NOT NULL AUTO_INCREMENT,
+  CLAIM_ID INT NOT NULL,
+  IDVP_ID CHAR(36) NOT NULL,
+  TENANT_ID INT NOT NULL,
+  METADATA_KEY VARCHAR(255) NOT NULL,
+  METADATA_VALUE VARCHAR(255) NOT NULL,
+  PRIMARY KEY (ID),
+  UNIQUE (CLAIM_ID, METADATA_KEY),
+  FOREIGN KEY (CLAIM_ID) REFERENCES IDV_CLAIM(ID) ON DELETE CASCADE
+);
+
+CREATE INDEX IDX_IDV_CLAIM_META_KEY_VALUE ON IDV_CLAIM_METADATA (IDVP_ID, TENANT_ID, METADATA_KEY, METADATA_VALUE);
+
+CREATE TABLE IDV_CLAIM_METADATA_STATUS (
+  TENANT_ID INT NOT NULL,
+  PRIMARY KEY (TENANT_ID)
+);
+
+CREATE TABLE IDV_CLAIM_INVALIDATION (
+  ID INT NOT NULL AUTO_INCREMENT,
+  USER_ID VARCHAR(255) NOT NULL,
+  TENANT_ID INT NOT NULL,
+  CLAIM_URI VARCHAR(255),
+  ATTEMPTS INT NOT NULL,
+  LEASE_EXPIRY BIGINT NOT NULL,
+  CREATED_TIME BIGINT NOT NULL,
+  PRIMARY KEY (ID)
+);
+
+CREATE INDEX IDX_IDV_CLAIM_INV_USER ON IDV_CLAIM_INVALIDATION (TENANT_ID, USER_ID);
+
+CREATE INDEX IDX_IDV_CLAIM_INV_LEASE ON IDV_CLAIM_INVALIDATION (LEASE_EXPIRY);
+
 INSERT INTO IDN_SECRET_TYPE (ID, NAME, DESCRIPTION) VALUES
 ('433df096-62b7-4a36-b3eb-1bed9150ed35', 'IDVP_SECRET_PROPERTIES', 'Secret type to uniquely identify secrets relevant to identity verification providers');
 
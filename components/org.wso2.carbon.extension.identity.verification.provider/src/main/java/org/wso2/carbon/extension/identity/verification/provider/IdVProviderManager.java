@@ -21,6 +21,7 @@ import org.wso2.carbon.extension.identity.verification.provider.exception.IdVPro
 import org.wso2.carbon.extension.identity.verification.provider.model.IdVProvider;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * This interface contains the methods to manage the IdentityVerificationProvider.
@@ -141,4 +142,13 @@ public interface IdVProviderManager {
      * @return boolean.
      */
     boolean isIdVProviderExistsByName(String idvProviderName, int tenantId) throws IdVProviderMgtException;
+
+    /**
+     * Get the claims on either side of the claim mappings of the IdentityVerificationProviders of a tenant.
+     *
+     * @param tenantId Tenant Id.
+     * @return Mapped claims.
+     * @throws IdVProviderMgtException IdVProviderMgtException.
+     */
+    Set<String> getMappedClaims(int tenantId) throws IdVProviderMgtException;
 }
@@ -38,6 +38,7 @@ import org.wso2.carbon.identity.core.util.IdentityUtil;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.ErrorMessage.ERROR_CODE_GET_DAO;
@@ -243,6 +244,12 @@ public class IdVProviderManagerImpl implements IdVProviderManager {
         return getIdVProviderDAO().isIdVProviderExistsByName(idvProviderName, tenantId);
     }
 
+    @Override
+    public Set<String> getMappedClaims(int tenantId) throws IdVProviderMgtException {
+
+        return getIdVProviderDAO().getMappedClaims(tenantId);
+    }
+
     @Override
     public IdVProvider getIdVProviderByName(String idVPName, int tenantId)
             throws IdVProviderMgtException {
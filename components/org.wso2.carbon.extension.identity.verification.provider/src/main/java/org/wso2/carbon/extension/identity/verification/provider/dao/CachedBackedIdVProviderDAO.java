@@ -24,11 +24,16 @@ import org.wso2.carbon.extension.identity.verification.provider.cache.IdVProvide
 import org.wso2.carbon.extension.identity.verification.provider.cache.IdVProviderByNameCache;
 import org.wso2.carbon.extension.identity.verification.provider.cache.IdVProviderByNameCacheKey;
 import org.wso2.carbon.extension.identity.verification.provider.cache.IdVProviderCacheEntry;
+import org.wso2.carbon.extension.identity.verification.provider.cache.IdVProviderMappedClaimsCache;
+import org.wso2.carbon.extension.identity.verification.provider.cache.IdVProviderMappedClaimsCacheEntry;
+import org.wso2.carbon.extension.identity.verification.provider.cache.IdVProviderMappedClaimsCacheKey;
 import org.wso2.carbon.extension.identity.verification.provider.exception.IdVProviderMgtException;
 import org.wso2.carbon.extension.identity.verification.provider.model.IdVProvider;
 import org.wso2.carbon.identity.core.model.ExpressionNode;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This is a wrapper data access object to the default data access object to provide caching functionalities.
@@ -39,12 +44,19 @@ public class CachedBackedIdVProviderDAO implements IdVProviderDAO {
     private final IdVProviderDAO idVProviderManagerDAO;
     private final IdVProviderByIdCache idVProviderByIdCache;
     private final IdVProviderByNameCache idVProviderByNameCache;
+    private final IdVProviderMappedClaimsCache idVProviderMappedClaimsCache;
+    /*
+     * Incremented when identity verification providers are added, updated or deleted, so that the mapped claims
+     * of a tenant read before the change are not cached.
+     */
+    private final AtomicLong mappedClaimsVersion = new AtomicLong();
 
     public CachedBackedIdVProviderDAO(IdVProviderDAO idVProviderManagerDAO) {
 
         this.idVProviderManagerDAO = idVProviderManagerDAO;
         this.idVProviderByIdCache = IdVProviderByIdCache.getInstance();
         this.idVProviderByNameCache = IdVProviderByNameCache.getInstance();
+        this.idVProviderMappedClaimsCache = IdVProviderMappedClaimsCache.getInstance();
     }
 
     @Override
@@ -104,7 +116,11 @@ public class CachedBackedIdVProviderDAO implements IdVProviderDAO {
     @Override
     public void addIdVProvider(IdVProvider idVProvider, int tenantId) throws IdVProviderMgtException {
 
-        idVProviderManagerDAO.addIdVProvider(idVProvider, tenantId);
+        try {
+            idVProviderManagerDAO.addIdVProvider(idVProvider, tenantId);
+        } finally {
+            deleteMappedClaimsFromCache(tenantId);
+        }
         addIdVPToCache(idVProvider, tenantId);
     }
 
@@ -113,8 +129,11 @@ public class CachedBackedIdVProviderDAO implements IdVProviderDAO {
             throws IdVProviderMgtException {
 
         deleteIdVPFromCache(newIdVProvider, tenantId);
-        idVProviderManagerDAO.updateIdVProvider(oldIdVProvider, newIdVProvider, tenantId);
-
+        try {
+            idVProviderManagerDAO.updateIdVProvider(oldIdVProvider, newIdVProvider, tenantId);
+        } finally {
+            deleteMappedClaimsFromCache(tenantId);
+        }
     }
 
     @Override
@@ -168,7 +187,45 @@ public class CachedBackedIdVProviderDAO implements IdVProviderDAO {
     public void deleteIdVProvider(String idVProviderId, int tenantId) throws IdVProviderMgtException {
 
         deleteIdVPFromCacheByIdVProviderId(idVProviderId, tenantId);
-        idVProviderManagerDAO.deleteIdVProvider(idVProviderId, tenantId);
+        try {
+            idVProviderManagerDAO.deleteIdVProvider(idVProviderId, tenantId);
+        } finally {
+            deleteMappedClaimsFromCache(tenantId);
+        }
+    }
+
+    @Override
+    public Set<String> getMappedClaims(int tenantId) throws IdVProviderMgtException {
+
+        IdVProviderMappedClaimsCacheKey idVProviderMappedClaimsCacheKey = new IdVProviderMappedClaimsCacheKey();
+        IdVProviderMappedClaimsCacheEntry idVProviderMappedClaimsCacheEntry =
+                idVProviderMappedClaimsCache.getValueFromCache(idVProviderMappedClaimsCacheKey, tenantId);
+        if (idVProviderMappedClaimsCacheEntry != null) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Cache hit for mapped claims of tenant: %d", tenantId));
+            }
+            return idVProviderMappedClaimsCacheEntry.getMappedClaims();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Cache miss for mapped claims of tenant: %d", tenantId));
+        }
+        long version = mappedClaimsVersion.get();
+        Set<String> mappedClaims = idVProviderManagerDAO.getMappedClaims(tenantId);
+        idVProviderMappedClaimsCache.addToCache(idVProviderMappedClaimsCacheKey,
+                new IdVProviderMappedClaimsCacheEntry(mappedClaims), tenantId);
+        if (mappedClaimsVersion.get() != version) {
+            idVProviderMappedClaimsCache.clearCacheEntry(idVProviderMappedClaimsCacheKey, tenantId);
+        }
+        return mappedClaims;
+    }
+
+    private void deleteMappedClaimsFromCache(int tenantId) {
+
+        mappedClaimsVersion.incrementAndGet();
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Mapped claims cache of tenant: %d is deleted.", tenantId));
+        }
+        idVProviderMappedClaimsCache.clearCacheEntry(new IdVProviderMappedClaimsCacheKey(), tenantId);
     }
 
     private IdVProvider getIdVPFromCacheById(String idVProviderId, int tenantId) {
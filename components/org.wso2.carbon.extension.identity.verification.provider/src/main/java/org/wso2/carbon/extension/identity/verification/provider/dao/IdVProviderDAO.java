@@ -22,6 +22,7 @@ import org.wso2.carbon.extension.identity.verification.provider.model.IdVProvide
 import org.wso2.carbon.identity.core.model.ExpressionNode;
 
 import java.util.List;
+import java.util.Set;
 
 public interface IdVProviderDAO {
 
@@ -141,4 +142,12 @@ public interface IdVProviderDAO {
      */
     void deleteIdVProvider(String idVProviderId, int tenantId) throws IdVProviderMgtException;
 
+    /**
+     * Get the claims on either side of the claim mappings of the Identity Verification Providers in a given tenant.
+     *
+     * @param tenantId Tenant ID.
+     * @return Mapped claims.
+     * @throws IdVProviderMgtException Identity Verification Provider Management Exception.
+     */
+    Set<String> getMappedClaims(int tenantId) throws IdVProviderMgtException;
 }
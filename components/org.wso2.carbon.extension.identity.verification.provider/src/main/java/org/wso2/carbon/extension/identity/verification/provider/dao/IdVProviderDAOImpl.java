@@ -40,8 +40,10 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.CLAIM;
 import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.CO;
@@ -62,6 +64,7 @@ import static org.wso2.carbon.extension.identity.verification.provider.util.IdVP
 import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.ErrorMessage.ERROR_RETRIEVING_IDV_PROVIDER_CLAIMS;
 import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.ErrorMessage.ERROR_RETRIEVING_IDV_PROVIDER_CONFIGS;
 import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.ErrorMessage.ERROR_RETRIEVING_IDV_PROVIDER_SECRETS;
+import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.ErrorMessage.ERROR_RETRIEVING_MAPPED_CLAIMS;
 import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.ErrorMessage.ERROR_STORING_IDV_PROVIDER_SECRETS;
 import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.ErrorMessage.ERROR_UPDATING_IDV_PROVIDER;
 import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.ID;
@@ -83,14 +86,11 @@ import static org.wso2.carbon.extension.identity.verification.provider.util.IdVP
 import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.SQLQueries.DELETE_IDVP_CLAIM_SQL;
 import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.SQLQueries.DELETE_IDVP_CONFIG_SQL;
 import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.SQLQueries.DELETE_IDV_SQL;
-import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.SQLQueries.GET_COUNT_OF_IDVPS_SQL_WITH_FILTER;
-import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.SQLQueries.GET_IDVPS_SQL_BY_MSSQL_WITH_FILTER;
-import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.SQLQueries.GET_IDVPS_SQL_BY_MYSQL_WITH_FILTER;
-import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.SQLQueries.GET_IDVPS_SQL_BY_POSTGRESQL_WITH_FILTER;
 import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.SQLQueries.GET_IDVP_BY_NAME_SQL;
 import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.SQLQueries.GET_IDVP_CLAIMS_SQL;
 import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.SQLQueries.GET_IDVP_CONFIG_SQL;
 import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.SQLQueries.GET_IDVP_SQL;
+import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.SQLQueries.GET_MAPPED_CLAIMS_SQL;
 import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.SQLQueries.IS_IDVP_EXIST_BY_NAME_SQL;
 import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.SQLQueries.IS_IDVP_EXIST_SQL;
 import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.SQLQueries.UPDATE_IDVP_SQL;
@@ -233,7 +233,7 @@ public class IdVProviderDAOImpl implements IdVProviderDAO {
         try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
              PreparedStatement getIdVProvidersStmt = generateGetIdvProvidersPrepStmt(connection, filterQueryBuilder)) {
             bindGetIdvProvidersPrepStmt(getIdVProvidersStmt, tenantId, offset, limit, filterQueryBuilder,
-                    connection.getMetaData().getDatabaseProductName());
+                    IdVProviderSQLDialect.getDialect(connection).isLimitBeforeOffset());
 
             try (ResultSet idVProviderResultSet = getIdVProvidersStmt.executeQuery()) {
                 while (idVProviderResultSet.next()) {
@@ -276,11 +276,10 @@ public class IdVProviderDAOImpl implements IdVProviderDAO {
         FilterQueryBuilder filterQueryBuilder = new FilterQueryBuilder();
         appendFilterQuery(expressionNode, filterQueryBuilder);
         Map<Integer, String> filterAttributeValue = filterQueryBuilder.getFilterAttributeValue();
-        String getIdVProvidersCountSqlQuery =
-                String.format(GET_COUNT_OF_IDVPS_SQL_WITH_FILTER, filterQueryBuilder.getFilterQuery());
 
         try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
-             PreparedStatement getIdVProvidersStmt = connection.prepareStatement(getIdVProvidersCountSqlQuery)) {
+             PreparedStatement getIdVProvidersStmt = connection.prepareStatement(IdVProviderSQLDialect
+                     .getDialect(connection).getCountOfIdVProvidersQuery(filterQueryBuilder.getFilterQuery()))) {
 
             for (Map.Entry<Integer, String> prepareStatement : filterAttributeValue.entrySet()) {
                 getIdVProvidersStmt.setString(prepareStatement.getKey(), prepareStatement.getValue());
@@ -510,6 +509,26 @@ public class IdVProviderDAOImpl implements IdVProviderDAO {
         }
     }
 
+    @Override
+    public Set<String> getMappedClaims(int tenantId) throws IdVProviderMgtException {
+
+        Set<String> mappedClaims = new HashSet<>();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+             PreparedStatement getMappedClaimsStmt = connection.prepareStatement(GET_MAPPED_CLAIMS_SQL)) {
+            getMappedClaimsStmt.setInt(1, tenantId);
+            try (ResultSet mappedClaimsResultSet = getMappedClaimsStmt.executeQuery()) {
+                while (mappedClaimsResultSet.next()) {
+                    mappedClaims.add(mappedClaimsResultSet.getString(CLAIM));
+                    mappedClaims.add(mappedClaimsResultSet.getString(LOCAL_CLAIM));
+                }
+            }
+        } catch (SQLException e) {
+            throw IdVProviderMgtExceptionManagement.handleServerException(ERROR_RETRIEVING_MAPPED_CLAIMS,
+                    String.valueOf(tenantId), e);
+        }
+        return mappedClaims;
+    }
+
     private void getIdVProvidersWithClaims(IdVProvider idVProvider, int tenantId, Connection connection)
             throws IdvProviderMgtServerException {
 
@@ -530,29 +549,6 @@ public class IdVProviderDAOImpl implements IdVProviderDAO {
         }
     }
 
-    /**
-     * Get the SQL query for retrieving identity verification providers based on the database type.
-     *
-     * @param databaseProductName Name of the database product.
-     * @return SQL query string.
-     * @throws IdvProviderMgtServerException If an error occurs while retrieving the SQL query.
-     */
-    private String getIdvProvidersSqlQuery(String databaseProductName) throws IdvProviderMgtServerException {
-
-        String sqlQuery;
-        if (databaseProductName.contains("H2") || databaseProductName.contains("MySQL") ||
-                databaseProductName.contains("MariaDB") || databaseProductName.contains("DB2")) {
-            sqlQuery = GET_IDVPS_SQL_BY_MYSQL_WITH_FILTER;
-        } else if (databaseProductName.contains("Oracle") || databaseProductName.contains("Microsoft")) {
-            sqlQuery = GET_IDVPS_SQL_BY_MSSQL_WITH_FILTER;
-        } else if (databaseProductName.contains("PostgreSQL")) {
-            sqlQuery = GET_IDVPS_SQL_BY_POSTGRESQL_WITH_FILTER;
-        } else {
-            throw IdVProviderMgtExceptionManagement.handleServerException(ERROR_RETRIEVING_IDV_PROVIDERS);
-        }
-        return sqlQuery;
-    }
-
     /**
      * Generate a prepared statement for retrieving identity verification providers.
      *
@@ -565,10 +561,11 @@ public class IdVProviderDAOImpl implements IdVProviderDAO {
     private PreparedStatement generateGetIdvProvidersPrepStmt(Connection connection, FilterQueryBuilder filterQueryBuilder)
             throws SQLException, IdvProviderMgtServerException {
 
-        String databaseProductName = connection.getMetaData().getDatabaseProductName();
-        String sqlQuery = getIdvProvidersSqlQuery(databaseProductName);
-        sqlQuery = String.format(sqlQuery, filterQueryBuilder.getFilterQuery());
-
+        String sqlQuery = IdVProviderSQLDialect.getDialect(connection)
+                .getIdVProvidersQuery(filterQueryBuilder.getFilterQuery());
+        if (sqlQuery == null) {
+            throw IdVProviderMgtExceptionManagement.handleServerException(ERROR_RETRIEVING_IDV_PROVIDERS);
+        }
         return connection.prepareStatement(sqlQuery);
     }
 
@@ -580,10 +577,11 @@ public class IdVProviderDAOImpl implements IdVProviderDAO {
      * @param offset              Offset for pagination.
      * @param limit               Limit for pagination.
      * @param filterQueryBuilder  Filter query builder containing filter conditions.
-     * @param databaseProductName Name of the database product.
+     * @param limitBeforeOffset   Whether the limit is bound before the offset.
      * @throws SQLException If an SQL error occurs.
      */
-    private void bindGetIdvProvidersPrepStmt(PreparedStatement prepStmt, int tenantId, int offset, int limit, FilterQueryBuilder filterQueryBuilder, String databaseProductName)
+    private void bindGetIdvProvidersPrepStmt(PreparedStatement prepStmt, int tenantId, int offset, int limit,
+                                             FilterQueryBuilder filterQueryBuilder, boolean limitBeforeOffset)
             throws SQLException {
 
         Map<Integer, String> filterAttributeValue = filterQueryBuilder.getFilterAttributeValue();
@@ -595,7 +593,7 @@ public class IdVProviderDAOImpl implements IdVProviderDAO {
 
         prepStmt.setInt(filterAttributeValueSize + 1, tenantId);
 
-        if (databaseProductName.contains("PostgreSQL")) {
+        if (limitBeforeOffset) {
             prepStmt.setInt(filterAttributeValueSize + 2, limit);
             prepStmt.setInt(filterAttributeValueSize + 3, offset);
         } else {
@@ -646,17 +644,18 @@ public class IdVProviderDAOImpl implements IdVProviderDAO {
                                     handleClientException(ERROR_RETRIEVING_FILTERED_IDV_PROVIDERS, message);
                     }
 
+                    String filterCondition = IdVProviderSQLDialect.getFilterCondition(attributeName, operation);
                     if (EQ.equals(operation)) {
-                        filter.append(attributeName).append(" = ? AND ");
+                        filter.append(filterCondition);
                         filterQueryBuilder.setFilterAttributeValue(value);
                     } else if (SW.equals(operation)) {
-                        filter.append(attributeName).append(" like ? AND ");
+                        filter.append(filterCondition);
                         filterQueryBuilder.setFilterAttributeValue(value + "%");
                     } else if (EW.equals(operation)) {
-                        filter.append(attributeName).append(" like ? AND ");
+                        filter.append(filterCondition);
                         filterQueryBuilder.setFilterAttributeValue("%" + value);
                     } else if (CO.equals(operation)) {
-                        filter.append(attributeName).append(" like ? AND ");
+                        filter.append(filterCondition);
                         filterQueryBuilder.setFilterAttributeValue("%" + value + "%");
                     } else {
                         String message = "Invalid filter value. filter: " + operation;
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.extension.identity.verification.provider.dao;
+
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.CO;
+import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.DESCRIPTION;
+import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.EMPTY_STRING;
+import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.EQ;
+import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.EW;
+import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.IDVP_TYPE;
+import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.IDVP_UUID;
+import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.IS_ENABLED;
+import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.NAME;
+import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.SQLQueries.GET_COUNT_OF_IDVPS_SQL_WITH_FILTER;
+import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.SQLQueries.GET_IDVPS_SQL_BY_MSSQL_WITH_FILTER;
+import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.SQLQueries.GET_IDVPS_SQL_BY_MYSQL_WITH_FILTER;
+import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.SQLQueries.GET_IDVPS_SQL_BY_POSTGRESQL_WITH_FILTER;
+import static org.wso2.carbon.extension.identity.verification.provider.util.IdVProviderMgtConstants.SW;
+
+/**
+ * SQL dialect of the identity database for {@link IdVProviderDAOImpl}. The database is detected once per datasource
+ * and the statements to list identity verification providers are built when the dialect is created. Statements with
+ * filters are built on first use and reused afterwards.
+ */
+final class IdVProviderSQLDialect {
+
+    private static final Map<DataSource, IdVProviderSQLDialect> DIALECTS = new ConcurrentHashMap<>();
+    private static final Map<String, String> FILTER_CONDITIONS;
+    // Upper bound of the number of distinct filtered statements kept, as filters are given by the clients.
+    private static final int MAX_CACHED_FILTER_QUERIES = 100;
+
+    static {
+        Map<String, String> filterConditions = new HashMap<>();
+        for (String column : new String[]{NAME, DESCRIPTION, IDVP_TYPE, IS_ENABLED, IDVP_UUID}) {
+            filterConditions.put(column + EQ, column + " = ? AND ");
+            filterConditions.put(column + SW, column + " like ? AND ");
+            filterConditions.put(column + EW, column + " like ? AND ");
+            filterConditions.put(column + CO, column + " like ? AND ");
+        }
+        FILTER_CONDITIONS = Collections.unmodifiableMap(filterConditions);
+    }
+
+    private final String getIdVProvidersQueryTemplate;
+    private final boolean limitBeforeOffset;
+    private final Map<String, String> getIdVProvidersQueries = new ConcurrentHashMap<>();
+    private final Map<String, String> getCountOfIdVProvidersQueries = new ConcurrentHashMap<>();
+
+    private IdVProviderSQLDialect(Connection connection) throws SQLException {
+
+        String databaseProductName = connection.getMetaData().getDatabaseProductName();
+        if (databaseProductName.contains("H2") || databaseProductName.contains("MySQL") ||
+                databaseProductName.contains("MariaDB") || databaseProductName.contains("DB2")) {
+            getIdVProvidersQueryTemplate = GET_IDVPS_SQL_BY_MYSQL_WITH_FILTER;
+        } else if (databaseProductName.contains("Oracle") || databaseProductName.contains("Microsoft")) {
+            getIdVProvidersQueryTemplate = GET_IDVPS_SQL_BY_MSSQL_WITH_FILTER;
+        } else if (databaseProductName.contains("PostgreSQL")) {
+            getIdVProvidersQueryTemplate = GET_IDVPS_SQL_BY_POSTGRESQL_WITH_FILTER;
+        } else {
+            getIdVProvidersQueryTemplate = null;
+        }
+        limitBeforeOffset = databaseProductName.contains("PostgreSQL");
+        if (getIdVProvidersQueryTemplate != null) {
+            getIdVProvidersQueries.put(EMPTY_STRING, String.format(getIdVProvidersQueryTemplate, EMPTY_STRING));
+        }
+        getCountOfIdVProvidersQueries.put(EMPTY_STRING, String.format(GET_COUNT_OF_IDVPS_SQL_WITH_FILTER,
+                EMPTY_STRING));
+    }
+
+    /**
+     * Get the dialect of the identity database. The dialect is created once per datasource, even if it is requested
+     * concurrently.
+     *
+     * @param connection Database connection.
+     * @return SQL dialect.
+     * @throws SQLException If an error occurs while reading the database metadata.
+     */
+    static IdVProviderSQLDialect getDialect(Connection connection) throws SQLException {
+
+        DataSource dataSource = IdentityDatabaseUtil.getDataSource();
+        if (dataSource == null) {
+            return new IdVProviderSQLDialect(connection);
+        }
+        try {
+            return DIALECTS.computeIfAbsent(dataSource, key -> {
+                try {
+                    return new IdVProviderSQLDialect(connection);
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (IllegalStateException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Get the filter condition for the given column and filter operation.
+     *
+     * @param column    Column name.
+     * @param operation Filter operation.
+     * @return Filter condition, or null if the operation is not supported.
+     */
+    static String getFilterCondition(String column, String operation) {
+
+        return FILTER_CONDITIONS.get(column + operation);
+    }
+
+    /**
+     * Get the statement to retrieve a page of identity verification providers.
+     *
+     * @param filter Filter conditions.
+     * @return Statement, or null if listing identity verification providers is not supported for the database.
+     */
+    String getIdVProvidersQuery(String filter) {
+
+        if (getIdVProvidersQueryTemplate == null) {
+            return null;
+        }
+        return getQuery(getIdVProvidersQueries, getIdVProvidersQueryTemplate, filter);
+    }
+
+    /**
+     * Get the statement to count the identity verification providers.
+     *
+     * @param filter Filter conditions.
+     * @return Statement.
+     */
+    String getCountOfIdVProvidersQuery(String filter) {
+
+        return getQuery(getCountOfIdVProvidersQueries, GET_COUNT_OF_IDVPS_SQL_WITH_FILTER, filter);
+    }
+
+    /**
+     * Check whether the limit is bound before the offset in the statement to retrieve a page of identity
+     * verification providers.
+     *
+     * @return True if the limit is bound before the offset.
+     */
+    boolean isLimitBeforeOffset() {
+
+        return limitBeforeOffset;
+    }
+
+    private static String getQuery(Map<String, String> queries, String queryTemplate, String filter) {
+
+        String query = queries.get(filter);
+        if (query == null) {
+            query = String.format(queryTemplate, filter);
+            if (queries.size() < MAX_CACHED_FILTER_QUERIES) {
+                queries.put(filter, query);
+            }
+        }
+        return query;
+    }
+}
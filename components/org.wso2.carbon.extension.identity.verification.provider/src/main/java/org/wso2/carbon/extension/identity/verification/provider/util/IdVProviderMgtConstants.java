@@ -68,6 +68,8 @@ public class IdVProviderMgtConstants {
                 "IDVP_CONFIG WHERE IDVP_ID=? AND TENANT_ID=?";
         public static final String GET_IDVP_CLAIMS_SQL = "SELECT CLAIM, LOCAL_CLAIM FROM " +
                 "IDVP_CLAIM_MAPPING WHERE IDVP_ID=? AND TENANT_ID=?";
+        public static final String GET_MAPPED_CLAIMS_SQL = "SELECT CLAIM, LOCAL_CLAIM FROM " +
+                "IDVP_CLAIM_MAPPING WHERE TENANT_ID=?";
         public static final String GET_IDVPS_SQL_BY_MSSQL = "SELECT ID, UUID, NAME, IDVP_TYPE, DESCRIPTION, " +
                 "IS_ENABLED FROM IDVP WHERE TENANT_ID=? ORDER BY UUID OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
         public static final String GET_IDVPS_SQL_BY_MYSQL = "SELECT ID, UUID, NAME, IDVP_TYPE, DESCRIPTION, " +
@@ -139,7 +141,10 @@ public class IdVProviderMgtConstants {
         ERROR_DELETING_IDV_PROVIDER_CLAIMS("65012",
                 "An error occurred while deleting claims of Identity Verification Provider: %s."),
         ERROR_UPDATING_IDV_PROVIDER("65013", "Error while updating Identity Verification Provider."),
-        ERROR_CODE_GET_DAO("65014", "No IdV Provider DAOs are registered.");
+        ERROR_CODE_GET_DAO("65014", "No IdV Provider DAOs are registered."),
+        ERROR_RETRIEVING_MAPPED_CLAIMS("65015",
+                "An error occurred while retrieving the claims mapped by Identity Verification Providers " +
+                        "in tenant: %s.");
 
         private final String code;
         private final String message;
@@ -18,6 +18,7 @@
 
 package org.wso2.carbon.extension.identity.verification.provider.dao;
 
+import org.mockito.InOrder;
 import org.mockito.MockedConstruction;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -36,6 +37,9 @@ import org.wso2.carbon.extension.identity.verification.provider.cache.IdVProvide
 import org.wso2.carbon.extension.identity.verification.provider.cache.IdVProviderByNameCache;
 import org.wso2.carbon.extension.identity.verification.provider.cache.IdVProviderByNameCacheKey;
 import org.wso2.carbon.extension.identity.verification.provider.cache.IdVProviderCacheEntry;
+import org.wso2.carbon.extension.identity.verification.provider.cache.IdVProviderMappedClaimsCache;
+import org.wso2.carbon.extension.identity.verification.provider.cache.IdVProviderMappedClaimsCacheEntry;
+import org.wso2.carbon.extension.identity.verification.provider.cache.IdVProviderMappedClaimsCacheKey;
 import org.wso2.carbon.extension.identity.verification.provider.exception.IdVProviderMgtException;
 import org.wso2.carbon.extension.identity.verification.provider.internal.IdVProviderDataHolder;
 import org.wso2.carbon.extension.identity.verification.provider.model.IdVProvider;
@@ -57,8 +61,10 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.mockStatic;
@@ -95,6 +101,7 @@ public class CachedBackedIdVProviderDAOTest {
     private MockedStatic<IdentityDatabaseUtil> identityDatabaseUtilMockedStatic;
     private MockedStatic<IdVProviderByIdCache> idVProviderByIdCacheMockedStatic;
     private MockedStatic<IdVProviderByNameCache> idVProviderByNameCacheMockedStatic;
+    private MockedStatic<IdVProviderMappedClaimsCache> idVProviderMappedClaimsCacheMockedStatic;
     private MockedConstruction<IdVPSecretProcessor> idVPSecretProcessorMockedConstruction;
     private MockedConstruction<SecretManagerImpl> secretManagerMockedConstruction;
     private MockedConstruction<SecretResolveManagerImpl> secretResolveManagerMockedConstruction;
@@ -125,6 +132,10 @@ public class CachedBackedIdVProviderDAOTest {
         idVProviderByNameCache = mock(IdVProviderByNameCache.class);
         idVProviderByNameCacheMockedStatic.when(IdVProviderByNameCache::getInstance).thenReturn(idVProviderByNameCache);
 
+        idVProviderMappedClaimsCacheMockedStatic = mockStatic(IdVProviderMappedClaimsCache.class);
+        idVProviderMappedClaimsCacheMockedStatic.when(IdVProviderMappedClaimsCache::getInstance)
+                .thenReturn(mock(IdVProviderMappedClaimsCache.class));
+
         idVProviderByIdCacheKey = mock(IdVProviderByIdCacheKey.class);
         idVProviderCacheEntry = mock(IdVProviderCacheEntry.class);
         idVProviderByNameCacheKey = mock(IdVProviderByNameCacheKey.class);
@@ -179,6 +190,9 @@ public class CachedBackedIdVProviderDAOTest {
         if (idVProviderByNameCacheMockedStatic != null) {
             idVProviderByNameCacheMockedStatic.close();
         }
+        if (idVProviderMappedClaimsCacheMockedStatic != null) {
+            idVProviderMappedClaimsCacheMockedStatic.close();
+        }
         if (idVPSecretProcessorMockedConstruction != null) {
             idVPSecretProcessorMockedConstruction.close();
         }
@@ -460,6 +474,29 @@ public class CachedBackedIdVProviderDAOTest {
         }
     }
 
+    @Test
+    public void testGetMappedClaimsWithConcurrentIdVProviderDelete() throws Exception {
+
+        IdVProviderMappedClaimsCache idVProviderMappedClaimsCache = IdVProviderMappedClaimsCache.getInstance();
+        IdVProviderDAO idVProviderDAO = mock(IdVProviderDAO.class);
+        CachedBackedIdVProviderDAO cachedBackedDAO = new CachedBackedIdVProviderDAO(idVProviderDAO);
+        when(idVProviderDAO.getMappedClaims(TENANT_ID)).thenAnswer(invocation -> {
+            // A provider is deleted while the mapped claims are being read.
+            cachedBackedDAO.deleteIdVProvider(IDV_PROVIDER_1_UUID, TENANT_ID);
+            return Collections.singleton("http://wso2.org/claims/dob");
+        });
+
+        cachedBackedDAO.getMappedClaims(TENANT_ID);
+
+        InOrder inOrder = inOrder(idVProviderMappedClaimsCache);
+        inOrder.verify(idVProviderMappedClaimsCache).clearCacheEntry(any(IdVProviderMappedClaimsCacheKey.class),
+                eq(TENANT_ID));
+        inOrder.verify(idVProviderMappedClaimsCache).addToCache(any(IdVProviderMappedClaimsCacheKey.class),
+                any(IdVProviderMappedClaimsCacheEntry.class), eq(TENANT_ID));
+        inOrder.verify(idVProviderMappedClaimsCache).clearCacheEntry(any(IdVProviderMappedClaimsCacheKey.class),
+                eq(TENANT_ID));
+    }
+
     @Test
     public void testGetPriority() {
 
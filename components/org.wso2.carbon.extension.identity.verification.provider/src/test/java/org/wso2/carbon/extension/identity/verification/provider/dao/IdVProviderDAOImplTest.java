@@ -42,6 +42,7 @@ import org.wso2.carbon.identity.secret.mgt.core.model.SecretType;
 import java.sql.Connection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
@@ -353,6 +354,19 @@ public class IdVProviderDAOImplTest {
         }
     }
 
+    @Test(priority = 10)
+    public void testGetMappedClaims() throws Exception {
+
+        try (Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtilMockedStatic.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                    .thenReturn(connection);
+            Set<String> mappedClaims = idVProviderDAO.getMappedClaims(TENANT_ID);
+            Assert.assertTrue(mappedClaims.contains("http://wso2.org/claims/givenname"));
+            Assert.assertTrue(mappedClaims.contains("http://wso2.org/claims/lastname"));
+            Assert.assertFalse(mappedClaims.contains("http://wso2.org/claims/lastLoginTime"));
+        }
+    }
+
     @Test(priority = 11)
     public void testUpdateIdVProviderExists() throws Exception {
 
@@ -0,0 +1,42 @@
+-- Tables of the IdV claim metadata projection, which are required when
+-- IdentityVerification.ClaimMetadata.EnableIndexedLookup is enabled. On existing deployments run this script against
+-- the identity database before enabling it on every node, and then backfill the projection of each tenant through
+-- IdentityVerificationManager#backfillIdVClaimMetadata.
+
+CREATE TABLE IF NOT EXISTS IDV_CLAIM_METADATA (
+  ID INTEGER NOT NULL AUTO_INCREMENT,
+  CLAIM_ID INTEGER NOT NULL,
+  IDVP_ID VARCHAR(255) NOT NULL,
+  TENANT_ID INTEGER NOT NULL,
+  METADATA_KEY VARCHAR(255) NOT NULL,
+  METADATA_VALUE VARCHAR(255) NOT NULL,
+  PRIMARY KEY (ID),
+  UNIQUE (CLAIM_ID, METADATA_KEY),
+  FOREIGN KEY (CLAIM_ID) REFERENCES IDV_CLAIM(ID) ON DELETE CASCADE
+) ENGINE INNODB;
+
+CREATE TABLE IF NOT EXISTS IDV_CLAIM_METADATA_STATUS (
+  TENANT_ID INTEGER NOT NULL,
+  PRIMARY KEY (TENANT_ID)
+) ENGINE INNODB;
+
+CREATE INDEX IDX_IDV_CLAIM_META_KEY_VALUE ON IDV_CLAIM_METADATA (IDVP_ID, TENANT_ID, METADATA_KEY, METADATA_VALUE);
+
+-- Outbox of the IdV claim deletions triggered by user operations, which is required when
+-- IdentityVerification.ClaimInvalidation.EnableAsync is enabled. Run this script against the identity database before
+-- enabling it on every node.
+
+CREATE TABLE IF NOT EXISTS IDV_CLAIM_INVALIDATION (
+  ID INTEGER NOT NULL AUTO_INCREMENT,
+  USER_ID VARCHAR(255) NOT NULL,
+  TENANT_ID INTEGER NOT NULL,
+  CLAIM_URI VARCHAR(255),
+  ATTEMPTS INTEGER NOT NULL,
+  LEASE_EXPIRY BIGINT NOT NULL,
+  CREATED_TIME BIGINT NOT NULL,
+  PRIMARY KEY (ID)
+) ENGINE INNODB;
+
+CREATE INDEX IDX_IDV_CLAIM_INV_USER ON IDV_CLAIM_INVALIDATION (TENANT_ID, USER_ID);
+
+CREATE INDEX IDX_IDV_CLAIM_INV_LEASE ON IDV_CLAIM_INVALIDATION (LEASE_EXPIRY);
@@ -0,0 +1,20 @@
+-- Migrates the METADATA column of the IDV_CLAIM table to JSON, which is required when
+-- IdentityVerification.ClaimMetadata.EnableNativeJsonStorage is enabled. Run this script against the identity
+-- database while the identity verification claims are not being written, and then enable the configuration on every
+-- node. The conversion fails on metadata written while IdentityVerification.ClaimMetadata.EnableBinaryEncoding was
+-- enabled, as it is not JSON. Disable the configuration and re-encode such metadata as JSON through
+-- IdentityVerificationManager#reEncodeIdVClaimMetadata for each tenant before running it. Requires MySQL 8.0 or later.
+
+ALTER TABLE IDV_CLAIM ADD COLUMN METADATA_JSON JSON;
+
+UPDATE IDV_CLAIM SET METADATA_JSON = CAST(CONVERT(METADATA USING utf8mb4) AS JSON) WHERE LENGTH(METADATA) > 0;
+
+ALTER TABLE IDV_CLAIM DROP COLUMN METADATA, RENAME COLUMN METADATA_JSON TO METADATA;
+
+-- MySQL can not index a JSON column directly. Index each metadata key looked up through
+-- IdentityVerificationManager#getIdVClaimsByMetadata with a generated column on the same path, replacing <key> with
+-- the metadata key, e.g. reference:
+--
+-- ALTER TABLE IDV_CLAIM
+--   ADD COLUMN METADATA_<KEY> VARCHAR(255) GENERATED ALWAYS AS (JSON_UNQUOTE(JSON_EXTRACT(METADATA, '$.<key>'))) STORED,
+--   ADD INDEX IDX_IDV_CLAIM_METADATA_<KEY> (IDVP_ID, TENANT_ID, METADATA_<KEY>);
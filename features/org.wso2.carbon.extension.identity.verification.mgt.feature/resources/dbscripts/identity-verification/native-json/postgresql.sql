@@ -0,0 +1,11 @@
+-- Migrates the METADATA column of the IDV_CLAIM table to JSONB, which is required when
+-- IdentityVerification.ClaimMetadata.EnableNativeJsonStorage is enabled. Run this script against the identity
+-- database while the identity verification claims are not being written, and then enable the configuration on every
+-- node. The conversion fails on metadata written while IdentityVerification.ClaimMetadata.EnableBinaryEncoding was
+-- enabled, as it is not JSON. Disable the configuration and re-encode such metadata as JSON through
+-- IdentityVerificationManager#reEncodeIdVClaimMetadata for each tenant before running it.
+
+ALTER TABLE IDV_CLAIM ALTER COLUMN METADATA TYPE JSONB
+  USING CASE WHEN octet_length(METADATA) > 0 THEN convert_from(METADATA, 'UTF8')::JSONB END;
+
+CREATE INDEX IF NOT EXISTS IDX_IDV_CLAIM_METADATA_GIN ON IDV_CLAIM USING GIN (METADATA);
@@ -0,0 +1,63 @@
+-- Tables of the IdV claim metadata projection, which are required when
+-- IdentityVerification.ClaimMetadata.EnableIndexedLookup is enabled. On existing deployments run this script against
+-- the identity database before enabling it on every node, and then backfill the projection of each tenant through
+-- IdentityVerificationManager#backfillIdVClaimMetadata.
+
+CREATE TABLE IDV_CLAIM_METADATA (
+  ID INTEGER,
+  CLAIM_ID INTEGER NOT NULL,
+  IDVP_ID VARCHAR(255) NOT NULL,
+  TENANT_ID INTEGER NOT NULL,
+  METADATA_KEY VARCHAR(255) NOT NULL,
+  METADATA_VALUE VARCHAR(255) NOT NULL,
+  PRIMARY KEY (ID),
+  UNIQUE (CLAIM_ID, METADATA_KEY),
+  FOREIGN KEY (CLAIM_ID) REFERENCES IDV_CLAIM(ID) ON DELETE CASCADE)
+/
+CREATE SEQUENCE IDV_CLAIM_METADATA_SEQ START WITH 1 INCREMENT BY 1 NOCACHE
+/
+CREATE OR REPLACE TRIGGER IDV_CLAIM_METADATA_TRIG
+  BEFORE INSERT
+  ON IDV_CLAIM_METADATA
+  REFERENCING NEW AS NEW
+  FOR EACH ROW
+  BEGIN
+    SELECT IDV_CLAIM_METADATA_SEQ.nextval INTO :NEW.ID FROM dual;
+  END;
+/
+CREATE TABLE IDV_CLAIM_METADATA_STATUS (
+  TENANT_ID INTEGER NOT NULL,
+  PRIMARY KEY (TENANT_ID))
+/
+CREATE INDEX IDX_IDV_CLAIM_META_KEY_VALUE ON IDV_CLAIM_METADATA (IDVP_ID, TENANT_ID, METADATA_KEY, METADATA_VALUE)
+/
+
+-- Outbox of the IdV claim deletions triggered by user operations, which is required when
+-- IdentityVerification.ClaimInvalidation.EnableAsync is enabled. Run this script against the identity database before
+-- enabling it on every node.
+
+CREATE TABLE IDV_CLAIM_INVALIDATION (
+  ID INTEGER,
+  USER_ID VARCHAR(255) NOT NULL,
+  TENANT_ID INTEGER NOT NULL,
+  CLAIM_URI VARCHAR(255),
+  ATTEMPTS INTEGER NOT NULL,
+  LEASE_EXPIRY NUMBER(19) NOT NULL,
+  CREATED_TIME NUMBER(19) NOT NULL,
+  PRIMARY KEY (ID))
+/
+CREATE SEQUENCE IDV_CLAIM_INVALIDATION_SEQ START WITH 1 INCREMENT BY 1 NOCACHE
+/
+CREATE OR REPLACE TRIGGER IDV_CLAIM_INVALIDATION_TRIG
+  BEFORE INSERT
+  ON IDV_CLAIM_INVALIDATION
+  REFERENCING NEW AS NEW
+  FOR EACH ROW
+  BEGIN
+    SELECT IDV_CLAIM_INVALIDATION_SEQ.nextval INTO :NEW.ID FROM dual;
+  END;
+/
+CREATE INDEX IDX_IDV_CLAIM_INV_USER ON IDV_CLAIM_INVALIDATION (TENANT_ID, USER_ID)
+/
+CREATE INDEX IDX_IDV_CLAIM_INV_LEASE ON IDV_CLAIM_INVALIDATION (LEASE_EXPIRY)
+/